@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.common.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.util.Arrays;
+
+/**
+ * An input stream recording the bytes read through it, so that the end of a
+ * stream (e.g., the central directory of a Zip) can be read again once it has
+ * been consumed. While {@link #bounded(boolean) bounded}, only the last
+ * {@value #MARGIN} bytes are kept at least, and at most twice as many.
+ */
+final class TailRecordingInputStream extends FilterInputStream {
+
+	/**
+	 * The number of bytes kept while bounded, way more than what the readers of
+	 * this stream read ahead.
+	 */
+	static final int MARGIN = 64 * 1024;
+
+	private byte[] recorded;
+	private int length;
+	private long position;
+	private boolean bounded;
+
+	TailRecordingInputStream(InputStream in) {
+		super(in);
+		this.recorded = new byte[2 * MARGIN];
+	}
+
+	/**
+	 * Sets whether only the last bytes read should be kept from now on.
+	 */
+	void bounded(boolean bounded) {
+		this.bounded = bounded;
+		trim();
+	}
+
+	/**
+	 * Returns a read-only channel over what has been recorded. Its positions
+	 * are the ones in the whole stream, reading before the first recorded byte
+	 * is an error.
+	 */
+	SeekableByteChannel tail() {
+		return new TailChannel(ByteBuffer.wrap(recorded, 0, length).slice(), position - length);
+	}
+
+	@Override
+	public int read() throws IOException {
+		int b = super.read();
+		if (b >= 0) {
+			record(new byte[] { (byte) b }, 0, 1);
+		}
+		return b;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		int read = super.read(b, off, len);
+		if (read > 0) {
+			record(b, off, read);
+		}
+		return read;
+	}
+
+	@Override
+	public long skip(long n) throws IOException {
+		// skipped bytes must be recorded too
+		byte[] skipped = new byte[(int) Math.min(n, 8192)];
+		long remaining = n;
+		int read;
+		while (remaining > 0 && (read = read(skipped, 0, (int) Math.min(remaining, skipped.length))) > 0) {
+			remaining -= read;
+		}
+		return n - remaining;
+	}
+
+	@Override
+	public boolean markSupported() {
+		return false;
+	}
+
+	@Override
+	public synchronized void mark(int readlimit) {
+		// not supported
+	}
+
+	@Override
+	public synchronized void reset() throws IOException {
+		throw new IOException("mark/reset not supported");
+	}
+
+	private void record(byte[] b, int off, int len) {
+		if (length + len > recorded.length) {
+			recorded = Arrays.copyOf(recorded, Math.max(2 * recorded.length, length + len));
+		}
+		System.arraycopy(b, off, recorded, length, len);
+		length += len;
+		position += len;
+		if (length > 2 * MARGIN) {
+			trim();
+		}
+	}
+
+	private void trim() {
+		if (bounded && length > MARGIN) {
+			System.arraycopy(recorded, length - MARGIN, recorded, 0, MARGIN);
+			length = MARGIN;
+		}
+	}
+
+	private static final class TailChannel implements SeekableByteChannel {
+		private final ByteBuffer tail;
+		private final long offset;
+		private long position;
+		private boolean open = true;
+
+		TailChannel(ByteBuffer tail, long offset) {
+			this.tail = tail;
+			this.offset = offset;
+			this.position = offset;
+		}
+
+		@Override
+		public int read(ByteBuffer dst) throws IOException {
+			ensureOpen();
+			if (position < offset) {
+				throw new IOException("Position " + position + " is before the recorded tail of the stream (starting at " + offset + ")");
+			}
+			if (position >= size()) {
+				return -1;
+			}
+			ByteBuffer src = tail.duplicate();
+			src.position((int) (position - offset));
+			int read = Math.min(src.remaining(), dst.remaining());
+			src.limit(src.position() + read);
+			dst.put(src);
+			position += read;
+			return read;
+		}
+
+		@Override
+		public int write(ByteBuffer src) {
+			throw new NonWritableChannelException();
+		}
+
+		@Override
+		public long position() throws IOException {
+			ensureOpen();
+			return position;
+		}
+
+		@Override
+		public SeekableByteChannel position(long newPosition) throws IOException {
+			ensureOpen();
+			if (newPosition < 0) {
+				throw new IllegalArgumentException("Negative position");
+			}
+			this.position = newPosition;
+			return this;
+		}
+
+		@Override
+		public long size() throws IOException {
+			ensureOpen();
+			return offset + tail.limit();
+		}
+
+		@Override
+		public SeekableByteChannel truncate(long size) {
+			throw new NonWritableChannelException();
+		}
+
+		@Override
+		public boolean isOpen() {
+			return open;
+		}
+
+		@Override
+		public void close() {
+			open = false;
+		}
+
+		private void ensureOpen() throws ClosedChannelException {
+			if (!open) {
+				throw new ClosedChannelException();
+			}
+		}
+	}
+}
@@ -54,7 +54,7 @@ abstract class ZipPosixPermissionFixer {
 		} else {
 			do {
 				if (directoryHeader.get().platform() == Platform.UNIX) {
-					fixEntry(directoryHeader.get().filename(), directoryHeader.get().posixPermissions());
+					fixEntry(directoryHeader.get());
 				}
 				long nextDirectoryHeaderPosition = zipReader.position(directoryHeader.get())
 						+ directoryHeader.get().size();
@@ -64,7 +64,13 @@ abstract class ZipPosixPermissionFixer {
 
 	}
 
-	protected abstract void fixEntry(String entryName, Set<PosixFilePermission> posixPermissions) throws IOException;
+	/**
+	 * Called for each entry of the central directory made on a unix platform.
+	 * Its name and permissions are given by {@link CentralDirectoryHeader#filename()}
+	 * and {@link CentralDirectoryHeader#posixPermissions()}, its whole mode by
+	 * {@link CentralDirectoryHeader#unixMode()}.
+	 */
+	protected abstract void fixEntry(CentralDirectoryHeader directoryHeader) throws IOException;
 
 	private long firstCentralDirectoryHeaderPosition() throws IOException {
 		final EndOfCentralDirectory eocdrp = findEndOfCentralDirectory();
@@ -324,6 +330,15 @@ abstract class ZipPosixPermissionFixer {
 			return delegate().uint32Value(EFA);
 		}
 
+		/**
+		 * The unix mode (file type and permissions), from the high order bytes of
+		 * the external file attributes. Only meaningful on the {@link Platform#UNIX}
+		 * platform.
+		 */
+		public int unixMode() {
+			return (int) ((externalFileAttributes().longValue() >> 16) & 0xFFFF);
+		}
+
 		public Set<PosixFilePermission> posixPermissions() {
 			if (platform() == Platform.UNIX) {
 				return MorePosixFilePermissions.fromFileMode(((externalFileAttributes().longValue() >> 16) & 0x1FF));
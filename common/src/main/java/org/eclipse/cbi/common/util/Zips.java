@@ -12,10 +12,19 @@
  *******************************************************************************/
 package org.eclipse.cbi.common.util;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.ByteArrayInputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
 import java.nio.file.LinkOption;
@@ -29,7 +38,13 @@ import java.nio.file.attribute.FileTime;
 import java.nio.file.attribute.PosixFileAttributeView;
 import java.nio.file.attribute.PosixFileAttributes;
 import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 import java.util.zip.GZIPInputStream;
@@ -38,12 +53,16 @@ import org.apache.commons.compress.archivers.jar.JarArchiveEntry;
 import org.apache.commons.compress.archivers.jar.JarArchiveOutputStream;
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.archivers.zip.AsiExtraField;
 import org.apache.commons.compress.archivers.zip.UnixStat;
 import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
 import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
 import org.apache.commons.compress.archivers.zip.ZipEncoding;
 import org.apache.commons.compress.archivers.zip.ZipEncodingHelper;
 import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.compress.archivers.zip.ZipShort;
+import org.apache.commons.compress.compressors.zstandard.ZstdCompressorInputStream;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
@@ -56,9 +75,12 @@ import com.google.common.primitives.UnsignedInteger;
 public class Zips {
 
 	private static final int PERM_MASK = 0777;
+
+	private static final ZipShort ASI_EXTRA_FIELD_ID = new AsiExtraField().getHeaderId();
 	private static final String ZIP_ENTRY_NAME_SEPARATOR = "/";
 	private static final String BACKSLASH_ESCAPE_REPLACEMENT = "\\\\\\\\";
 	private static final Pattern BACKSLASH_PATTERN = Pattern.compile("\\\\");
+	private static final int BUFFER_SIZE = 1 << 20;
 
 	/**
 	 * Unzip the given {@code source} Zip file in the {@code outputDir}.
@@ -75,6 +97,119 @@ public class Zips {
 		}
 	}
 
+	/**
+	 * Unzip the Zip read from {@code source} in the {@code outputDir}, entry by
+	 * entry as it is read. The unix mode of entries, and whether they are
+	 * symbolic links, is taken from their ASi extra field (as written by
+	 * {@link #packZip(Path, Path, boolean)}) or, for entries without one, from
+	 * the central directory once the end of the stream has been reached. The
+	 * {@code source} stream is closed when done.
+	 *
+	 * @param source    the stream of the Zip to unzip.
+	 * @param outputDir the output directory where the Zip will be unpacked.
+	 * @return the number of unpacked entries
+	 * @throws IOException
+	 */
+	public static int unpackZip(InputStream source, final Path outputDir) throws IOException {
+		int unpacked = 0;
+		final Map<String, Path> withoutAsi = new HashMap<>();
+		final TailRecordingInputStream recorder = new TailRecordingInputStream(new BufferedInputStream(source, BUFFER_SIZE));
+		try (ZipArchiveInputStream zis = new ZipArchiveInputStream(recorder, StandardCharsets.UTF_8.name(), true, true)) {
+			for (ZipArchiveEntry entry = nextEntry(zis, recorder); entry != null; entry = nextEntry(zis, recorder)) {
+				Path entryPath = unpackEntry(zis, entry, outputDir);
+				if (entry.getExtraField(ASI_EXTRA_FIELD_ID) == null) {
+					withoutAsi.put(entry.getName(), entryPath);
+				}
+				unpacked++;
+			}
+			if (!withoutAsi.isEmpty()) {
+				ByteStreams.exhaust(recorder);
+				fixStreamedEntries(recorder.tail(), withoutAsi);
+			}
+		}
+		return unpacked;
+	}
+
+	/**
+	 * Returns the next entry, recording everything read from the stream while
+	 * looking for it: past the last entry, this is the central directory.
+	 */
+	private static ZipArchiveEntry nextEntry(ZipArchiveInputStream zis, TailRecordingInputStream recorder) throws IOException {
+		recorder.bounded(false);
+		ZipArchiveEntry entry = zis.getNextEntry();
+		if (entry != null) {
+			recorder.bounded(true);
+		}
+		return entry;
+	}
+
+	/**
+	 * Sets the permissions of the given entries, and turns them into symbolic
+	 * links, from the unix mode of their central directory header, as read from
+	 * the recorded tail of the Zip.
+	 */
+	private static void fixStreamedEntries(SeekableByteChannel tail, Map<String, Path> entries) throws IOException {
+		ZipPosixPermissionFixer.ZipReader zipReader = new ZipPosixPermissionFixer.ZipReader(new SeekableByteChannelRecordReader(tail), tail.size());
+		new ZipPosixPermissionFixer(zipReader) {
+			@Override
+			protected void fixEntry(ZipPosixPermissionFixer.CentralDirectoryHeader directoryHeader) throws IOException {
+				Path entryPath = entries.get(directoryHeader.filename());
+				int unixMode = directoryHeader.unixMode();
+				if (entryPath == null || unixMode == 0) {
+					return;
+				}
+				if ((unixMode & UnixStat.FILE_TYPE_FLAG) == UnixStat.LINK_FLAG && Files.isRegularFile(entryPath, LinkOption.NOFOLLOW_LINKS)) {
+					// the content of a link entry is its target
+					String target = new String(Files.readAllBytes(entryPath), StandardCharsets.UTF_8);
+					Files.delete(entryPath);
+					Files.createSymbolicLink(entryPath, entryPath.getFileSystem().getPath(target));
+				} else if (!Files.isSymbolicLink(entryPath)) {
+					PosixFileAttributeView attributes = Files.getFileAttributeView(entryPath, PosixFileAttributeView.class,
+							LinkOption.NOFOLLOW_LINKS);
+					if (attributes != null) {
+						attributes.setPermissions(MorePosixFilePermissions.fromFileMode(unixMode & PERM_MASK));
+					}
+				}
+			}
+		}.fixEntries();
+	}
+
+	private static Path unpackEntry(ZipArchiveInputStream zis, ZipArchiveEntry entry, final Path outputDir) throws IOException {
+		final Path entryPath = outputDir.resolve(entry.getName());
+
+		if (!entryPath.normalize().startsWith(outputDir)) {
+			// Potentially a malicious zip archive.
+			// https://security.snyk.io/research/zip-slip-vulnerability
+			// https://owasp.org/www-community/attacks/Path_Traversal
+			throw new IOException("Bad Zip entry  '" + entry.getName() + "'");
+		}
+
+		final AsiExtraField asiExtraField = (AsiExtraField) entry.getExtraField(ASI_EXTRA_FIELD_ID);
+		if (entry.isDirectory()) {
+			Files.createDirectories(entryPath);
+		} else {
+			Path parentPath = entryPath.normalize().getParent();
+			Files.createDirectories(parentPath);
+			if (asiExtraField != null && asiExtraField.isLink()) {
+				Files.createSymbolicLink(entryPath, entryPath.getFileSystem().getPath(asiExtraField.getLinkedFile()));
+			} else {
+				Files.copy(zis, entryPath, StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+
+		if (asiExtraField != null && !Files.isSymbolicLink(entryPath)) {
+			PosixFileAttributeView attributes = Files.getFileAttributeView(entryPath, PosixFileAttributeView.class,
+					LinkOption.NOFOLLOW_LINKS);
+			if (attributes != null) {
+				attributes.setPermissions(MorePosixFilePermissions.fromFileMode(asiExtraField.getMode() & PERM_MASK));
+			}
+		}
+		setLastModifiedTime(entryPath, FileTime.from(entry.getTime(), TimeUnit.MILLISECONDS),
+				LinkOption.NOFOLLOW_LINKS);
+
+		return entryPath;
+	}
+
 	private static int unpack(ZipFile zipFile, final Path outputDir) throws IOException {
 		int unpack = 0;
 		Enumeration<ZipArchiveEntry> entries = zipFile.getEntries();
@@ -159,12 +294,149 @@ public class Zips {
 	}
 
 	public static int unpackTarGz(Path sourcePath, Path outputDir) throws IOException {
-		try (TarArchiveInputStream tarArchiveInputStream = new TarArchiveInputStream(
-				new GZIPInputStream(Files.newInputStream(sourcePath)))) {
+		return unpackTarGz(Files.newInputStream(sourcePath), outputDir);
+	}
+
+	/**
+	 * Unpack the gzip compressed tarball read from {@code source} in the
+	 * {@code outputDir}. Archives made of several concatenated gzip members are
+	 * supported. The {@code source} stream is closed when done.
+	 *
+	 * @param source    the stream of the tarball to unpack.
+	 * @param outputDir the output directory where the tarball will be unpacked.
+	 * @return the number of unpacked entries
+	 * @throws IOException
+	 */
+	public static int unpackTarGz(InputStream source, Path outputDir) throws IOException {
+		return unpackTar(source, GZIPInputStream::new, outputDir);
+	}
+
+	/**
+	 * Unpack the gzip compressed tarball read from {@code source} in the
+	 * {@code outputDir}, decompressing it on a thread of the {@code decoder} while
+	 * the calling thread writes the entries. The {@code source} stream is closed
+	 * when done.
+	 *
+	 * @param source    the stream of the tarball to unpack.
+	 * @param outputDir the output directory where the tarball will be unpacked.
+	 * @param decoder   the executor running the decompression.
+	 * @return the number of unpacked entries
+	 * @throws IOException
+	 */
+	public static int unpackTarGz(InputStream source, Path outputDir, Executor decoder) throws IOException {
+		return unpackTar(source, GZIPInputStream::new, outputDir, decoder);
+	}
+
+	/**
+	 * Unpack the given {@code sourcePath} zstd compressed tarball in the
+	 * {@code outputDir}. Requires {@code com.github.luben:zstd-jni} at runtime.
+	 *
+	 * @param sourcePath the tarball to unpack.
+	 * @param outputDir  the output directory where the tarball will be unpacked.
+	 * @return the number of unpacked entries
+	 * @throws IOException
+	 */
+	public static int unpackTarZst(Path sourcePath, Path outputDir) throws IOException {
+		return unpackTarZst(Files.newInputStream(sourcePath), outputDir);
+	}
+
+	/**
+	 * Unpack the zstd compressed tarball read from {@code source} in the
+	 * {@code outputDir}. Requires {@code com.github.luben:zstd-jni} at runtime.
+	 * The {@code source} stream is closed when done.
+	 *
+	 * @param source    the stream of the tarball to unpack.
+	 * @param outputDir the output directory where the tarball will be unpacked.
+	 * @return the number of unpacked entries
+	 * @throws IOException
+	 */
+	public static int unpackTarZst(InputStream source, Path outputDir) throws IOException {
+		return unpackTar(source, ZstdCompressorInputStream::new, outputDir);
+	}
+
+	/**
+	 * Unpack the zstd compressed tarball read from {@code source} in the
+	 * {@code outputDir}, decompressing it on a thread of the {@code decoder} while
+	 * the calling thread writes the entries. Requires
+	 * {@code com.github.luben:zstd-jni} at runtime. The {@code source} stream is
+	 * closed when done.
+	 *
+	 * @param source    the stream of the tarball to unpack.
+	 * @param outputDir the output directory where the tarball will be unpacked.
+	 * @param decoder   the executor running the decompression.
+	 * @return the number of unpacked entries
+	 * @throws IOException
+	 */
+	public static int unpackTarZst(InputStream source, Path outputDir, Executor decoder) throws IOException {
+		return unpackTar(source, ZstdCompressorInputStream::new, outputDir, decoder);
+	}
+
+	private static int unpackTar(InputStream source, Decompressor decompressor, Path outputDir) throws IOException {
+		try (InputStream in = new BufferedInputStream(source, BUFFER_SIZE);
+				TarArchiveInputStream tarArchiveInputStream = new TarArchiveInputStream(decompressor.open(in))) {
 			return unpack(tarArchiveInputStream, outputDir);
 		}
 	}
 
+	private static int unpackTar(InputStream source, Decompressor decompressor, Path outputDir, Executor decoder)
+			throws IOException {
+		final PipedInputStream decompressed = new PipedInputStream(BUFFER_SIZE);
+		final PipedOutputStream sink = new PipedOutputStream(decompressed);
+		final CompletableFuture<Void> decoding;
+		try {
+			decoding = CompletableFuture.runAsync(() -> {
+				try (OutputStream out = sink; InputStream buffered = new BufferedInputStream(source, BUFFER_SIZE);
+						InputStream in = decompressor.open(buffered)) {
+					byte[] buffer = new byte[BUFFER_SIZE / 16];
+					for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+						out.write(buffer, 0, read);
+						// wakes up the reader right away rather than on its next poll
+						out.flush();
+					}
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}, decoder);
+		} catch (RejectedExecutionException e) {
+			try (source; sink; decompressed) {
+				throw new IOException("Unable to schedule the decompression of the tarball", e);
+			}
+		}
+
+		int unpackedEntries = 0;
+		IOException failure = null;
+		try (InputStream in = decompressed; TarArchiveInputStream tarArchiveInputStream = new TarArchiveInputStream(in)) {
+			unpackedEntries = unpack(tarArchiveInputStream, outputDir);
+			// consumes the end of archive padding so that the decoder does not fail on a closed pipe
+			in.transferTo(OutputStream.nullOutputStream());
+		} catch (IOException e) {
+			failure = e;
+		}
+
+		try {
+			decoding.join();
+		} catch (CompletionException e) {
+			IOException decodingFailure = e.getCause() instanceof UncheckedIOException
+					? ((UncheckedIOException) e.getCause()).getCause()
+					: new IOException("Decompression of the tarball failed", e.getCause());
+			if (failure == null) {
+				failure = decodingFailure;
+			} else {
+				failure.addSuppressed(decodingFailure);
+			}
+		}
+
+		if (failure != null) {
+			throw failure;
+		}
+		return unpackedEntries;
+	}
+
+	@FunctionalInterface
+	private interface Decompressor {
+		InputStream open(InputStream compressed) throws IOException;
+	}
+
 	@VisibleForTesting
 	static int unpack(TarArchiveInputStream tais, Path outputDir) throws IOException {
 		int unpackedEntries = 0;
@@ -239,6 +511,37 @@ public class Zips {
 		}
 	}
 
+	/**
+	 * Zip the given {@code source} file or folder in the {@code target} stream
+	 * as the tree is walked. If {@code preserveRoot} is set to true, the output
+	 * Zip will contain the folder and its contents, only its contents otherwise.
+	 * The {@code target} stream is not closed.
+	 *
+	 * @param source       the folder to zip.
+	 * @param target       the stream to write the Zip to.
+	 * @param preserveRoot whether the {@code source} folder should be kept in the
+	 *                     target Zip.
+	 * @return the number of packed entries
+	 * @throws IOException
+	 */
+	public static int packZip(Path source, OutputStream target, boolean preserveRoot) throws IOException {
+		checkPathExists(source, "'source' path must exists");
+		try (ZipArchiveOutputStream zos = new ZipArchiveOutputStream(new FilterOutputStream(target) {
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException {
+				out.write(b, off, len);
+			}
+
+			@Override
+			public void close() throws IOException {
+				// the caller owns the target stream
+				flush();
+			}
+		})) {
+			return packEntries(source, zos, preserveRoot, Set.of());
+		}
+	}
+
 	/**
 	 * Zip the given {@code source} file or folder in the {@code targetJar} Jar
 	 * file. If {@code preserveRoot} is set to true, the output Zip will contain the
@@ -353,13 +656,17 @@ public class Zips {
 
 		Path linkTarget = Files.readSymbolicLink(file);
 		ZipEncoding zipEncoding = ZipEncodingHelper.getZipEncoding(zos.getEncoding());
-		ByteBuffer rawLinkTargetEntryPath = zipEncoding
-				.encode(entryNameFrom(linkTarget, linkTarget.toString().endsWith(file.getFileSystem().getSeparator())));
+		String linkTargetEntryPath = entryNameFrom(linkTarget, linkTarget.toString().endsWith(file.getFileSystem().getSeparator()));
+		ByteBuffer rawLinkTargetEntryPath = zipEncoding.encode(linkTargetEntryPath);
 		byte[] b = new byte[rawLinkTargetEntryPath.remaining()];
 		rawLinkTargetEntryPath.get(b);
 
 		zipEntry.setSize(b.length);
 		zipEntry.setUnixMode(UnixStat.LINK_FLAG | UnixStat.DEFAULT_LINK_PERM);
+		AsiExtraField asiExtraField = new AsiExtraField();
+		asiExtraField.setLinkedFile(linkTargetEntryPath);
+		asiExtraField.setMode(UnixStat.DEFAULT_LINK_PERM);
+		zipEntry.addExtraField(asiExtraField);
 
 		zos.putArchiveEntry(zipEntry);
 		ByteStreams.copy(new ByteArrayInputStream(b), zos);
@@ -374,8 +681,9 @@ public class Zips {
 		PosixFileAttributeView posixFileAttributeView = Files.getFileAttributeView(file, PosixFileAttributeView.class);
 		if (posixFileAttributeView != null) {
 			PosixFileAttributes posixFileAttributes = posixFileAttributeView.readAttributes();
-			zipEntry.setUnixMode(UnsignedInteger
-					.valueOf(MorePosixFilePermissions.toFileMode(posixFileAttributes.permissions())).intValue());
+			int mode = UnsignedInteger.valueOf(MorePosixFilePermissions.toFileMode(posixFileAttributes.permissions())).intValue();
+			zipEntry.setUnixMode(mode);
+			zipEntry.addExtraField(asiExtraField(mode, false));
 		}
 
 		zos.putArchiveEntry(zipEntry);
@@ -390,14 +698,28 @@ public class Zips {
 		PosixFileAttributeView posixFileAttributeView = Files.getFileAttributeView(dir, PosixFileAttributeView.class);
 		if (posixFileAttributeView != null) {
 			PosixFileAttributes posixFileAttributes = posixFileAttributeView.readAttributes();
-			zipEntry.setUnixMode(UnsignedInteger
-					.valueOf(MorePosixFilePermissions.toFileMode(posixFileAttributes.permissions())).intValue());
+			int mode = UnsignedInteger.valueOf(MorePosixFilePermissions.toFileMode(posixFileAttributes.permissions())).intValue();
+			zipEntry.setUnixMode(mode);
+			zipEntry.addExtraField(asiExtraField(mode, true));
 		}
 
 		zos.putArchiveEntry(zipEntry);
 		zos.closeArchiveEntry();
 	}
 
+	/**
+	 * The unix mode of an entry is stored in the central directory, which is
+	 * at the end of a Zip file. It is thus also stored in an ASi extra field
+	 * of the local header, for {@link #unpackZip(InputStream, Path) streaming}
+	 * readers.
+	 */
+	private static AsiExtraField asiExtraField(int mode, boolean directory) {
+		AsiExtraField asiExtraField = new AsiExtraField();
+		asiExtraField.setDirectory(directory);
+		asiExtraField.setMode(mode);
+		return asiExtraField;
+	}
+
 	private static ZipArchiveEntry createArchiveEntry(ZipArchiveOutputStream zos, String entryName) {
 		if (zos instanceof JarArchiveOutputStream) {
 			return new JarArchiveEntry(entryName);
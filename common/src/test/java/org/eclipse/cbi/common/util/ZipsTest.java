@@ -17,10 +17,15 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystem;
 import java.nio.file.Files;
 import java.nio.file.LinkOption;
@@ -29,21 +34,28 @@ import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.FileTime;
 import java.nio.file.attribute.PosixFileAttributeView;
 import java.nio.file.attribute.PosixFilePermission;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Enumeration;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
 
 import com.google.common.io.ByteStreams;
 import com.google.common.jimfs.Configuration;
 import com.google.common.jimfs.Jimfs;
 
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.archivers.zip.UnixStat;
 import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
 import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.compress.compressors.zstandard.ZstdCompressorOutputStream;
 import org.eclipse.cbi.common.test.util.SampleFilesGenerators;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -168,6 +180,75 @@ public class ZipsTest {
 		}
 	}
 
+	@Test
+	public void testStreamZipPreserveFilePermsAndLinks() throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix().toBuilder().setAttributeViews("basic", "owner", "unix", "posix").build())) {
+			Path a = SampleFilesGenerators.createLoremIpsumFile(fs.getPath("folder", "a"), 1);
+			Path b = SampleFilesGenerators.createLoremIpsumFile(fs.getPath("folder", "sub", "b"), 3);
+			Files.createSymbolicLink(fs.getPath("folder", "link"), fs.getPath("sub/b"));
+			Files.setAttribute(a, "posix:permissions", MorePosixFilePermissions.fromFileMode(0755));
+			Files.setAttribute(b, "posix:permissions", MorePosixFilePermissions.fromFileMode(0640));
+
+			ByteArrayOutputStream zip = new ByteArrayOutputStream();
+			assertEquals(5, Zips.packZip(fs.getPath("folder"), zip, true));
+			assertEquals(5, Zips.unpackZip(new ByteArrayInputStream(zip.toByteArray()), fs.getPath("unzipFolder")));
+
+			Path unzipped = fs.getPath("unzipFolder", "folder");
+			assertArrayEquals(Files.readAllBytes(b), Files.readAllBytes(unzipped.resolve("sub/b")));
+			assertEquals("755", Long.toOctalString(MorePosixFilePermissions.toFileMode(Files.getPosixFilePermissions(unzipped.resolve("a")))));
+			assertEquals("640", Long.toOctalString(MorePosixFilePermissions.toFileMode(Files.getPosixFilePermissions(unzipped.resolve("sub/b")))));
+			assertTrue(Files.isSymbolicLink(unzipped.resolve("link")));
+			assertEquals(fs.getPath("sub/b"), Files.readSymbolicLink(unzipped.resolve("link")));
+		}
+	}
+
+	@Test
+	public void testStreamZipWithoutAsiPreserveFilePermsAndLinks() throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix().toBuilder().setAttributeViews("basic", "owner", "unix", "posix").build())) {
+			byte[] big = new byte[3 * TailRecordingInputStream.MARGIN];
+			Arrays.fill(big, (byte) 'x');
+			ByteArrayOutputStream zip = new ByteArrayOutputStream();
+			// streamed, deflated entries with a data descriptor and the unix mode in the central directory only
+			try (ZipArchiveOutputStream zos = new ZipArchiveOutputStream(zip)) {
+				putEntry(zos, "bin/", UnixStat.DIR_FLAG | 0750, new byte[0]);
+				putEntry(zos, "bin/run", UnixStat.FILE_FLAG | 0755, "#!/bin/sh".getBytes(StandardCharsets.UTF_8));
+				putEntry(zos, "big", UnixStat.FILE_FLAG | 0600, big);
+				putEntry(zos, "link", UnixStat.LINK_FLAG | 0777, "bin/run".getBytes(StandardCharsets.UTF_8));
+			}
+			assertEquals(4, Zips.unpackZip(new ByteArrayInputStream(zip.toByteArray()), fs.getPath("unzipFolder")));
+
+			Path unzipped = fs.getPath("unzipFolder");
+			assertEquals("750", Long.toOctalString(MorePosixFilePermissions.toFileMode(Files.getPosixFilePermissions(unzipped.resolve("bin")))));
+			assertEquals("755", Long.toOctalString(MorePosixFilePermissions.toFileMode(Files.getPosixFilePermissions(unzipped.resolve("bin/run")))));
+			assertEquals("600", Long.toOctalString(MorePosixFilePermissions.toFileMode(Files.getPosixFilePermissions(unzipped.resolve("big")))));
+			assertArrayEquals(big, Files.readAllBytes(unzipped.resolve("big")));
+			assertTrue(Files.isSymbolicLink(unzipped.resolve("link")));
+			assertEquals(fs.getPath("bin/run"), Files.readSymbolicLink(unzipped.resolve("link")));
+		}
+	}
+
+	private static void putEntry(ZipArchiveOutputStream zos, String name, int unixMode, byte[] content) throws IOException {
+		ZipArchiveEntry entry = new ZipArchiveEntry(name);
+		entry.setUnixMode(unixMode);
+		zos.putArchiveEntry(entry);
+		zos.write(content);
+		zos.closeArchiveEntry();
+	}
+
+	@Test
+	public void testStreamUnpackRejectsZipSlip() throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			ByteArrayOutputStream zip = new ByteArrayOutputStream();
+			try (ZipOutputStream zos = new ZipOutputStream(zip)) {
+				zos.putNextEntry(new ZipEntry("../evil"));
+				zos.write(1);
+				zos.closeEntry();
+			}
+			assertThrows(IOException.class, () -> Zips.unpackZip(new ByteArrayInputStream(zip.toByteArray()), fs.getPath("/work/unzipFolder")));
+			assertFalse(Files.exists(fs.getPath("/work/evil")));
+		}
+	}
+
 	@Test
 	public void testPackLink() throws IOException {
 		Configuration conf = Configuration.unix().toBuilder().setAttributeViews("basic", "owner", "unix", "posix").build();
@@ -469,6 +550,54 @@ public class ZipsTest {
 		}
 	}
 
+	@Test
+	public void testUnpackTarGzStream() throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			assertEquals(8, Zips.unpackTarGz(this.getClass().getResource("/test.tar.gz").openStream(), fs.getPath("untarFolder")));
+			assertTrue(Files.isSameFile(fs.getPath("untarFolder", "folder2", "hardlinkToExe"), fs.getPath("untarFolder", "anExe")));
+		}
+	}
+
+	@Test
+	public void testUnpackTarGzStreamOnDecoderThread() throws IOException {
+		ExecutorService decoder = Executors.newSingleThreadExecutor();
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			assertEquals(8, Zips.unpackTarGz(this.getClass().getResource("/test.tar.gz").openStream(), fs.getPath("untarFolder"), decoder));
+			assertTrue(Files.isSameFile(fs.getPath("untarFolder", "folder2", "hardlinkToExe"), fs.getPath("untarFolder", "anExe")));
+		} finally {
+			decoder.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testUnpackCorruptedTarGzOnDecoderThread() throws IOException {
+		ExecutorService decoder = Executors.newSingleThreadExecutor();
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			byte[] tarGz = ByteStreams.toByteArray(this.getClass().getResource("/test.tar.gz").openStream());
+			byte[] truncated = Arrays.copyOf(tarGz, tarGz.length / 2);
+			assertThrows(IOException.class, () -> Zips.unpackTarGz(new ByteArrayInputStream(truncated), fs.getPath("untarFolder"), decoder));
+		} finally {
+			decoder.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testUnpackTarZst() throws IOException {
+		ByteArrayOutputStream tarZst = new ByteArrayOutputStream();
+		try (InputStream tar = new GZIPInputStream(this.getClass().getResource("/test.tar.gz").openStream());
+				OutputStream zst = new ZstdCompressorOutputStream(tarZst)) {
+			tar.transferTo(zst);
+		}
+		ExecutorService decoder = Executors.newSingleThreadExecutor();
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			assertEquals(8, Zips.unpackTarZst(new ByteArrayInputStream(tarZst.toByteArray()), fs.getPath("untarFolder")));
+			assertEquals(8, Zips.unpackTarZst(new ByteArrayInputStream(tarZst.toByteArray()), fs.getPath("untarFolder2"), decoder));
+			assertTrue(Files.isSymbolicLink(fs.getPath("untarFolder2", "folderSymlink")));
+		} finally {
+			decoder.shutdownNow();
+		}
+	}
+
 	private static void checkNextEntry(ZipInputStream zis, Path originalPath, String expectedEntryName) throws IOException {
 		ZipEntry entry = zis.getNextEntry();
 		assertNotNull(entry);
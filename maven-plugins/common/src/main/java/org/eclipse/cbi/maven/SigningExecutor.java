@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.maven;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Signs files on a bounded number of threads, so that the remote round trips
+ * of several files overlap. Each file is signed by a {@link SigningTask},
+ * which reports failures through an {@link ExceptionHandler} as when files
+ * are signed one by one:
+ * <ul>
+ * <li>with {@code continueOnFail}, the handler only logs the failure and the
+ * other files are still signed;</li>
+ * <li>otherwise, the handler throws. The files that are not started yet are
+ * skipped, the running ones are waited for and the first of the failures,
+ * in the order of the given files, is rethrown.</li>
+ * </ul>
+ * Retries are up to the {@link org.eclipse.cbi.maven.http.HttpClient} used by
+ * the task, e.g. a {@link org.eclipse.cbi.maven.http.RetryHttpClient}, and
+ * thus apply to each file independently. Once done, a summary of the outcome
+ * of each file is logged in the given order.
+ */
+public final class SigningExecutor {
+
+	private final int parallelism;
+	private final Log log;
+
+	/**
+	 * Signs a single file.
+	 */
+	@FunctionalInterface
+	public interface SigningTask {
+		/**
+		 * Signs the given file.
+		 *
+		 * @param file
+		 *            the file to sign.
+		 * @return whether the file has been signed.
+		 * @throws MojoExecutionException
+		 *             if the signing failed and the build should fail.
+		 */
+		boolean sign(Path file) throws MojoExecutionException;
+	}
+
+	private enum Outcome {
+		SIGNED, FAILED, SKIPPED
+	}
+
+	/**
+	 * Creates a new executor.
+	 *
+	 * @param parallelism
+	 *            the maximum number of files being signed concurrently. With 1,
+	 *            files are signed one after the other in the calling thread.
+	 * @param log
+	 *            the log onto which the summary is printed.
+	 */
+	public SigningExecutor(int parallelism, Log log) {
+		Preconditions.checkArgument(parallelism > 0, "Parallelism must be strictly positive");
+		this.parallelism = parallelism;
+		this.log = Objects.requireNonNull(log);
+	}
+
+	/**
+	 * Signs the given files with the given task.
+	 *
+	 * @param files
+	 *            the files to sign.
+	 * @param task
+	 *            the signing of a single file.
+	 * @return the number of signed files.
+	 * @throws MojoExecutionException
+	 *             the first failure thrown by the task, in the order of the
+	 *             given files.
+	 */
+	public int signAll(Collection<Path> files, SigningTask task) throws MojoExecutionException {
+		Objects.requireNonNull(files);
+		Objects.requireNonNull(task);
+		List<Path> items = new ArrayList<>(files);
+		List<Outcome> outcomes = new ArrayList<>(items.size());
+		MojoExecutionException failure = null;
+
+		if (parallelism == 1 || items.size() <= 1) {
+			for (Path item : items) {
+				if (failure != null) {
+					outcomes.add(Outcome.SKIPPED);
+					continue;
+				}
+				try {
+					outcomes.add(task.sign(item) ? Outcome.SIGNED : Outcome.FAILED);
+				} catch (MojoExecutionException e) {
+					outcomes.add(Outcome.FAILED);
+					failure = e;
+				}
+			}
+		} else {
+			failure = signConcurrently(items, task, outcomes);
+		}
+
+		logSummary(items, outcomes);
+		if (failure != null) {
+			throw failure;
+		}
+		return (int) outcomes.stream().filter(Outcome.SIGNED::equals).count();
+	}
+
+	private MojoExecutionException signConcurrently(List<Path> items, SigningTask task, List<Outcome> outcomes) {
+		ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, items.size()),
+				new ThreadFactoryBuilder().setNameFormat("Signing-%d").setDaemon(true).build());
+		AtomicBoolean aborted = new AtomicBoolean();
+		MojoExecutionException failure = null;
+		try {
+			List<Future<Outcome>> results = new ArrayList<>(items.size());
+			for (Path item : items) {
+				results.add(executor.submit(() -> {
+					if (aborted.get()) {
+						return Outcome.SKIPPED;
+					}
+					try {
+						return task.sign(item) ? Outcome.SIGNED : Outcome.FAILED;
+					} catch (MojoExecutionException e) {
+						aborted.set(true);
+						throw e;
+					}
+				}));
+			}
+			for (Future<Outcome> result : results) {
+				try {
+					outcomes.add(result.get());
+				} catch (ExecutionException e) {
+					outcomes.add(Outcome.FAILED);
+					if (failure == null) {
+						failure = e.getCause() instanceof MojoExecutionException ? (MojoExecutionException) e.getCause()
+								: new MojoExecutionException("Signing failed unexpectedly", e.getCause());
+					}
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					aborted.set(true);
+					outcomes.add(Outcome.SKIPPED);
+					if (failure == null) {
+						failure = new MojoExecutionException("Interrupted while waiting for the signing of the files", e);
+					}
+				}
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+		return failure;
+	}
+
+	private void logSummary(List<Path> items, List<Outcome> outcomes) {
+		if (items.size() <= 1) {
+			return;
+		}
+		long signed = outcomes.stream().filter(Outcome.SIGNED::equals).count();
+		log.info("Signed " + signed + " of " + items.size() + " files:");
+		for (int i = 0; i < items.size(); i++) {
+			log.info("  [" + outcomes.get(i) + "] " + items.get(i));
+		}
+	}
+}
@@ -0,0 +1,225 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.maven.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.cbi.maven.Logger;
+import org.eclipse.cbi.maven.http.HttpRequest.Config;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.base.Strings;
+
+/**
+ * An {@link HttpClient} that submits {@code POST} requests as asynchronous
+ * jobs, polls the server until they are done and then downloads their
+ * result. The connection is not kept open while the server works, and each
+ * exchange (submission, poll, download) is short and can be retried on its
+ * own by the delegate client.
+ * <p>
+ * The result of the job is given to the {@link CompletionListener} as if it
+ * were the response to the request. Servers that don't know about jobs answer
+ * the submission with the result right away, which is given to the listener
+ * as well.
+ * <p>
+ * A job that is not done within the {@link Builder#maxJobDuration(long, TimeUnit)
+ * maximum job duration} fails with an {@link IOException}, so that a job the
+ * server never completes doesn't keep the build polling forever.
+ */
+@AutoValue
+public abstract class AsyncJobHttpClient implements HttpClient {
+
+	static final String ASYNC_PARAMETER = "async";
+	static final String JOB_PARAMETER = "job";
+	static final String RESULT_PARAMETER = "result";
+
+	private static final int SC_ACCEPTED = 202;
+
+	abstract HttpClient delegate();
+	abstract long pollInterval();
+	abstract TimeUnit pollIntervalUnit();
+	abstract long maxJobDuration();
+	abstract TimeUnit maxJobDurationUnit();
+	abstract Logger log();
+
+	AsyncJobHttpClient() {
+	}
+
+	@Override
+	public boolean send(HttpRequest request, CompletionListener completionListener) throws IOException {
+		return send(request, Config.defaultConfig(), completionListener);
+	}
+
+	@Override
+	public boolean send(HttpRequest request, Config config, CompletionListener completionListener) throws IOException {
+		if (request.method() != HttpRequest.Method.POST) {
+			return delegate().send(request, config, completionListener);
+		}
+
+		final Map<String, String> accepted = new HashMap<>();
+		final AtomicBoolean jobAccepted = new AtomicBoolean();
+		boolean submitted = delegate().send(request.withStringParameter(ASYNC_PARAMETER, Boolean.TRUE.toString()), config, new CompletionListener() {
+			@Override
+			public void onSuccess(HttpResult result) throws IOException {
+				if (result.statusCode() == SC_ACCEPTED) {
+					jobAccepted.set(true);
+					accepted.putAll(readStatus(result));
+				} else {
+					completionListener.onSuccess(result);
+				}
+			}
+
+			@Override
+			public void onError(HttpResult error) throws IOException {
+				completionListener.onError(error);
+			}
+		});
+		if (!submitted || !jobAccepted.get()) {
+			return submitted;
+		}
+		if (accepted.isEmpty()) {
+			throw new IOException("Server accepted the request but did not give the status of the job");
+		}
+
+		String jobId = accepted.get("id");
+		if (Strings.isNullOrEmpty(jobId)) {
+			throw new IOException("Server accepted the request but did not give the id of the job");
+		}
+		log().info("Request has been accepted as job '" + jobId + "'");
+		Map<String, String> status = accepted;
+		String progress = null;
+		final long start = System.nanoTime();
+		while (!isDone(status)) {
+			if (!Strings.isNullOrEmpty(status.get("progress")) && !status.get("progress").equals(progress)) {
+				progress = status.get("progress");
+				log().info("Job '" + jobId + "': " + progress + " (" + status.get("elapsed") + "s)");
+			}
+			long sleepNanos = pollIntervalUnit().toNanos(pollInterval());
+			if (maxJobDuration() > 0) {
+				long remainingNanos = maxJobDurationUnit().toNanos(maxJobDuration()) - (System.nanoTime() - start);
+				if (remainingNanos <= 0) {
+					throw new IOException("Job '" + jobId + "' is not done after " + maxJobDuration() + " " + maxJobDurationUnit() + " (state: " + status.get("state") + "), giving up");
+				}
+				sleepNanos = Math.min(sleepNanos, remainingNanos);
+			}
+			try {
+				TimeUnit.NANOSECONDS.sleep(sleepNanos);
+			} catch (@SuppressWarnings("unused") InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+			status = pollStatus(request, jobId, config);
+		}
+
+		if ("FAILED".equals(status.get("state"))) {
+			throw new IOException("Job '" + jobId + "' failed on the server: " + status.get("error"));
+		}
+		log().info("Job '" + jobId + "' is done, downloading its result");
+		return delegate().send(HttpRequest.get(request.serverUri()).withParam(RESULT_PARAMETER, jobId).build(), config, completionListener);
+	}
+
+	private Map<String, String> pollStatus(HttpRequest request, String jobId, Config config) throws IOException {
+		final Map<String, String> status = new HashMap<>();
+		boolean polled = delegate().send(HttpRequest.get(request.serverUri()).withParam(JOB_PARAMETER, jobId).build(), config, new CompletionListener() {
+			@Override
+			public void onSuccess(HttpResult result) throws IOException {
+				status.putAll(readStatus(result));
+			}
+
+			@Override
+			public void onError(HttpResult error) throws IOException {
+				log().debug("Polling of job '" + jobId + "' failed with HTTP error " + error.statusCode() + " (reason: " + error.reason() + ")");
+			}
+		});
+		if (!polled) {
+			throw new IOException("Unable to get the status of job '" + jobId + "', it may have expired or the server may have been restarted");
+		}
+		return status;
+	}
+
+	private static boolean isDone(Map<String, String> status) {
+		return "SUCCEEDED".equals(status.get("state")) || "FAILED".equals(status.get("state"));
+	}
+
+	/**
+	 * Reads the {@code key=value} lines of a job status.
+	 */
+	static Map<String, String> readStatus(HttpResult result) throws IOException {
+		ByteArrayOutputStream content = new ByteArrayOutputStream();
+		result.copyContent(content);
+		Charset charset = result.contentCharset() != null ? result.contentCharset() : StandardCharsets.UTF_8;
+		Map<String, String> status = new HashMap<>();
+		for (String line : new String(content.toByteArray(), charset).split("\n")) {
+			int separator = line.indexOf('=');
+			if (separator > 0) {
+				status.put(line.substring(0, separator).trim(), line.substring(separator + 1).trim());
+			}
+		}
+		return status;
+	}
+
+	public static Builder pollJobsOn(HttpClient client) {
+		return new AutoValue_AsyncJobHttpClient.Builder().delegate(client).pollInterval(5, TimeUnit.SECONDS).maxJobDuration(1, TimeUnit.HOURS);
+	}
+
+	@AutoValue.Builder
+	public static abstract class Builder {
+
+		abstract Builder delegate(HttpClient httpClient);
+		abstract Builder pollInterval(long pollInterval);
+		abstract Builder pollIntervalUnit(TimeUnit pollIntervalUnit);
+
+		public Builder pollInterval(long pollInterval, TimeUnit pollIntervalUnit) {
+			return pollInterval(pollInterval).pollIntervalUnit(pollIntervalUnit);
+		}
+
+		abstract Builder maxJobDuration(long maxJobDuration);
+		abstract Builder maxJobDurationUnit(TimeUnit maxJobDurationUnit);
+
+		/**
+		 * Sets how long a job may take on the server, from its submission,
+		 * before giving up. Zero means no limit. Defaults to one hour.
+		 *
+		 * @param maxJobDuration
+		 *            the maximum duration of a job.
+		 * @param maxJobDurationUnit
+		 *            the unit of the maximum duration.
+		 * @return this builder for daisy chaining.
+		 */
+		public Builder maxJobDuration(long maxJobDuration, TimeUnit maxJobDurationUnit) {
+			return maxJobDuration(maxJobDuration).maxJobDurationUnit(maxJobDurationUnit);
+		}
+
+		public abstract Builder log(Logger log);
+
+		abstract AsyncJobHttpClient autoBuild();
+
+		public HttpClient build() {
+			AsyncJobHttpClient ret = autoBuild();
+			if (ret.pollInterval() < 0) {
+				throw new IllegalArgumentException("'pollInterval' must be positive");
+			}
+			if (ret.maxJobDuration() < 0) {
+				throw new IllegalArgumentException("'maxJobDuration' must be positive or zero");
+			}
+			return ret;
+		}
+	}
+}
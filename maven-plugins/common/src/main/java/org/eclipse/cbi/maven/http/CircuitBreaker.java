@@ -0,0 +1,200 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.maven.http;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+
+/**
+ * Fails requests fast while their server is known to be down. After a given
+ * number of consecutive transient failures of a server, the circuit of the
+ * server opens and requests to it fail right away, without being sent. Once
+ * the circuit has been open for a while, a single trial request is let
+ * through: the circuit closes if it succeeds, and opens again otherwise.
+ * <p>
+ * Servers are told apart by the scheme and authority of their URI.
+ */
+public final class CircuitBreaker {
+
+	private static final CircuitBreaker DISABLED = new CircuitBreaker(0, Duration.ZERO);
+
+	private static final CircuitBreaker SHARED = new CircuitBreaker(5, Duration.ofSeconds(30));
+
+	private final int failureThreshold;
+	private final long openNanos;
+	private final Ticker ticker;
+	private final Map<String, Circuit> circuits = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates a new circuit breaker.
+	 *
+	 * @param failureThreshold
+	 *            the number of consecutive failures that opens the circuit of
+	 *            a server, 0 to never open it.
+	 * @param openDuration
+	 *            how long the circuit stays open before a trial request is let
+	 *            through.
+	 */
+	public CircuitBreaker(int failureThreshold, Duration openDuration) {
+		this(failureThreshold, openDuration, Ticker.systemTicker());
+	}
+
+	CircuitBreaker(int failureThreshold, Duration openDuration, Ticker ticker) {
+		Preconditions.checkArgument(failureThreshold >= 0, "'failureThreshold' must be positive");
+		Preconditions.checkArgument(!openDuration.isNegative(), "'openDuration' must be positive");
+		this.failureThreshold = failureThreshold;
+		this.openNanos = openDuration.toNanos();
+		this.ticker = Objects.requireNonNull(ticker);
+	}
+
+	/**
+	 * Returns a circuit breaker that never opens.
+	 *
+	 * @return the disabled circuit breaker.
+	 */
+	public static CircuitBreaker disabled() {
+		return DISABLED;
+	}
+
+	/**
+	 * Returns the circuit breaker shared by all the clients of the JVM, e.g.,
+	 * by all the modules of a parallel Maven build. It opens after 5
+	 * consecutive failures, for 30 seconds.
+	 *
+	 * @return the shared circuit breaker.
+	 */
+	public static CircuitBreaker shared() {
+		return SHARED;
+	}
+
+	/**
+	 * Checks that a request can be sent to the given server.
+	 *
+	 * @param server
+	 *            the URI of the server.
+	 * @throws OpenCircuitException
+	 *             if the circuit of the server is open.
+	 */
+	void acquire(URI server) throws OpenCircuitException {
+		if (failureThreshold > 0) {
+			Circuit circuit = circuit(server);
+			if (!circuit.tryAcquire()) {
+				Duration untilTrial = Duration.ofNanos(circuit.nanosUntilTrial());
+				throw new OpenCircuitException("Server '" + key(server) + "' is considered down after " + failureThreshold
+						+ " consecutive failures, the request has not been sent. It will be tried again in at most "
+						+ Duration.ofNanos(openNanos).toSeconds() + " seconds", untilTrial);
+			}
+		}
+	}
+
+	/**
+	 * Records that the server answered a request, even with a non transient
+	 * error.
+	 */
+	void onSuccess(URI server) {
+		if (failureThreshold > 0) {
+			circuit(server).onSuccess();
+		}
+	}
+
+	/**
+	 * Records that a request to the server failed transiently.
+	 */
+	void onFailure(URI server) {
+		if (failureThreshold > 0) {
+			circuit(server).onFailure();
+		}
+	}
+
+	private Circuit circuit(URI server) {
+		return circuits.computeIfAbsent(key(server), k -> new Circuit());
+	}
+
+	private static String key(URI server) {
+		return server.getScheme() + "://" + server.getAuthority();
+	}
+
+	private final class Circuit {
+		private int consecutiveFailures;
+		private boolean open;
+		private long openedAt;
+		private boolean trialInFlight;
+
+		synchronized boolean tryAcquire() {
+			if (!open) {
+				return true;
+			}
+			if (trialInFlight || ticker.read() - openedAt < openNanos) {
+				return false;
+			}
+			trialInFlight = true;
+			return true;
+		}
+
+		/**
+		 * Returns how long until a trial request is let through, 0 if one
+		 * already is.
+		 */
+		synchronized long nanosUntilTrial() {
+			if (!open || trialInFlight) {
+				return 0;
+			}
+			return Math.max(0, openNanos - (ticker.read() - openedAt));
+		}
+
+		synchronized void onSuccess() {
+			consecutiveFailures = 0;
+			open = false;
+			trialInFlight = false;
+		}
+
+		synchronized void onFailure() {
+			consecutiveFailures++;
+			if (trialInFlight || consecutiveFailures >= failureThreshold) {
+				open = true;
+				openedAt = ticker.read();
+				trialInFlight = false;
+			}
+		}
+	}
+
+	/**
+	 * Thrown when a request is not sent because the circuit of its server is
+	 * open.
+	 */
+	static final class OpenCircuitException extends IOException {
+		private static final long serialVersionUID = 1L;
+
+		private final Duration untilTrial;
+
+		OpenCircuitException(String message, Duration untilTrial) {
+			super(message);
+			this.untilTrial = untilTrial;
+		}
+
+		/**
+		 * Returns how long until a trial request is let through, zero if one
+		 * is already in flight.
+		 */
+		Duration untilTrial() {
+			return untilTrial;
+		}
+	}
+}
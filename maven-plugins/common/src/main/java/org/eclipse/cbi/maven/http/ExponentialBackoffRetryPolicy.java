@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.maven.http;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.math.LongMath;
+
+/**
+ * See {@link RetryPolicy#exponentialBackoff(Duration, Duration)}.
+ */
+final class ExponentialBackoffRetryPolicy implements RetryPolicy {
+
+	private static final Set<Integer> TRANSIENT_STATUS_CODES = Set.of(
+			408, // Request Timeout
+			429, // Too Many Requests
+			500, // Internal Server Error
+			502, // Bad Gateway
+			503, // Service Unavailable
+			504); // Gateway Timeout
+
+	private final Duration baseDelay;
+	private final Duration maxDelay;
+
+	ExponentialBackoffRetryPolicy(Duration baseDelay, Duration maxDelay) {
+		Objects.requireNonNull(baseDelay);
+		Objects.requireNonNull(maxDelay);
+		Preconditions.checkArgument(!baseDelay.isNegative(), "'baseDelay' must be positive");
+		Preconditions.checkArgument(maxDelay.compareTo(baseDelay) >= 0, "'maxDelay' must be greater than or equal to 'baseDelay'");
+		this.baseDelay = baseDelay;
+		this.maxDelay = maxDelay;
+	}
+
+	@Override
+	public boolean isRetryable(HttpRequest request, Failure failure) {
+		return isTransient(failure);
+	}
+
+	/**
+	 * Whether the given failure is likely to be fixed by sending the request
+	 * again, possibly to another server.
+	 */
+	static boolean isTransient(Failure failure) {
+		if (failure.exception().isPresent()) {
+			// the Apache client reports timeouts wrapped in a RuntimeException
+			return Throwables.getCausalChain(failure.exception().get()).stream()
+					.anyMatch(e -> e instanceof IOException || e instanceof TimeoutException);
+		}
+		// a client that reports a failure without a status code has not received any response
+		return failure.statusCode() == 0 || TRANSIENT_STATUS_CODES.contains(failure.statusCode());
+	}
+
+	@Override
+	public Duration delayBeforeRetry(int retry, Failure failure) {
+		Preconditions.checkArgument(retry > 0, "'retry' must be strictly positive");
+		long maxMillis = maxDelay.toMillis();
+		long ceilingMillis = Math.min(maxMillis, LongMath.saturatedMultiply(baseDelay.toMillis(), 1L << Math.min(retry - 1, 62)));
+		long jitteredMillis = ceilingMillis == 0 ? 0 : ThreadLocalRandom.current().nextLong(ceilingMillis + 1);
+		long retryAfterMillis = Math.min(maxMillis, failure.retryAfter().toMillis());
+		return Duration.ofMillis(Math.max(jitteredMillis, retryAfterMillis));
+	}
+}
@@ -0,0 +1,244 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.maven.http;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.CopyOption;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingInputStream;
+
+/**
+ * Moves the content of requests and responses between files and the streams
+ * of the HTTP clients.
+ * <p>
+ * The file side goes through {@link FileChannel} transfers, which let the
+ * JDK use its own (direct) buffers, or skip them altogether when the other
+ * side is a file or a socket channel. Responses are written to a temporary
+ * file next to their target, checked, and then moved over the target, so
+ * that a failed download never leaves a partial file in place.
+ */
+public final class FileTransfers {
+
+	/**
+	 * The header through which a server gives the digest of a response
+	 * (RFC 3230), e.g., {@code Digest: sha-256=X48E9qOokqqrvdts8nOJRJN3OWDUoyWxBf7kbu9DBPE=}.
+	 */
+	static final String DIGEST_HEADER = "Digest";
+
+	/**
+	 * The header through which a server gives the digest of a response
+	 * (RFC 9530), e.g., {@code Repr-Digest: sha-256=:X48E9qOokqqrvdts8nOJRJN3OWDUoyWxBf7kbu9DBPE=:}.
+	 */
+	static final String REPR_DIGEST_HEADER = "Repr-Digest";
+
+	/**
+	 * The maximum number of bytes moved by a single channel transfer.
+	 */
+	private static final long TRANSFER_CHUNK_SIZE = 8L << 20;
+
+	private FileTransfers() {
+		throw new AssertionError();
+	}
+
+	/**
+	 * Writes the first {@code length} bytes of the given file to the given
+	 * stream. The stream is neither flushed nor closed.
+	 *
+	 * @param source
+	 *            the file to send.
+	 * @param length
+	 *            the number of bytes to send, as announced to the server.
+	 * @param target
+	 *            the stream of the request.
+	 * @return the number of bytes written.
+	 * @throws IOException
+	 *             if the file can't be read, or if it is shorter than
+	 *             {@code length}.
+	 */
+	public static long upload(Path source, long length, OutputStream target) throws IOException {
+		Objects.requireNonNull(target);
+		try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+			WritableByteChannel out = Channels.newChannel(target);
+			long position = 0;
+			while (position < length) {
+				long transferred = channel.transferTo(position, Math.min(length - position, TRANSFER_CHUNK_SIZE), out);
+				if (transferred <= 0) {
+					throw new IOException("File '" + source + "' has been truncated while being sent (" + position + " of " + length + " bytes sent)");
+				}
+				position += transferred;
+			}
+			return position;
+		}
+	}
+
+	/**
+	 * Writes the content of the given response to the given file. The content
+	 * is first written to a temporary file in the same folder, and only moved
+	 * to the target, atomically if the file system supports it, once it has
+	 * been completely received and, if the server gave one through a
+	 * {@value #DIGEST_HEADER} or {@value #REPR_DIGEST_HEADER} header with a
+	 * {@code sha-256} or {@code sha-512} value, its digest has been verified.
+	 *
+	 * @param content
+	 *            the content of the response, closed once read.
+	 * @param result
+	 *            the response, giving the expected length and digest.
+	 * @param target
+	 *            the file to write.
+	 * @param options
+	 *            only {@link StandardCopyOption#REPLACE_EXISTING} is supported,
+	 *            as with {@link Files#copy(InputStream, Path, CopyOption...)}.
+	 * @return the number of bytes written.
+	 * @throws IOException
+	 *             if the content can't be read or written, or if it is
+	 *             truncated or does not match its digest. The target is left
+	 *             untouched.
+	 */
+	public static long download(InputStream content, HttpResult result, Path target, CopyOption... options) throws IOException {
+		Objects.requireNonNull(result);
+		try (InputStream is = Objects.requireNonNull(content)) {
+			boolean replaceExisting = replaceExisting(options);
+			if (!replaceExisting && Files.exists(target, LinkOption.NOFOLLOW_LINKS)) {
+				throw new FileAlreadyExistsException(target.toString());
+			}
+
+			Optional<ExpectedDigest> expectedDigest = expectedDigest(result);
+			HashingInputStream hashing = expectedDigest.isPresent() ? new HashingInputStream(expectedDigest.get().function, is) : null;
+			Path folder = target.toAbsolutePath().getParent();
+			Path temp = folder.resolve("." + target.getFileName() + "-" + Long.toUnsignedString(ThreadLocalRandom.current().nextLong(), 36) + ".part");
+			try {
+				long size;
+				// not a temp file, which would get restrictive permissions
+				try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+					size = transferFrom(Channels.newChannel(hashing != null ? hashing : is), channel);
+				}
+				if (result.contentLength() >= 0 && size != result.contentLength()) {
+					throw new IOException("Response has been truncated, " + size + " of " + result.contentLength() + " bytes received");
+				}
+				if (hashing != null && !hashing.hash().equals(expectedDigest.get().value)) {
+					throw new IOException("Response does not match the " + expectedDigest.get().algorithm + " digest given by the server");
+				}
+				move(temp, target);
+				return size;
+			} finally {
+				Files.deleteIfExists(temp);
+			}
+		}
+	}
+
+	private static long transferFrom(ReadableByteChannel in, FileChannel out) throws IOException {
+		long position = 0;
+		long transferred;
+		// a blocking source only transfers nothing at its end
+		while ((transferred = out.transferFrom(in, position, TRANSFER_CHUNK_SIZE)) > 0) {
+			position += transferred;
+		}
+		return position;
+	}
+
+	private static void move(Path source, Path target) throws IOException {
+		try {
+			// whether the target can be replaced has been checked beforehand
+			Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (@SuppressWarnings("unused") AtomicMoveNotSupportedException e) {
+			Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	private static boolean replaceExisting(CopyOption... options) {
+		boolean replaceExisting = false;
+		for (CopyOption option : options) {
+			if (option == StandardCopyOption.REPLACE_EXISTING) {
+				replaceExisting = true;
+			} else {
+				throw new UnsupportedOperationException("Unsupported copy option: " + Objects.requireNonNull(option));
+			}
+		}
+		return replaceExisting;
+	}
+
+	/**
+	 * Returns the strongest digest given by the server that we know about.
+	 */
+	static Optional<ExpectedDigest> expectedDigest(HttpResult result) throws IOException {
+		ExpectedDigest ret = null;
+		for (String header : new String[] { REPR_DIGEST_HEADER, DIGEST_HEADER }) {
+			Optional<String> value = result.header(header);
+			if (!value.isPresent()) {
+				continue;
+			}
+			for (String entry : value.get().split(",")) {
+				int separator = entry.indexOf('=');
+				if (separator <= 0) {
+					continue;
+				}
+				String algorithm = entry.substring(0, separator).trim().toLowerCase(Locale.ROOT);
+				String encoded = entry.substring(separator + 1).trim();
+				if (encoded.length() >= 2 && encoded.startsWith(":") && encoded.endsWith(":")) {
+					encoded = encoded.substring(1, encoded.length() - 1);
+				}
+				HashFunction function;
+				if ("sha-512".equals(algorithm)) {
+					function = Hashing.sha512();
+				} else if ("sha-256".equals(algorithm)) {
+					function = Hashing.sha256();
+				} else {
+					continue;
+				}
+				HashCode digest;
+				try {
+					digest = HashCode.fromBytes(Base64.getDecoder().decode(encoded));
+				} catch (IllegalArgumentException e) {
+					throw new IOException("Malformed " + header + " header: '" + value.get() + "'", e);
+				}
+				if (ret == null || function.bits() > ret.function.bits()) {
+					ret = new ExpectedDigest(algorithm, function, digest);
+				}
+			}
+		}
+		return Optional.ofNullable(ret);
+	}
+
+	static final class ExpectedDigest {
+		final String algorithm;
+		final HashFunction function;
+		final HashCode value;
+
+		ExpectedDigest(String algorithm, HashFunction function, HashCode value) {
+			this.algorithm = algorithm;
+			this.function = function;
+			this.value = value;
+		}
+	}
+}
@@ -14,6 +14,11 @@ package org.eclipse.cbi.maven.http;
 
 import java.io.IOException;
 
+/**
+ * Sends HTTP requests. When the thread sending a request is interrupted, the
+ * request is aborted, even while its body is being uploaded, and
+ * {@code false} is returned with the interrupted status of the thread set.
+ */
 public interface HttpClient {
 
 	boolean send(HttpRequest request, CompletionListener completionListener) throws IOException;
@@ -12,13 +12,18 @@
  *******************************************************************************/
 package org.eclipse.cbi.maven.http;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.stream.Collectors;
 
 import com.google.auto.value.AutoValue;
 import com.google.common.base.MoreObjects;
@@ -73,14 +78,61 @@ public final class HttpRequest {
 		}
 	}
 
+	/**
+	 * The methods of the requests. {@code POST} requests send their parameters
+	 * as a multipart body, {@code GET} requests send their string parameters
+	 * as the query of the URI and can't have path or streamed parameters.
+	 */
+	public enum Method {
+		POST, GET
+	}
+
+	/**
+	 * Writes the content of a {@link StreamedFile streamed file parameter}
+	 * while the request is being sent. It may be called several times, e.g.,
+	 * when the request is retried, and must then write the same content. It
+	 * must not close the given stream.
+	 */
+	@FunctionalInterface
+	public interface ContentWriter {
+		void writeTo(OutputStream output) throws IOException;
+	}
+
+	/**
+	 * A file parameter whose content is generated while the request is being
+	 * sent instead of being read from disk. Its length is not known up front,
+	 * so the request body is sent chunked.
+	 */
+	@AutoValue
+	public static abstract class StreamedFile {
+		StreamedFile() {
+		}
+
+		public abstract String fileName();
+
+		public abstract ContentWriter writer();
+
+		static StreamedFile of(String fileName, ContentWriter writer) {
+			return new AutoValue_HttpRequest_StreamedFile(fileName, writer);
+		}
+	}
+
 	private final URI serverUri;
+	private final Method method;
 	private final ImmutableMap<String, String> stringParams;
 	private final ImmutableMap<String, Path> pathParams;
+	private final ImmutableMap<String, StreamedFile> streamedParams;
 
-	HttpRequest(URI serverUri, ImmutableMap<String, String> stringParams, ImmutableMap<String, Path> pathParams) {
+	HttpRequest(URI serverUri, Method method, ImmutableMap<String, String> stringParams, ImmutableMap<String, Path> pathParams, ImmutableMap<String, StreamedFile> streamedParams) {
 		this.serverUri = Objects.requireNonNull(serverUri);
+		this.method = Objects.requireNonNull(method);
 		this.stringParams = Objects.requireNonNull(stringParams);
 		this.pathParams = Objects.requireNonNull(pathParams);
+		this.streamedParams = Objects.requireNonNull(streamedParams);
+	}
+	
+	public Method method() {
+		return method;
 	}
 	
 	public Map<String, Path> pathParameters() {
@@ -91,18 +143,68 @@ public final class HttpRequest {
 		return stringParams;
 	}
 	
+	public Map<String, StreamedFile> streamedParameters() {
+		return streamedParams;
+	}
+	
 	public URI serverUri() {
 		return serverUri;
 	}
 	
+	/**
+	 * Returns the URI to send the request to, i.e., the server URI with the
+	 * string parameters as query for {@code GET} requests.
+	 * 
+	 * @return the URI to send the request to.
+	 */
+	public URI requestUri() {
+		if (method == Method.POST || stringParams.isEmpty()) {
+			return serverUri;
+		}
+		String query = stringParams.entrySet().stream()
+				.map(e -> URLEncoder.encode(e.getKey(), StandardCharsets.UTF_8) + "=" + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8))
+				.collect(Collectors.joining("&"));
+		String uri = serverUri.toString();
+		return URI.create(uri + (uri.contains("?") ? "&" : "?") + query);
+	}
+	
+	/**
+	 * Returns a copy of this request with the given string parameter added or
+	 * replaced.
+	 * 
+	 * @param name
+	 *            the name of the parameter.
+	 * @param value
+	 *            the value of the parameter.
+	 * @return the new request.
+	 */
+	HttpRequest withStringParameter(String name, String value) {
+		return new HttpRequest(serverUri, method, ImmutableMap.<String, String>builder().putAll(stringParams).put(name, value).buildKeepingLast(), pathParams, streamedParams);
+	}
+	
+	/**
+	 * Returns a copy of this request sent to the given server.
+	 * 
+	 * @param serverUri
+	 *            the URI of the server.
+	 * @return the new request.
+	 */
+	HttpRequest withServerUri(URI serverUri) {
+		return new HttpRequest(serverUri, method, stringParams, pathParams, streamedParams);
+	}
+	
 	@Override
 	public String toString() {
 		final ToStringHelper toStringHelper = MoreObjects.toStringHelper(this)
+				.add("method", method())
 				.add("serverUri", serverUri());
 		
 		for (Map.Entry<String, Path> e : pathParameters().entrySet()) {
 			toStringHelper.add(e.getKey(), "@" + e.getValue().toString());
 		}
+		for (Map.Entry<String, StreamedFile> e : streamedParameters().entrySet()) {
+			toStringHelper.add(e.getKey(), "@" + e.getValue().fileName() + " (streamed)");
+		}
 		for (Entry<String, String> e : stringParameters().entrySet()) {
 			toStringHelper.add(e.getKey(), e.getValue());
 		}
@@ -114,17 +216,26 @@ public final class HttpRequest {
 		return new Builder().serverUri(serverUri);
 	}
 	
+	public static Builder get(URI serverUri) {
+		return new Builder().serverUri(serverUri).method(Method.GET);
+	}
+	
 	public static class Builder {
 		
 		private URI serverUri;
+		
+		private Method method = Method.POST;
 
 		private final ImmutableMap.Builder<String, String> stringParams;
 		
 		private final ImmutableMap.Builder<String, Path> pathParams;
+		
+		private final ImmutableMap.Builder<String, StreamedFile> streamedParams;
 
 		Builder() {
 			stringParams = ImmutableMap.builder();
 			pathParams = ImmutableMap.builder();
+			streamedParams = ImmutableMap.builder();
 		}
 
 		Builder serverUri(URI serverUri) {
@@ -132,6 +243,11 @@ public final class HttpRequest {
 			return this;
 		}
 
+		Builder method(Method method) {
+			this.method = Objects.requireNonNull(method);
+			return this;
+		}
+
 		public Builder withParam(String name, Path path) {
 			Preconditions.checkArgument(!Objects.requireNonNull(name).isEmpty());
 			Preconditions.checkArgument(Files.isRegularFile(path));
@@ -139,6 +255,24 @@ public final class HttpRequest {
 			return this;
 		}
 		
+		/**
+		 * Adds a file parameter whose content is written by the given writer
+		 * while the request is sent.
+		 * 
+		 * @param name
+		 *            the name of the parameter.
+		 * @param fileName
+		 *            the file name sent along with the content.
+		 * @param writer
+		 *            the writer of the content.
+		 * @return this builder for chained calls.
+		 */
+		public Builder withParam(String name, String fileName, ContentWriter writer) {
+			Preconditions.checkArgument(!Objects.requireNonNull(name).isEmpty());
+			streamedParams.put(name, StreamedFile.of(Objects.requireNonNull(fileName), Objects.requireNonNull(writer)));
+			return this;
+		}
+		
 		public Builder withParam(String name, String value) {
 			Preconditions.checkArgument(!Objects.requireNonNull(name).isEmpty());
 			stringParams.put(name, value);
@@ -146,7 +280,10 @@ public final class HttpRequest {
 		}
 		
 		public HttpRequest build() {
-			return new HttpRequest(serverUri, stringParams.build(), pathParams.build());
+			ImmutableMap<String, Path> paths = pathParams.build();
+			ImmutableMap<String, StreamedFile> streamed = streamedParams.build();
+			Preconditions.checkState(method == Method.POST || (paths.isEmpty() && streamed.isEmpty()), "Only POST requests can have path or streamed parameters");
+			return new HttpRequest(serverUri, method, stringParams.build(), paths, streamed);
 		}
 	}
 }
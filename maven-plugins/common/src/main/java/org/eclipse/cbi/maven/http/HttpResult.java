@@ -12,11 +12,15 @@
  *******************************************************************************/
 package org.eclipse.cbi.maven.http;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.charset.Charset;
 import java.nio.file.CopyOption;
 import java.nio.file.Path;
+import java.util.Optional;
 
 public interface HttpResult {
 	
@@ -28,7 +32,44 @@ public interface HttpResult {
 	
 	long copyContent(OutputStream output) throws IOException;
 
+	/**
+	 * Gives the content to the given reader as a stream, so that it can be
+	 * processed while it arrives. The default implementation buffers the whole
+	 * content in memory first, implementations backed by a connection should
+	 * give access to its stream instead.
+	 *
+	 * @param reader
+	 *            the reader of the content.
+	 * @throws IOException
+	 *             if the content can't be read, or if the reader failed.
+	 */
+	default void readContent(ContentReader reader) throws IOException {
+		ByteArrayOutputStream content = new ByteArrayOutputStream();
+		copyContent(content);
+		reader.read(new ByteArrayInputStream(content.toByteArray()));
+	}
+
 	long contentLength();
 
 	Charset contentCharset();
+
+	/**
+	 * Returns the first value of the given header of the response. The
+	 * default implementation knows no header.
+	 *
+	 * @param name
+	 *            the name of the header, case insensitive.
+	 * @return the value of the header, if any.
+	 */
+	default Optional<String> header(String name) {
+		return Optional.empty();
+	}
+
+	/**
+	 * Reads the content of a result as a stream.
+	 */
+	@FunctionalInterface
+	interface ContentReader {
+		void read(InputStream content) throws IOException;
+	}
 }
\ No newline at end of file
@@ -0,0 +1,475 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.maven.http;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.cbi.maven.Logger;
+import org.eclipse.cbi.maven.http.HttpRequest.Config;
+import org.eclipse.cbi.maven.http.RetryPolicy.Failure;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * An {@link HttpClient} that spreads requests over several replicas of the
+ * same service. The server URI of each request is replaced by the one of the
+ * chosen endpoint, so requests must not depend on a state kept by a single
+ * replica.
+ * <p>
+ * A request goes to the endpoint with the least outstanding requests, weighted
+ * by the latency measured on this endpoint. An endpoint that fails transiently
+ * is ejected for a while: no request is sent to it unless all the endpoints
+ * are ejected.
+ * <p>
+ * With a {@link Builder#hedgeDelay(Duration) hedge delay}, a request that is
+ * not done after this delay is sent to a second endpoint as well. The first
+ * successful response is given to the {@link CompletionListener} and the other
+ * request is aborted. An error is given to the listener only once no other
+ * request can succeed. Requests are thus sent twice: their processing on the
+ * server must be idempotent.
+ * <p>
+ * A request is aborted by interrupting the thread sending it to the delegate.
+ * The clients of this package then abort the underlying request, stopping its
+ * upload. A delegate ignoring interruptions keeps sending the aborted request
+ * until it is done, so that hedged requests may use up to twice the
+ * bandwidth; its result is ignored and {@link #send} does not wait for it.
+ */
+@AutoValue
+public abstract class LoadBalancingHttpClient implements HttpClient {
+
+	/**
+	 * The weight of the latest sample in the measured latency of an endpoint.
+	 */
+	private static final double LATENCY_SMOOTHING = 0.3;
+
+	private final Map<URI, Endpoint> stats = new HashMap<>();
+	private final ExecutorService executor = Executors.newCachedThreadPool(
+			new ThreadFactoryBuilder().setNameFormat("Hedged-request-%d").setDaemon(true).build());
+	private int nextEndpoint;
+
+	abstract HttpClient delegate();
+	abstract ImmutableList<URI> endpoints();
+	abstract Duration hedgeDelay();
+	abstract Duration ejectionDuration();
+	abstract Logger log();
+
+	LoadBalancingHttpClient() {
+	}
+
+	@Override
+	public boolean send(HttpRequest request, CompletionListener completionListener) throws IOException {
+		return send(request, Config.defaultConfig(), completionListener);
+	}
+
+	@Override
+	public boolean send(HttpRequest request, Config config, CompletionListener completionListener) throws IOException {
+		Exchange exchange = new Exchange(request, config, completionListener);
+		Endpoint endpoint = choose(null, true);
+		try {
+			if (hedgeDelay().isZero() || endpoints().size() < 2) {
+				// no need for another thread, the exchange is settled once run
+				exchange.run(exchange.newAttempt(endpoint));
+			} else {
+				exchange.submit(endpoint);
+				if (!exchange.await(hedgeDelay())) {
+					exchange.hedge(endpoint);
+				}
+			}
+			return exchange.result();
+		} catch (@SuppressWarnings("unused") InterruptedException e) {
+			exchange.cancel();
+			// restore interrupted status
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	/**
+	 * Chooses the endpoint with the lowest cost, starting from a different
+	 * endpoint each time so that ties are spread.
+	 *
+	 * @param excluded
+	 *            an endpoint not to choose, may be {@code null}.
+	 * @param evenIfEjected
+	 *            whether to choose the endpoint coming back the soonest when all
+	 *            of them are ejected.
+	 * @return the endpoint, or {@code null} if none can be chosen.
+	 */
+	private Endpoint choose(Endpoint excluded, boolean evenIfEjected) {
+		synchronized (stats) {
+			long now = System.nanoTime();
+			int size = endpoints().size();
+			int start = Math.floorMod(nextEndpoint++, size);
+			Endpoint best = null;
+			Endpoint soonestBack = null;
+			for (int i = 0; i < size; i++) {
+				Endpoint endpoint = stats.computeIfAbsent(endpoints().get((start + i) % size), Endpoint::new);
+				if (endpoint == excluded) {
+					continue;
+				}
+				if (endpoint.isEjected(now)) {
+					if (soonestBack == null || endpoint.ejectedUntil - soonestBack.ejectedUntil < 0) {
+						soonestBack = endpoint;
+					}
+				} else if (best == null || endpoint.cost() < best.cost()) {
+					best = endpoint;
+				}
+			}
+			if (best == null && evenIfEjected) {
+				best = soonestBack;
+			}
+			if (best != null) {
+				best.outstanding++;
+			}
+			return best;
+		}
+	}
+
+	/**
+	 * Records the completion of a request sent to the given endpoint.
+	 *
+	 * @param failure
+	 *            how the request failed, {@code null} if it succeeded.
+	 * @param aborted
+	 *            whether the request has been aborted because another one
+	 *            completed first.
+	 */
+	private void release(Endpoint endpoint, long elapsedNanos, Failure failure, boolean aborted) {
+		synchronized (stats) {
+			endpoint.outstanding--;
+			if (aborted) {
+				// the endpoint has been at least this slow
+				if (elapsedNanos > endpoint.latencyNanos) {
+					endpoint.observe(elapsedNanos);
+				}
+			} else if (failure != null && ExponentialBackoffRetryPolicy.isTransient(failure)) {
+				endpoint.ejected = true;
+				endpoint.ejectedUntil = System.nanoTime() + ejectionDuration().toNanos();
+				log().warn("Request to '" + endpoint.uri + "' failed, no request will be sent to this endpoint for the next "
+						+ ejectionDuration().toSeconds() + " seconds unless all the other endpoints fail as well");
+			} else {
+				endpoint.observe(elapsedNanos);
+			}
+		}
+	}
+
+	/**
+	 * The state of an endpoint, guarded by {@link LoadBalancingHttpClient#stats}.
+	 */
+	private static final class Endpoint {
+		final URI uri;
+		int outstanding;
+		long latencyNanos;
+		boolean ejected;
+		long ejectedUntil;
+
+		Endpoint(URI uri) {
+			this.uri = uri;
+		}
+
+		boolean isEjected(long now) {
+			if (ejected && now - ejectedUntil >= 0) {
+				ejected = false;
+			}
+			return ejected;
+		}
+
+		/**
+		 * Endpoints whose latency is not known yet cost almost nothing, so that
+		 * they get measured.
+		 */
+		double cost() {
+			return Math.max(latencyNanos, 1) * (outstanding + 1.0);
+		}
+
+		void observe(long elapsedNanos) {
+			latencyNanos = latencyNanos == 0 ? elapsedNanos
+					: (long) (latencyNanos * (1 - LATENCY_SMOOTHING) + elapsedNanos * LATENCY_SMOOTHING);
+		}
+	}
+
+	/**
+	 * The sending of a single request, possibly to several endpoints. Each
+	 * {@link Attempt} reports to the listener through a {@link Gate}, which
+	 * lets at most one result through.
+	 */
+	private final class Exchange {
+		private final HttpRequest request;
+		private final Config config;
+		private final CompletionListener completionListener;
+		private final CompletableFuture<Boolean> outcome = new CompletableFuture<>();
+		private final List<Attempt> attempts = new ArrayList<>();
+		private Attempt winner;
+		private Attempt errorReporter;
+
+		Exchange(HttpRequest request, Config config, CompletionListener completionListener) {
+			this.request = Objects.requireNonNull(request);
+			this.config = Objects.requireNonNull(config);
+			this.completionListener = Objects.requireNonNull(completionListener);
+		}
+
+		synchronized Attempt newAttempt(Endpoint endpoint) {
+			Attempt attempt = new Attempt(endpoint);
+			attempts.add(attempt);
+			return attempt;
+		}
+
+		synchronized void submit(Endpoint endpoint) {
+			Attempt attempt = newAttempt(endpoint);
+			attempt.future = executor.submit(() -> run(attempt));
+		}
+
+		/**
+		 * Sends the request to a second endpoint, unless the exchange is
+		 * already settled.
+		 */
+		synchronized void hedge(Endpoint first) {
+			if (outcome.isDone() || winner != null || errorReporter != null) {
+				return;
+			}
+			Endpoint second = choose(first, false);
+			if (second == null) {
+				log().debug("Request to '" + first.uri + "' is still running after " + hedgeDelay().toMillis()
+						+ " ms, but no other endpoint is available to send it to");
+				return;
+			}
+			log().info("Request to '" + first.uri + "' is still running after " + hedgeDelay().toMillis()
+					+ " ms, sending it to '" + second.uri + "' as well");
+			submit(second);
+		}
+
+		boolean await(Duration timeout) throws InterruptedException {
+			try {
+				outcome.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+			} catch (@SuppressWarnings("unused") TimeoutException e) {
+				return false;
+			} catch (@SuppressWarnings("unused") ExecutionException e) {
+				// reported by result()
+			}
+			return true;
+		}
+
+		boolean result() throws IOException, InterruptedException {
+			try {
+				return outcome.get().booleanValue();
+			} catch (ExecutionException e) {
+				Throwables.throwIfInstanceOf(e.getCause(), IOException.class);
+				Throwables.throwIfUnchecked(e.getCause());
+				throw new RuntimeException(e.getCause());
+			}
+		}
+
+		/**
+		 * Aborts the attempts still running.
+		 */
+		synchronized void cancel() {
+			for (Attempt attempt : attempts) {
+				if (!attempt.done) {
+					abort(attempt);
+				}
+			}
+		}
+
+		private void abort(Attempt attempt) {
+			attempt.aborted = true;
+			if (!attempt.started) {
+				// will never run, releases the endpoint right away
+				attempt.done = true;
+				release(attempt.endpoint, 0, null, true);
+			}
+			if (attempt.future != null) {
+				attempt.future.cancel(true);
+			}
+		}
+
+		void run(Attempt attempt) {
+			synchronized (this) {
+				if (attempt.done) {
+					return;
+				}
+				attempt.started = true;
+			}
+			long start = System.nanoTime();
+			boolean sent = false;
+			Exception exception = null;
+			try {
+				sent = delegate().send(request.withServerUri(attempt.endpoint.uri), config, new Gate(attempt));
+			} catch (Exception e) {
+				exception = e;
+			}
+			finish(attempt, System.nanoTime() - start, sent, exception);
+		}
+
+		private synchronized void finish(Attempt attempt, long elapsedNanos, boolean sent, Exception exception) {
+			attempt.done = true;
+			Failure failure = null;
+			if (exception != null) {
+				failure = Failure.of(exception);
+			} else if (!sent) {
+				failure = attempt.failure;
+			}
+			release(attempt.endpoint, elapsedNanos, failure, attempt.aborted);
+
+			if (attempt == winner || attempt == errorReporter || (winner == null && !isRunning())) {
+				if (exception != null) {
+					outcome.completeExceptionally(exception);
+				} else {
+					outcome.complete(sent);
+				}
+			} else if (winner == null && failure != null) {
+				log().debug("Request to '" + attempt.endpoint.uri + "' failed, waiting for the same request sent to another endpoint");
+			}
+		}
+
+		private boolean isRunning() {
+			return attempts.stream().anyMatch(a -> !a.done);
+		}
+
+		private synchronized boolean acceptSuccess(Attempt attempt) {
+			if (winner != null || errorReporter != null) {
+				return false;
+			}
+			winner = attempt;
+			for (Attempt other : attempts) {
+				if (other != attempt && !other.done) {
+					log().debug("Request to '" + attempt.endpoint.uri + "' succeeded first, aborting the one sent to '" + other.endpoint.uri + "'");
+					abort(other);
+				}
+			}
+			return true;
+		}
+
+		private synchronized boolean acceptError(Attempt attempt, HttpResult error) {
+			attempt.failure = Failure.of(error);
+			if (winner != null || attempts.stream().anyMatch(a -> a != attempt && !a.done)) {
+				return false;
+			}
+			errorReporter = attempt;
+			return true;
+		}
+
+		/**
+		 * Gives the result of an attempt to the actual listener if it is
+		 * accepted, i.e., if it is the first success, or an error while no
+		 * other attempt is running.
+		 */
+		private final class Gate implements CompletionListener {
+			private final Attempt attempt;
+
+			Gate(Attempt attempt) {
+				this.attempt = attempt;
+			}
+
+			@Override
+			public void onSuccess(HttpResult result) throws IOException {
+				if (acceptSuccess(attempt)) {
+					completionListener.onSuccess(result);
+				}
+			}
+
+			@Override
+			public void onError(HttpResult error) throws IOException {
+				if (acceptError(attempt, error)) {
+					completionListener.onError(error);
+				} else {
+					log().debug("Request to '" + attempt.endpoint.uri + "' failed with HTTP error " + error.statusCode()
+							+ " (reason: " + error.reason() + "), another endpoint may still succeed");
+				}
+			}
+		}
+	}
+
+	/**
+	 * The sending of the request to a single endpoint, guarded by its
+	 * {@link Exchange}.
+	 */
+	private static final class Attempt {
+		final Endpoint endpoint;
+		Future<?> future;
+		Failure failure = Failure.unknown();
+		boolean started;
+		boolean done;
+		boolean aborted;
+
+		Attempt(Endpoint endpoint) {
+			this.endpoint = endpoint;
+		}
+	}
+
+	public static Builder balanceRequestsOn(HttpClient client) {
+		return new AutoValue_LoadBalancingHttpClient.Builder().delegate(client)
+				.hedgeDelay(Duration.ZERO)
+				.ejectionDuration(Duration.ofSeconds(30));
+	}
+
+	@AutoValue.Builder
+	public static abstract class Builder {
+
+		abstract Builder delegate(HttpClient httpClient);
+
+		/**
+		 * The URIs of the replicas of the service. The server URI of the
+		 * requests is replaced by one of them.
+		 */
+		public abstract Builder endpoints(Collection<URI> endpoints);
+
+		/**
+		 * How long to wait for the response of an endpoint before sending the
+		 * same request to another one. Defaults to {@link Duration#ZERO},
+		 * i.e., requests are never sent twice.
+		 */
+		public abstract Builder hedgeDelay(Duration hedgeDelay);
+
+		/**
+		 * How long an endpoint is ignored after a transient failure. Defaults
+		 * to 30 seconds.
+		 */
+		public abstract Builder ejectionDuration(Duration ejectionDuration);
+
+		public abstract Builder log(Logger log);
+
+		abstract LoadBalancingHttpClient autoBuild();
+
+		public HttpClient build() {
+			LoadBalancingHttpClient ret = autoBuild();
+			if (ret.endpoints().isEmpty()) {
+				throw new IllegalArgumentException("At least one endpoint is required");
+			}
+			if (ret.hedgeDelay().isNegative()) {
+				throw new IllegalArgumentException("'hedgeDelay' must be positive");
+			}
+			if (ret.ejectionDuration().isNegative()) {
+				throw new IllegalArgumentException("'ejectionDuration' must be positive");
+			}
+			return ret;
+		}
+	}
+}
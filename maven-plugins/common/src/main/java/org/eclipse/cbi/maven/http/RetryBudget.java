@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.maven.http;
+
+import java.time.Duration;
+import java.util.Objects;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+
+/**
+ * Bounds the number of retries of the {@link RetryHttpClient}s that share it:
+ * besides a fixed reserve of retries, only a ratio of the requests can be
+ * retried. When a server is overloaded and most requests fail, the clients
+ * thus stop piling up retries on it, whatever their own maximum number of
+ * retries.
+ * <p>
+ * Requests and retries are only counted over a sliding window, so that the
+ * budget spent on an outage is recovered once it is over, however long the
+ * build.
+ */
+public final class RetryBudget {
+
+	/**
+	 * The number of slices of the window, which slides one slice at a time.
+	 */
+	private static final int BUCKETS = 10;
+
+	private static final Duration DEFAULT_WINDOW = Duration.ofMinutes(1);
+
+	private static final RetryBudget UNLIMITED = new RetryBudget(0, Integer.MAX_VALUE);
+
+	private static final RetryBudget SHARED = new RetryBudget(0.2, 10);
+
+	private final double retryRatio;
+	private final int minRetries;
+	private final long bucketNanos;
+	private final Ticker ticker;
+
+	private final long[] requests = new long[BUCKETS];
+	private final long[] retries = new long[BUCKETS];
+	private long currentBucket;
+
+	/**
+	 * Creates a new budget over a window of a minute.
+	 *
+	 * @param retryRatio
+	 *            the ratio of requests that can be retried.
+	 * @param minRetries
+	 *            the number of retries that are always allowed, whatever the
+	 *            number of requests.
+	 */
+	public RetryBudget(double retryRatio, int minRetries) {
+		this(retryRatio, minRetries, DEFAULT_WINDOW);
+	}
+
+	/**
+	 * Creates a new budget.
+	 *
+	 * @param retryRatio
+	 *            the ratio of requests that can be retried.
+	 * @param minRetries
+	 *            the number of retries that are always allowed within the
+	 *            window, whatever the number of requests.
+	 * @param window
+	 *            how long requests and retries are counted.
+	 */
+	public RetryBudget(double retryRatio, int minRetries, Duration window) {
+		this(retryRatio, minRetries, window, Ticker.systemTicker());
+	}
+
+	RetryBudget(double retryRatio, int minRetries, Duration window, Ticker ticker) {
+		Preconditions.checkArgument(retryRatio >= 0, "'retryRatio' must be positive");
+		Preconditions.checkArgument(minRetries >= 0, "'minRetries' must be positive");
+		Preconditions.checkArgument(window.toNanos() >= BUCKETS, "'window' is too short");
+		this.retryRatio = retryRatio;
+		this.minRetries = minRetries;
+		this.bucketNanos = window.toNanos() / BUCKETS;
+		this.ticker = Objects.requireNonNull(ticker);
+		this.currentBucket = Math.floorDiv(ticker.read(), bucketNanos);
+	}
+
+	/**
+	 * Returns a budget that allows any number of retries.
+	 *
+	 * @return the unlimited budget.
+	 */
+	public static RetryBudget unlimited() {
+		return UNLIMITED;
+	}
+
+	/**
+	 * Returns the budget shared by all the clients of the JVM, e.g., by all
+	 * the modules of a parallel Maven build: 10 retries plus 20% of the
+	 * requests of the last minute.
+	 *
+	 * @return the shared budget.
+	 */
+	public static RetryBudget shared() {
+		return SHARED;
+	}
+
+	/**
+	 * Records that a request is about to be sent for the first time.
+	 */
+	synchronized void onRequest() {
+		requests[slide()]++;
+	}
+
+	/**
+	 * Withdraws a retry from the budget.
+	 *
+	 * @return whether the budget allows a retry.
+	 */
+	synchronized boolean tryRetry() {
+		int bucket = slide();
+		if (sum(retries) >= minRetries + (long) (retryRatio * sum(requests))) {
+			return false;
+		}
+		retries[bucket]++;
+		return true;
+	}
+
+	/**
+	 * Forgets the buckets that went out of the window and returns the index
+	 * of the current one.
+	 */
+	private int slide() {
+		long bucket = Math.floorDiv(ticker.read(), bucketNanos);
+		for (long expired = Math.max(currentBucket + 1, bucket - BUCKETS + 1); expired <= bucket; expired++) {
+			requests[Math.floorMod(expired, BUCKETS)] = 0;
+			retries[Math.floorMod(expired, BUCKETS)] = 0;
+		}
+		currentBucket = Math.max(currentBucket, bucket);
+		return Math.floorMod(currentBucket, BUCKETS);
+	}
+
+	private static long sum(long[] counts) {
+		long sum = 0;
+		for (long count : counts) {
+			sum += count;
+		}
+		return sum;
+	}
+}
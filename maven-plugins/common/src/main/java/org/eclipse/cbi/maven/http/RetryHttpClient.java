@@ -13,22 +13,50 @@
 package org.eclipse.cbi.maven.http;
 
 import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.cbi.maven.Logger;
 import org.eclipse.cbi.maven.http.HttpRequest.Config;
+import org.eclipse.cbi.maven.http.RetryPolicy.Failure;
 
 import com.google.auto.value.AutoValue;
 import com.google.common.base.Throwables;
 
+/**
+ * An {@link HttpClient} that sends a request again when it fails transiently,
+ * as decided by its {@link RetryPolicy}. By default, the delay between two
+ * attempts grows exponentially from the configured
+ * {@link Builder#waitBeforeRetry(long, TimeUnit) wait}, with full jitter so
+ * that clients failing at the same time don't retry in lockstep, and honours
+ * the {@code Retry-After} header of the server.
+ * <p>
+ * Retries can also be bounded by a {@link RetryBudget} and requests can fail
+ * fast through a {@link CircuitBreaker}, both shared with other clients. A
+ * request refused by an open circuit is retried once the circuit lets a trial
+ * request through, as long as it counts within the maximum number of retries
+ * and the retry budget, and the wait fits in what the retries could wait at
+ * most with the default policy.
+ */
 @AutoValue
 public abstract class RetryHttpClient implements HttpClient {
 
+	/**
+	 * The default maximum delay between two attempts, as a multiple of the
+	 * configured wait.
+	 */
+	private static final int DEFAULT_MAX_BACKOFF_FACTOR = 16;
+
 	abstract int maxRetries();
 	abstract long retryInterval();
 	abstract TimeUnit retryIntervalUnit();
 	abstract HttpClient delegate();
 	abstract Logger log();
+	abstract Optional<RetryPolicy> retryPolicy();
+	abstract RetryBudget retryBudget();
+	abstract CircuitBreaker circuitBreaker();
 
 	RetryHttpClient() {
 	}
@@ -40,19 +68,45 @@ public abstract class RetryHttpClient implements HttpClient {
 	
 	@Override
 	public boolean send(HttpRequest request, Config config, CompletionListener completionListener) throws IOException {
+		final RetryPolicy retryPolicy = retryPolicy().orElseGet(this::defaultRetryPolicy);
+		final URI server = request.serverUri();
 		boolean sucess = false;
-		Exception lastThrownException = null;
+		Failure lastFailure = null;
+
+		// how long the retries may wait at most, with the default policy
+		final Duration waitBudget = maxDelay().multipliedBy(maxRetries());
+		Duration waited = Duration.ZERO;
 
+		retryBudget().onRequest();
 		for (int attemptCount = 0; !sucess && attemptCount <= maxRetries(); attemptCount++) {
-			if (!sucess && attemptCount > 0) {
+			if (attemptCount > 0) {
+				if (!retryPolicy.isRetryable(request, lastFailure)) {
+					log().debug("The previous request failed in a way that will not be fixed by sending it again, it will not be retried");
+					break;
+				}
+				Duration delay = retryPolicy.delayBeforeRetry(attemptCount, lastFailure);
+				if (lastFailure.exception().orElse(null) instanceof CircuitBreaker.OpenCircuitException) {
+					// no use trying before the circuit lets a trial request through
+					Duration untilTrial = ((CircuitBreaker.OpenCircuitException) lastFailure.exception().get()).untilTrial();
+					if (untilTrial.compareTo(waitBudget.minus(waited)) > 0) {
+						log().warn("The circuit of the server will not let requests through before the retries would have been given up, the request will not be retried");
+						break;
+					}
+					delay = untilTrial.compareTo(delay) > 0 ? untilTrial : delay;
+				}
+				if (!retryBudget().tryRetry()) {
+					log().warn("Too many requests have been retried lately, the failed request will not be retried");
+					break;
+				}
+				waited = waited.plus(delay);
 				try {
-					if (lastThrownException != null) {
-						log().warn("An exception has been thrown, but the request will be retried (attempt " + attemptCount + " / " + maxRetries() + ")", lastThrownException);
-						lastThrownException = null;
+					if (lastFailure.exception().isPresent()) {
+						log().warn("An exception has been thrown, but the request will be retried in " + delay.toMillis() + " ms (attempt " + attemptCount + " / " + maxRetries() + ")", lastFailure.exception().get());
 					} else {
-						log().debug("The previous request did not complete sucessfully, but it will be retried (attempt " + attemptCount + " / " + maxRetries() + ")");
+						log().debug("The previous request did not complete sucessfully, but it will be retried in " + delay.toMillis() + " ms (attempt " + attemptCount + " / " + maxRetries() + ")");
 					}
-					retryIntervalUnit().sleep(retryInterval());
+					// not truncated to milliseconds, not to wake up right before the circuit lets a trial through
+					TimeUnit.NANOSECONDS.sleep(delay.toNanos());
 				} catch (InterruptedException e) {
 					log().warn("Thread '" + Thread.currentThread().getName() + "' has been interrupted", e);
 					Thread.currentThread().interrupt();
@@ -61,13 +115,28 @@ public abstract class RetryHttpClient implements HttpClient {
 			}
 
 			try {
-				sucess = delegate().send(request, config, completionListener);
+				circuitBreaker().acquire(server);
+			} catch (CircuitBreaker.OpenCircuitException e) {
+				// not sent, retried as any transient failure once the circuit lets requests through again
+				lastFailure = Failure.of(e);
+				continue;
+			}
+			FailureRecorder recorder = new FailureRecorder(completionListener);
+			try {
+				sucess = delegate().send(request, config, recorder);
+				lastFailure = sucess ? null : recorder.failure();
 			} catch (Exception e) {
-				lastThrownException = e;
+				lastFailure = Failure.of(e);
+			}
+			if (sucess || !retryPolicy.isRetryable(request, lastFailure)) {
+				circuitBreaker().onSuccess(server);
+			} else {
+				circuitBreaker().onFailure(server);
 			}
 		}
 
-		if (lastThrownException != null) {
+		if (lastFailure != null && lastFailure.exception().isPresent()) {
+			Exception lastThrownException = lastFailure.exception().get();
 			Throwables.throwIfInstanceOf(lastThrownException, IOException.class);
 			Throwables.throwIfUnchecked(lastThrownException);
 			throw new RuntimeException(lastThrownException);
@@ -75,9 +144,51 @@ public abstract class RetryHttpClient implements HttpClient {
 
 		return sucess;
 	}
+
+	private RetryPolicy defaultRetryPolicy() {
+		return RetryPolicy.exponentialBackoff(baseDelay(), maxDelay());
+	}
+
+	private Duration baseDelay() {
+		return Duration.ofMillis(retryIntervalUnit().toMillis(retryInterval()));
+	}
+
+	private Duration maxDelay() {
+		return baseDelay().multipliedBy(DEFAULT_MAX_BACKOFF_FACTOR);
+	}
+
+	/**
+	 * Records how the request failed, if it did, before handing the result to
+	 * the actual listener.
+	 */
+	private static final class FailureRecorder implements CompletionListener {
+		private final CompletionListener delegate;
+		private Failure failure = Failure.unknown();
+
+		FailureRecorder(CompletionListener delegate) {
+			this.delegate = delegate;
+		}
+
+		@Override
+		public void onSuccess(HttpResult result) throws IOException {
+			delegate.onSuccess(result);
+		}
+
+		@Override
+		public void onError(HttpResult error) throws IOException {
+			failure = Failure.of(error);
+			delegate.onError(error);
+		}
+
+		Failure failure() {
+			return failure;
+		}
+	}
 	
 	public static Builder retryRequestOn(HttpClient client) {
-		return new AutoValue_RetryHttpClient.Builder().delegate(client);
+		return new AutoValue_RetryHttpClient.Builder().delegate(client)
+				.retryBudget(RetryBudget.unlimited())
+				.circuitBreaker(CircuitBreaker.disabled());
 	}
 	
 	@AutoValue.Builder
@@ -93,6 +204,26 @@ public abstract class RetryHttpClient implements HttpClient {
 		
 		abstract Builder delegate(HttpClient httpClient);
 		public abstract Builder log(Logger log);
+
+		/**
+		 * The policy deciding which failures are retried and when. Defaults
+		 * to an {@link RetryPolicy#exponentialBackoff(Duration, Duration)
+		 * exponential backoff} starting at the configured wait, up to 16 times
+		 * this wait.
+		 */
+		public abstract Builder retryPolicy(RetryPolicy retryPolicy);
+
+		/**
+		 * The budget bounding the retries of this client and of the clients
+		 * it is shared with. Defaults to {@link RetryBudget#unlimited()}.
+		 */
+		public abstract Builder retryBudget(RetryBudget retryBudget);
+
+		/**
+		 * The circuit breaker failing requests fast while their server is down.
+		 * Defaults to {@link CircuitBreaker#disabled()}.
+		 */
+		public abstract Builder circuitBreaker(CircuitBreaker circuitBreaker);
 		
 		abstract RetryHttpClient autoBuild();
 		
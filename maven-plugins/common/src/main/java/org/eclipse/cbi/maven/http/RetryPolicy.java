@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.maven.http;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.net.HttpHeaders;
+
+/**
+ * Decides whether a failed request is sent again by a
+ * {@link RetryHttpClient}, and how long to wait before doing so.
+ */
+public interface RetryPolicy {
+
+	/**
+	 * Whether the given failure is worth sending the request again, i.e.,
+	 * whether it is transient.
+	 *
+	 * @param request
+	 *            the failed request.
+	 * @param failure
+	 *            how the request failed.
+	 * @return whether the request should be sent again.
+	 */
+	boolean isRetryable(HttpRequest request, Failure failure);
+
+	/**
+	 * Returns how long to wait before sending the request again.
+	 *
+	 * @param retry
+	 *            the number of the retry, starting at 1.
+	 * @param failure
+	 *            how the last attempt failed.
+	 * @return the delay before the retry.
+	 */
+	Duration delayBeforeRetry(int retry, Failure failure);
+
+	/**
+	 * A policy that retries transient failures after an exponentially
+	 * growing, fully jittered, delay: the delay before the n-th retry is
+	 * random between 0 and {@code min(maxDelay, baseDelay * 2^(n-1))}. The
+	 * delay is never shorter than the one asked by the server through
+	 * {@code Retry-After}, up to {@code maxDelay}.
+	 * <p>
+	 * Transient failures are I/O errors (e.g., connection reset, timeouts) and
+	 * the 408, 429, 500, 502, 503 and 504 status codes. Other status codes
+	 * mean that sending the same request again will fail the same way.
+	 *
+	 * @param baseDelay
+	 *            the upper bound of the delay before the first retry.
+	 * @param maxDelay
+	 *            the upper bound of the delay before any retry.
+	 * @return a new policy.
+	 */
+	static RetryPolicy exponentialBackoff(Duration baseDelay, Duration maxDelay) {
+		return new ExponentialBackoffRetryPolicy(baseDelay, maxDelay);
+	}
+
+	/**
+	 * How an attempt to send a request failed: either an exception has been
+	 * thrown, or the server answered with an error, or the client reported a
+	 * failure without more details.
+	 */
+	@AutoValue
+	abstract class Failure {
+
+		private static final int NO_STATUS_CODE = 0;
+
+		Failure() {
+		}
+
+		/**
+		 * Returns the status code of the response of the server.
+		 *
+		 * @return the status code, or 0 if there is no response.
+		 */
+		public abstract int statusCode();
+
+		/**
+		 * Returns the delay asked by the server through the
+		 * {@code Retry-After} header.
+		 *
+		 * @return the delay, {@link Duration#ZERO} if none has been asked.
+		 */
+		public abstract Duration retryAfter();
+
+		/**
+		 * Returns the exception that has been thrown while sending the request
+		 * or handling the response.
+		 *
+		 * @return the exception, if any.
+		 */
+		public abstract Optional<Exception> exception();
+
+		/**
+		 * Creates the failure of an attempt answered by the given error.
+		 *
+		 * @param error
+		 *            the response of the server.
+		 * @return a new failure.
+		 */
+		public static Failure of(HttpResult error) {
+			return new AutoValue_RetryPolicy_Failure(error.statusCode(),
+					parseRetryAfter(error.header(HttpHeaders.RETRY_AFTER)), Optional.empty());
+		}
+
+		/**
+		 * Creates the failure of an attempt that threw the given exception.
+		 *
+		 * @param exception
+		 *            the thrown exception.
+		 * @return a new failure.
+		 */
+		public static Failure of(Exception exception) {
+			return new AutoValue_RetryPolicy_Failure(NO_STATUS_CODE, Duration.ZERO, Optional.of(exception));
+		}
+
+		/**
+		 * Creates the failure of an attempt that the client reported as failed
+		 * without more details.
+		 *
+		 * @return a new failure.
+		 */
+		public static Failure unknown() {
+			return new AutoValue_RetryPolicy_Failure(NO_STATUS_CODE, Duration.ZERO, Optional.empty());
+		}
+
+		/**
+		 * Parses the value of a {@code Retry-After} header, either a number of
+		 * seconds or an HTTP date.
+		 */
+		static Duration parseRetryAfter(Optional<String> value) {
+			if (!value.isPresent()) {
+				return Duration.ZERO;
+			}
+			String retryAfter = value.get().trim();
+			try {
+				return Duration.ofSeconds(Math.max(0, Long.parseLong(retryAfter)));
+			} catch (@SuppressWarnings("unused") NumberFormatException e) {
+				try {
+					Duration untilDate = Duration.between(ZonedDateTime.now(),
+							ZonedDateTime.parse(retryAfter, DateTimeFormatter.RFC_1123_DATE_TIME));
+					return untilDate.isNegative() ? Duration.ZERO : untilDate;
+				} catch (@SuppressWarnings("unused") DateTimeParseException e2) {
+					return Duration.ZERO;
+				}
+			}
+		}
+	}
+}
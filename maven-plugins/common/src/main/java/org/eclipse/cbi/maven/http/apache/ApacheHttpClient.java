@@ -30,6 +30,7 @@ import org.apache.http.HttpStatus;
 import org.apache.http.StatusLine;
 import org.apache.http.client.ResponseHandler;
 import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.entity.mime.MultipartEntityBuilder;
@@ -118,7 +119,7 @@ public class ApacheHttpClient implements HttpClient {
 		
 		final HttpEntity entity = response.getEntity();
 		boolean success = statusCode >= HttpStatus.SC_OK && statusCode < HttpStatus.SC_MULTIPLE_CHOICES && entity != null;
-		BasicHttpResult httpResult = new BasicHttpResult(statusCode, Strings.nullToEmpty(statusLine.getReasonPhrase()), entity);
+		BasicHttpResult httpResult = new BasicHttpResult(statusCode, Strings.nullToEmpty(statusLine.getReasonPhrase()), entity, response.getAllHeaders());
 		if (success) {
 			completionListener.onSuccess(httpResult);
 		} else {
@@ -129,6 +130,21 @@ public class ApacheHttpClient implements HttpClient {
 	}
 	
 	@VisibleForTesting static HttpUriRequest toApacheRequest(HttpRequest request, Config config) {
+		RequestConfig requestConfig = RequestConfig.custom()
+				// use same timeout for connection request as for connect
+				.setConnectionRequestTimeout((int) config.readTimeout().toMillis())
+				.setSocketTimeout((int) config.readTimeout().toMillis())
+				.setConnectTimeout((int) config.connectTimeout().toMillis())
+				// TODO: try expect continue after 1.1.5 release
+				//.setExpectContinueEnabled(true)
+				.build();
+		
+		if (request.method() == HttpRequest.Method.GET) {
+			HttpGet get = new HttpGet(request.requestUri());
+			get.setConfig(requestConfig);
+			return get;
+		}
+		
 		MultipartEntityBuilder builder = MultipartEntityBuilder.create();
 		builder.setStrictMode();
 		
@@ -140,17 +156,11 @@ public class ApacheHttpClient implements HttpClient {
 			builder.addPart(param.getKey(), new PathBody(param.getValue()));
 		}
 		
-		HttpPost post = new HttpPost(request.serverUri());
-		
-		RequestConfig requestConfig = RequestConfig.custom()
-				// use same timeout for connection request as for connect
-				.setConnectionRequestTimeout((int) config.readTimeout().toMillis())
-				.setSocketTimeout((int) config.readTimeout().toMillis())
-				.setConnectTimeout((int) config.connectTimeout().toMillis())
-				// TODO: try expect continue after 1.1.5 release
-				//.setExpectContinueEnabled(true)
-				.build();
+		for(Map.Entry<String, HttpRequest.StreamedFile> param : request.streamedParameters().entrySet()) {
+			builder.addPart(param.getKey(), new StreamedBody(param.getValue()));
+		}
 		
+		HttpPost post = new HttpPost(request.serverUri());
 		post.setConfig(requestConfig);
 		post.setEntity(builder.build());
 		return post;
@@ -19,12 +19,14 @@ import java.io.OutputStream;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.CopyOption;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Objects;
+import java.util.Optional;
 
+import org.apache.http.Header;
 import org.apache.http.HttpEntity;
 import org.apache.http.entity.ContentType;
+import org.eclipse.cbi.maven.http.FileTransfers;
 import org.eclipse.cbi.maven.http.HttpResult;
 
 import com.google.common.io.ByteStreams;
@@ -34,11 +36,13 @@ final class BasicHttpResult implements HttpResult {
 	private final int status;
 	private final String reason;
 	private final HttpEntity entity;
+	private final Header[] headers;
 
-	BasicHttpResult(int status, String reason, HttpEntity entity) {
+	BasicHttpResult(int status, String reason, HttpEntity entity, Header[] headers) {
 		this.status = status;
 		this.reason = Objects.requireNonNull(reason);
 		this.entity = Objects.requireNonNull(entity);
+		this.headers = Objects.requireNonNull(headers);
 	}
 
 	@Override
@@ -58,18 +62,34 @@ final class BasicHttpResult implements HttpResult {
 
 	@Override
 	public long copyContent(Path target, CopyOption... options) throws IOException {
-		try (InputStream is = new BufferedInputStream(entity.getContent())) {
-			return Files.copy(is, target, options);
-		}
+		return FileTransfers.download(entity.getContent(), this, target, options);
 	}
 
 	@Override
 	public long copyContent(OutputStream target) throws IOException {
-		try (InputStream is = new BufferedInputStream(entity.getContent())) {
+		// ByteStreams.copy already reads by large chunks
+		try (InputStream is = entity.getContent()) {
 			return ByteStreams.copy(is, target);
 		}
 	}
 
+	@Override
+	public void readContent(ContentReader reader) throws IOException {
+		try (InputStream is = new BufferedInputStream(entity.getContent())) {
+			reader.read(is);
+		}
+	}
+
+	@Override
+	public Optional<String> header(String name) {
+		for (Header header : headers) {
+			if (header.getName().equalsIgnoreCase(name)) {
+				return Optional.ofNullable(header.getValue());
+			}
+		}
+		return Optional.empty();
+	}
+
 	@Override
 	public Charset contentCharset() {
 		ContentType contentType = ContentType.get(entity);
@@ -21,6 +21,7 @@ import org.apache.http.entity.ContentType;
 import org.apache.http.entity.mime.MIME;
 import org.apache.http.entity.mime.content.AbstractContentBody;
 import org.apache.http.util.Args;
+import org.eclipse.cbi.maven.http.FileTransfers;
 
 /**
  * Binary body part backed by a path.
@@ -31,6 +32,12 @@ final class PathBody extends AbstractContentBody {
 
 	private final Path path;
 
+	/**
+	 * The size of the file, read once so that the announced length and the
+	 * sent content match even if the file changes meanwhile.
+	 */
+	private long contentLength = -1;
+
 	PathBody(Path path) {
 		super(ContentType.DEFAULT_BINARY);
 		this.path = path;
@@ -49,7 +56,7 @@ final class PathBody extends AbstractContentBody {
 	@Override
 	public void writeTo(OutputStream outstream) throws IOException {
 		Args.notNull(outstream, "Output stream");
-		Files.copy(path, outstream);
+		FileTransfers.upload(path, getContentLength(), outstream);
 		outstream.flush();
 	}
 
@@ -60,11 +67,14 @@ final class PathBody extends AbstractContentBody {
 
 	@Override
 	public long getContentLength() {
-		try {
-			return Files.size(path);
-		} catch (IOException e) {
-			throw new RuntimeException(e);
+		if (contentLength < 0) {
+			try {
+				contentLength = Files.size(path);
+			} catch (IOException e) {
+				throw new RuntimeException(e);
+			}
 		}
+		return contentLength;
 	}
 
 }
@@ -0,0 +1,60 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.maven.http.apache;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.mime.MIME;
+import org.apache.http.entity.mime.content.AbstractContentBody;
+import org.apache.http.util.Args;
+import org.eclipse.cbi.maven.http.HttpRequest.StreamedFile;
+
+/**
+ * Binary body part whose content is generated while it is sent. Its length is
+ * unknown, which makes the multipart entity chunked.
+ *
+ * @see org.apache.http.entity.mime.MultipartEntityBuilder
+ */
+final class StreamedBody extends AbstractContentBody {
+
+	private final StreamedFile file;
+
+	StreamedBody(StreamedFile file) {
+		super(ContentType.DEFAULT_BINARY);
+		this.file = file;
+	}
+
+	@Override
+	public String getFilename() {
+		return file.fileName();
+	}
+
+	@Override
+	public void writeTo(OutputStream outstream) throws IOException {
+		Args.notNull(outstream, "Output stream");
+		file.writer().writeTo(outstream);
+		outstream.flush();
+	}
+
+	@Override
+	public String getTransferEncoding() {
+		return MIME.ENC_BINARY;
+	}
+
+	@Override
+	public long getContentLength() {
+		return -1;
+	}
+}
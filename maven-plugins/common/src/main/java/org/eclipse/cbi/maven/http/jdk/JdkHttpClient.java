@@ -0,0 +1,210 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.maven.http.jdk;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient.Redirect;
+import java.net.http.HttpClient.Version;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.cbi.maven.Logger;
+import org.eclipse.cbi.maven.http.CompletionListener;
+import org.eclipse.cbi.maven.http.HttpClient;
+import org.eclipse.cbi.maven.http.HttpRequest;
+import org.eclipse.cbi.maven.http.HttpRequest.Config;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Stopwatch;
+import com.google.common.base.Throwables;
+import com.google.common.net.HttpHeaders;
+
+/**
+ * An HttpClient implementation based on the JDK {@link java.net.http.HttpClient}.
+ * <p>
+ * Contrary to {@link org.eclipse.cbi.maven.http.apache.ApacheHttpClient}, the
+ * underlying client is shared by all instances (one per connect timeout) and
+ * prefers HTTP/2. Concurrent requests to a server that supports HTTP/2 (h2
+ * over TLS, or h2c) are thus multiplexed over a single connection instead of
+ * opening one connection each.
+ * <p>
+ * An HTTP/1.1 request with a body is never upgraded to h2c. Before the first
+ * request to a cleartext ({@code http}) server, a body-less {@code OPTIONS}
+ * request is thus sent to give the connection a chance to be upgraded.
+ * <p>
+ * The {@link Config#readTimeout() read timeout} bounds the time to wait for
+ * the response headers once the request has been sent.
+ */
+public class JdkHttpClient implements HttpClient {
+
+	private static final ConcurrentMap<Duration, java.net.http.HttpClient> SHARED_CLIENTS = new ConcurrentHashMap<>();
+
+	private static final ConcurrentMap<URI, CompletableFuture<Void>> H2C_UPGRADES = new ConcurrentHashMap<>();
+
+	/**
+	 * The log for providing {@code DEBUG} feedback about the process.
+	 */
+	private final Logger log;
+
+	JdkHttpClient(Logger log) {
+		this.log = Objects.requireNonNull(log);
+	}
+
+	public static HttpClient create(Logger log) {
+		return new JdkHttpClient(log);
+	}
+
+	@Override
+	public boolean send(HttpRequest request, CompletionListener completionListener) throws IOException {
+		return send(request, HttpRequest.Config.defaultConfig(), completionListener);
+	}
+
+	@Override
+	public boolean send(HttpRequest request, Config config, final CompletionListener completionListener) throws IOException {
+		Objects.requireNonNull(request);
+		java.net.http.HttpRequest jdkRequest = toJdkRequest(request, config);
+		this.log.debug("Will send HTTP request " + request);
+		this.log.debug("HTTP request configuration is " + config);
+
+		Stopwatch stopwatch = Stopwatch.createStarted();
+		java.net.http.HttpClient client = sharedClient(config.connectTimeout());
+		upgradeToH2c(client, request.serverUri(), config);
+		CompletableFuture<HttpResponse<InputStream>> responseFuture = client.sendAsync(jdkRequest, BodyHandlers.ofInputStream());
+		CompletableFuture<Boolean> requestExec = responseFuture.thenApply(response -> {
+			try {
+				return doHandleResponse(completionListener, response);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		});
+		try {
+			final boolean ret;
+			if (Duration.ZERO.equals(config.timeout())) {
+				ret = requestExec.get().booleanValue();
+			} else {
+				ret = requestExec.get(config.timeout().toMillis(), TimeUnit.MILLISECONDS).booleanValue();
+			}
+			return ret;
+		} catch (@SuppressWarnings("unused") InterruptedException e) {
+			responseFuture.cancel(true);
+			// restore interrupted status
+			Thread.currentThread().interrupt();
+			return false;
+		} catch (TimeoutException e) {
+			responseFuture.cancel(true);
+			this.log.debug("HTTP request and response handled in " + stopwatch);
+			throw new RuntimeException(e);
+		} catch (ExecutionException e) {
+			responseFuture.cancel(true);
+			this.log.debug("HTTP request and response handled in " + stopwatch);
+			Throwable cause = e.getCause() instanceof UncheckedIOException ? e.getCause().getCause() : e.getCause();
+			Throwables.throwIfInstanceOf(cause, IOException.class);
+			Throwables.throwIfUnchecked(cause);
+			throw new RuntimeException(cause);
+		}
+	}
+
+	private Boolean doHandleResponse(final CompletionListener completionListener, HttpResponse<InputStream> response) throws IOException {
+		final int statusCode = response.statusCode();
+
+		this.log.debug("HTTP status code = " + statusCode);
+		this.log.debug("HTTP protocol version = " + response.version());
+
+		boolean success = statusCode >= 200 && statusCode < 300;
+		try (InputStream body = response.body()) {
+			JdkHttpResult httpResult = new JdkHttpResult(response);
+			if (success) {
+				completionListener.onSuccess(httpResult);
+			} else {
+				completionListener.onError(httpResult);
+			}
+		}
+
+		return Boolean.valueOf(success);
+	}
+
+	/**
+	 * Sends a body-less request to the origin of the given cleartext URI, once,
+	 * so that the shared connection can be upgraded to h2c. Concurrent callers
+	 * wait for the upgrade attempt to complete. Failures are ignored, the
+	 * actual request will report them if any.
+	 */
+	private void upgradeToH2c(java.net.http.HttpClient client, URI uri, Config config) {
+		if (!"http".equalsIgnoreCase(uri.getScheme())) {
+			return;
+		}
+		URI origin = uri.resolve("/");
+		CompletableFuture<Void> upgrade = new CompletableFuture<>();
+		CompletableFuture<Void> pendingUpgrade = H2C_UPGRADES.putIfAbsent(origin, upgrade);
+		if (pendingUpgrade != null) {
+			pendingUpgrade.join();
+			return;
+		}
+
+		java.net.http.HttpRequest.Builder builder = java.net.http.HttpRequest.newBuilder(uri)
+				.method("OPTIONS", java.net.http.HttpRequest.BodyPublishers.noBody());
+		if (!Duration.ZERO.equals(config.readTimeout())) {
+			builder.timeout(config.readTimeout());
+		}
+		try {
+			HttpResponse<Void> response = client.send(builder.build(), BodyHandlers.discarding());
+			this.log.debug("Connection to " + origin + " uses " + response.version());
+		} catch (IOException e) {
+			H2C_UPGRADES.remove(origin, upgrade);
+			this.log.debug("Unable to upgrade connection to " + origin + " to h2c", e);
+		} catch (@SuppressWarnings("unused") InterruptedException e) {
+			H2C_UPGRADES.remove(origin, upgrade);
+			Thread.currentThread().interrupt();
+		} finally {
+			upgrade.complete(null);
+		}
+	}
+
+	@VisibleForTesting static java.net.http.HttpRequest toJdkRequest(HttpRequest request, Config config) throws IOException {
+		java.net.http.HttpRequest.Builder builder = java.net.http.HttpRequest.newBuilder(request.requestUri());
+		if (request.method() == HttpRequest.Method.GET) {
+			builder.GET();
+		} else {
+			MultipartBody body = MultipartBody.of(request);
+			builder.header(HttpHeaders.CONTENT_TYPE, body.contentType())
+					.POST(body.publisher());
+		}
+		if (!Duration.ZERO.equals(config.readTimeout())) {
+			builder.timeout(config.readTimeout());
+		}
+		return builder.build();
+	}
+
+	private static java.net.http.HttpClient sharedClient(Duration connectTimeout) {
+		return SHARED_CLIENTS.computeIfAbsent(connectTimeout, timeout -> {
+			java.net.http.HttpClient.Builder builder = java.net.http.HttpClient.newBuilder()
+					.version(Version.HTTP_2)
+					.followRedirects(Redirect.NEVER);
+			if (!Duration.ZERO.equals(timeout)) {
+				builder.connectTimeout(timeout);
+			}
+			return builder.build();
+		});
+	}
+}
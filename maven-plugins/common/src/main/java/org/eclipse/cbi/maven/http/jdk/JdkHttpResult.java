@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.maven.http.jdk;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.CopyOption;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.eclipse.cbi.maven.http.FileTransfers;
+import org.eclipse.cbi.maven.http.HttpResult;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.net.HttpHeaders;
+import com.google.common.net.MediaType;
+
+final class JdkHttpResult implements HttpResult {
+
+	private final HttpResponse<InputStream> response;
+
+	JdkHttpResult(HttpResponse<InputStream> response) {
+		this.response = Objects.requireNonNull(response);
+	}
+
+	@Override
+	public int statusCode() {
+		return response.statusCode();
+	}
+
+	@Override
+	public String reason() {
+		// HTTP/2 has no reason phrase, and the JDK client does not expose the HTTP/1.1 one
+		return "";
+	}
+
+	@Override
+	public long contentLength() {
+		return response.headers().firstValueAsLong(HttpHeaders.CONTENT_LENGTH).orElse(-1L);
+	}
+
+	@Override
+	public long copyContent(Path target, CopyOption... options) throws IOException {
+		return FileTransfers.download(response.body(), this, target, options);
+	}
+
+	@Override
+	public long copyContent(OutputStream target) throws IOException {
+		try (InputStream is = response.body()) {
+			return ByteStreams.copy(is, target);
+		}
+	}
+
+	@Override
+	public void readContent(ContentReader reader) throws IOException {
+		try (InputStream is = response.body()) {
+			reader.read(is);
+		}
+	}
+
+	@Override
+	public Optional<String> header(String name) {
+		return response.headers().firstValue(name);
+	}
+
+	@Override
+	public Charset contentCharset() {
+		Optional<String> contentType = response.headers().firstValue(HttpHeaders.CONTENT_TYPE);
+		if (contentType.isPresent()) {
+			try {
+				return MediaType.parse(contentType.get()).charset().or(StandardCharsets.UTF_8);
+			} catch (IllegalArgumentException e) {
+				return StandardCharsets.UTF_8;
+			}
+		}
+		return StandardCharsets.UTF_8;
+	}
+}
@@ -0,0 +1,138 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.maven.http.jdk;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.cbi.maven.http.HttpRequest;
+import org.eclipse.cbi.maven.http.HttpRequest.StreamedFile;
+
+/**
+ * A {@code multipart/form-data} body built from the parameters of an
+ * {@link HttpRequest}. File parts are streamed from disk when the body is
+ * sent, and the total content length is computed up front so that the server
+ * knows the size of the upload. Streamed file parts are written while the body
+ * is sent, which makes the body length unknown.
+ */
+final class MultipartBody {
+
+	private static final String CRLF = "\r\n";
+	private static final char[] BOUNDARY_CHARS = "-_1234567890abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+	private static final SecureRandom random = new SecureRandom();
+
+	private final String boundary;
+	private final BodyPublisher publisher;
+
+	private MultipartBody(String boundary, BodyPublisher publisher) {
+		this.boundary = boundary;
+		this.publisher = publisher;
+	}
+
+	static MultipartBody of(HttpRequest request) throws IOException {
+		String boundary = generateBoundary();
+		List<BodyPublisher> parts = new ArrayList<>();
+		long contentLength = 0;
+
+		for (Map.Entry<String, String> param : request.stringParameters().entrySet()) {
+			byte[] part = (partHeader(boundary, param.getKey(), null, "text/plain; charset=UTF-8") + param.getValue() + CRLF).getBytes(StandardCharsets.UTF_8);
+			parts.add(BodyPublishers.ofByteArray(part));
+			contentLength += part.length;
+		}
+
+		for (Map.Entry<String, Path> param : request.pathParameters().entrySet()) {
+			Path path = param.getValue();
+			byte[] header = partHeader(boundary, param.getKey(), path.getFileName().toString(), "application/octet-stream").getBytes(StandardCharsets.UTF_8);
+			parts.add(BodyPublishers.ofByteArray(header));
+			parts.add(BodyPublishers.ofInputStream(() -> {
+				try {
+					return Files.newInputStream(path);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}));
+			parts.add(BodyPublishers.ofString(CRLF, StandardCharsets.US_ASCII));
+			contentLength += header.length + Files.size(path) + CRLF.length();
+		}
+
+		for (Map.Entry<String, StreamedFile> param : request.streamedParameters().entrySet()) {
+			StreamedFile file = param.getValue();
+			byte[] header = partHeader(boundary, param.getKey(), file.fileName(), "application/octet-stream").getBytes(StandardCharsets.UTF_8);
+			parts.add(BodyPublishers.ofByteArray(header));
+			parts.add(BodyPublishers.ofInputStream(() -> {
+				try {
+					return PipedContent.start(file.writer());
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}));
+			parts.add(BodyPublishers.ofString(CRLF, StandardCharsets.US_ASCII));
+		}
+
+		byte[] closeDelimiter = ("--" + boundary + "--" + CRLF).getBytes(StandardCharsets.US_ASCII);
+		parts.add(BodyPublishers.ofByteArray(closeDelimiter));
+		contentLength += closeDelimiter.length;
+
+		BodyPublisher body = BodyPublishers.concat(parts.toArray(new BodyPublisher[0]));
+		if (!request.streamedParameters().isEmpty()) {
+			// the length of streamed parts is unknown, the body is sent chunked
+			return new MultipartBody(boundary, body);
+		}
+		return new MultipartBody(boundary, BodyPublishers.fromPublisher(body, contentLength));
+	}
+
+	String contentType() {
+		return "multipart/form-data; boundary=" + boundary;
+	}
+
+	BodyPublisher publisher() {
+		return publisher;
+	}
+
+	private static String partHeader(String boundary, String name, String filename, String contentType) {
+		StringBuilder header = new StringBuilder()
+			.append("--").append(boundary).append(CRLF)
+			.append("Content-Disposition: form-data; name=\"").append(escape(name)).append('"');
+		if (filename != null) {
+			header.append("; filename=\"").append(escape(filename)).append('"');
+		}
+		return header.append(CRLF)
+			.append("Content-Type: ").append(contentType).append(CRLF)
+			.append(CRLF)
+			.toString();
+	}
+
+	/**
+	 * Escapes quotes and line breaks in a disposition parameter, as browsers do.
+	 */
+	private static String escape(String value) {
+		return value.replace("\"", "%22").replace("\r", "%0D").replace("\n", "%0A");
+	}
+
+	private static String generateBoundary() {
+		StringBuilder boundary = new StringBuilder();
+		for (int i = 0; i < 32; i++) {
+			boundary.append(BOUNDARY_CHARS[random.nextInt(BOUNDARY_CHARS.length)]);
+		}
+		return boundary.toString();
+	}
+}
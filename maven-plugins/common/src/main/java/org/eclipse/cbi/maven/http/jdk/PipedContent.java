@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.maven.http.jdk;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.cbi.maven.http.HttpRequest.ContentWriter;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Turns a {@link ContentWriter} into an {@link InputStream}, as expected by
+ * the body publishers of the JDK client. The writer runs on its own thread and
+ * its output is piped to the stream. If the writer fails, reading the end of
+ * the stream throws its failure rather than truncating the body silently.
+ */
+final class PipedContent {
+
+	private static final int PIPE_SIZE = 64 * 1024;
+
+	private static final ExecutorService WRITERS = Executors.newCachedThreadPool(
+			new ThreadFactoryBuilder().setNameFormat("Http-Content-Writer-%d").setDaemon(true).build());
+
+	private PipedContent() {
+	}
+
+	static InputStream start(ContentWriter writer) throws IOException {
+		final PipedInputStream in = new PipedInputStream(PIPE_SIZE);
+		final PipedOutputStream out = new PipedOutputStream(in);
+		final AtomicReference<Throwable> failure = new AtomicReference<>();
+		WRITERS.execute(() -> {
+			try {
+				OutputStream buffered = new BufferedOutputStream(new FlushingOutputStream(out), PIPE_SIZE);
+				writer.writeTo(buffered);
+				buffered.flush();
+			} catch (IOException | RuntimeException e) {
+				failure.set(e);
+			} finally {
+				try {
+					out.close();
+				} catch (@SuppressWarnings("unused") IOException e) {
+					// the reader has already given up
+				}
+			}
+		});
+		return new FilterInputStream(in) {
+			@Override
+			public int read() throws IOException {
+				return checkFailure(super.read());
+			}
+
+			@Override
+			public int read(byte[] b, int off, int len) throws IOException {
+				return checkFailure(super.read(b, off, len));
+			}
+
+			private int checkFailure(int read) throws IOException {
+				if (read < 0 && failure.get() != null) {
+					throw new IOException("Unable to write the content of the request", failure.get());
+				}
+				return read;
+			}
+		};
+	}
+
+	/**
+	 * Flushes the pipe after each write so that the reader is woken up right
+	 * away rather than on its next poll.
+	 */
+	private static final class FlushingOutputStream extends FilterOutputStream {
+		FlushingOutputStream(OutputStream out) {
+			super(out);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			out.flush();
+		}
+	}
+}
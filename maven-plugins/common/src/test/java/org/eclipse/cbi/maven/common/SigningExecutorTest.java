@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.maven.common;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import org.eclipse.cbi.maven.ExceptionHandler;
+import org.eclipse.cbi.maven.SigningExecutor;
+import org.eclipse.cbi.maven.common.test.util.NullMavenLog;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.util.concurrent.Uninterruptibles;
+
+public class SigningExecutorTest {
+
+	private static List<Path> files(int count) {
+		List<Path> files = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			files.add(Paths.get("file" + i + ".exe"));
+		}
+		return files;
+	}
+
+	@Test
+	public void testSignsConcurrently() throws Exception {
+		CountDownLatch allStarted = new CountDownLatch(4);
+		Set<String> threads = ConcurrentHashMap.newKeySet();
+		SigningExecutor executor = new SigningExecutor(4, new NullMavenLog());
+		assertEquals(4, executor.signAll(files(4), file -> {
+			threads.add(Thread.currentThread().getName());
+			allStarted.countDown();
+			// would time out if the files were signed one after the other
+			return Uninterruptibles.awaitUninterruptibly(allStarted, 10, TimeUnit.SECONDS);
+		}));
+		assertEquals(4, threads.size());
+	}
+
+	@Test
+	public void testBoundedParallelism() throws Exception {
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		SigningExecutor executor = new SigningExecutor(2, new NullMavenLog());
+		assertEquals(8, executor.signAll(files(8), file -> {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			Uninterruptibles.sleepUninterruptibly(20, TimeUnit.MILLISECONDS);
+			running.decrementAndGet();
+			return true;
+		}));
+		assertTrue(maxRunning.get() <= 2, "At most 2 signings should run concurrently, got " + maxRunning.get());
+	}
+
+	@Test
+	public void testSequentialRunsInCallingThread() throws Exception {
+		Thread caller = Thread.currentThread();
+		SigningExecutor executor = new SigningExecutor(1, new NullMavenLog());
+		assertEquals(3, executor.signAll(files(3), file -> Thread.currentThread() == caller));
+	}
+
+	@Test
+	public void testContinueOnFail() throws Exception {
+		ExceptionHandler exceptionHandler = new ExceptionHandler(new NullMavenLog(), true);
+		SigningExecutor executor = new SigningExecutor(3, new NullMavenLog());
+		assertEquals(4, executor.signAll(files(6), file -> {
+			if (file.toString().startsWith("file1") || file.toString().startsWith("file4")) {
+				exceptionHandler.handleError("Signing of '" + file + "' failed");
+				return false;
+			}
+			return true;
+		}));
+	}
+
+	@Test
+	public void testFailFastRethrowsFirstFailure() {
+		ExceptionHandler exceptionHandler = new ExceptionHandler(new NullMavenLog(), false);
+		Set<Path> signed = ConcurrentHashMap.newKeySet();
+		SigningExecutor executor = new SigningExecutor(1, new NullMavenLog());
+		MojoExecutionException e = assertThrows(MojoExecutionException.class, () -> executor.signAll(files(4), file -> {
+			if (file.toString().startsWith("file1")) {
+				exceptionHandler.handleError("Signing of '" + file + "' failed");
+			}
+			signed.add(file);
+			return true;
+		}));
+		assertTrue(e.getMessage().contains("file1.exe"), e.getMessage());
+		assertTrue(signed.contains(Paths.get("file0.exe")));
+		assertFalse(signed.contains(Paths.get("file2.exe")));
+		assertFalse(signed.contains(Paths.get("file3.exe")));
+	}
+
+	@Test
+	public void testFailFastConcurrently() {
+		ExceptionHandler exceptionHandler = new ExceptionHandler(new NullMavenLog(), false);
+		AtomicInteger started = new AtomicInteger();
+		SigningExecutor executor = new SigningExecutor(2, new NullMavenLog());
+		MojoExecutionException e = assertThrows(MojoExecutionException.class, () -> executor.signAll(files(16), file -> {
+			started.incrementAndGet();
+			if (file.toString().startsWith("file1")) {
+				exceptionHandler.handleError("Signing of '" + file + "' failed");
+			}
+			Uninterruptibles.sleepUninterruptibly(20, TimeUnit.MILLISECONDS);
+			return true;
+		}));
+		assertTrue(e.getMessage().contains("file1"), e.getMessage());
+		assertTrue(started.get() < 16, "Files should not be signed once a failure happened");
+	}
+}
@@ -0,0 +1,247 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.maven.common.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.CopyOption;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cbi.maven.common.test.util.NullLog;
+import org.eclipse.cbi.maven.http.AsyncJobHttpClient;
+import org.eclipse.cbi.maven.http.CompletionListener;
+import org.eclipse.cbi.maven.http.HttpClient;
+import org.eclipse.cbi.maven.http.HttpRequest;
+import org.eclipse.cbi.maven.http.HttpRequest.Config;
+import org.eclipse.cbi.maven.http.HttpResult;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.base.Stopwatch;
+
+public class AsyncJobHttpClientTest {
+
+	private static final URI SERVICE = URI.create("http://localhost/service");
+
+	@Test
+	public void testSubmitPollAndDownload() throws IOException {
+		JobServer server = new JobServer(new StringResult(202, "id=42\nstate=QUEUED\n"),
+				new StringResult(200, "id=42\nstate=RUNNING\nprogress=Packaging\n"),
+				new StringResult(200, "id=42\nstate=SUCCEEDED\n"),
+				new StringResult(200, "the result"));
+		HttpClient client = AsyncJobHttpClient.pollJobsOn(server).pollInterval(1, TimeUnit.MILLISECONDS).log(new NullLog()).build();
+
+		ByteArrayOutputStream received = new ByteArrayOutputStream();
+		assertTrue(client.send(HttpRequest.on(SERVICE).withParam("sign", "true").build(), new CompletionListener() {
+			@Override
+			public void onSuccess(HttpResult result) throws IOException {
+				result.copyContent(received);
+			}
+
+			@Override
+			public void onError(HttpResult error) throws IOException {
+				Assertions.fail();
+			}
+		}));
+
+		assertEquals("the result", received.toString(StandardCharsets.UTF_8));
+		assertEquals(4, server.requests.size());
+		assertEquals(HttpRequest.Method.POST, server.requests.get(0).method());
+		assertEquals("true", server.requests.get(0).stringParameters().get("async"));
+		assertEquals("true", server.requests.get(0).stringParameters().get("sign"));
+		assertEquals(URI.create(SERVICE + "?job=42"), server.requests.get(1).requestUri());
+		assertEquals(URI.create(SERVICE + "?result=42"), server.requests.get(3).requestUri());
+	}
+
+	@Test
+	public void testFailedJob() {
+		JobServer server = new JobServer(new StringResult(202, "id=42\nstate=RUNNING\n"),
+				new StringResult(200, "id=42\nstate=FAILED\nerror=Unable to package\n"));
+		HttpClient client = AsyncJobHttpClient.pollJobsOn(server).pollInterval(1, TimeUnit.MILLISECONDS).log(new NullLog()).build();
+
+		IOException e = assertThrows(IOException.class, () -> client.send(HttpRequest.on(SERVICE).build(), new CompletionListener() {
+			@Override
+			public void onSuccess(HttpResult result) throws IOException {
+				Assertions.fail();
+			}
+
+			@Override
+			public void onError(HttpResult error) throws IOException {
+				Assertions.fail();
+			}
+		}));
+		assertTrue(e.getMessage().contains("Unable to package"), e.getMessage());
+	}
+
+	@Test
+	public void testSynchronousServer() throws IOException {
+		JobServer server = new JobServer(new StringResult(200, "the result"));
+		HttpClient client = AsyncJobHttpClient.pollJobsOn(server).pollInterval(1, TimeUnit.MILLISECONDS).log(new NullLog()).build();
+
+		ByteArrayOutputStream received = new ByteArrayOutputStream();
+		assertTrue(client.send(HttpRequest.on(SERVICE).build(), new CompletionListener() {
+			@Override
+			public void onSuccess(HttpResult result) throws IOException {
+				result.copyContent(received);
+			}
+
+			@Override
+			public void onError(HttpResult error) throws IOException {
+				Assertions.fail();
+			}
+		}));
+		assertEquals("the result", received.toString(StandardCharsets.UTF_8));
+		assertEquals(1, server.requests.size());
+	}
+
+	@Test
+	public void testJobNeverDone() {
+		JobServer server = new JobServer(new StringResult(202, "id=42\nstate=QUEUED\n"),
+				new StringResult(200, "id=42\nstate=RUNNING\nprogress=Packaging\n"));
+		HttpClient client = AsyncJobHttpClient.pollJobsOn(server).pollInterval(10, TimeUnit.MILLISECONDS)
+				.maxJobDuration(100, TimeUnit.MILLISECONDS).log(new NullLog()).build();
+
+		Stopwatch stopwatch = Stopwatch.createStarted();
+		IOException e = assertThrows(IOException.class, () -> client.send(HttpRequest.on(SERVICE).build(), new CompletionListener() {
+			@Override
+			public void onSuccess(HttpResult result) throws IOException {
+				Assertions.fail();
+			}
+
+			@Override
+			public void onError(HttpResult error) throws IOException {
+				Assertions.fail();
+			}
+		}));
+		assertTrue(e.getMessage().contains("'42'"), e.getMessage());
+		assertTrue(stopwatch.elapsed(TimeUnit.SECONDS) < 5);
+		assertTrue(server.requests.size() > 2);
+		assertTrue(server.requests.stream().noneMatch(r -> r.requestUri().toString().contains("result=")));
+	}
+
+	@Test
+	public void testAcceptedWithoutStatus() {
+		JobServer server = new JobServer(new StringResult(202, ""));
+		HttpClient client = AsyncJobHttpClient.pollJobsOn(server).pollInterval(10, TimeUnit.MILLISECONDS).log(new NullLog()).build();
+
+		IOException e = assertThrows(IOException.class, () -> client.send(HttpRequest.on(SERVICE).build(), new CompletionListener() {
+			@Override
+			public void onSuccess(HttpResult result) throws IOException {
+				Assertions.fail();
+			}
+
+			@Override
+			public void onError(HttpResult error) throws IOException {
+				Assertions.fail();
+			}
+		}));
+		assertTrue(e.getMessage().contains("did not give the status of the job"), e.getMessage());
+		assertEquals(1, server.requests.size());
+	}
+
+	@Test
+	public void testNegativeMaxJobDuration() {
+		assertThrows(IllegalArgumentException.class, () -> AsyncJobHttpClient.pollJobsOn(new JobServer())
+				.maxJobDuration(-1, TimeUnit.SECONDS).log(new NullLog()).build());
+	}
+
+	/**
+	 * Answers the requests with the given results, in order. The last result
+	 * answers all the remaining requests.
+	 */
+	private static final class JobServer implements HttpClient {
+		final List<HttpRequest> requests = new ArrayList<>();
+		private final Iterator<StringResult> results;
+		private StringResult last;
+
+		JobServer(StringResult... results) {
+			this.results = Arrays.asList(results).iterator();
+		}
+
+		@Override
+		public boolean send(HttpRequest request, CompletionListener completionListener) throws IOException {
+			return send(request, Config.defaultConfig(), completionListener);
+		}
+
+		@Override
+		public boolean send(HttpRequest request, Config config, CompletionListener completionListener) throws IOException {
+			requests.add(request);
+			if (results.hasNext()) {
+				last = results.next();
+			}
+			StringResult result = last;
+			if (result.statusCode() < 300) {
+				completionListener.onSuccess(result);
+				return true;
+			}
+			completionListener.onError(result);
+			return false;
+		}
+	}
+
+	private static final class StringResult implements HttpResult {
+		private final int statusCode;
+		private final byte[] content;
+
+		StringResult(int statusCode, String content) {
+			this.statusCode = statusCode;
+			this.content = content.getBytes(StandardCharsets.UTF_8);
+		}
+
+		@Override
+		public int statusCode() {
+			return statusCode;
+		}
+
+		@Override
+		public String reason() {
+			return "";
+		}
+
+		@Override
+		public long copyContent(Path target, CopyOption... options) throws IOException {
+			Files.write(target, content);
+			return content.length;
+		}
+
+		@Override
+		public long copyContent(OutputStream output) throws IOException {
+			output.write(content);
+			return content.length;
+		}
+
+		@Override
+		public long contentLength() {
+			return content.length;
+		}
+
+		@Override
+		public Charset contentCharset() {
+			return StandardCharsets.UTF_8;
+		}
+	}
+}
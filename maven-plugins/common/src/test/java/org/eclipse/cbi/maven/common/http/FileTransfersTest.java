@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.maven.common.http;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.CopyOption;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.eclipse.cbi.maven.http.FileTransfers;
+import org.eclipse.cbi.maven.http.HttpResult;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.hash.Hashing;
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+
+public class FileTransfersTest {
+
+	private static final byte[] SIGNED = "signed content".getBytes(StandardCharsets.UTF_8);
+	private static final byte[] UNSIGNED = "unsigned content".getBytes(StandardCharsets.UTF_8);
+
+	@Test
+	public void testUpload() throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			Path file = Files.write(fs.getPath("/file.jar"), SIGNED);
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			assertEquals(SIGNED.length, FileTransfers.upload(file, SIGNED.length, out));
+			assertArrayEquals(SIGNED, out.toByteArray());
+		}
+	}
+
+	@Test
+	public void testUploadTruncatedFile() throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			Path file = Files.write(fs.getPath("/file.jar"), SIGNED);
+			assertThrows(IOException.class, () -> FileTransfers.upload(file, SIGNED.length + 1, new ByteArrayOutputStream()));
+		}
+	}
+
+	@Test
+	public void testDownloadReplacesTarget() throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			Path file = Files.write(fs.getPath("/file.jar"), UNSIGNED);
+			assertEquals(SIGNED.length, download(new Result(SIGNED.length, Map.of()), file, StandardCopyOption.REPLACE_EXISTING));
+			assertArrayEquals(SIGNED, Files.readAllBytes(file));
+			assertEquals(List.of(file), list(fs.getPath("/")));
+		}
+	}
+
+	@Test
+	public void testDownloadDoesNotReplaceTargetByDefault() throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			Path file = Files.write(fs.getPath("/file.jar"), UNSIGNED);
+			assertThrows(FileAlreadyExistsException.class, () -> download(new Result(SIGNED.length, Map.of()), file));
+			assertArrayEquals(UNSIGNED, Files.readAllBytes(file));
+		}
+	}
+
+	@Test
+	public void testTruncatedDownloadLeavesTargetUntouched() throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			Path file = Files.write(fs.getPath("/file.jar"), UNSIGNED);
+			assertThrows(IOException.class, () -> download(new Result(SIGNED.length + 10, Map.of()), file, StandardCopyOption.REPLACE_EXISTING));
+			assertArrayEquals(UNSIGNED, Files.readAllBytes(file));
+			assertEquals(List.of(file), list(fs.getPath("/")));
+		}
+	}
+
+	@Test
+	public void testDownloadWithDigest() throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			Path file = Files.write(fs.getPath("/file.jar"), UNSIGNED);
+			String sha256 = Base64.getEncoder().encodeToString(Hashing.sha256().hashBytes(SIGNED).asBytes());
+			download(new Result(-1, Map.of("Digest", "md5=foo, SHA-256=" + sha256)), file, StandardCopyOption.REPLACE_EXISTING);
+			assertArrayEquals(SIGNED, Files.readAllBytes(file));
+
+			String sha512 = Base64.getEncoder().encodeToString(Hashing.sha512().hashBytes(UNSIGNED).asBytes());
+			download(new Result(-1, Map.of("Repr-Digest", "sha-512=:" + sha512 + ":")), UNSIGNED, file, StandardCopyOption.REPLACE_EXISTING);
+			assertArrayEquals(UNSIGNED, Files.readAllBytes(file));
+		}
+	}
+
+	@Test
+	public void testDownloadWithWrongDigestLeavesTargetUntouched() throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			Path file = Files.write(fs.getPath("/file.jar"), UNSIGNED);
+			String sha256 = Base64.getEncoder().encodeToString(Hashing.sha256().hashBytes(UNSIGNED).asBytes());
+			assertThrows(IOException.class, () -> download(new Result(SIGNED.length, Map.of("Digest", "sha-256=" + sha256)), file, StandardCopyOption.REPLACE_EXISTING));
+			assertArrayEquals(UNSIGNED, Files.readAllBytes(file));
+			assertEquals(List.of(file), list(fs.getPath("/")));
+		}
+	}
+
+	private static long download(Result result, Path target, CopyOption... options) throws IOException {
+		return download(result, SIGNED, target, options);
+	}
+
+	private static long download(Result result, byte[] content, Path target, CopyOption... options) throws IOException {
+		return FileTransfers.download(new ByteArrayInputStream(content), result, target, options);
+	}
+
+	private static List<Path> list(Path folder) throws IOException {
+		try (Stream<Path> files = Files.list(folder)) {
+			return files.filter(Files::isRegularFile).collect(Collectors.toList());
+		}
+	}
+
+	private static final class Result implements HttpResult {
+		private final long contentLength;
+		private final Map<String, String> headers;
+
+		Result(long contentLength, Map<String, String> headers) {
+			this.contentLength = contentLength;
+			this.headers = headers;
+		}
+
+		@Override
+		public int statusCode() {
+			return 200;
+		}
+
+		@Override
+		public String reason() {
+			return "OK";
+		}
+
+		@Override
+		public long copyContent(Path target, CopyOption... options) throws IOException {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public long copyContent(OutputStream output) throws IOException {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public long contentLength() {
+			return contentLength;
+		}
+
+		@Override
+		public Charset contentCharset() {
+			return StandardCharsets.UTF_8;
+		}
+
+		@Override
+		public Optional<String> header(String name) {
+			return Optional.ofNullable(headers.get(name));
+		}
+	}
+}
@@ -116,4 +116,19 @@ public class HttpRequestTest {
 		Assertions.assertEquals(1, request.stringParameters().size());
 		Assertions.assertTrue(request.pathParameters().isEmpty());
 	}
+
+	@Test
+	public void testGetRequestUri() {
+		HttpRequest request = HttpRequest.get(URI.create("http://localhost/service")).withParam("job", "a b").build();
+		Assertions.assertEquals(HttpRequest.Method.GET, request.method());
+		Assertions.assertEquals(URI.create("http://localhost/service?job=a+b"), request.requestUri());
+	}
+
+	@Test
+	public void testGetRequestWithPathParam() throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			Path file = Files.createFile(fs.getPath("/file"));
+			assertThrows(IllegalStateException.class, () -> HttpRequest.get(URI.create("localhost")).withParam("file", file).build());
+		}
+	}
 }
@@ -0,0 +1,282 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.maven.common.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.CopyOption;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.cbi.maven.common.test.util.HttpClients;
+import org.eclipse.cbi.maven.common.test.util.NullLog;
+import org.eclipse.cbi.maven.http.CompletionListener;
+import org.eclipse.cbi.maven.http.HttpClient;
+import org.eclipse.cbi.maven.http.HttpRequest;
+import org.eclipse.cbi.maven.http.HttpRequest.Config;
+import org.eclipse.cbi.maven.http.HttpResult;
+import org.eclipse.cbi.maven.http.LoadBalancingHttpClient;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.util.concurrent.Uninterruptibles;
+
+public class LoadBalancingHttpClientTest {
+
+	private static final URI REPLICA_A = URI.create("http://a.localhost/sign");
+	private static final URI REPLICA_B = URI.create("http://b.localhost/sign");
+
+	@Test
+	public void testNoEndpoint() {
+		assertThrows(IllegalArgumentException.class, () -> LoadBalancingHttpClient.balanceRequestsOn(HttpClients.DUMMY)
+				.endpoints(List.of()).log(new NullLog()).build());
+	}
+
+	@Test
+	public void testNegativeHedgeDelay() {
+		assertThrows(IllegalArgumentException.class, () -> LoadBalancingHttpClient.balanceRequestsOn(HttpClients.DUMMY)
+				.endpoints(List.of(REPLICA_A)).hedgeDelay(Duration.ofMillis(-1)).log(new NullLog()).build());
+	}
+
+	@Test
+	public void testRequestsAreSpread() throws Exception {
+		ReplicaHttpClient replicas = new ReplicaHttpClient();
+		HttpClient client = LoadBalancingHttpClient.balanceRequestsOn(replicas)
+				.endpoints(List.of(REPLICA_A, REPLICA_B)).log(new NullLog()).build();
+
+		RecordingListener listener = new RecordingListener();
+		for (int i = 0; i < 4; i++) {
+			assertTrue(client.send(HttpRequest.on(URI.create("http://vip.localhost/sign")).build(), listener));
+		}
+		assertEquals(4, listener.successes.size());
+		assertTrue(replicas.received("a") > 0);
+		assertTrue(replicas.received("b") > 0);
+		assertEquals(0, replicas.received("vip"));
+	}
+
+	@Test
+	public void testFailingEndpointIsEjected() throws Exception {
+		ReplicaHttpClient replicas = new ReplicaHttpClient();
+		replicas.statusCodes.put("a", 503);
+		HttpClient client = LoadBalancingHttpClient.balanceRequestsOn(replicas)
+				.endpoints(List.of(REPLICA_A, REPLICA_B)).log(new NullLog()).build();
+
+		RecordingListener listener = new RecordingListener();
+		for (int i = 0; i < 5; i++) {
+			client.send(HttpRequest.on(REPLICA_A).build(), listener);
+		}
+		assertEquals(1, replicas.received("a"));
+		assertEquals(1, listener.errors.get());
+		assertEquals(4, listener.successes.size());
+	}
+
+	@Test
+	public void testSlowEndpointIsHedged() throws Exception {
+		ReplicaHttpClient replicas = new ReplicaHttpClient();
+		replicas.delays.put("a", Duration.ofSeconds(10));
+		HttpClient client = LoadBalancingHttpClient.balanceRequestsOn(replicas)
+				.endpoints(List.of(REPLICA_A, REPLICA_B)).hedgeDelay(Duration.ofMillis(50)).log(new NullLog()).build();
+
+		RecordingListener listener = new RecordingListener();
+		Stopwatch stopwatch = Stopwatch.createStarted();
+		// the second request goes to the endpoint not measured yet if the first one did not
+		for (int i = 0; i < 2; i++) {
+			assertTrue(client.send(HttpRequest.on(REPLICA_A).build(), listener));
+		}
+		assertTrue(stopwatch.elapsed(TimeUnit.SECONDS) < 5);
+		assertTrue(replicas.received("a") > 0);
+		assertEquals(List.of("b", "b"), listener.successes);
+		assertEquals(0, listener.errors.get());
+	}
+
+	@Test
+	public void testErrorIsReportedOnceWhenAllEndpointsFail() throws Exception {
+		ReplicaHttpClient replicas = new ReplicaHttpClient();
+		replicas.statusCodes.put("a", 503);
+		replicas.statusCodes.put("b", 503);
+		replicas.delays.put("a", Duration.ofMillis(200));
+		replicas.delays.put("b", Duration.ofMillis(200));
+		HttpClient client = LoadBalancingHttpClient.balanceRequestsOn(replicas)
+				.endpoints(List.of(REPLICA_A, REPLICA_B)).hedgeDelay(Duration.ofMillis(50)).log(new NullLog()).build();
+
+		RecordingListener listener = new RecordingListener();
+		assertFalse(client.send(HttpRequest.on(REPLICA_A).build(), listener));
+		assertEquals(1, replicas.received("a"));
+		assertEquals(1, replicas.received("b"));
+		assertEquals(1, listener.errors.get());
+		assertTrue(listener.successes.isEmpty());
+	}
+
+	@Test
+	public void testHedgedRequestIsNotWaitedForWhenDelegateIgnoresInterrupts() throws Exception {
+		ReplicaHttpClient replicas = new ReplicaHttpClient();
+		CountDownLatch release = new CountDownLatch(1);
+		replicas.blocks.put("a", release);
+		HttpClient client = LoadBalancingHttpClient.balanceRequestsOn(replicas)
+				.endpoints(List.of(REPLICA_A, REPLICA_B)).hedgeDelay(Duration.ofMillis(50)).log(new NullLog()).build();
+
+		RecordingListener listener = new RecordingListener();
+		Stopwatch stopwatch = Stopwatch.createStarted();
+		for (int i = 0; i < 2; i++) {
+			assertTrue(client.send(HttpRequest.on(REPLICA_A).build(), listener));
+		}
+		assertTrue(stopwatch.elapsed(TimeUnit.SECONDS) < 5);
+		assertEquals(List.of("b", "b"), listener.successes);
+		assertTrue(replicas.received("a") > 0);
+
+		// the aborted requests only complete once the delegate is done with them
+		release.countDown();
+		while (replicas.completed("a") < replicas.received("a") && stopwatch.elapsed(TimeUnit.SECONDS) < 30) {
+			Thread.sleep(10);
+		}
+		assertEquals(replicas.received("a"), replicas.completed("a"));
+		assertEquals(replicas.received("a"), replicas.interrupted("a"));
+		// their late responses are ignored
+		assertEquals(List.of("b", "b"), listener.successes);
+		assertEquals(0, listener.errors.get());
+	}
+
+	private static final class RecordingListener implements CompletionListener {
+		final List<String> successes = new CopyOnWriteArrayList<>();
+		final AtomicInteger errors = new AtomicInteger();
+
+		@Override
+		public void onSuccess(HttpResult result) throws IOException {
+			successes.add(result.reason());
+		}
+
+		@Override
+		public void onError(HttpResult error) throws IOException {
+			errors.incrementAndGet();
+		}
+	}
+
+	/**
+	 * Answers with the host name of the replica the request has been sent to,
+	 * after the configured delay, or once the configured latch is released.
+	 * Waiting for the latch ignores interruptions, as a delegate stuck in a
+	 * blocking upload would.
+	 */
+	private static final class ReplicaHttpClient implements HttpClient {
+		final Map<String, Integer> statusCodes = new ConcurrentHashMap<>();
+		final Map<String, Duration> delays = new ConcurrentHashMap<>();
+		final Map<String, CountDownLatch> blocks = new ConcurrentHashMap<>();
+		private final Map<String, AtomicInteger> received = new ConcurrentHashMap<>();
+		private final Map<String, AtomicInteger> interrupted = new ConcurrentHashMap<>();
+		private final Map<String, AtomicInteger> completed = new ConcurrentHashMap<>();
+
+		int received(String replica) {
+			return received.computeIfAbsent(replica, r -> new AtomicInteger()).get();
+		}
+
+		int interrupted(String replica) {
+			return interrupted.computeIfAbsent(replica, r -> new AtomicInteger()).get();
+		}
+
+		int completed(String replica) {
+			return completed.computeIfAbsent(replica, r -> new AtomicInteger()).get();
+		}
+
+		@Override
+		public boolean send(HttpRequest request, CompletionListener completionListener) throws IOException {
+			return send(request, Config.defaultConfig(), completionListener);
+		}
+
+		@Override
+		public boolean send(HttpRequest request, Config config, CompletionListener completionListener) throws IOException {
+			String replica = request.serverUri().getHost().split("\\.")[0];
+			received.computeIfAbsent(replica, r -> new AtomicInteger()).incrementAndGet();
+			CountDownLatch block = blocks.get(replica);
+			if (block != null) {
+				Uninterruptibles.awaitUninterruptibly(block);
+				if (Thread.interrupted()) {
+					interrupted.computeIfAbsent(replica, r -> new AtomicInteger()).incrementAndGet();
+				}
+			}
+			try {
+				Thread.sleep(delays.getOrDefault(replica, Duration.ZERO).toMillis());
+				int statusCode = statusCodes.getOrDefault(replica, 200);
+				HttpResult result = new ReplicaResult(statusCode, replica);
+				if (statusCode < 300) {
+					completionListener.onSuccess(result);
+					return true;
+				}
+				completionListener.onError(result);
+				return false;
+			} catch (@SuppressWarnings("unused") InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			} finally {
+				completed.computeIfAbsent(replica, r -> new AtomicInteger()).incrementAndGet();
+			}
+		}
+	}
+
+	private static final class ReplicaResult implements HttpResult {
+		private final int statusCode;
+		private final String replica;
+
+		ReplicaResult(int statusCode, String replica) {
+			this.statusCode = statusCode;
+			this.replica = replica;
+		}
+
+		@Override
+		public int statusCode() {
+			return statusCode;
+		}
+
+		@Override
+		public String reason() {
+			return replica;
+		}
+
+		@Override
+		public long copyContent(Path target, CopyOption... options) throws IOException {
+			Files.write(target, replica.getBytes(StandardCharsets.UTF_8));
+			return replica.length();
+		}
+
+		@Override
+		public long copyContent(OutputStream output) throws IOException {
+			output.write(replica.getBytes(StandardCharsets.UTF_8));
+			return replica.length();
+		}
+
+		@Override
+		public long contentLength() {
+			return replica.length();
+		}
+
+		@Override
+		public Charset contentCharset() {
+			return StandardCharsets.UTF_8;
+		}
+	}
+}
@@ -1,19 +1,32 @@
 package org.eclipse.cbi.maven.common.http;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.CopyOption;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.cbi.maven.common.test.util.HttpClients;
 import org.eclipse.cbi.maven.common.test.util.NullLog;
+import org.eclipse.cbi.maven.http.CircuitBreaker;
 import org.eclipse.cbi.maven.http.CompletionListener;
 import org.eclipse.cbi.maven.http.HttpClient;
 import org.eclipse.cbi.maven.http.HttpRequest;
 import org.eclipse.cbi.maven.http.HttpRequest.Config;
 import org.eclipse.cbi.maven.http.HttpResult;
+import org.eclipse.cbi.maven.http.RetryBudget;
 import org.eclipse.cbi.maven.http.RetryHttpClient;
+import org.eclipse.cbi.maven.http.RetryPolicy;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -78,6 +91,199 @@ public class RetryHttpClientTest {
 		assertEquals(4, countingClient.count());
 	}
 
+
+	@Test
+	public void testNoRetryOnClientError() throws Exception {
+		ErrorHttpClient errorClient = new ErrorHttpClient(400, null);
+		HttpClient client = RetryHttpClient.retryRequestOn(errorClient).maxRetries(3).waitBeforeRetry(1, TimeUnit.MILLISECONDS).log(new NullLog()).build();
+		assertFalse(client.send(HttpRequest.on(URI.create("http://localhost")).build(), new IgnoreErrors()));
+		assertEquals(1, errorClient.count());
+	}
+
+	@Test
+	public void testRetryOnServiceUnavailable() throws Exception {
+		ErrorHttpClient errorClient = new ErrorHttpClient(503, null);
+		HttpClient client = RetryHttpClient.retryRequestOn(errorClient).maxRetries(3).waitBeforeRetry(1, TimeUnit.MILLISECONDS).log(new NullLog()).build();
+		assertFalse(client.send(HttpRequest.on(URI.create("http://localhost")).build(), new IgnoreErrors()));
+		assertEquals(4, errorClient.count());
+	}
+
+	@Test
+	public void testRetryAfterIsHonoured() throws Exception {
+		ErrorHttpClient errorClient = new ErrorHttpClient(503, "1");
+		HttpClient client = RetryHttpClient.retryRequestOn(errorClient).maxRetries(1).waitBeforeRetry(1, TimeUnit.MILLISECONDS)
+				.retryPolicy(RetryPolicy.exponentialBackoff(Duration.ofMillis(1), Duration.ofSeconds(5))).log(new NullLog()).build();
+		long start = System.nanoTime();
+		assertFalse(client.send(HttpRequest.on(URI.create("http://localhost")).build(), new IgnoreErrors()));
+		assertEquals(2, errorClient.count());
+		assertTrue(System.nanoTime() - start >= TimeUnit.SECONDS.toNanos(1));
+	}
+
+	@Test
+	public void testRetryBudget() throws Exception {
+		RetryBudget budget = new RetryBudget(0, 2);
+		FailureCountingHttpClient countingClient = new FailureCountingHttpClient(true);
+		HttpClient client = RetryHttpClient.retryRequestOn(countingClient).maxRetries(5).waitBeforeRetry(1, TimeUnit.MILLISECONDS)
+				.retryBudget(budget).log(new NullLog()).build();
+		assertThrows(IOException.class, () -> client.send(HttpRequest.on(URI.create("http://localhost")).build(), new IgnoreErrors()));
+		assertEquals(3, countingClient.count());
+		// the budget is exhausted, the next request is not retried
+		assertThrows(IOException.class, () -> client.send(HttpRequest.on(URI.create("http://localhost")).build(), new IgnoreErrors()));
+		assertEquals(4, countingClient.count());
+	}
+
+	@Test
+	public void testCircuitBreakerFailsFast() throws Exception {
+		CircuitBreaker circuitBreaker = new CircuitBreaker(2, Duration.ofMinutes(1));
+		FailureCountingHttpClient countingClient = new FailureCountingHttpClient(true);
+		HttpClient client = RetryHttpClient.retryRequestOn(countingClient).maxRetries(5).waitBeforeRetry(1, TimeUnit.MILLISECONDS)
+				.circuitBreaker(circuitBreaker).log(new NullLog()).build();
+		IOException e = assertThrows(IOException.class, () -> client.send(HttpRequest.on(URI.create("http://localhost/sign")).build(), new IgnoreErrors()));
+		assertTrue(e.getMessage().contains("http://localhost"), e.getMessage());
+		assertEquals(2, countingClient.count());
+		assertThrows(IOException.class, () -> client.send(HttpRequest.on(URI.create("http://localhost/other")).build(), new IgnoreErrors()));
+		assertEquals(2, countingClient.count());
+		// other servers are not affected
+		assertThrows(IOException.class, () -> client.send(HttpRequest.on(URI.create("http://otherhost/sign")).build(), new IgnoreErrors()));
+		assertEquals(4, countingClient.count());
+	}
+
+	@Test
+	public void testCircuitBreakerLetsTrialThrough() throws Exception {
+		CircuitBreaker circuitBreaker = new CircuitBreaker(1, Duration.ofMillis(50));
+		FailureCountingHttpClient countingClient = new FailureCountingHttpClient(true);
+		HttpClient client = RetryHttpClient.retryRequestOn(countingClient).maxRetries(0).waitBeforeRetry(1, TimeUnit.MILLISECONDS)
+				.circuitBreaker(circuitBreaker).log(new NullLog()).build();
+		HttpRequest request = HttpRequest.on(URI.create("http://localhost")).build();
+		assertThrows(IOException.class, () -> client.send(request, new IgnoreErrors()));
+		assertThrows(IOException.class, () -> client.send(request, new IgnoreErrors()));
+		assertEquals(1, countingClient.count());
+		Thread.sleep(100);
+		assertThrows(IOException.class, () -> client.send(request, new IgnoreErrors()));
+		assertEquals(2, countingClient.count());
+	}
+
+	@Test
+	public void testOpenCircuitIsRetriedOnceTrialIsLetThrough() throws Exception {
+		CircuitBreaker circuitBreaker = new CircuitBreaker(1, Duration.ofMillis(200));
+		FlakyHttpClient flakyClient = new FlakyHttpClient(1);
+		HttpClient client = RetryHttpClient.retryRequestOn(flakyClient).maxRetries(3).waitBeforeRetry(10, TimeUnit.MILLISECONDS)
+				.circuitBreaker(circuitBreaker).log(new NullLog()).build();
+		long start = System.nanoTime();
+		// fails and opens the circuit, is refused by the open circuit, waits for it and succeeds
+		assertTrue(client.send(HttpRequest.on(URI.create("http://localhost")).build(), new IgnoreErrors()));
+		assertEquals(2, flakyClient.count());
+		assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(150));
+	}
+
+	@Test
+	public void testOpenCircuitIsNotWaitedForBeyondRetries() throws Exception {
+		CircuitBreaker circuitBreaker = new CircuitBreaker(1, Duration.ofMinutes(1));
+		FlakyHttpClient flakyClient = new FlakyHttpClient(1);
+		HttpClient client = RetryHttpClient.retryRequestOn(flakyClient).maxRetries(3).waitBeforeRetry(1, TimeUnit.MILLISECONDS)
+				.circuitBreaker(circuitBreaker).log(new NullLog()).build();
+		long start = System.nanoTime();
+		IOException e = assertThrows(IOException.class, () -> client.send(HttpRequest.on(URI.create("http://localhost")).build(), new IgnoreErrors()));
+		assertTrue(e.getMessage().contains("considered down"), e.getMessage());
+		assertEquals(1, flakyClient.count());
+		assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(10));
+	}
+
+	@Test
+	public void testRetryBudgetRecovers() throws Exception {
+		RetryBudget budget = new RetryBudget(0, 1, Duration.ofMillis(200));
+		FailureCountingHttpClient countingClient = new FailureCountingHttpClient(true);
+		HttpClient client = RetryHttpClient.retryRequestOn(countingClient).maxRetries(5).waitBeforeRetry(1, TimeUnit.MILLISECONDS)
+				.retryBudget(budget).log(new NullLog()).build();
+		HttpRequest request = HttpRequest.on(URI.create("http://localhost")).build();
+		assertThrows(IOException.class, () -> client.send(request, new IgnoreErrors()));
+		assertEquals(2, countingClient.count());
+		assertThrows(IOException.class, () -> client.send(request, new IgnoreErrors()));
+		assertEquals(3, countingClient.count());
+		// the retry has gone out of the window
+		Thread.sleep(300);
+		assertThrows(IOException.class, () -> client.send(request, new IgnoreErrors()));
+		assertEquals(5, countingClient.count());
+	}
+
+	private static final class IgnoreErrors implements CompletionListener {
+		@Override
+		public void onError(HttpResult error) throws IOException {
+			// expected
+		}
+
+		@Override
+		public void onSuccess(HttpResult result) throws IOException {
+			Assertions.fail();
+		}
+	}
+
+	/**
+	 * Answers every request with the given error status code and
+	 * {@code Retry-After} header.
+	 */
+	private static final class ErrorHttpClient implements HttpClient {
+		private final int statusCode;
+		private final String retryAfter;
+		private int count = 0;
+
+		ErrorHttpClient(int statusCode, String retryAfter) {
+			this.statusCode = statusCode;
+			this.retryAfter = retryAfter;
+		}
+
+		@Override
+		public boolean send(HttpRequest request, CompletionListener completionListener) throws IOException {
+			return send(request, Config.defaultConfig(), completionListener);
+		}
+
+		@Override
+		public boolean send(HttpRequest request, Config config, CompletionListener completionListener) throws IOException {
+			count++;
+			completionListener.onError(new HttpResult() {
+				@Override
+				public int statusCode() {
+					return statusCode;
+				}
+
+				@Override
+				public String reason() {
+					return "";
+				}
+
+				@Override
+				public long copyContent(Path target, CopyOption... options) throws IOException {
+					Files.write(target, new byte[0]);
+					return 0;
+				}
+
+				@Override
+				public long copyContent(OutputStream output) throws IOException {
+					return 0;
+				}
+
+				@Override
+				public long contentLength() {
+					return 0;
+				}
+
+				@Override
+				public Charset contentCharset() {
+					return StandardCharsets.UTF_8;
+				}
+
+				@Override
+				public Optional<String> header(String name) {
+					return "Retry-After".equalsIgnoreCase(name) ? Optional.ofNullable(retryAfter) : Optional.empty();
+				}
+			});
+			return false;
+		}
+
+		int count() {
+			return count;
+		}
+	}
 	
 	private static class FailureCountingHttpClient implements HttpClient {
 
@@ -108,4 +314,33 @@ public class RetryHttpClientTest {
 			return count;
 		}
 	}
+
+	/**
+	 * Throws on the given number of first requests, then succeeds.
+	 */
+	private static final class FlakyHttpClient implements HttpClient {
+		private final int failures;
+		private int count = 0;
+
+		FlakyHttpClient(int failures) {
+			this.failures = failures;
+		}
+
+		@Override
+		public boolean send(HttpRequest request, CompletionListener completionListener) throws IOException {
+			return send(request, Config.defaultConfig(), completionListener);
+		}
+
+		@Override
+		public boolean send(HttpRequest request, Config config, CompletionListener completionListener) throws IOException {
+			if (count++ < failures) {
+				throw new IOException("Connection reset");
+			}
+			return true;
+		}
+
+		int count() {
+			return count;
+		}
+	}
 }
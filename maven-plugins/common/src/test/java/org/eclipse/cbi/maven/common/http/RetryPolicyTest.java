@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.maven.common.http;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.cbi.maven.http.HttpRequest;
+import org.eclipse.cbi.maven.http.RetryPolicy;
+import org.eclipse.cbi.maven.http.RetryPolicy.Failure;
+import org.junit.jupiter.api.Test;
+
+public class RetryPolicyTest {
+
+	private static final HttpRequest REQUEST = HttpRequest.on(URI.create("http://localhost")).build();
+
+	@Test
+	public void testTransientFailures() {
+		RetryPolicy policy = RetryPolicy.exponentialBackoff(Duration.ofSeconds(1), Duration.ofSeconds(10));
+		assertTrue(policy.isRetryable(REQUEST, Failure.unknown()));
+		assertTrue(policy.isRetryable(REQUEST, Failure.of(new IOException("Connection reset"))));
+		assertTrue(policy.isRetryable(REQUEST, Failure.of(new RuntimeException(new TimeoutException()))));
+		assertFalse(policy.isRetryable(REQUEST, Failure.of(new IllegalStateException())));
+	}
+
+	@Test
+	public void testFullJitterBackoff() {
+		RetryPolicy policy = RetryPolicy.exponentialBackoff(Duration.ofMillis(100), Duration.ofMillis(1000));
+		Set<Duration> delays = new HashSet<>();
+		for (int i = 0; i < 100; i++) {
+			Duration first = policy.delayBeforeRetry(1, Failure.unknown());
+			Duration third = policy.delayBeforeRetry(3, Failure.unknown());
+			Duration tenth = policy.delayBeforeRetry(10, Failure.unknown());
+			assertTrue(first.toMillis() <= 100, first.toString());
+			assertTrue(third.toMillis() <= 400, third.toString());
+			assertTrue(tenth.toMillis() <= 1000, tenth.toString());
+			delays.add(third);
+		}
+		assertTrue(delays.size() > 1, "Delays should be jittered");
+	}
+
+	@Test
+	public void testNoOverflow() {
+		RetryPolicy policy = RetryPolicy.exponentialBackoff(Duration.ofSeconds(10), Duration.ofMinutes(5));
+		assertTrue(policy.delayBeforeRetry(Integer.MAX_VALUE, Failure.unknown()).compareTo(Duration.ofMinutes(5)) <= 0);
+	}
+
+	@Test
+	public void testZeroDelay() {
+		RetryPolicy policy = RetryPolicy.exponentialBackoff(Duration.ZERO, Duration.ZERO);
+		assertEquals(Duration.ZERO, policy.delayBeforeRetry(3, Failure.unknown()));
+	}
+}
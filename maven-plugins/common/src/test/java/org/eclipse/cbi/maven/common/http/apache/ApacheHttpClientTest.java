@@ -8,9 +8,14 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
 import java.nio.file.FileSystem;
 import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.http.entity.ContentType;
 import org.eclipse.cbi.common.test.util.SampleFilesGenerators;
@@ -34,6 +39,7 @@ import org.junit.jupiter.api.Test;
 
 import com.google.common.jimfs.Configuration;
 import com.google.common.jimfs.Jimfs;
+import com.google.common.util.concurrent.Uninterruptibles;
 
 import jakarta.servlet.MultipartConfigElement;
 import jakarta.servlet.ServletException;
@@ -122,6 +128,60 @@ public class ApacheHttpClientTest {
 		}
 	}
 
+	@Test
+	public void testInterruptAbortsUpload() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		Server server = createProcessingServer(new AbstractHandler() {
+			@Override
+			public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException {
+				// never reads the request, so that the upload blocks
+				Uninterruptibles.awaitUninterruptibly(release, 30, TimeUnit.SECONDS);
+				baseRequest.setHandled(true);
+				response.setStatus(HttpServletResponse.SC_OK);
+			}
+		});
+		try {
+			AtomicLong uploaded = new AtomicLong();
+			byte[] chunk = new byte[64 * 1024];
+			HttpRequest request = newRequest("localhost", getPort(server)).withParam("file", "file.bin", out -> {
+				for (int i = 0; i < 4096; i++) {
+					out.write(chunk);
+					uploaded.addAndGet(chunk.length);
+				}
+			}).build();
+			AtomicBoolean sent = new AtomicBoolean(true);
+			AtomicBoolean interrupted = new AtomicBoolean();
+			Thread sender = new Thread(() -> {
+				try {
+					sent.set(ApacheHttpClient.create(log).send(request, new FailTestOnSuccess()));
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+				interrupted.set(Thread.currentThread().isInterrupted());
+			});
+			sender.start();
+			long blocked;
+			do {
+				blocked = uploaded.get();
+				Thread.sleep(200);
+			} while (uploaded.get() != blocked || blocked == 0);
+
+			sender.interrupt();
+			sender.join(TimeUnit.SECONDS.toMillis(10));
+
+			assertFalse(sender.isAlive());
+			assertFalse(sent.get());
+			assertTrue(interrupted.get());
+			// the upload has been stopped, not left running in the background
+			Thread.sleep(200);
+			assertEquals(blocked, uploaded.get());
+			assertTrue(blocked < 4096L * chunk.length);
+		} finally {
+			release.countDown();
+			server.stop();
+		}
+	}
+
 	private Builder newRequest(String host, int port) {
 		return HttpRequest.on(URI.create("http://" + host + ":" + port + "/processing-service"));
 	}
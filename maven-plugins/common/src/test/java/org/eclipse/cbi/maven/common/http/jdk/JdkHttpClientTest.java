@@ -0,0 +1,268 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.maven.common.http.jdk;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.cbi.common.test.util.SampleFilesGenerators;
+import org.eclipse.cbi.maven.common.test.util.NullLog;
+import org.eclipse.cbi.maven.http.CompletionListener;
+import org.eclipse.cbi.maven.http.HttpClient;
+import org.eclipse.cbi.maven.http.HttpRequest;
+import org.eclipse.cbi.maven.http.HttpResult;
+import org.eclipse.cbi.maven.http.jdk.JdkHttpClient;
+import org.eclipse.jetty.ee9.nested.AbstractHandler;
+import org.eclipse.jetty.ee9.nested.ContextHandler;
+import org.eclipse.jetty.ee9.nested.Handler;
+import org.eclipse.jetty.ee9.nested.Request;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.server.HttpConfiguration;
+import org.eclipse.jetty.server.HttpConnectionFactory;
+import org.eclipse.jetty.server.NetworkConnector;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+
+import jakarta.servlet.MultipartConfigElement;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+public class JdkHttpClientTest {
+
+	private NullLog log;
+
+	@BeforeEach
+	public void before() {
+		log = new NullLog();
+	}
+
+	@Test
+	public void testProcessRequest() throws Exception {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			Server server = createProcessingServer(createTestingHandler(), false);
+			try {
+				Path path = SampleFilesGenerators.createLoremIpsumFile(fs.getPath("/pathto/fileToProcess"), 10);
+				HttpClient client = JdkHttpClient.create(log);
+				HttpRequest request = newRequest(getPort(server)).withParam("file", path).withParam("sigalg", "SHA256withRSA").build();
+				assertTrue(client.send(request, new CompletionListener() {
+
+					@Override
+					public void onError(HttpResult error) throws IOException {
+						Assertions.fail();
+					}
+
+					@Override
+					public void onSuccess(HttpResult result) throws IOException {
+						assertEquals(200, result.statusCode());
+
+						ByteArrayOutputStream response = new ByteArrayOutputStream();
+						result.copyContent(response);
+						assertArrayEquals(Files.readAllBytes(path), response.toByteArray());
+					}
+				}));
+			} finally {
+				server.stop();
+			}
+		}
+	}
+
+	@Test
+	public void testProcessStreamedRequest() throws Exception {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			Server server = createProcessingServer(new AbstractHandler() {
+				@Override
+				public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
+					baseRequest.setAttribute(Request.MULTIPART_CONFIG_ELEMENT, new MultipartConfigElement(""));
+					assertEquals(-1, request.getContentLengthLong());
+					assertEquals("streamed.zip", baseRequest.getPart("file").getSubmittedFileName());
+					baseRequest.setHandled(true);
+					baseRequest.getPart("file").getInputStream().transferTo(response.getOutputStream());
+				}
+			}, false);
+			try {
+				Path path = SampleFilesGenerators.createLoremIpsumFile(fs.getPath("/pathto/fileToProcess"), 100);
+				HttpClient client = JdkHttpClient.create(log);
+				HttpRequest request = newRequest(getPort(server)).withParam("file", "streamed.zip", out -> Files.copy(path, out)).build();
+				assertTrue(client.send(request, new CompletionListener() {
+					@Override
+					public void onError(HttpResult error) throws IOException {
+						Assertions.fail();
+					}
+
+					@Override
+					public void onSuccess(HttpResult result) throws IOException {
+						result.readContent(in -> assertArrayEquals(Files.readAllBytes(path), in.readAllBytes()));
+					}
+				}));
+			} finally {
+				server.stop();
+			}
+		}
+	}
+
+	@Test
+	public void testProcessOfflineServer() throws Exception {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			Path file = SampleFilesGenerators.createLoremIpsumFile(fs.getPath("/pathto/fileToProcess"), 10);
+			HttpClient client = JdkHttpClient.create(log);
+			HttpRequest request = newRequest(1).withParam("file", file).build();
+			assertThrows(IOException.class, () -> client.send(request, new FailTestOnError()));
+		}
+	}
+
+	@Test
+	public void testServerError() throws Exception {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			Server server = createProcessingServer(new AbstractHandler() {
+				@Override
+				public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException {
+					baseRequest.setHandled(true);
+					response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+					response.getWriter().print("Some more explanations about the error from the server!");
+				}
+			}, false);
+			try {
+				Path path = SampleFilesGenerators.createLoremIpsumFile(fs.getPath("/pathto/fileToProcess"), 10);
+				HttpClient client = JdkHttpClient.create(log);
+				HttpRequest request = newRequest(getPort(server)).withParam("file", path).build();
+				assertFalse(client.send(request, new CompletionListener() {
+					@Override
+					public void onError(HttpResult error) throws IOException {
+						assertEquals(503, error.statusCode());
+					}
+
+					@Override
+					public void onSuccess(HttpResult result) throws IOException {
+						Assertions.fail();
+					}
+				}));
+			} finally {
+				server.stop();
+			}
+		}
+	}
+
+	@Test
+	public void testConcurrentRequestsOverH2c() throws Exception {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			Set<String> protocols = ConcurrentHashMap.newKeySet();
+			Set<Integer> remotePorts = ConcurrentHashMap.newKeySet();
+			Server server = createProcessingServer(new AbstractHandler() {
+				@Override
+				public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
+					baseRequest.setAttribute(Request.MULTIPART_CONFIG_ELEMENT, new MultipartConfigElement(""));
+					protocols.add(request.getProtocol());
+					remotePorts.add(request.getRemotePort());
+					baseRequest.getPart("file").getInputStream().transferTo(response.getOutputStream());
+					baseRequest.setHandled(true);
+				}
+			}, true);
+			ExecutorService executor = Executors.newFixedThreadPool(8);
+			try {
+				HttpClient client = JdkHttpClient.create(log);
+				List<Future<Boolean>> results = new ArrayList<>();
+				for (int i = 0; i < 16; i++) {
+					Path path = SampleFilesGenerators.createLoremIpsumFile(fs.getPath("/pathto/file" + i + ".jar"), 100);
+					HttpRequest request = newRequest(getPort(server)).withParam("file", path).build();
+					results.add(executor.submit(() -> client.send(request, new FailTestOnError())));
+				}
+				for (Future<Boolean> result : results) {
+					assertTrue(result.get());
+				}
+				assertEquals(Set.of("HTTP/2.0"), protocols);
+				assertEquals(1, remotePorts.size(), "Expected all requests to be multiplexed over one connection, got " + remotePorts);
+			} finally {
+				executor.shutdownNow();
+				server.stop();
+			}
+		}
+	}
+
+	private static HttpRequest.Builder newRequest(int port) {
+		return HttpRequest.on(URI.create("http://localhost:" + port + "/processing-service"));
+	}
+
+	private static Server createProcessingServer(Handler handler, boolean h2c) throws Exception {
+		Server server = new Server();
+		HttpConfiguration httpConfiguration = new HttpConfiguration();
+		ServerConnector connector;
+		if (h2c) {
+			connector = new ServerConnector(server, new HttpConnectionFactory(httpConfiguration), new HTTP2CServerConnectionFactory(httpConfiguration));
+		} else {
+			connector = new ServerConnector(server, new HttpConnectionFactory(httpConfiguration));
+		}
+		server.addConnector(connector);
+		ContextHandler context = new ContextHandler("/", handler);
+		server.setHandler(context.get());
+		server.start();
+		return server;
+	}
+
+	private static int getPort(Server server) {
+		return ((NetworkConnector)server.getConnectors()[0]).getLocalPort();
+	}
+
+	private static Handler createTestingHandler() {
+		return new AbstractHandler() {
+			@Override
+			public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException, ServletException {
+				baseRequest.setAttribute(Request.MULTIPART_CONFIG_ELEMENT, new MultipartConfigElement(""));
+				assertEquals("/processing-service", target);
+				assertTrue(request.getContentType().startsWith("multipart/form-data"));
+				assertTrue(request.getContentLengthLong() > 0);
+				assertEquals(2, baseRequest.getParts().size());
+				assertEquals("fileToProcess", baseRequest.getPart("file").getSubmittedFileName());
+				assertEquals("SHA256withRSA", request.getParameter("sigalg"));
+				baseRequest.setHandled(true);
+				response.setStatus(HttpServletResponse.SC_OK);
+				baseRequest.getPart("file").getInputStream().transferTo(response.getOutputStream());
+			}
+		};
+	}
+
+	private static final class FailTestOnError implements CompletionListener {
+		@Override
+		public void onError(HttpResult error) throws IOException {
+			Assertions.fail();
+		}
+
+		@Override
+		public void onSuccess(HttpResult result) throws IOException {
+			result.copyContent(new ByteArrayOutputStream());
+		}
+	}
+}
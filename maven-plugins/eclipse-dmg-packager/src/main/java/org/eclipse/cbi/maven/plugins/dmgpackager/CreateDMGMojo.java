@@ -31,10 +31,13 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.eclipse.cbi.maven.ExceptionHandler;
 import org.eclipse.cbi.maven.MavenLogger;
 import org.eclipse.cbi.maven.http.AbstractCompletionListener;
+import org.eclipse.cbi.maven.http.AsyncJobHttpClient;
+import org.eclipse.cbi.maven.http.CircuitBreaker;
 import org.eclipse.cbi.maven.http.HttpClient;
 import org.eclipse.cbi.maven.http.HttpRequest;
 import org.eclipse.cbi.maven.http.HttpRequest.Builder;
 import org.eclipse.cbi.maven.http.HttpResult;
+import org.eclipse.cbi.maven.http.RetryBudget;
 import org.eclipse.cbi.maven.http.RetryHttpClient;
 import org.eclipse.cbi.maven.http.apache.ApacheHttpClient;
 
@@ -122,7 +125,8 @@ public class CreateDMGMojo extends AbstractMojo {
 	private File eulaFile;
 
 	/**
-	 * An {@code .tar.gz} or {@code .zip} file containing a single OS X application to create the DMG for.
+	 * An {@code .tar.gz}, {@code .tar.zst} or {@code .zip} file containing a single OS X application to create the DMG for.
+	 * zstd compressed tarballs are faster to extract on the server.
 	 * 
 	 * @since 1.1.3
 	 */
@@ -184,6 +188,29 @@ public class CreateDMGMojo extends AbstractMojo {
 	@Parameter(property = "cbi.dmgpackager.timeoutMillis", defaultValue = "0")
 	private int timeoutMillis;
 
+	/**
+	 * Whether the DMG file should be packaged as an asynchronous job by the server.
+	 * The request is submitted, then the status of the job is polled until it is
+	 * done and the DMG file is downloaded. No connection is kept open while the
+	 * server works and {@link #timeoutMillis} applies to each of these exchanges.
+	 *
+	 * @since 1.5.8
+	 */
+	@Parameter(property = "cbi.dmgpackager.async", defaultValue = "false")
+	private boolean async;
+
+	/**
+	 * The maximum time in seconds an asynchronous job may take on the server
+	 * before the build gives up on it. It only applies when {@link #async} is
+	 * set.
+	 *
+	 * A value of zero is interpreted as no limit.
+	 *
+	 * @since 1.5.8
+	 */
+	@Parameter(property = "cbi.dmgpackager.maxJobDurationSeconds", defaultValue = "3600")
+	private long maxJobDurationSeconds;
+
 	@Override
 	public void execute() throws MojoExecutionException {
 		if (skip) {
@@ -203,8 +230,13 @@ public class CreateDMGMojo extends AbstractMojo {
 		HttpClient httpClient = RetryHttpClient.retryRequestOn(ApacheHttpClient.create(new MavenLogger(getLog())))
 				.maxRetries(3)
 				.waitBeforeRetry(10, TimeUnit.SECONDS)
+				.retryBudget(RetryBudget.shared())
+				.circuitBreaker(CircuitBreaker.shared())
 				.log(new MavenLogger(getLog()))
 				.build();
+		if (async) {
+			httpClient = AsyncJobHttpClient.pollJobsOn(httpClient).maxJobDuration(maxJobDurationSeconds, TimeUnit.SECONDS).log(new MavenLogger(getLog())).build();
+		}
 		
 		Builder requestBuilder = HttpRequest.on(URI.create(serviceUrl));
 		
@@ -212,8 +244,8 @@ public class CreateDMGMojo extends AbstractMojo {
 			exceptionHandler.handleError("'source' file must exist");
 			return;
 		}
-		if (!source.toPath().getFileName().toString().endsWith(".tar.gz") && !source.toPath().getFileName().toString().endsWith(".zip")) {
-			exceptionHandler.handleError("'source' file name must ends with '.tar.gz' or '.zip'");
+		if (!source.toPath().getFileName().toString().endsWith(".tar.gz") && !source.toPath().getFileName().toString().endsWith(".tar.zst") && !source.toPath().getFileName().toString().endsWith(".zip")) {
+			exceptionHandler.handleError("'source' file name must ends with '.tar.gz', '.tar.zst' or '.zip'");
 			return;
 		}
 		requestBuilder.withParam("source", source.toPath());
@@ -287,6 +319,8 @@ public class CreateDMGMojo extends AbstractMojo {
 					final String dmgFilename;
 					if (filename.endsWith(".tar.gz")) {
 						dmgFilename = filename.replace(".tar.gz", ".dmg");
+					} else if (filename.endsWith(".tar.zst")) {
+						dmgFilename = filename.replace(".tar.zst", ".dmg");
 					} else {
 						dmgFilename = filename.replace(".zip", ".dmg");
 					}
@@ -57,10 +57,13 @@ import org.bouncycastle.openpgp.operator.jcajce.JcaKeyFingerprintCalculator;
 import org.eclipse.cbi.maven.ExceptionHandler;
 import org.eclipse.cbi.maven.MavenLogger;
 import org.eclipse.cbi.maven.http.AbstractCompletionListener;
+import org.eclipse.cbi.maven.http.AsyncJobHttpClient;
+import org.eclipse.cbi.maven.http.CircuitBreaker;
 import org.eclipse.cbi.maven.http.HttpClient;
 import org.eclipse.cbi.maven.http.HttpRequest;
 import org.eclipse.cbi.maven.http.HttpRequest.Builder;
 import org.eclipse.cbi.maven.http.HttpResult;
+import org.eclipse.cbi.maven.http.RetryBudget;
 import org.eclipse.cbi.maven.http.RetryHttpClient;
 import org.eclipse.cbi.maven.http.apache.ApacheHttpClient;
 import org.eclipse.cbi.maven.plugins.flatpakager.model.Manifest;
@@ -408,6 +411,31 @@ public class CreateFlatpakMojo extends AbstractMojo {
 	@Parameter(property = "cbi.flatpakager.timeoutMillis", defaultValue = "0")
 	private int timeoutMillis;
 
+	/**
+	 * Whether the Flatpak should be built as an asynchronous job by the packaging
+	 * web service. The request is submitted, then the status of the job is polled
+	 * until it is done and the resulting bundle is downloaded. No connection is
+	 * kept open during the build and {@link #timeoutMillis} applies to each of
+	 * these exchanges. This only means something if a {@link #serviceUrl} is
+	 * specified.
+	 *
+	 * @since 1.5.8
+	 */
+	@Parameter(property = "cbi.flatpakager.async", defaultValue = "false")
+	private boolean async;
+
+	/**
+	 * The maximum time in seconds an asynchronous job may take on the server
+	 * before the build gives up on it. It only applies when {@link #async} is
+	 * set.
+	 *
+	 * A value of zero is interpreted as no limit.
+	 *
+	 * @since 1.5.8
+	 */
+	@Parameter(property = "cbi.flatpakager.maxJobDurationSeconds", defaultValue = "3600")
+	private long maxJobDurationSeconds;
+
 	@Parameter(defaultValue = "${project}", required = true, readonly = true)
 	private MavenProject project;
 
@@ -825,8 +853,13 @@ public class CreateFlatpakMojo extends AbstractMojo {
 
 	private void executeProcessOnRemoteServer(HttpRequest request) throws IOException {
 		getLog().debug("Executing remotely: " + request.toString());
-		final HttpClient httpClient = RetryHttpClient.retryRequestOn(ApacheHttpClient.create(new MavenLogger(getLog())))
-				.maxRetries(3).waitBeforeRetry(10, TimeUnit.SECONDS).log(new MavenLogger(getLog())).build();
+		HttpClient httpClient = RetryHttpClient.retryRequestOn(ApacheHttpClient.create(new MavenLogger(getLog())))
+				.maxRetries(3).waitBeforeRetry(10, TimeUnit.SECONDS)
+				.retryBudget(RetryBudget.shared()).circuitBreaker(CircuitBreaker.shared())
+				.log(new MavenLogger(getLog())).build();
+		if (async) {
+			httpClient = AsyncJobHttpClient.pollJobsOn(httpClient).maxJobDuration(maxJobDurationSeconds, TimeUnit.SECONDS).log(new MavenLogger(getLog())).build();
+		}
 		final HttpRequest.Config config = HttpRequest.Config.builder().timeout(Duration.ofMillis(timeoutMillis))
 				.build();
 		httpClient.send(request, config,
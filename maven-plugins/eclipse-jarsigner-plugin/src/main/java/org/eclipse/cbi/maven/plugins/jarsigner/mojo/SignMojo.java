@@ -22,6 +22,7 @@ import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import com.google.common.base.Strings;
 
@@ -37,9 +38,13 @@ import org.eclipse.cbi.common.security.MessageDigestAlgorithm;
 import org.eclipse.cbi.common.security.SignatureAlgorithm;
 import org.eclipse.cbi.maven.ExceptionHandler;
 import org.eclipse.cbi.maven.MavenLogger;
+import org.eclipse.cbi.maven.http.CircuitBreaker;
 import org.eclipse.cbi.maven.http.HttpClient;
+import org.eclipse.cbi.maven.http.LoadBalancingHttpClient;
+import org.eclipse.cbi.maven.http.RetryBudget;
 import org.eclipse.cbi.maven.http.RetryHttpClient;
 import org.eclipse.cbi.maven.http.apache.ApacheHttpClient;
+import org.eclipse.cbi.maven.http.jdk.JdkHttpClient;
 import org.eclipse.cbi.maven.plugins.jarsigner.EclipseJarSignerFilter;
 import org.eclipse.cbi.maven.plugins.jarsigner.JarResigner;
 import org.eclipse.cbi.maven.plugins.jarsigner.JarResigner.Strategy;
@@ -80,6 +85,27 @@ public class SignMojo extends AbstractMojo {
 	@Parameter(required = true, property = "cbi.jarsigner.signerUrl", defaultValue = "https://cbi.eclipse.org/jarsigner/sign")
 	private String signerUrl;
 
+	/**
+	 * The URLs of several replicas of the signing service. When set, each
+	 * request is sent to the replica with the least outstanding requests and
+	 * the lowest latency, replicas that fail are left aside for a while, and
+	 * {@link #signerUrl} is ignored.
+	 *
+	 * @since 1.5.8
+	 */
+	@Parameter(property = "cbi.jarsigner.signerUrls")
+	private List<String> signerUrls;
+
+	/**
+	 * How long to wait for the response of one of the {@link #signerUrls}, in
+	 * milliseconds, before sending the same request to another one. Only the
+	 * first successful response is kept. 0 to never send a request twice.
+	 *
+	 * @since 1.5.8
+	 */
+	@Parameter(property = "cbi.jarsigner.hedgeDelayMillis", defaultValue = "0")
+	private long hedgeDelayMillis;
+
 	/**
 	 * Whether the execution of this plugin should be skipped.
 	 *
@@ -296,6 +322,16 @@ public class SignMojo extends AbstractMojo {
 	@Parameter(property = "cbi.jarsigner.sigFile", defaultValue = "")
 	private String sigFile;
 
+	/**
+	 * Whether to use an HTTP client that prefers HTTP/2. When the signing
+	 * server supports it (h2 over TLS or h2c), the jar uploads are multiplexed
+	 * over a single connection.
+	 *
+	 * @since 1.5.8
+	 */
+	@Parameter(property = "cbi.jarsigner.http2", defaultValue = "false")
+	private boolean http2;
+
 	@Parameter(property = "cbi.jarsigner.archiveDirectory")
 	private File archiveDirectory;
 
@@ -406,8 +442,10 @@ public class SignMojo extends AbstractMojo {
 	 * @return the {@link JarSigner} according to the injected Mojo parameter.
 	 */
 	private JarSigner createJarSigner() {
-		HttpClient httpClient = RetryHttpClient.retryRequestOn(ApacheHttpClient.create(new MavenLogger(getLog())))
+		HttpClient delegateClient = http2 ? JdkHttpClient.create(new MavenLogger(getLog())) : ApacheHttpClient.create(new MavenLogger(getLog()));
+		HttpClient httpClient = RetryHttpClient.retryRequestOn(balance(delegateClient))
 				.log(new MavenLogger(getLog())).maxRetries(retryLimit()).waitBeforeRetry(retryTimer(), TimeUnit.SECONDS)
+				.retryBudget(RetryBudget.shared()).circuitBreaker(CircuitBreaker.shared())
 				.build();
 
 		return RecursiveJarSigner.builder().filter(new EclipseJarSignerFilter(getLog())).log(getLog())
@@ -420,4 +458,16 @@ public class SignMojo extends AbstractMojo {
 										getLog()))
 				.build();
 	}
+
+	/**
+	 * Spreads the requests over the {@link #signerUrls}, if any.
+	 */
+	private HttpClient balance(HttpClient client) {
+		if (signerUrls == null || signerUrls.isEmpty()) {
+			return client;
+		}
+		return LoadBalancingHttpClient.balanceRequestsOn(client)
+				.endpoints(signerUrls.stream().map(URI::create).collect(Collectors.toList()))
+				.hedgeDelay(Duration.ofMillis(hedgeDelayMillis)).log(new MavenLogger(getLog())).build();
+	}
 }
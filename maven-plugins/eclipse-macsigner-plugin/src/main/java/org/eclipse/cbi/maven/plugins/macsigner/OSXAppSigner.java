@@ -33,6 +33,7 @@ import org.eclipse.cbi.common.util.Paths;
 import org.eclipse.cbi.common.util.Zips;
 import org.eclipse.cbi.maven.ExceptionHandler;
 import org.eclipse.cbi.maven.MavenLogger;
+import org.eclipse.cbi.maven.SigningExecutor;
 import org.eclipse.cbi.maven.http.AbstractCompletionListener;
 import org.eclipse.cbi.maven.http.HttpClient;
 import org.eclipse.cbi.maven.http.HttpRequest;
@@ -67,8 +68,12 @@ public abstract class OSXAppSigner {
 	
 	abstract Duration timeout();
 
+	abstract boolean streaming();
+
+	abstract int parallelism();
+
 	public static Builder builder() {
-		return new AutoValue_OSXAppSigner.Builder();
+		return new AutoValue_OSXAppSigner.Builder().streaming(false).parallelism(1);
 	}
 	
 	OSXAppSigner() {
@@ -86,19 +91,15 @@ public abstract class OSXAppSigner {
 	 */
 	public int signApplications(Set<Path> signFiles, Path entitlements) throws MojoExecutionException {
 		Objects.requireNonNull(signFiles);
-		int ret = 0;
-		for (Path signFile : signFiles) {
+		return new SigningExecutor(parallelism(), log()).signAll(signFiles, signFile -> {
 			final PathMatcher appPattern = signFile.getFileSystem().getPathMatcher(DOT_APP_GLOB_PATTERN);
 			if (Files.isDirectory(signFile) && appPattern.matches(signFile)) {
-				if (signApplication(signFile, entitlements)) {
-					ret++;
-				}
-			} else {
-				exceptionHandler().handleError("Path '" + signFile.toString() + "' does not exist or is not a valid OS X application"
-						+ " It must be a folder ending with '.app' extension. It won't be signed.");
+				return signApplication(signFile, entitlements);
 			}
-		}
-		return ret;
+			exceptionHandler().handleError("Path '" + signFile.toString() + "' does not exist or is not a valid OS X application"
+					+ " It must be a folder ending with '.app' extension. It won't be signed.");
+			return false;
+		});
 	}
 
 	/**
@@ -109,6 +110,9 @@ public abstract class OSXAppSigner {
 	 */
 	public boolean signApplication(Path appFolder, Path entitlements) throws MojoExecutionException {
 		Objects.requireNonNull(appFolder);
+		if (streaming()) {
+			return streamApplication(appFolder, entitlements);
+		}
 		boolean ret = false;
 		Path zippedApp = null;
 
@@ -136,6 +140,68 @@ public abstract class OSXAppSigner {
 		return ret;
 	}
 		
+	/**
+	 * Signs the app without a temporary zip: the zip is generated in the
+	 * request body as the app folder is walked and the signed app is unzipped
+	 * entry by entry as the response is read. The signed app is unzipped in a
+	 * staging folder next to the app, and only replaces it once the whole
+	 * response has been read.
+	 */
+	private boolean streamApplication(Path appFolder, Path entitlements) throws MojoExecutionException {
+		boolean ret = false;
+		Path staging = null;
+
+		try {
+			staging = Files.createTempDirectory(Paths.getParent(appFolder), appFolder.getFileName().toString() + "_");
+			log().info("[" + new Date() + "] Signing OS X application '" + appFolder + "' (streaming)...");
+			Path signedApp = streamOnSigningServer(appFolder, entitlements, staging);
+			if (signedApp == null) {
+				exceptionHandler().handleError("Signing of OS X application '" + appFolder + "' failed. Activate debug (-X, --debug) to see why.");
+			} else {
+				Paths.delete(appFolder);
+				Files.move(signedApp, appFolder);
+				ret = true;
+			}
+		} catch (IOException e) {
+			exceptionHandler().handleError("Signing of OS X application '" + appFolder + "' failed.", e);
+			ret = false;
+		} finally {
+			if (staging != null) {
+				Paths.deleteQuietly(staging);
+			}
+		}
+
+		return ret;
+	}
+
+	private Path streamOnSigningServer(final Path appFolder, Path entitlements, final Path staging) throws IOException {
+		HttpRequest.Config requestConfig = HttpRequest.Config.builder().timeout(timeout()).build();
+		final HttpRequest.Builder requestBuilder = HttpRequest.on(serverUri())
+				.withParam(FILE_PART_NAME, appFolder.getFileName().toString() + DOT_ZIP, out -> Zips.packZip(appFolder, out, true));
+		if (entitlements != null) {
+			requestBuilder.withParam(ENTITLEMENTS_PART_NAME, entitlements);
+		}
+		final HttpRequest request = requestBuilder.build();
+		log().debug("OS X app signing request: " + request.toString());
+		final Path signedApp = staging.resolve(appFolder.getFileName().toString());
+		boolean success = httpClient().send(request, requestConfig, new AbstractCompletionListener(Paths.getParent(appFolder), appFolder.getFileName().toString(), OSXAppSigner.class.getSimpleName(), new MavenLogger(log())) {
+			@Override
+			public void onSuccess(HttpResult result) throws IOException {
+				if (result.contentLength() == 0) {
+					throw new IOException("Length of the returned content is 0");
+				}
+				// leftovers of a previous attempt that failed mid-stream
+				Paths.delete(staging);
+				Files.createDirectories(staging);
+				result.readContent(in -> Zips.unpackZip(in, staging));
+				if (!Files.isDirectory(signedApp)) {
+					throw new IOException("The returned signed app does not contain '" + appFolder.getFileName() + "'");
+				}
+			}
+		});
+		return success && Files.isDirectory(signedApp) ? signedApp : null;
+	}
+
 	private boolean processOnSigningServer(final Path file, Path entitlements) throws IOException {
 				HttpRequest.Config requestConfig = HttpRequest.Config.builder().timeout(timeout()).build();
 		final HttpRequest.Builder requestBuilder = HttpRequest.on(serverUri()).withParam(FILE_PART_NAME, file);
@@ -165,6 +231,8 @@ public abstract class OSXAppSigner {
 	 * <li>{@link #logOn(Log)}: {@link SystemStreamLog}</li>
 	 * <li>{@link #maxRetry(int)}: 0</li>
 	 * <li>{@link #waitBeforeRetry(int, TimeUnit)}: 0 {@link TimeUnit#SECONDS seconds}</li>
+	 * <li>{@link #streaming(boolean)}: false</li>
+	 * <li>{@link #parallelism(int)}: 1</li>
 	 * <ul>
 	 */
 	@AutoValue.Builder
@@ -185,6 +253,22 @@ public abstract class OSXAppSigner {
 		public abstract Builder httpClient(HttpClient httpClient);
 		public abstract Builder exceptionHandler(ExceptionHandler handler);
 
+		/**
+		 * Whether the app should be zipped in the request body and unzipped
+		 * from the response body as they are transferred, instead of going
+		 * through a temporary zip file.
+		 * @param streaming
+		 * @return this builder for chained calls.
+		 */
+		public abstract Builder streaming(boolean streaming);
+
+		/**
+		 * The maximum number of apps being signed concurrently.
+		 * @param parallelism
+		 * @return this builder for chained calls.
+		 */
+		public abstract Builder parallelism(int parallelism);
+
 		/**
 		 * Creates and returns a new OSXAppSigner configured with the options
 		 * specified to this builder.
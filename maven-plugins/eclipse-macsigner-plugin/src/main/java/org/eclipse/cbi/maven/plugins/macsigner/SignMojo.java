@@ -23,6 +23,7 @@ import java.nio.file.PathMatcher;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -38,7 +39,10 @@ import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.eclipse.cbi.maven.ExceptionHandler;
 import org.eclipse.cbi.maven.MavenLogger;
+import org.eclipse.cbi.maven.http.CircuitBreaker;
 import org.eclipse.cbi.maven.http.HttpClient;
+import org.eclipse.cbi.maven.http.LoadBalancingHttpClient;
+import org.eclipse.cbi.maven.http.RetryBudget;
 import org.eclipse.cbi.maven.http.RetryHttpClient;
 import org.eclipse.cbi.maven.http.apache.ApacheHttpClient;
 
@@ -71,6 +75,27 @@ public class SignMojo extends AbstractMojo {
 	@Parameter(required = true, property = "cbi.macsigner.signerUrl", defaultValue = "https://cbi.eclipse.org/macos/codesign/sign")
 	private String signerUrl;
 
+	/**
+	 * The URLs of several replicas of the signing service. When set, each
+	 * request is sent to the replica with the least outstanding requests and
+	 * the lowest latency, replicas that fail are left aside for a while, and
+	 * {@link #signerUrl} is ignored.
+	 *
+	 * @since 1.5.8
+	 */
+	@Parameter(property = "cbi.macsigner.signerUrls")
+	private List<String> signerUrls;
+
+	/**
+	 * How long to wait for the response of one of the {@link #signerUrls}, in
+	 * milliseconds, before sending the same request to another one. Only the
+	 * first successful response is kept. 0 to never send a request twice.
+	 *
+	 * @since 1.5.8
+	 */
+	@Parameter(property = "cbi.macsigner.hedgeDelayMillis", defaultValue = "0")
+	private long hedgeDelayMillis;
+
 	/**
 	 * A list of absolute paths to OS X application directories ({@code *.app})
 	 * (e.g.,
@@ -240,33 +265,54 @@ public class SignMojo extends AbstractMojo {
 	@Parameter(property = "cbi.macsigner.skip", defaultValue = "false")
 	private boolean skip;
 
+	/**
+	 * Zips the applications directly into the signing request and unzips the
+	 * signed applications as the response is received, instead of going
+	 * through temporary zip files. The applications are only replaced once
+	 * their signed version has been completely received.
+	 * 
+	 * @since 1.5.8
+	 */
+	@Parameter(property = "cbi.macsigner.streaming", defaultValue = "false")
+	private boolean streaming;
+
+	/**
+	 * The maximum number of applications being sent to the signing server
+	 * concurrently. With 1, they are signed one after the other.
+	 * 
+	 * @since 1.5.8
+	 */
+	@Parameter(property = "cbi.macsigner.parallelism", defaultValue = "1")
+	private int parallelism;
+
 	@Override
 	public void execute() throws MojoExecutionException {
 		if (skip) {
 			getLog().info("Skip Mac signing");
 			return;
 		}
-		HttpClient httpClient = RetryHttpClient.retryRequestOn(ApacheHttpClient.create(new MavenLogger(getLog())))
-				.maxRetries(retryLimit()).waitBeforeRetry(retryTimer(), TimeUnit.SECONDS).log(new MavenLogger(getLog()))
-				.build();
+		HttpClient httpClient = RetryHttpClient.retryRequestOn(balance(ApacheHttpClient.create(new MavenLogger(getLog()))))
+				.maxRetries(retryLimit()).waitBeforeRetry(retryTimer(), TimeUnit.SECONDS)
+				.retryBudget(RetryBudget.shared()).circuitBreaker(CircuitBreaker.shared())
+				.log(new MavenLogger(getLog())).build();
 		ExceptionHandler exceptionHandler = new ExceptionHandler(getLog(), continueOnFail());
 		OSXAppSigner osxAppSigner = OSXAppSigner.builder().serverUri(URI.create(signerUrl)).httpClient(httpClient)
 				.timeout(Duration.ofMillis(timeoutMillis)).exceptionHandler(exceptionHandler)
-				.log(getLog()).build();
+				.streaming(streaming).parallelism(parallelism).log(getLog()).build();
 
 		Path entitlementsFile = entitlements == null ? null : FileSystems.getDefault().getPath(entitlements);
 
 		Set<Path> filesToSign = Collections.emptySet();
 		if (signFiles() != null && !signFiles().isEmpty()) {
 			// app paths are configured
-			filesToSign = signFiles().stream().map(FileSystems.getDefault()::getPath).collect(Collectors.toSet());
+			filesToSign = signFiles().stream().map(FileSystems.getDefault()::getPath).collect(Collectors.toCollection(LinkedHashSet::new));
 		} else {
 			// perform search
 			Set<PathMatcher> pathMatchers = createPathMatchers(FileSystems.getDefault(), fileNames(), getLog());
 			try (Stream<Path> walk = Files.walk(FileSystems.getDefault().getPath(baseSearchDir()))) {
 				filesToSign = walk.filter(path -> pathMatchers.stream()
 					.anyMatch(matcher -> matcher.matches(path)))
-					.collect(Collectors.toSet()
+					.collect(Collectors.toCollection(LinkedHashSet::new)
 				);
 			} catch (IOException e) {
 				exceptionHandler.handleError("An error happened while searching for app to be signed in " + baseSearchDir(), e);
@@ -328,4 +374,16 @@ public class SignMojo extends AbstractMojo {
 			return retryTimer;
 		}
 	}
+
+	/**
+	 * Spreads the requests over the {@link #signerUrls}, if any.
+	 */
+	private HttpClient balance(HttpClient client) {
+		if (signerUrls == null || signerUrls.isEmpty()) {
+			return client;
+		}
+		return LoadBalancingHttpClient.balanceRequestsOn(client)
+				.endpoints(signerUrls.stream().map(URI::create).collect(Collectors.toList()))
+				.hedgeDelay(Duration.ofMillis(hedgeDelayMillis)).log(new MavenLogger(getLog())).build();
+	}
 }
@@ -2,8 +2,16 @@ package org.eclipse.cbi.maven.plugins.macsigner;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
 import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.CopyOption;
 import java.nio.file.FileSystem;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -11,6 +19,8 @@ import java.time.Duration;
 import java.util.Arrays;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.google.common.jimfs.Configuration;
 import com.google.common.jimfs.Jimfs;
@@ -21,7 +31,11 @@ import org.eclipse.cbi.common.test.util.SampleFilesGenerators;
 import org.eclipse.cbi.maven.ExceptionHandler;
 import org.eclipse.cbi.maven.common.test.util.HttpClients;
 import org.eclipse.cbi.maven.common.test.util.NullMavenLog;
+import org.eclipse.cbi.maven.http.CompletionListener;
 import org.eclipse.cbi.maven.http.HttpClient;
+import org.eclipse.cbi.maven.http.HttpRequest;
+import org.eclipse.cbi.maven.http.HttpRequest.Config;
+import org.eclipse.cbi.maven.http.HttpResult;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -265,6 +279,110 @@ public class OSXAppSignerTest {
 		}
 	}
 
+	@ParameterizedTest
+	@MethodSource("configurations")
+	public void testStreamingAppFolder(Configuration fsConf) throws IOException, MojoExecutionException {
+		try (FileSystem fs = Jimfs.newFileSystem(fsConf)) {
+			OSXAppSigner osxAppSigner = createStreamingAppSigner(new EchoHttpClient(false));
+			Path app = Files.createDirectories(fs.getPath("test", "testApp.app"));
+			Path file1 = SampleFilesGenerators.writeFile(app.resolve("testFile.txt"), "content of the file");
+			Path file2 = SampleFilesGenerators.writeFile(app.resolve("Contents").resolve("testFile2.txt"), "content of the file 2");
+			assertEquals(1, osxAppSigner.signApplications(newSet(app), null));
+			assertEquals("content of the file", new String(Files.readAllBytes(file1)));
+			assertEquals("content of the file 2", new String(Files.readAllBytes(file2)));
+			try (Stream<Path> siblings = Files.list(app.getParent())) {
+				assertEquals(Arrays.asList(app), siblings.collect(Collectors.toList()));
+			}
+		}
+	}
+
+	@ParameterizedTest
+	@MethodSource("configurations")
+	public void testStreamingKeepsAppOnBrokenResponse(Configuration fsConf) throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(fsConf)) {
+			OSXAppSigner osxAppSigner = createStreamingAppSigner(new EchoHttpClient(true));
+			Path app = Files.createDirectories(fs.getPath("test", "testApp.app"));
+			Path file = SampleFilesGenerators.writeFile(app.resolve("testFile.txt"), "content of the file");
+			assertThrows(MojoExecutionException.class, () -> osxAppSigner.signApplications(newSet(app), null));
+			assertEquals("content of the file", new String(Files.readAllBytes(file)));
+			try (Stream<Path> siblings = Files.list(app.getParent())) {
+				assertEquals(Arrays.asList(app), siblings.collect(Collectors.toList()));
+			}
+		}
+	}
+
+	/**
+	 * Answers with the zip it has been sent. If {@code broken}, the connection
+	 * is lost halfway through the response.
+	 */
+	private static final class EchoHttpClient implements HttpClient {
+		private final boolean broken;
+
+		EchoHttpClient(boolean broken) {
+			this.broken = broken;
+		}
+
+		@Override
+		public boolean send(HttpRequest request, CompletionListener completionListener) throws IOException {
+			return send(request, Config.defaultConfig(), completionListener);
+		}
+
+		@Override
+		public boolean send(HttpRequest request, Config config, CompletionListener completionListener) throws IOException {
+			ByteArrayOutputStream zip = new ByteArrayOutputStream();
+			request.streamedParameters().get("file").writer().writeTo(zip);
+			byte[] content = zip.toByteArray();
+			completionListener.onSuccess(new HttpResult() {
+				@Override
+				public int statusCode() {
+					return 200;
+				}
+
+				@Override
+				public String reason() {
+					return "OK";
+				}
+
+				@Override
+				public long copyContent(Path target, CopyOption... options) throws IOException {
+					Files.write(target, content);
+					return content.length;
+				}
+
+				@Override
+				public long copyContent(OutputStream output) throws IOException {
+					output.write(content);
+					return content.length;
+				}
+
+				@Override
+				public void readContent(ContentReader reader) throws IOException {
+					if (broken) {
+						reader.read(new SequenceInputStream(new ByteArrayInputStream(content, 0, content.length / 2), new InputStream() {
+							@Override
+							public int read() throws IOException {
+								throw new IOException("Connection reset");
+							}
+						}));
+					} else {
+						reader.read(new ByteArrayInputStream(content));
+					}
+				}
+
+				@Override
+				public long contentLength() {
+					return -1;
+				}
+
+				@Override
+				public Charset contentCharset() {
+					return StandardCharsets.UTF_8;
+				}
+			});
+			return true;
+		}
+	}
+
 	// @Theory
 	// @Test(expected=NullPointerException.class)
 	// public void testSigningNullDirectory(Configuration fsConf) throws IOException, MojoExecutionException {
@@ -415,6 +533,17 @@ public class OSXAppSignerTest {
 				.build();
 		return osxAppSigner;
 	}
+
+	private OSXAppSigner createStreamingAppSigner(HttpClient client) {
+		return OSXAppSigner.builder()
+				.serverUri(URI.create("http://localhost"))
+				.httpClient(client)
+				.timeout(Duration.ZERO)
+				.exceptionHandler(new ExceptionHandler(log, false))
+				.streaming(true)
+				.log(log)
+				.build();
+	}
 	
 	private static <T> Set<T> newSet(@SuppressWarnings("unchecked") T... app) {
 		return new LinkedHashSet<>(Arrays.asList(app));
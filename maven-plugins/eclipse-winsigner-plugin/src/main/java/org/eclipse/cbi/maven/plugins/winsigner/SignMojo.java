@@ -23,6 +23,7 @@ import java.nio.file.PathMatcher;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -38,7 +39,10 @@ import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.eclipse.cbi.maven.ExceptionHandler;
 import org.eclipse.cbi.maven.MavenLogger;
+import org.eclipse.cbi.maven.http.CircuitBreaker;
 import org.eclipse.cbi.maven.http.HttpClient;
+import org.eclipse.cbi.maven.http.LoadBalancingHttpClient;
+import org.eclipse.cbi.maven.http.RetryBudget;
 import org.eclipse.cbi.maven.http.RetryHttpClient;
 import org.eclipse.cbi.maven.http.apache.ApacheHttpClient;
 
@@ -77,6 +81,27 @@ public class SignMojo extends AbstractMojo {
 	@Parameter(required = true, property = "cbi.winsigner.signerUrl", defaultValue = "https://cbi.eclipse.org/authenticode/sign")
 	private String signerUrl;
 
+	/**
+	 * The URLs of several replicas of the signing service. When set, each
+	 * request is sent to the replica with the least outstanding requests and
+	 * the lowest latency, replicas that fail are left aside for a while, and
+	 * {@link #signerUrl} is ignored.
+	 *
+	 * @since 1.5.8
+	 */
+	@Parameter(property = "cbi.winsigner.signerUrls")
+	private List<String> signerUrls;
+
+	/**
+	 * How long to wait for the response of one of the {@link #signerUrls}, in
+	 * milliseconds, before sending the same request to another one. Only the
+	 * first successful response is kept. 0 to never send a request twice.
+	 *
+	 * @since 1.5.8
+	 */
+	@Parameter(property = "cbi.winsigner.hedgeDelayMillis", defaultValue = "0")
+	private long hedgeDelayMillis;
+
 	/**
 	 * The list of <b>absolute</b> paths of executables to be signed. If
 	 * configured, only these executables will be signed and the parameters
@@ -252,15 +277,37 @@ public class SignMojo extends AbstractMojo {
 	@Parameter(property = "cbi.winsigner.skip", defaultValue = "false")
 	private boolean skip;
 
+	/**
+	 * Sends all the executables to the signing server in a single request,
+	 * as a zip file. The server signs them concurrently and sends them back
+	 * along with the status of each of them.
+	 * 
+	 * @since 1.5.8
+	 */
+	@Parameter(property = "cbi.winsigner.batch", defaultValue = "false")
+	private boolean batch;
+
+	/**
+	 * The maximum number of executables being sent to the signing server
+	 * concurrently. With 1, they are signed one after the other. Ignored
+	 * when executables are signed in batch.
+	 * 
+	 * @since 1.5.8
+	 */
+	@Parameter(property = "cbi.winsigner.parallelism", defaultValue = "1")
+	private int parallelism;
+
 	@Override
 	public void execute() throws MojoExecutionException {
 		if (skip) {
 			getLog().info("Skip Windows signing");
 			return;
 		}
-		HttpClient httpClient = RetryHttpClient.retryRequestOn(ApacheHttpClient.create(new MavenLogger(getLog())))
+		HttpClient httpClient = RetryHttpClient.retryRequestOn(balance(ApacheHttpClient.create(new MavenLogger(getLog()))))
 			.maxRetries(retryLimit())
 			.waitBeforeRetry(retryTimer(), TimeUnit.SECONDS)
+			.retryBudget(RetryBudget.shared())
+			.circuitBreaker(CircuitBreaker.shared())
 			.log(new MavenLogger(getLog()))
 			.build();
 		ExceptionHandler exceptionHandler = new ExceptionHandler(getLog(), continueOnFail());
@@ -270,19 +317,21 @@ public class SignMojo extends AbstractMojo {
 			.timeout(Duration.ofMillis(timeoutMillis))
 			.exceptionHandler(exceptionHandler)
 			.log(getLog())
+			.batch(batch)
+			.parallelism(parallelism)
 			.build();
 		
 		Set<Path> exePaths = Collections.emptySet();
 		if (signFiles() != null && !signFiles().isEmpty()) {
 			//exe paths are configured
-			exePaths = signFiles().stream().map(FileSystems.getDefault()::getPath).collect(Collectors.toSet());
+			exePaths = signFiles().stream().map(FileSystems.getDefault()::getPath).collect(Collectors.toCollection(LinkedHashSet::new));
 		} else { 
 			//perform search
 			Set<PathMatcher> pathMatchers = createPathMatchers(FileSystems.getDefault(), fileNames(), getLog());
 			try (Stream<Path> walk = Files.walk(FileSystems.getDefault().getPath(baseSearchDir()))) {
 				exePaths = walk.filter(path -> pathMatchers.stream()
 					.anyMatch(matcher -> matcher.matches(path)))
-					.collect(Collectors.toSet()
+					.collect(Collectors.toCollection(LinkedHashSet::new)
 				);
 			} catch (IOException e) {
 				exceptionHandler.handleError("An error happened while searching for executable to be signed in " + baseSearchDir(), e);
@@ -340,4 +389,16 @@ public class SignMojo extends AbstractMojo {
 		}
 		return pathMatchers;
 	}
+
+	/**
+	 * Spreads the requests over the {@link #signerUrls}, if any.
+	 */
+	private HttpClient balance(HttpClient client) {
+		if (signerUrls == null || signerUrls.isEmpty()) {
+			return client;
+		}
+		return LoadBalancingHttpClient.balanceRequestsOn(client)
+				.endpoints(signerUrls.stream().map(URI::create).collect(Collectors.toList()))
+				.hedgeDelay(Duration.ofMillis(hedgeDelayMillis)).log(new MavenLogger(getLog())).build();
+	}
 }
@@ -12,16 +12,26 @@
  *******************************************************************************/
 package org.eclipse.cbi.maven.plugins.winsigner;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.time.Duration;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
 
 import com.google.auto.value.AutoValue;
 
@@ -30,6 +40,7 @@ import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.plugin.logging.SystemStreamLog;
 import org.eclipse.cbi.maven.ExceptionHandler;
 import org.eclipse.cbi.maven.MavenLogger;
+import org.eclipse.cbi.maven.SigningExecutor;
 import org.eclipse.cbi.maven.http.AbstractCompletionListener;
 import org.eclipse.cbi.maven.http.HttpClient;
 import org.eclipse.cbi.maven.http.HttpRequest;
@@ -42,12 +53,20 @@ public abstract class WindowsExeSigner {
 	 * The name of the part as it will be send to the signing server.
 	 */
 	private static final String PART_NAME = "file";
+
+	/**
+	 * The entry of the zip file returned by a batch signing that gives the
+	 * status of each executable, one per line.
+	 */
+	private static final String BATCH_STATUS_ENTRY_NAME = "signing-status.txt";
 	
 	abstract HttpClient httpClient();
 	abstract Log log();
 	abstract ExceptionHandler exceptionHandler();
 	abstract URI serverUri();
 	abstract Duration timeout();
+	abstract boolean batch();
+	abstract int parallelism();
 	
 	WindowsExeSigner() {
 		
@@ -55,13 +74,10 @@ public abstract class WindowsExeSigner {
 	
 	public int signExecutables(Set<Path> exesToSign) throws MojoExecutionException {
 		Objects.requireNonNull(exesToSign);
-		int ret = 0;
-		for (Path exe : exesToSign) {
-			if (signExecutable(exe)) {
-				ret++;
-			}
-    	}
-		return ret;
+		if (batch() && exesToSign.size() > 1) {
+			return signExecutablesInBatch(exesToSign);
+		}
+		return new SigningExecutor(parallelism(), log()).signAll(exesToSign, this::signExecutable);
 	}
 
 	/**
@@ -72,11 +88,7 @@ public abstract class WindowsExeSigner {
      */
     public boolean signExecutable(Path file) throws MojoExecutionException {
     	Objects.requireNonNull(file);
-    	if (!Files.isRegularFile(file)) {
-    		exceptionHandler().handleError("Path '" + file.toString() + "' does not exist or is not a file. It won't be signed.");
-    		return false;
-    	} else if (!Files.isWritable(file)) {
-    		exceptionHandler().handleError("Path '" + file.toString() + "' is not writable. It won't be signed.");
+    	if (!isSignable(file)) {
     		return false;
     	}
 
@@ -94,6 +106,120 @@ public abstract class WindowsExeSigner {
         return ret;
     }
     
+    private boolean isSignable(Path file) throws MojoExecutionException {
+    	if (!Files.isRegularFile(file)) {
+    		exceptionHandler().handleError("Path '" + file.toString() + "' does not exist or is not a file. It won't be signed.");
+    		return false;
+    	} else if (!Files.isWritable(file)) {
+    		exceptionHandler().handleError("Path '" + file.toString() + "' is not writable. It won't be signed.");
+    		return false;
+    	}
+    	return true;
+    }
+
+	/**
+	 * Signs the files with a single request: they are sent in a zip file,
+	 * signed concurrently by the server and sent back in a zip file along with
+	 * the status of each of them.
+	 */
+	private int signExecutablesInBatch(Set<Path> exesToSign) throws MojoExecutionException {
+		final Map<String, Path> executables = new LinkedHashMap<>();
+		for (Path exe : exesToSign) {
+			if (isSignable(exe)) {
+				// prefixed by an index as executables of different folders may have the same name
+				executables.put(executables.size() + "/" + exe.getFileName(), exe);
+			}
+		}
+		if (executables.isEmpty()) {
+			return 0;
+		}
+
+		final Set<String> signed = new HashSet<>();
+		final Map<String, String> failures = new HashMap<>();
+		Path batchZip = null;
+		try {
+			log().info("[" + new Date() + "] Signing " + executables.size() + " Windows executables in a batch");
+			batchZip = Files.createTempFile(executables.values().iterator().next().toAbsolutePath().getParent(), "winsigner-batch-", ".zip");
+			try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(batchZip))) {
+				for (Map.Entry<String, Path> executable : executables.entrySet()) {
+					zip.putNextEntry(new ZipEntry(executable.getKey()));
+					Files.copy(executable.getValue(), zip);
+					zip.closeEntry();
+				}
+			}
+			if (!processBatchOnSigningServer(batchZip, executables, signed, failures)) {
+				exceptionHandler().handleError("Signing of the batch of Windows executables failed.");
+				return 0;
+			}
+		} catch (IOException e) {
+			exceptionHandler().handleError("Signing of the batch of Windows executables failed.", e);
+			return signed.size();
+		} finally {
+			if (batchZip != null) {
+				try {
+					Files.deleteIfExists(batchZip);
+				} catch (IOException e) {
+					log().debug("Unable to delete '" + batchZip + "'", e);
+				}
+			}
+		}
+
+		for (Map.Entry<String, Path> executable : executables.entrySet()) {
+			if (!signed.contains(executable.getKey())) {
+				String reason = failures.getOrDefault(executable.getKey(), "it is missing from the server response");
+				exceptionHandler().handleError("Signing of Windows executable '" + executable.getValue() + "' failed: " + reason);
+			}
+		}
+		return signed.size();
+	}
+
+	private boolean processBatchOnSigningServer(Path batchZip, Map<String, Path> executables, Set<String> signed, Map<String, String> failures) throws IOException {
+		final HttpRequest request = HttpRequest.on(serverUri()).withParam(PART_NAME, batchZip).build();
+		HttpRequest.Config requestConfig = HttpRequest.Config.builder().timeout(timeout()).build();
+		log().debug("Windows exe batch signing request: " + request.toString());
+		return httpClient().send(request, requestConfig, new AbstractCompletionListener(batchZip.getParent(), batchZip.getFileName().toString(), WindowsExeSigner.class.getSimpleName(), new MavenLogger(log())) {
+			@Override
+			public void onSuccess(HttpResult result) throws IOException {
+				Path signedZip = Files.createTempFile(batchZip.getParent(), "winsigner-batch-", "-signed.zip");
+				try {
+					result.copyContent(signedZip, StandardCopyOption.REPLACE_EXISTING);
+					try (ZipInputStream zip = new ZipInputStream(Files.newInputStream(signedZip))) {
+						ZipEntry entry;
+						while ((entry = zip.getNextEntry()) != null) {
+							if (BATCH_STATUS_ENTRY_NAME.equals(entry.getName())) {
+								readBatchStatus(zip, failures);
+							} else if (executables.containsKey(entry.getName())) {
+								Path executable = executables.get(entry.getName());
+								Path signedExecutable = Files.createTempFile(executable.toAbsolutePath().getParent(), "winsigner-", ".signed");
+								Files.copy(zip, signedExecutable, StandardCopyOption.REPLACE_EXISTING);
+								if (Files.size(signedExecutable) == 0) {
+									Files.delete(signedExecutable);
+									failures.put(entry.getName(), "size of the returned signed executable is 0");
+								} else {
+									Files.move(signedExecutable, executable, StandardCopyOption.REPLACE_EXISTING);
+									signed.add(entry.getName());
+								}
+							}
+						}
+					}
+				} finally {
+					Files.deleteIfExists(signedZip);
+				}
+			}
+		});
+	}
+
+	private static void readBatchStatus(ZipInputStream zip, Map<String, String> failures) throws IOException {
+		BufferedReader reader = new BufferedReader(new InputStreamReader(zip, StandardCharsets.UTF_8));
+		String line;
+		while ((line = reader.readLine()) != null) {
+			String[] fields = line.split("\t", 3);
+			if (fields.length == 3 && "FAILED".equals(fields[0])) {
+				failures.put(fields[1], fields[2]);
+			}
+		}
+	}
+
     private boolean processOnSigningServer(final Path file) throws IOException {
 		final HttpRequest request = HttpRequest.on(serverUri()).withParam(PART_NAME, file).build();
 		HttpRequest.Config requestConfig = HttpRequest.Config.builder().timeout(timeout()).build();
@@ -114,7 +240,9 @@ public abstract class WindowsExeSigner {
 	}
 
     public static Builder builder() {
-    	return new AutoValue_WindowsExeSigner.Builder();
+    	return new AutoValue_WindowsExeSigner.Builder()
+    		.batch(false)
+    		.parallelism(1);
     }
 
 	/**
@@ -152,6 +280,27 @@ public abstract class WindowsExeSigner {
 		public abstract Builder httpClient(HttpClient httpClient);
 		public abstract Builder timeout(Duration timeout);
 
+		/**
+		 * Whether several executables are sent to the server in a single
+		 * zip file, to be signed concurrently, rather than one by one.
+		 * Defaults to {@code false}.
+		 *
+		 * @param batch
+		 *            whether executables are signed in batch.
+		 * @return this builder for chained calls.
+		 */
+		public abstract Builder batch(boolean batch);
+
+		/**
+		 * The maximum number of executables being signed concurrently when
+		 * they are not signed in batch. Defaults to {@code 1}.
+		 *
+		 * @param parallelism
+		 *            the maximum number of concurrent signings.
+		 * @return this builder for chained calls.
+		 */
+		public abstract Builder parallelism(int parallelism);
+
 		/**
 		 * Creates and returns a new WindowsExeSigner configured with the options
 		 * specified to this builder.
@@ -4,8 +4,13 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.net.URI;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.CopyOption;
 import java.nio.file.FileSystem;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -13,6 +18,10 @@ import java.time.Duration;
 import java.util.Arrays;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
 
 import com.google.common.jimfs.Configuration;
 import com.google.common.jimfs.Jimfs;
@@ -21,6 +30,10 @@ import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.logging.Log;
 import org.eclipse.cbi.common.test.util.SampleFilesGenerators;
 import org.eclipse.cbi.maven.ExceptionHandler;
+import org.eclipse.cbi.maven.http.CompletionListener;
+import org.eclipse.cbi.maven.http.HttpClient;
+import org.eclipse.cbi.maven.http.HttpRequest;
+import org.eclipse.cbi.maven.http.HttpResult;
 import org.eclipse.cbi.maven.common.test.util.HttpClients;
 import org.eclipse.cbi.maven.common.test.util.NullMavenLog;
 import org.junit.jupiter.api.BeforeAll;
@@ -150,6 +163,27 @@ public class WindowsExeSignerTest {
 		}
 	}
 
+	@ParameterizedTest
+	@MethodSource("configurations")
+	public void testSigningFilesConcurrently(Configuration fsConf) throws MojoExecutionException, IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(fsConf)) {
+			WindowsExeSigner winExeSigner = createSigner(HttpClients.DUMMY, false, false, 4);
+			Path baseDir = createTestAppFolders(fs.getPath("test"));
+			assertEquals(4, winExeSigner.signExecutables(newSet(baseDir.resolve("app1.exe"), baseDir.resolve("subFolder/app3.exe"),
+					baseDir.resolve("install.msi"), baseDir.resolve("subFolder/lib.dll"))));
+		}
+	}
+
+	@ParameterizedTest
+	@MethodSource("configurations")
+	public void testSigningFilesConcurrentlyWithMissingFile(Configuration fsConf) throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(fsConf)) {
+			WindowsExeSigner winExeSigner = createSigner(HttpClients.DUMMY, false, false, 4);
+			Path baseDir = createTestAppFolders(fs.getPath("test"));
+			assertThrows(MojoExecutionException.class, () -> winExeSigner.signExecutables(newSet(baseDir.resolve("app1.exe"), baseDir.resolve("subFolder/appX.exe"))));
+		}
+	}
+
 	@ParameterizedTest
 	@MethodSource("configurations")
 	public void testSigningFiles3(Configuration fsConf) throws IOException {
@@ -206,20 +240,148 @@ public class WindowsExeSignerTest {
 	// 	}
 	// }
 
-	private WindowsExeSigner createSigner(HttpClients client) {
+	@ParameterizedTest
+	@MethodSource("configurations")
+	public void testBatchSigning(Configuration fsConf) throws MojoExecutionException, IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(fsConf)) {
+			BatchSigningServer server = new BatchSigningServer();
+			WindowsExeSigner winExeSigner = createSigner(server, false, true);
+			Path baseDir = createTestAppFolders(fs.getPath("test"));
+			assertEquals(3, winExeSigner.signExecutables(newSet(baseDir.resolve("eclipse.exe"), baseDir.resolve("install.msi"), baseDir.resolve("subFolder2/subSub/eclipse.exe"))));
+			assertEquals(1, server.requests);
+			assertEquals(" signed", new String(Files.readAllBytes(baseDir.resolve("eclipse.exe")), StandardCharsets.UTF_8));
+			assertEquals(" signed", new String(Files.readAllBytes(baseDir.resolve("subFolder2/subSub/eclipse.exe")), StandardCharsets.UTF_8));
+			try (Stream<Path> files = Files.list(baseDir)) {
+				assertTrue(files.noneMatch(file -> file.getFileName().toString().startsWith("winsigner-")), "Temporary files must be deleted");
+			}
+		}
+	}
+
+	@ParameterizedTest
+	@MethodSource("configurations")
+	public void testBatchSigningWithFailure(Configuration fsConf) throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(fsConf)) {
+			WindowsExeSigner winExeSigner = createSigner(new BatchSigningServer(), false, true);
+			Path baseDir = createTestAppFolders(fs.getPath("test"));
+			assertThrows(MojoExecutionException.class, () -> winExeSigner.signExecutables(newSet(baseDir.resolve("app1.exe"), baseDir.resolve("subFolder/lib.dll"))));
+		}
+	}
+
+	@ParameterizedTest
+	@MethodSource("configurations")
+	public void testBatchSigningWithFailureButContinueOnFail(Configuration fsConf) throws MojoExecutionException, IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(fsConf)) {
+			WindowsExeSigner winExeSigner = createSigner(new BatchSigningServer(), true, true);
+			Path baseDir = createTestAppFolders(fs.getPath("test"));
+			assertEquals(1, winExeSigner.signExecutables(newSet(baseDir.resolve("app1.exe"), baseDir.resolve("subFolder/lib.dll"))));
+			assertEquals(0, Files.size(baseDir.resolve("subFolder/lib.dll")));
+		}
+	}
+
+	private WindowsExeSigner createSigner(HttpClient client) {
 		return createSigner(client, false);
 	}
 	
-	private WindowsExeSigner createSigner(HttpClients client, boolean continueOnFail) {
+	private WindowsExeSigner createSigner(HttpClient client, boolean continueOnFail) {
+		return createSigner(client, continueOnFail, false);
+	}
+
+	private WindowsExeSigner createSigner(HttpClient client, boolean continueOnFail, boolean batch) {
+		return createSigner(client, continueOnFail, batch, 1);
+	}
+
+	private WindowsExeSigner createSigner(HttpClient client, boolean continueOnFail, boolean batch, int parallelism) {
 		return WindowsExeSigner.builder()
 				.serverUri(URI.create("http://localhost"))
 				.httpClient(client)
 				.timeout(Duration.ZERO)
 				.exceptionHandler(new ExceptionHandler(log, continueOnFail))
 				.log(log)
+				.batch(batch)
+				.parallelism(parallelism)
 				.build();
 	}
 
+	/**
+	 * Answers batch signing requests as the signing server does: appends
+	 * " signed" to each executable, except 'lib.dll' which fails.
+	 */
+	private static final class BatchSigningServer implements HttpClient {
+		int requests;
+
+		@Override
+		public boolean send(HttpRequest request, CompletionListener completionListener) throws IOException {
+			return send(request, HttpRequest.Config.defaultConfig(), completionListener);
+		}
+
+		@Override
+		public boolean send(HttpRequest request, HttpRequest.Config config, CompletionListener completionListener) throws IOException {
+			requests++;
+			ByteArrayOutputStream response = new ByteArrayOutputStream();
+			StringBuilder status = new StringBuilder();
+			try (ZipInputStream in = new ZipInputStream(Files.newInputStream(request.pathParameters().get("file")));
+					ZipOutputStream out = new ZipOutputStream(response)) {
+				ZipEntry entry;
+				while ((entry = in.getNextEntry()) != null) {
+					if (entry.getName().endsWith("lib.dll")) {
+						status.append("FAILED\t").append(entry.getName()).append("\tBad executable\n");
+						continue;
+					}
+					out.putNextEntry(new ZipEntry(entry.getName()));
+					out.write(in.readAllBytes());
+					out.write(" signed".getBytes(StandardCharsets.UTF_8));
+					out.closeEntry();
+					status.append("OK\t").append(entry.getName()).append('\n');
+				}
+				out.putNextEntry(new ZipEntry("signing-status.txt"));
+				out.write(status.toString().getBytes(StandardCharsets.UTF_8));
+				out.closeEntry();
+			}
+			completionListener.onSuccess(new BytesHttpResult(response.toByteArray()));
+			return true;
+		}
+	}
+
+	private static final class BytesHttpResult implements HttpResult {
+		private final byte[] content;
+
+		BytesHttpResult(byte[] content) {
+			this.content = content;
+		}
+
+		@Override
+		public int statusCode() {
+			return 200;
+		}
+
+		@Override
+		public String reason() {
+			return "OK";
+		}
+
+		@Override
+		public long copyContent(Path target, CopyOption... options) throws IOException {
+			Files.write(target, content);
+			return content.length;
+		}
+
+		@Override
+		public long copyContent(OutputStream output) throws IOException {
+			output.write(content);
+			return content.length;
+		}
+
+		@Override
+		public long contentLength() {
+			return content.length;
+		}
+
+		@Override
+		public Charset contentCharset() {
+			return StandardCharsets.UTF_8;
+		}
+	}
+
 	private Path createTestAppFolders(Path baseDir) throws IOException {
 		Files.createDirectories(baseDir);
 		Files.createFile(baseDir.resolve("app1.exe"));
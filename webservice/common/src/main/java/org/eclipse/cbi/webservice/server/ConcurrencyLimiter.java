@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.server;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+import com.google.common.net.HttpHeaders;
+
+/**
+ * A filter that bounds the number of requests a service processes
+ * concurrently, and the number of requests waiting for a processing slot.
+ * Requests that can't even wait are rejected with a
+ * {@code 503 Service Unavailable}.
+ */
+final class ConcurrencyLimiter implements Filter {
+
+	private static final Logger logger = LoggerFactory.getLogger(ConcurrencyLimiter.class);
+
+	private static final String RETRY_AFTER_SECONDS = "5";
+
+	private final String name;
+	private final Semaphore permits;
+	private final int maxQueued;
+	private final AtomicInteger queued;
+
+	/**
+	 * Creates a new limiter.
+	 *
+	 * @param name
+	 *            the name of the limited service, for logging purpose.
+	 * @param maxConcurrent
+	 *            the maximum number of requests processed concurrently.
+	 * @param maxQueued
+	 *            the maximum number of requests waiting for a processing slot,
+	 *            or a negative value for no limit.
+	 */
+	ConcurrencyLimiter(String name, int maxConcurrent, int maxQueued) {
+		Preconditions.checkArgument(maxConcurrent > 0, "Maximum number of concurrent requests must be strictly positive");
+		this.name = name;
+		this.permits = new Semaphore(maxConcurrent, true);
+		this.maxQueued = maxQueued;
+		this.queued = new AtomicInteger();
+	}
+
+	@Override
+	public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+		boolean acquired;
+		try {
+			// unlike tryAcquire(), the timed variant honors the fairness of the
+			// semaphore and does not barge ahead of the queued requests
+			acquired = permits.tryAcquire(0, TimeUnit.SECONDS);
+		} catch (@SuppressWarnings("unused") InterruptedException e) {
+			Thread.currentThread().interrupt();
+			reject(response);
+			return;
+		}
+		if (!acquired) {
+			if (queued.incrementAndGet() > maxQueued && maxQueued >= 0) {
+				queued.decrementAndGet();
+				logger.warn("Service '{}' is saturated, rejecting request", name);
+				reject(response);
+				return;
+			}
+			try {
+				permits.acquire();
+			} catch (@SuppressWarnings("unused") InterruptedException e) {
+				Thread.currentThread().interrupt();
+				reject(response);
+				return;
+			} finally {
+				queued.decrementAndGet();
+			}
+		}
+
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			permits.release();
+		}
+	}
+
+	/**
+	 * Returns the number of requests currently waiting for a processing slot.
+	 *
+	 * @return the number of waiting requests.
+	 */
+	int queued() {
+		return queued.get();
+	}
+
+	/**
+	 * Returns whether a new request would be rejected, i.e., all processing
+	 * slots are taken and the wait queue is full.
+	 *
+	 * @return whether the limited service is saturated.
+	 */
+	boolean saturated() {
+		return permits.availablePermits() == 0 && maxQueued >= 0 && queued.get() >= maxQueued;
+	}
+
+	private static void reject(ServletResponse response) {
+		HttpServletResponse httpResponse = (HttpServletResponse) response;
+		httpResponse.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+		httpResponse.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+	}
+}
@@ -16,8 +16,14 @@ import java.io.IOException;
 import java.io.Serial;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Properties;
+import java.util.Set;
 
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.MultipartConfigElement;
 import jakarta.servlet.Servlet;
 import jakarta.servlet.ServletException;
@@ -26,25 +32,47 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import org.apache.log4j.PropertyConfigurator;
+import org.eclipse.cbi.webservice.util.GovernedProcessExecutor;
+import org.eclipse.cbi.webservice.util.ProcessExecutor;
+import org.eclipse.jetty.alpn.server.ALPNServerConnectionFactory;
+import org.eclipse.jetty.http2.HTTP2Cipher;
+import org.eclipse.jetty.http2.server.AbstractHTTP2ServerConnectionFactory;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory;
 import org.eclipse.jetty.server.*;
 import org.eclipse.jetty.server.handler.DefaultHandler;
+import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.eclipse.jetty.ee9.servlet.FilterHolder;
 import org.eclipse.jetty.ee9.servlet.ServletContextHandler;
 import org.eclipse.jetty.ee9.servlet.ServletHolder;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import com.google.auto.value.AutoValue;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
 import com.google.common.net.HttpHeaders;
 
 import javax.annotation.Nullable;
 
 /**
- * Base class to create a simple (one servlet) embedded Jetty server.
+ * Base class to create an embedded Jetty server hosting one or several
+ * services. The single service of the server is usually set with
+ * {@link Builder#servlet(Servlet)} and {@link Builder#servicePathSpec(String)},
+ * and further services can be mounted with
+ * {@link Builder#addService(ServiceDefinition)}. All services share the
+ * connectors, the thread pool and the multipart memory budget of the server.
  */
 @AutoValue
 public abstract class EmbeddedServer {
 
-	private static final int FILE_SIZE_THRESHOLD = 8*1024*1024; // 8MiB
+	private static final Logger logger = LoggerFactory.getLogger(EmbeddedServer.class);
+
+	private static final long DEFAULT_MULTIPART_MEMORY_LIMIT = 64*1024*1024; // 64MiB
+	private static final long DEFAULT_MIN_FREE_TEMP_SPACE = 0;
 	private static final int DEFAULT_PORT = 8080;
 	private static final boolean DEFAULT_APPEND_SERVICE_VERSION_TO_PATH_SPEC = true;
 	private static final String CONTEXT_PATH = "/";
@@ -53,11 +81,13 @@ public abstract class EmbeddedServer {
 	EmbeddedServer() {} // prevents instantiation and subclassing outside the package
 
 	/**
-	 * Returns the servlet that will serve the single service of this server.
+	 * Returns the servlet that will serve the main service of this server.
 	 *
-	 * @return the servlet that will serve the single service of this server.
+	 * @return the servlet that will serve the main service of this server, or
+	 *         {@code null} if this server only hosts the
+	 *         {@link #services() additional services}.
 	 */
-	abstract Servlet servlet();
+	@Nullable abstract Servlet servlet();
 
 	/**
 	 * Returns the port that this server will listen to.
@@ -76,9 +106,10 @@ public abstract class EmbeddedServer {
 	/**
 	 * Returns the path spec that will be associated with the servlet.
 	 *
-	 * @return the path spec that will be associated with the servlet.
+	 * @return the path spec that will be associated with the servlet, or
+	 *         {@code null} if there is no main service.
 	 */
-	abstract String servicePathSpec();
+	@Nullable abstract String servicePathSpec();
 
 	/**
 	 * Returns whether the version of the servlet should be appended to the
@@ -89,6 +120,21 @@ public abstract class EmbeddedServer {
 	 */
 	abstract boolean appendServiceVersionToPathSpec();
 
+	/**
+	 * Returns the services hosted by this server in addition to the main one.
+	 *
+	 * @return the additional services of this server.
+	 */
+	abstract ImmutableList<ServiceDefinition> services();
+
+	/**
+	 * Returns the governed executors running the processes of the main
+	 * service.
+	 *
+	 * @return the governed process executors of the main service.
+	 */
+	abstract ImmutableList<GovernedProcessExecutor> processExecutors();
+
 	/**
 	 * Returns the file where this server will log all access.
 	 *
@@ -96,6 +142,49 @@ public abstract class EmbeddedServer {
 	 */
 	@Nullable abstract Path accessLogFile();
 
+	/**
+	 * Returns the maximum number of bytes that all multipart requests may hold
+	 * in memory together. Requests that would exceed this budget have all their
+	 * parts spooled to disk.
+	 *
+	 * @return the maximum number of bytes of multipart content held in memory.
+	 */
+	abstract long multipartMemoryLimit();
+
+	/**
+	 * Returns the free space of the temporary folder below which the
+	 * {@code /ready} endpoint reports that this server does not admit new
+	 * work.
+	 *
+	 * @return the minimum free space of the temporary folder in bytes, 0 to
+	 *         ignore the free space.
+	 */
+	abstract long minFreeTempSpace();
+
+	/**
+	 * Returns the HTTP/2 settings of this server.
+	 *
+	 * @return the HTTP/2 settings, or {@code null} if this server only speaks
+	 *         HTTP/1.1.
+	 */
+	@Nullable abstract Http2Configuration http2();
+
+	/**
+	 * Returns the settings of the TLS connector of this server.
+	 *
+	 * @return the TLS settings, or {@code null} if this server only listens for
+	 *         cleartext connections.
+	 */
+	@Nullable abstract TlsConfiguration tls();
+
+	/**
+	 * Returns the sizing of the connectors, thread pool and request limits of
+	 * this server.
+	 *
+	 * @return the sizing of this server.
+	 */
+	abstract TuningConfiguration tuning();
+
 	/**
 	 * Returns the properties containing the log4j configuration, e.g.:
 	 * <p>
@@ -125,6 +214,9 @@ public abstract class EmbeddedServer {
 	public static Builder builder() {
 		return new AutoValue_EmbeddedServer.Builder()
 			.port(DEFAULT_PORT)
+			.multipartMemoryLimit(DEFAULT_MULTIPART_MEMORY_LIMIT)
+			.minFreeTempSpace(DEFAULT_MIN_FREE_TEMP_SPACE)
+			.tuning(TuningConfiguration.builder().build())
 			.appendServiceVersionToPathSpec(DEFAULT_APPEND_SERVICE_VERSION_TO_PATH_SPEC);
 	}
 
@@ -136,14 +228,14 @@ public abstract class EmbeddedServer {
 		Builder() {}
 
 		/**
-		 * Sets the servlet to be used by the to-be build server.
+		 * Sets the servlet of the main service of the to-be build server.
 		 *
 		 * @param servlet
-		 *            the servlet to be used by the to-be build server. Must not
-		 *            be null.
+		 *            the servlet of the main service, or {@code null} if the
+		 *            server only hosts additional services.
 		 * @return this builder for daisy chaining.
 		 */
-		public abstract Builder servlet(Servlet servlet);
+		public abstract Builder servlet(@Nullable Servlet servlet);
 
 		/**
 		 * Sets the port number to be used by the to-be build server.
@@ -171,10 +263,42 @@ public abstract class EmbeddedServer {
 		 *
 		 * @param servicePathSpec
 		 *            the service path specification for the servlet. Must not
-		 *            be null.
+		 *            be null if a servlet is set.
+		 * @return this builder for daisy chaining.
+		 */
+		public abstract Builder servicePathSpec(@Nullable String servicePathSpec);
+
+		abstract ImmutableList.Builder<ServiceDefinition> servicesBuilder();
+
+		/**
+		 * Mounts an additional service on the to-be build server.
+		 *
+		 * @param service
+		 *            the service to mount. Must not be null.
+		 * @return this builder for daisy chaining.
+		 */
+		public Builder addService(ServiceDefinition service) {
+			servicesBuilder().add(service);
+			return this;
+		}
+
+		abstract ImmutableList.Builder<GovernedProcessExecutor> processExecutorsBuilder();
+
+		/**
+		 * Sets an executor running the processes of the main service. If it
+		 * is a {@link GovernedProcessExecutor}, the load of its tools is
+		 * reported by the {@code /ready} endpoint of the server.
+		 *
+		 * @param processExecutor
+		 *            an executor of the main service. Must not be null.
 		 * @return this builder for daisy chaining.
 		 */
-		public abstract Builder servicePathSpec(String servicePathSpec);
+		public Builder processExecutor(ProcessExecutor processExecutor) {
+			if (processExecutor instanceof GovernedProcessExecutor governedProcessExecutor) {
+				processExecutorsBuilder().add(governedProcessExecutor);
+			}
+			return this;
+		}
 
 		/**
 		 * Configure the to-be created server to append or not the version of
@@ -196,6 +320,61 @@ public abstract class EmbeddedServer {
 		 */
 		public abstract Builder accessLogFile(@Nullable Path accessLogFile);
 
+		/**
+		 * Sets the maximum number of bytes that all multipart requests may hold
+		 * in memory together on the to-be build server.
+		 *
+		 * @param multipartMemoryLimit
+		 *            the multipart memory budget in bytes. Must be positive or
+		 *            zero, zero meaning that all parts are spooled to disk.
+		 * @return this builder for daisy chaining.
+		 */
+		public abstract Builder multipartMemoryLimit(long multipartMemoryLimit);
+
+		/**
+		 * Sets the free space of the temporary folder below which the to-be
+		 * build server reports that it does not admit new work.
+		 *
+		 * @param minFreeTempSpace
+		 *            the minimum free space in bytes. Must be positive or
+		 *            zero, zero meaning that the free space is ignored.
+		 * @return this builder for daisy chaining.
+		 */
+		public abstract Builder minFreeTempSpace(long minFreeTempSpace);
+
+		/**
+		 * Enables HTTP/2 on the to-be build server: cleartext HTTP/2 (h2c) on
+		 * the plain connector, and HTTP/2 negotiated with ALPN on the TLS
+		 * connector if any.
+		 *
+		 * @param http2
+		 *            the HTTP/2 settings, or {@code null} to only speak
+		 *            HTTP/1.1.
+		 * @return this builder for daisy chaining.
+		 */
+		public abstract Builder http2(@Nullable Http2Configuration http2);
+
+		/**
+		 * Adds a TLS connector to the to-be build server, in addition to the
+		 * plain one.
+		 *
+		 * @param tls
+		 *            the TLS connector settings, or {@code null} to only listen
+		 *            for cleartext connections.
+		 * @return this builder for daisy chaining.
+		 */
+		public abstract Builder tls(@Nullable TlsConfiguration tls);
+
+		/**
+		 * Sets the sizing of the connectors, thread pool and request limits of
+		 * the to-be build server.
+		 *
+		 * @param tuning
+		 *            the sizing of the server. Must not be null.
+		 * @return this builder for daisy chaining.
+		 */
+		public abstract Builder tuning(TuningConfiguration tuning);
+
 		/**
 		 * Sets the file containing the log4j configuration of the to-be build
 		 * server.
@@ -213,7 +392,11 @@ public abstract class EmbeddedServer {
 		 * Creates and returns a new {@link EmbeddedServer}. The following checks are done:
 		 * <ul>
 		 * <li>The port number must be stricly positive</li>
-		 * <li>The trimmed service path spec must not be empty</li>
+		 * <li>The multipart memory limit must be positive or zero</li>
+		 * <li>The minimum free space of the temporary folder must be positive or zero</li>
+		 * <li>At least one service must be defined</li>
+		 * <li>The trimmed service path spec must not be empty if a servlet is set</li>
+		 * <li>The full path specs of the services must be unique</li>
 		 * <li>The temporary folder must be an existing directory</li>
 		 * <li>The parent folder of the access log fil must exist</li>
 		 * </ul>
@@ -222,7 +405,16 @@ public abstract class EmbeddedServer {
 		public EmbeddedServer build() {
 			EmbeddedServer server = autoBuild();
 			Preconditions.checkState(server.port() > 0, "Server port must be strictly positive");
-			Preconditions.checkState(!server.servicePathSpec().trim().isEmpty(), "Service path spec must not be empty");
+			Preconditions.checkState(server.multipartMemoryLimit() >= 0, "Multipart memory limit must be positive or zero");
+			Preconditions.checkState(server.minFreeTempSpace() >= 0, "Minimum free space of the temp folder must be positive or zero");
+			Preconditions.checkState(server.servlet() != null || !server.services().isEmpty(), "At least one service must be defined");
+			if (server.servlet() != null) {
+				Preconditions.checkState(!Strings.nullToEmpty(server.servicePathSpec()).trim().isEmpty(), "Service path spec must not be empty");
+			}
+			Set<String> pathSpecs = new HashSet<>();
+			for (ServiceDefinition service : server.allServices()) {
+				Preconditions.checkState(pathSpecs.add(service.fullPathSpec()), "Service path spec '%s' is used by several services", service.fullPathSpec());
+			}
 			Preconditions.checkState(Files.exists(server.tempFolder()), "Temp folder must exists");
 			Preconditions.checkState(Files.isDirectory(server.tempFolder()), "Temp folder must be a directory");
 
@@ -243,21 +435,41 @@ public abstract class EmbeddedServer {
 	public void start() throws Exception {
 		PropertyConfigurator.configure(log4jConfiguration());
 
-		server = new Server(port());
+		QueuedThreadPool threadPool = new QueuedThreadPool(tuning().maxThreads(), tuning().minThreads(), tuning().threadIdleTimeout());
+		threadPool.setName("server");
+		server = new Server(threadPool);
+		HttpConfiguration httpConfiguration = new HttpConfiguration();
+		httpConfiguration.setOutputBufferSize(tuning().outputBufferSize());
+		server.addConnector(createConnector(httpConfiguration));
+		if (tls() != null) {
+			server.addConnector(createTlsConnector(httpConfiguration));
+		}
 
 		ServletContextHandler contextHandler = new ServletContextHandler(ServletContextHandler.SESSIONS);
 		contextHandler.setContextPath(CONTEXT_PATH);
 		contextHandler.setErrorHandler(new EmbeddedErrorHandler());
-		ServletHolder servletHolder = new ServletHolder(servlet());
-		servletHolder.getRegistration().setMultipartConfig(new MultipartConfigElement(tempFolder().toString(), -1L, -1L, FILE_SIZE_THRESHOLD));
-		final String fullPathSpec;
-		if (appendServiceVersionToPathSpec()) {
-			fullPathSpec = servicePathSpec() + "/" + servlet().getClass().getPackage().getImplementationVersion();
-		} else {
-			fullPathSpec = servicePathSpec();
+		MultipartMemoryLimiter multipartMemoryLimiter = new MultipartMemoryLimiter(multipartMemoryLimit());
+		LoadMonitor loadMonitor = new LoadMonitor();
+		List<ConcurrencyLimiter> concurrencyLimiters = new ArrayList<>();
+		List<GovernedProcessExecutor> processExecutors = new ArrayList<>();
+		for (ServiceDefinition service : allServices()) {
+			ServletHolder servletHolder = new ServletHolder(service.servlet());
+			servletHolder.getRegistration().setMultipartConfig(new MultipartConfigElement(tempFolder().toString(), tuning().maxFileSize(), tuning().maxRequestSize(), tuning().multipartFileSizeThreshold()));
+			String fullPathSpec = service.fullPathSpec();
+			contextHandler.addServlet(servletHolder, fullPathSpec);
+			contextHandler.addFilter(new FilterHolder(loadMonitor), fullPathSpec, EnumSet.of(DispatcherType.REQUEST));
+			if (service.maxConcurrentRequests() != ServiceDefinition.UNLIMITED) {
+				ConcurrencyLimiter concurrencyLimiter = new ConcurrencyLimiter(fullPathSpec, service.maxConcurrentRequests(), service.maxQueuedRequests());
+				concurrencyLimiters.add(concurrencyLimiter);
+				contextHandler.addFilter(new FilterHolder(concurrencyLimiter), fullPathSpec, EnumSet.of(DispatcherType.REQUEST));
+			}
+			contextHandler.addFilter(new FilterHolder(multipartMemoryLimiter), fullPathSpec, EnumSet.of(DispatcherType.REQUEST));
+			processExecutors.addAll(service.processExecutors());
+			logger.info("Serving {} on {} (max concurrent requests {}, max queued requests {})", service.servlet().getClass().getName(), fullPathSpec,
+					service.maxConcurrentRequests(), service.maxQueuedRequests());
 		}
-		contextHandler.addServlet(servletHolder, fullPathSpec);
 		contextHandler.addServlet(createHeartbeatServlet(), "/heartbeat");
+		contextHandler.addServlet(new ServletHolder(new ReadinessServlet(loadMonitor, concurrencyLimiters, processExecutors, threadPool, tempFolder(), minFreeTempSpace())), "/ready");
 		contextHandler.addServlet(createVersionServlet(), "/version");
 
 		final RequestLog.Writer logWriter;
@@ -272,8 +484,8 @@ public abstract class EmbeddedServer {
 
 		CustomRequestLog requestLog = new CustomRequestLog(logWriter, CustomRequestLog.NCSA_FORMAT);
 
-		// do not log requests for the heartbeat servlet
-		requestLog.setIgnorePaths(new String[] {"/heartbeat"});
+		// do not log requests for the heartbeat and readiness servlets
+		requestLog.setIgnorePaths(new String[] {"/heartbeat", "/ready"});
 
 		server.setRequestLog(requestLog);
 
@@ -284,9 +496,90 @@ public abstract class EmbeddedServer {
 		server.setHandler(handlers);
 
 		server.start();
+		logSettings(threadPool);
 		server.join();
 	}
 
+	/**
+	 * Returns the main service, if any, followed by the additional services.
+	 *
+	 * @return all the services hosted by this server.
+	 */
+	final ImmutableList<ServiceDefinition> allServices() {
+		if (servlet() == null) {
+			return services();
+		}
+		ServiceDefinition.Builder mainService = ServiceDefinition.builder()
+			.servlet(servlet())
+			.pathSpec(servicePathSpec())
+			.appendVersionToPathSpec(appendServiceVersionToPathSpec());
+		processExecutors().forEach(mainService::processExecutor);
+		return ImmutableList.<ServiceDefinition>builder().add(mainService.build()).addAll(services()).build();
+	}
+
+	private ServerConnector createConnector(HttpConfiguration httpConfiguration) {
+		HttpConnectionFactory http11 = new HttpConnectionFactory(httpConfiguration);
+		final ServerConnector connector;
+		if (http2() != null) {
+			HTTP2CServerConnectionFactory h2c = configure(new HTTP2CServerConnectionFactory(httpConfiguration));
+			connector = new ServerConnector(server, tuning().acceptors(), tuning().selectors(), http11, h2c);
+		} else {
+			connector = new ServerConnector(server, tuning().acceptors(), tuning().selectors(), http11);
+		}
+		connector.setPort(port());
+		return configure(connector);
+	}
+
+	private ServerConnector createTlsConnector(HttpConfiguration httpConfiguration) {
+		SslContextFactory.Server sslContextFactory = new SslContextFactory.Server();
+		sslContextFactory.setKeyStorePath(tls().keystore().toString());
+		sslContextFactory.setKeyStorePassword(tls().keystorePassword());
+		sslContextFactory.setKeyStoreType(tls().keystoreType());
+
+		HttpConfiguration httpsConfiguration = new HttpConfiguration(httpConfiguration);
+		httpsConfiguration.addCustomizer(new SecureRequestCustomizer());
+		HttpConnectionFactory http11 = new HttpConnectionFactory(httpsConfiguration);
+
+		final ServerConnector connector;
+		if (http2() != null) {
+			HTTP2ServerConnectionFactory h2 = configure(new HTTP2ServerConnectionFactory(httpsConfiguration));
+			ALPNServerConnectionFactory alpn = new ALPNServerConnectionFactory();
+			alpn.setDefaultProtocol(http11.getProtocol());
+			sslContextFactory.setCipherComparator(HTTP2Cipher.COMPARATOR);
+			connector = new ServerConnector(server, tuning().acceptors(), tuning().selectors(), new SslConnectionFactory(sslContextFactory, alpn.getProtocol()), alpn, h2, http11);
+		} else {
+			connector = new ServerConnector(server, tuning().acceptors(), tuning().selectors(), new SslConnectionFactory(sslContextFactory, http11.getProtocol()), http11);
+		}
+		connector.setPort(tls().port());
+		return configure(connector);
+	}
+
+	private ServerConnector configure(ServerConnector connector) {
+		connector.setAcceptQueueSize(tuning().acceptQueueSize());
+		connector.setIdleTimeout(tuning().idleTimeout());
+		return connector;
+	}
+
+	private void logSettings(QueuedThreadPool threadPool) {
+		for (Connector connector : server.getConnectors()) {
+			if (connector instanceof ServerConnector serverConnector) {
+				logger.info("Listening on port {} ({}) with {} acceptors, {} selectors, accept queue size {}, idle timeout {}ms",
+						serverConnector.getLocalPort(), String.join(", ", serverConnector.getProtocols()), serverConnector.getAcceptors(),
+						serverConnector.getSelectorManager().getSelectorCount(), serverConnector.getAcceptQueueSize(), serverConnector.getIdleTimeout());
+			}
+		}
+		logger.info("Thread pool of {} to {} threads (idle timeout {}ms), output buffer size {} bytes, multipart file size threshold {} bytes, max file size {}, max request size {}, multipart memory limit {} bytes",
+				threadPool.getMinThreads(), threadPool.getMaxThreads(), threadPool.getIdleTimeout(), tuning().outputBufferSize(),
+				tuning().multipartFileSizeThreshold(), tuning().maxFileSize(), tuning().maxRequestSize(), multipartMemoryLimit());
+	}
+
+	private <T extends AbstractHTTP2ServerConnectionFactory> T configure(T factory) {
+		factory.setInitialStreamRecvWindow(http2().initialStreamRecvWindow());
+		factory.setInitialSessionRecvWindow(http2().initialSessionRecvWindow());
+		factory.setMaxConcurrentStreams(http2().maxConcurrentStreams());
+		return factory;
+	}
+
 	private ServletHolder createVersionServlet() {
 		return new ServletHolder(new HttpServlet() {
 			@Serial
@@ -294,7 +587,7 @@ public abstract class EmbeddedServer {
 
 			@Override
 			protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
-				String version = servlet().getClass().getPackage().getImplementationVersion();
+				String version = allServices().get(0).servlet().getClass().getPackage().getImplementationVersion();
 				if (Strings.isNullOrEmpty(version)) {
 					version = "dev";
 				}
@@ -52,6 +52,45 @@ public interface EmbeddedServerConfiguration {
 	 */
 	boolean isServiceVersionAppendedToPathSpec();
 
+	/**
+	 * Returns the maximum number of bytes that all multipart requests may hold
+	 * in memory together.
+	 *
+	 * @return the multipart memory budget in bytes.
+	 */
+	long getMultipartMemoryLimit();
+
+	/**
+	 * Returns the free space of the temporary folder below which the server
+	 * reports that it does not admit new work.
+	 *
+	 * @return the minimum free space of the temporary folder in bytes.
+	 */
+	long getMinFreeTempSpace();
+
+	/**
+	 * Returns the HTTP/2 settings of the server.
+	 *
+	 * @return the HTTP/2 settings, or {@code null} if HTTP/2 is disabled.
+	 */
+	Http2Configuration getHttp2Configuration();
+
+	/**
+	 * Returns the settings of the TLS connector of the server.
+	 *
+	 * @return the TLS settings, or {@code null} if the server only listens
+	 *         for cleartext connections.
+	 */
+	TlsConfiguration getTlsConfiguration();
+
+	/**
+	 * Returns the sizing of the connectors, thread pool and request limits of
+	 * the server.
+	 *
+	 * @return the sizing of the server.
+	 */
+	TuningConfiguration getTuningConfiguration();
+
 	/**
 	 * Returns Log4j related properties.
 	 *
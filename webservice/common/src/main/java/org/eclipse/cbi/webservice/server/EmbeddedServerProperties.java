@@ -15,9 +15,14 @@ package org.eclipse.cbi.webservice.server;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Properties;
 
+import jakarta.servlet.Servlet;
+
+import com.google.common.base.Splitter;
 import com.google.common.base.Strings;
+import org.eclipse.cbi.webservice.util.ProcessExecutor;
 import org.eclipse.cbi.webservice.util.PropertiesReader;
 
 /**
@@ -28,6 +33,10 @@ public final class EmbeddedServerProperties implements EmbeddedServerConfigurati
 
 	private static final int DEFAULT_SERVER_PORT = 8080;
 	private static final boolean DEFAULT_SERVICE_PATH_SPEC_VERSIONED = true;
+	private static final long DEFAULT_MULTIPART_MEMORY_LIMIT = 64*1024*1024; // 64MiB
+	private static final long DEFAULT_MIN_FREE_TEMP_SPACE = 0;
+	private static final boolean DEFAULT_HTTP2_ENABLED = false;
+	private static final String DEFAULT_TLS_KEYSTORE_TYPE = "PKCS12";
 
 	private static final String JAVA_IO_TMPDIR = "java.io.tmpdir";
 
@@ -35,12 +44,68 @@ public final class EmbeddedServerProperties implements EmbeddedServerConfigurati
 	public static final String ACCESS_LOG_FILE = "server.access.log";
 	/** The key for the server temporary folder property  */
 	public static final String TEMP_FOLDER = "server.temp.folder";
+	/** The key for the free space of the temporary folder below which the server does not admit new work. */
+	public static final String TEMP_FOLDER_MIN_FREE_SPACE = "server.temp.folder.min.free";
 	/** The key for the server port number property  */
 	public static final String SERVER_PORT = "server.port";
 	/** The key for the server service path specification property  */
 	public static final String SERVICE_PATH_SPEC = "server.service.pathspec";
 	/** The key for the server option whether the service version should be happened to the service path spec. */
 	public static final String SERVICE_PATH_SPEC_VERSIONED = "server.service.pathspec.versioned";
+	/** The key for the maximum number of bytes that all multipart requests may hold in memory together. */
+	public static final String MULTIPART_MEMORY_LIMIT = "server.multipart.memory.max";
+	/** The key for the option whether the server should speak HTTP/2 (h2c on the plain connector, h2 on the TLS one). */
+	public static final String HTTP2_ENABLED = "server.http2.enabled";
+	/** The key for the initial HTTP/2 flow-control window of each stream, in bytes. */
+	public static final String HTTP2_STREAM_WINDOW = "server.http2.window.stream";
+	/** The key for the initial HTTP/2 flow-control window of each connection, in bytes. */
+	public static final String HTTP2_SESSION_WINDOW = "server.http2.window.session";
+	/** The key for the maximum number of concurrent HTTP/2 streams per connection. */
+	public static final String HTTP2_MAX_CONCURRENT_STREAMS = "server.http2.max.streams";
+	/** The key for the port of the TLS connector. No TLS connector is created if not set. */
+	public static final String TLS_PORT = "server.tls.port";
+	/** The key for the keystore file of the TLS connector. */
+	public static final String TLS_KEYSTORE = "server.tls.keystore";
+	/** The key for the file containing the password of the keystore of the TLS connector. */
+	public static final String TLS_KEYSTORE_PASSWORD = "server.tls.keystore.password";
+	/** The key for the type of the keystore of the TLS connector. */
+	public static final String TLS_KEYSTORE_TYPE = "server.tls.keystore.type";
+
+	/** The key for the number of acceptor threads of each connector (-1 to let Jetty decide). */
+	public static final String CONNECTOR_ACCEPTORS = "server.connector.acceptors";
+	/** The key for the number of selectors of each connector (-1 to let Jetty decide). */
+	public static final String CONNECTOR_SELECTORS = "server.connector.selectors";
+	/** The key for the size of the TCP backlog of each connector (0 for the OS default). */
+	public static final String CONNECTOR_ACCEPT_QUEUE_SIZE = "server.connector.backlog";
+	/** The key for the time in milliseconds after which an idle connection is closed. */
+	public static final String CONNECTOR_IDLE_TIMEOUT = "server.connector.idle.timeout";
+	/** The key for the minimum number of threads of the server thread pool. */
+	public static final String THREADS_MIN = "server.threads.min";
+	/** The key for the maximum number of threads of the server thread pool. */
+	public static final String THREADS_MAX = "server.threads.max";
+	/** The key for the time in milliseconds after which an idle thread above the minimum is stopped. */
+	public static final String THREADS_IDLE_TIMEOUT = "server.threads.idle.timeout";
+	/** The key for the size in bytes of the response buffer. */
+	public static final String OUTPUT_BUFFER_SIZE = "server.output.buffer.size";
+	/** The key for the size in bytes above which a multipart part is written to disk. */
+	public static final String MULTIPART_FILE_SIZE_THRESHOLD = "server.multipart.threshold";
+	/** The key for the maximum size in bytes of an uploaded file (-1 for no limit). */
+	public static final String MULTIPART_MAX_FILE_SIZE = "server.multipart.file.max";
+	/** The key for the maximum size in bytes of a multipart request (-1 for no limit). */
+	public static final String MULTIPART_MAX_REQUEST_SIZE = "server.request.max";
+
+	/** The key for the comma separated list of the names of the services hosted by a {@link MultiServiceServer}. */
+	public static final String SERVICES = "server.services";
+	/** The prefix of the keys configuring a service hosted by a {@link MultiServiceServer}, followed by the service name. */
+	public static final String SERVICE_PREFIX = "service.";
+	/** The suffix of the key for the path specification of a service. */
+	public static final String SERVICE_PATH_SPEC_SUFFIX = ".pathspec";
+	/** The suffix of the key for the option whether the service version should be appended to its path spec. */
+	public static final String SERVICE_PATH_SPEC_VERSIONED_SUFFIX = ".pathspec.versioned";
+	/** The suffix of the key for the maximum number of requests a service processes concurrently (-1 for no limit). */
+	public static final String SERVICE_MAX_CONCURRENT_REQUESTS_SUFFIX = ".concurrency.max";
+	/** The suffix of the key for the maximum number of requests waiting for a processing slot of a service (-1 for no limit). */
+	public static final String SERVICE_MAX_QUEUED_REQUESTS_SUFFIX = ".queue.max";
 
 	private final PropertiesReader propertiesReader;
 
@@ -146,6 +211,168 @@ public final class EmbeddedServerProperties implements EmbeddedServerConfigurati
 		return propertiesReader.getBoolean(SERVICE_PATH_SPEC_VERSIONED, DEFAULT_SERVICE_PATH_SPEC_VERSIONED);
 	}
 
+	/**
+	 * Gets the {@value #MULTIPART_MEMORY_LIMIT} property from the properties or
+	 * {@value #DEFAULT_MULTIPART_MEMORY_LIMIT} if not specified in the
+	 * properties.
+	 *
+	 * @return the multipart memory budget in bytes.
+	 * @throws IllegalStateException
+	 *             if the specified value can not be parsed as a valid long or
+	 *             is negative.
+	 */
+	@Override
+	public long getMultipartMemoryLimit() {
+		long limit = propertiesReader.getLong(MULTIPART_MEMORY_LIMIT, DEFAULT_MULTIPART_MEMORY_LIMIT);
+		if (limit < 0) {
+			throw new IllegalStateException("Property '" + MULTIPART_MEMORY_LIMIT + "' must be positive or zero (currently '" + limit + "')");
+		}
+		return limit;
+	}
+
+	/**
+	 * Gets the {@value #TEMP_FOLDER_MIN_FREE_SPACE} property from the
+	 * properties or {@value #DEFAULT_MIN_FREE_TEMP_SPACE} (i.e., free space is
+	 * ignored) if not specified in the properties.
+	 *
+	 * @return the minimum free space of the temporary folder in bytes.
+	 * @throws IllegalStateException
+	 *             if the specified value can not be parsed as a valid long or
+	 *             is negative.
+	 */
+	@Override
+	public long getMinFreeTempSpace() {
+		long minFreeSpace = propertiesReader.getLong(TEMP_FOLDER_MIN_FREE_SPACE, DEFAULT_MIN_FREE_TEMP_SPACE);
+		if (minFreeSpace < 0) {
+			throw new IllegalStateException("Property '" + TEMP_FOLDER_MIN_FREE_SPACE + "' must be positive or zero (currently '" + minFreeSpace + "')");
+		}
+		return minFreeSpace;
+	}
+
+	/**
+	 * Gets the HTTP/2 settings if {@value #HTTP2_ENABLED} is true. Flow-control
+	 * windows are read from {@value #HTTP2_STREAM_WINDOW} and
+	 * {@value #HTTP2_SESSION_WINDOW}, and the maximum number of concurrent
+	 * streams from {@value #HTTP2_MAX_CONCURRENT_STREAMS}.
+	 *
+	 * @return the HTTP/2 settings, or {@code null} if HTTP/2 is disabled.
+	 * @throws IllegalStateException
+	 *             if one of the values can not be parsed as a valid integer
+	 *             or is out of range.
+	 */
+	@Override
+	public Http2Configuration getHttp2Configuration() {
+		if (!propertiesReader.getBoolean(HTTP2_ENABLED, DEFAULT_HTTP2_ENABLED)) {
+			return null;
+		}
+		return Http2Configuration.builder()
+			.initialStreamRecvWindow(propertiesReader.getInt(HTTP2_STREAM_WINDOW, Http2Configuration.DEFAULT_INITIAL_STREAM_RECV_WINDOW))
+			.initialSessionRecvWindow(propertiesReader.getInt(HTTP2_SESSION_WINDOW, Http2Configuration.DEFAULT_INITIAL_SESSION_RECV_WINDOW))
+			.maxConcurrentStreams(propertiesReader.getInt(HTTP2_MAX_CONCURRENT_STREAMS, Http2Configuration.DEFAULT_MAX_CONCURRENT_STREAMS))
+			.build();
+	}
+
+	/**
+	 * Gets the TLS connector settings if {@value #TLS_PORT} is specified. The
+	 * keystore is read from {@value #TLS_KEYSTORE}, its password from the file
+	 * referenced by {@value #TLS_KEYSTORE_PASSWORD} and its type from
+	 * {@value #TLS_KEYSTORE_TYPE} (defaults to {@value #DEFAULT_TLS_KEYSTORE_TYPE}).
+	 *
+	 * @return the TLS settings, or {@code null} if no TLS port is specified.
+	 * @throws IllegalStateException
+	 *             if the port is not a valid integer, or if the keystore or
+	 *             its password file can not be found.
+	 */
+	@Override
+	public TlsConfiguration getTlsConfiguration() {
+		if (Strings.isNullOrEmpty(propertiesReader.getString(TLS_PORT, ""))) {
+			return null;
+		}
+		return TlsConfiguration.builder()
+			.port(propertiesReader.getInt(TLS_PORT))
+			.keystore(propertiesReader.getRegularFile(TLS_KEYSTORE))
+			.keystorePassword(propertiesReader.getFileContent(TLS_KEYSTORE_PASSWORD))
+			.keystoreType(propertiesReader.getString(TLS_KEYSTORE_TYPE, DEFAULT_TLS_KEYSTORE_TYPE))
+			.build();
+	}
+
+	/**
+	 * Gets the sizing of the server. Each setting defaults to the one of Jetty
+	 * if not specified in the properties:
+	 * <ul>
+	 * <li>{@value #CONNECTOR_ACCEPTORS}, {@value #CONNECTOR_SELECTORS}, {@value #CONNECTOR_ACCEPT_QUEUE_SIZE}
+	 * and {@value #CONNECTOR_IDLE_TIMEOUT} for the connectors,</li>
+	 * <li>{@value #THREADS_MIN}, {@value #THREADS_MAX} and {@value #THREADS_IDLE_TIMEOUT} for the thread pool,</li>
+	 * <li>{@value #OUTPUT_BUFFER_SIZE} for the responses,</li>
+	 * <li>{@value #MULTIPART_FILE_SIZE_THRESHOLD}, {@value #MULTIPART_MAX_FILE_SIZE} and
+	 * {@value #MULTIPART_MAX_REQUEST_SIZE} for the multipart requests.</li>
+	 * </ul>
+	 *
+	 * @return the sizing of the server.
+	 * @throws IllegalStateException
+	 *             if one of the values can not be parsed as a valid number or
+	 *             is out of range.
+	 */
+	@Override
+	public TuningConfiguration getTuningConfiguration() {
+		return TuningConfiguration.builder()
+			.acceptors(propertiesReader.getInt(CONNECTOR_ACCEPTORS, TuningConfiguration.AUTO))
+			.selectors(propertiesReader.getInt(CONNECTOR_SELECTORS, TuningConfiguration.AUTO))
+			.acceptQueueSize(propertiesReader.getInt(CONNECTOR_ACCEPT_QUEUE_SIZE, TuningConfiguration.DEFAULT_ACCEPT_QUEUE_SIZE))
+			.idleTimeout(propertiesReader.getLong(CONNECTOR_IDLE_TIMEOUT, TuningConfiguration.DEFAULT_IDLE_TIMEOUT))
+			.minThreads(propertiesReader.getInt(THREADS_MIN, TuningConfiguration.DEFAULT_MIN_THREADS))
+			.maxThreads(propertiesReader.getInt(THREADS_MAX, TuningConfiguration.DEFAULT_MAX_THREADS))
+			.threadIdleTimeout(propertiesReader.getInt(THREADS_IDLE_TIMEOUT, TuningConfiguration.DEFAULT_THREAD_IDLE_TIMEOUT))
+			.outputBufferSize(propertiesReader.getInt(OUTPUT_BUFFER_SIZE, TuningConfiguration.DEFAULT_OUTPUT_BUFFER_SIZE))
+			.multipartFileSizeThreshold(propertiesReader.getInt(MULTIPART_FILE_SIZE_THRESHOLD, TuningConfiguration.DEFAULT_MULTIPART_FILE_SIZE_THRESHOLD))
+			.maxFileSize(propertiesReader.getLong(MULTIPART_MAX_FILE_SIZE, TuningConfiguration.UNLIMITED))
+			.maxRequestSize(propertiesReader.getLong(MULTIPART_MAX_REQUEST_SIZE, TuningConfiguration.UNLIMITED))
+			.build();
+	}
+
+	/**
+	 * Gets the names of the services listed in the {@value #SERVICES}
+	 * property.
+	 *
+	 * @return the names of the services to be hosted.
+	 * @throws IllegalStateException
+	 *             if the property is not specified in the properties
+	 */
+	public List<String> getServiceNames() {
+		return Splitter.on(',').trimResults().omitEmptyStrings().splitToList(propertiesReader.getString(SERVICES));
+	}
+
+	/**
+	 * Gets the definition of the service with the given name. Its path spec
+	 * is read from {@code service.<name>.pathspec}, whether its version is
+	 * appended to it from {@code service.<name>.pathspec.versioned} (defaults
+	 * to {@value #DEFAULT_SERVICE_PATH_SPEC_VERSIONED}), and its concurrency
+	 * limits from {@code service.<name>.concurrency.max} and
+	 * {@code service.<name>.queue.max} (both unlimited by default).
+	 *
+	 * @param name
+	 *            the name of the service.
+	 * @param servlet
+	 *            the servlet serving the service.
+	 * @param processExecutor
+	 *            the executor running the processes of the service.
+	 * @return the definition of the service.
+	 * @throws IllegalStateException
+	 *             if the path spec is not specified or if one of the limits
+	 *             can not be parsed or is out of range.
+	 */
+	public ServiceDefinition getServiceDefinition(String name, Servlet servlet, ProcessExecutor processExecutor) {
+		String prefix = SERVICE_PREFIX + name;
+		return ServiceDefinition.builder()
+			.servlet(servlet)
+			.pathSpec(propertiesReader.getString(prefix + SERVICE_PATH_SPEC_SUFFIX))
+			.appendVersionToPathSpec(propertiesReader.getBoolean(prefix + SERVICE_PATH_SPEC_VERSIONED_SUFFIX, DEFAULT_SERVICE_PATH_SPEC_VERSIONED))
+			.maxConcurrentRequests(propertiesReader.getInt(prefix + SERVICE_MAX_CONCURRENT_REQUESTS_SUFFIX, ServiceDefinition.UNLIMITED))
+			.maxQueuedRequests(propertiesReader.getInt(prefix + SERVICE_MAX_QUEUED_REQUESTS_SUFFIX, ServiceDefinition.UNLIMITED))
+			.processExecutor(processExecutor)
+			.build();
+	}
+
 	/**
 	 * Gets all properties starting with {@code log4j.*}.
 	 *
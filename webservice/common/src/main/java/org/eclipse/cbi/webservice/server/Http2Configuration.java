@@ -0,0 +1,127 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.server;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.base.Preconditions;
+
+/**
+ * HTTP/2 settings of an {@link EmbeddedServer}. When set, the server speaks
+ * cleartext HTTP/2 (h2c, both with prior knowledge and via HTTP/1.1 upgrade)
+ * on its plain connector, and HTTP/2 negotiated with ALPN on its TLS connector
+ * if any.
+ * <p>
+ * The flow-control windows bound how many bytes a client may send before
+ * waiting for the server to acknowledge them. Uploads of large artifacts
+ * benefit from windows larger than the protocol defaults (64KiB).
+ */
+@AutoValue
+public abstract class Http2Configuration {
+
+	static final int DEFAULT_INITIAL_STREAM_RECV_WINDOW = 4*1024*1024; // 4MiB
+	static final int DEFAULT_INITIAL_SESSION_RECV_WINDOW = 16*1024*1024; // 16MiB
+	static final int DEFAULT_MAX_CONCURRENT_STREAMS = 128;
+
+	Http2Configuration() {} // prevents instantiation and subclassing outside the package
+
+	/**
+	 * Returns the initial flow-control window of each stream, in bytes.
+	 *
+	 * @return the initial flow-control window of each stream.
+	 */
+	abstract int initialStreamRecvWindow();
+
+	/**
+	 * Returns the initial flow-control window of a whole connection, in bytes.
+	 *
+	 * @return the initial flow-control window of a whole connection.
+	 */
+	abstract int initialSessionRecvWindow();
+
+	/**
+	 * Returns the maximum number of concurrent streams a client may open on a
+	 * single connection.
+	 *
+	 * @return the maximum number of concurrent streams per connection.
+	 */
+	abstract int maxConcurrentStreams();
+
+	/**
+	 * Creates and returns a new builder for this class, initialized with the
+	 * default settings.
+	 *
+	 * @return a new builder for this class.
+	 */
+	public static Builder builder() {
+		return new AutoValue_Http2Configuration.Builder()
+			.initialStreamRecvWindow(DEFAULT_INITIAL_STREAM_RECV_WINDOW)
+			.initialSessionRecvWindow(DEFAULT_INITIAL_SESSION_RECV_WINDOW)
+			.maxConcurrentStreams(DEFAULT_MAX_CONCURRENT_STREAMS);
+	}
+
+	/**
+	 * A builder of {@link Http2Configuration}.
+	 */
+	@AutoValue.Builder
+	public abstract static class Builder {
+		Builder() {}
+
+		/**
+		 * Sets the initial flow-control window of each stream, in bytes.
+		 *
+		 * @param initialStreamRecvWindow
+		 *            the initial stream window.
+		 * @return this builder for daisy chaining.
+		 */
+		public abstract Builder initialStreamRecvWindow(int initialStreamRecvWindow);
+
+		/**
+		 * Sets the initial flow-control window of a whole connection, in bytes.
+		 *
+		 * @param initialSessionRecvWindow
+		 *            the initial session window.
+		 * @return this builder for daisy chaining.
+		 */
+		public abstract Builder initialSessionRecvWindow(int initialSessionRecvWindow);
+
+		/**
+		 * Sets the maximum number of concurrent streams per connection.
+		 *
+		 * @param maxConcurrentStreams
+		 *            the maximum number of concurrent streams.
+		 * @return this builder for daisy chaining.
+		 */
+		public abstract Builder maxConcurrentStreams(int maxConcurrentStreams);
+
+		abstract Http2Configuration autoBuild();
+
+		/**
+		 * Creates and returns a new {@link Http2Configuration}. The following
+		 * checks are done:
+		 * <ul>
+		 * <li>The stream window must be at least 65535 bytes (the protocol default)</li>
+		 * <li>The session window must not be smaller than the stream window</li>
+		 * <li>The maximum number of concurrent streams must be strictly positive</li>
+		 * </ul>
+		 *
+		 * @return a new {@link Http2Configuration}.
+		 */
+		public Http2Configuration build() {
+			Http2Configuration configuration = autoBuild();
+			Preconditions.checkState(configuration.initialStreamRecvWindow() >= 65535, "HTTP/2 stream window must be at least 65535 bytes");
+			Preconditions.checkState(configuration.initialSessionRecvWindow() >= configuration.initialStreamRecvWindow(), "HTTP/2 session window must not be smaller than the stream window");
+			Preconditions.checkState(configuration.maxConcurrentStreams() > 0, "HTTP/2 max concurrent streams must be strictly positive");
+			return configuration;
+		}
+	}
+}
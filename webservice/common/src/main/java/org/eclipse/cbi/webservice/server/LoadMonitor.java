@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.server;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+
+/**
+ * A filter that keeps track of the number of in-flight service requests and
+ * of their average service time. The average is exponentially weighted so
+ * that it follows the recent load of the server, and all counters are lock
+ * free so that they can be read on every readiness probe.
+ */
+final class LoadMonitor implements Filter {
+
+	/** Weight of the previous average is (EWMA_DIVISOR - 1) / EWMA_DIVISOR. */
+	private static final long EWMA_DIVISOR = 8;
+
+	private final AtomicInteger inFlight;
+	private final LongAdder completed;
+	private final AtomicLong averageServiceTimeNanos;
+
+	LoadMonitor() {
+		this.inFlight = new AtomicInteger();
+		this.completed = new LongAdder();
+		this.averageServiceTimeNanos = new AtomicLong();
+	}
+
+	@Override
+	public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+		long start = System.nanoTime();
+		inFlight.incrementAndGet();
+		try {
+			chain.doFilter(request, response);
+		} finally {
+			inFlight.decrementAndGet();
+			completed.increment();
+			long elapsed = System.nanoTime() - start;
+			averageServiceTimeNanos.accumulateAndGet(elapsed, (average, sample) -> average == 0 ? sample : average + (sample - average) / EWMA_DIVISOR);
+		}
+	}
+
+	/**
+	 * Returns the number of service requests currently being served or
+	 * waiting to be served.
+	 *
+	 * @return the number of in-flight service requests.
+	 */
+	int inFlight() {
+		return inFlight.get();
+	}
+
+	/**
+	 * Returns the number of service requests served since the server started.
+	 *
+	 * @return the number of completed service requests.
+	 */
+	long completed() {
+		return completed.sum();
+	}
+
+	/**
+	 * Returns the exponentially weighted average time to serve a request.
+	 *
+	 * @return the average service time in milliseconds, 0 if no request has
+	 *         been served yet.
+	 */
+	long averageServiceTimeMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(averageServiceTimeNanos.get());
+	}
+}
@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.server;
+
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.ServiceLoader;
+
+import org.eclipse.cbi.webservice.util.ProcessExecutor;
+import org.eclipse.cbi.webservice.util.ProcessExecutorProperties;
+import org.eclipse.cbi.webservice.util.PropertiesReader;
+
+/**
+ * Embedded Jetty server that hosts several services in a single JVM. The
+ * services are listed in the {@value EmbeddedServerProperties#SERVICES}
+ * property and created by the {@link ServiceProvider} of the same name found
+ * on the classpath, e.g.:
+ *
+ * <pre>
+ * server.services=jar,windows
+ * service.jar.pathspec=/jarsigner
+ * service.jar.concurrency.max=16
+ * service.windows.pathspec=/authenticode
+ * service.windows.concurrency.max=4
+ * service.windows.queue.max=32
+ * </pre>
+ *
+ * All the services read their own configuration from the same properties
+ * file.
+ */
+public class MultiServiceServer {
+
+	private static final String DEFAULT_CONFIGURATION_FILE = "services.properties";
+
+	public static void main(String[] args) throws Exception {
+		FileSystem fs = FileSystems.getDefault();
+		final Path confPath;
+		if (args.length == 2 && "-c".equals(args[0])) {
+			confPath = fs.getPath(args[1]);
+		} else if (args.length == 0) {
+			confPath = fs.getPath(DEFAULT_CONFIGURATION_FILE);
+		} else {
+			System.err.println("java -cp <service jars> " + MultiServiceServer.class.getName() + " [-c configuration file]");
+			return;
+		}
+		if (!Files.exists(confPath)) {
+			System.err.println("Configuration file does not exist: '" + confPath + "'");
+			return;
+		}
+		new MultiServiceServer().startServer(PropertiesReader.create(confPath));
+	}
+
+	public void startServer(PropertiesReader properties) throws Exception {
+		createServer(properties, ServiceLoader.load(ServiceProvider.class)).start();
+	}
+
+	static EmbeddedServer createServer(PropertiesReader properties, Iterable<ServiceProvider> serviceProviders) throws Exception {
+		final EmbeddedServerProperties serverConf = new EmbeddedServerProperties(properties);
+		final Path tempFolder = serverConf.getTempFolder();
+
+		Map<String, ServiceProvider> providers = new HashMap<>();
+		for (ServiceProvider provider : serviceProviders) {
+			providers.put(provider.name(), provider);
+		}
+
+		EmbeddedServer.Builder builder = EmbeddedServer.builder()
+			.port(serverConf.getServerPort())
+			.accessLogFile(serverConf.getAccessLogFile())
+			.multipartMemoryLimit(serverConf.getMultipartMemoryLimit())
+			.minFreeTempSpace(serverConf.getMinFreeTempSpace())
+			.http2(serverConf.getHttp2Configuration())
+			.tls(serverConf.getTlsConfiguration())
+			.tuning(serverConf.getTuningConfiguration())
+			.tempFolder(tempFolder)
+			.log4jConfiguration(serverConf.getLog4jProperties());
+
+		for (String name : serverConf.getServiceNames()) {
+			ServiceProvider provider = providers.get(name);
+			if (provider == null) {
+				throw new IllegalStateException("No provider found on the classpath for service '" + name + "' (available: " + providers.keySet() + ")");
+			}
+			ProcessExecutor processExecutor = new ProcessExecutorProperties(properties).createProcessExecutor(tempFolder);
+			builder.addService(serverConf.getServiceDefinition(name, provider.createServlet(properties, tempFolder, processExecutor), processExecutor));
+		}
+
+		return builder.build();
+	}
+}
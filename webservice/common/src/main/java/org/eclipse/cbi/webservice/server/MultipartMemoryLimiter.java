@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.server;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.MultipartConfigElement;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+
+import org.eclipse.jetty.ee9.nested.Request;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+
+/**
+ * A filter that bounds the amount of multipart content that all in-flight
+ * requests may hold in memory together.
+ * <p>
+ * A multipart request reserves its content length from a shared budget before
+ * being parsed. If the budget can't accommodate it (or if its length is
+ * unknown), the request is parsed with the smallest positive file size
+ * threshold, i.e., all of its parts are spooled to disk instead of being
+ * buffered in heap (Jetty reads a threshold of zero as "never spool"). The
+ * reservation is released once the request has been served.
+ */
+final class MultipartMemoryLimiter implements Filter {
+
+	private static final Logger logger = LoggerFactory.getLogger(MultipartMemoryLimiter.class);
+
+	private static final String MULTIPART_CONTENT_TYPE = "multipart/";
+
+	/** The file size threshold above which Jetty spools any non empty part */
+	static final int SPOOL_ALL_THRESHOLD = 1;
+
+	private final long limit;
+	private final AtomicLong reserved;
+
+	/**
+	 * Creates a new limiter.
+	 *
+	 * @param limit
+	 *            the maximum number of bytes that all multipart requests may
+	 *            hold in memory together.
+	 */
+	MultipartMemoryLimiter(long limit) {
+		Preconditions.checkArgument(limit >= 0, "Multipart memory limit must be positive or zero");
+		this.limit = limit;
+		this.reserved = new AtomicLong();
+	}
+
+	@Override
+	public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+		if (!(request.getAttribute(Request.MULTIPART_CONFIG_ELEMENT) instanceof MultipartConfigElement config)
+				|| config.getFileSizeThreshold() == SPOOL_ALL_THRESHOLD || !isMultipart(request)) {
+			chain.doFilter(request, response);
+			return;
+		}
+
+		long contentLength = request.getContentLengthLong();
+		if (contentLength >= 0 && reserve(contentLength)) {
+			try {
+				chain.doFilter(request, response);
+			} finally {
+				reserved.addAndGet(-contentLength);
+			}
+		} else {
+			logger.debug("Multipart memory budget exhausted ({} of {} bytes reserved), spooling request of {} bytes to disk", reserved.get(), limit, contentLength);
+			request.setAttribute(Request.MULTIPART_CONFIG_ELEMENT, new MultipartConfigElement(config.getLocation(), config.getMaxFileSize(), config.getMaxRequestSize(), SPOOL_ALL_THRESHOLD));
+			chain.doFilter(request, response);
+		}
+	}
+
+	/**
+	 * Returns the number of bytes currently reserved by in-flight requests.
+	 *
+	 * @return the number of bytes currently reserved by in-flight requests.
+	 */
+	long reserved() {
+		return reserved.get();
+	}
+
+	private boolean reserve(long bytes) {
+		while (true) {
+			long current = reserved.get();
+			if (current + bytes > limit) {
+				return false;
+			}
+			if (reserved.compareAndSet(current, current + bytes)) {
+				return true;
+			}
+		}
+	}
+
+	private static boolean isMultipart(ServletRequest request) {
+		return Strings.nullToEmpty(request.getContentType()).toLowerCase(Locale.ROOT).startsWith(MULTIPART_CONTENT_TYPE);
+	}
+}
@@ -0,0 +1,203 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.server;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Serial;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.eclipse.cbi.webservice.util.GovernedProcessExecutor;
+import org.eclipse.cbi.webservice.util.GovernedProcessExecutor.ToolMetrics;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.net.HttpHeaders;
+
+/**
+ * Reports the load of an {@link EmbeddedServer} so that load balancers and
+ * clients can route work to the least loaded replica. The answer is a list of
+ * {@code key=value} lines (i.e., a {@link java.util.Properties} file) and its
+ * status is {@code 200} if the server admits new work, {@code 503} otherwise.
+ * Only counters are read, so it can be polled every second.
+ * <p>
+ * The free slots, queue depth, wait and run times of the processes of the
+ * tools governed by a {@link GovernedProcessExecutor} are reported as well,
+ * summed over the governed executors of the JVM. The server is saturated as
+ * soon as one of the governed tools is.
+ */
+final class ReadinessServlet extends HttpServlet {
+
+	@Serial
+	private static final long serialVersionUID = 2402254727389049446L;
+
+	/**
+	 * Whether the server admits new work.
+	 */
+	enum State {
+		/** New requests will be served. */
+		READY,
+		/** New requests would wait for a thread or a process slot, or be rejected. */
+		SATURATED,
+		/** The temporary folder is short on free space. */
+		LOW_DISK_SPACE
+	}
+
+	private final transient LoadMonitor loadMonitor;
+	private final transient ImmutableList<ConcurrencyLimiter> concurrencyLimiters;
+	private final transient ImmutableList<GovernedProcessExecutor> processExecutors;
+	private final transient QueuedThreadPool threadPool;
+	private final transient Path tempFolder;
+	private final long minFreeTempSpace;
+
+	ReadinessServlet(LoadMonitor loadMonitor, List<ConcurrencyLimiter> concurrencyLimiters, List<GovernedProcessExecutor> processExecutors,
+			QueuedThreadPool threadPool, Path tempFolder, long minFreeTempSpace) {
+		this.loadMonitor = loadMonitor;
+		this.concurrencyLimiters = ImmutableList.copyOf(concurrencyLimiters);
+		this.processExecutors = ImmutableList.copyOf(processExecutors);
+		this.threadPool = threadPool;
+		this.tempFolder = tempFolder;
+		this.minFreeTempSpace = minFreeTempSpace;
+	}
+
+	@Override
+	protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+		Map<String, Object> report = report();
+		writeHeaders(resp, (State) report.get("state"));
+		PrintWriter writer = resp.getWriter();
+		report.forEach((key, value) -> writer.println(key + "=" + value));
+	}
+
+	@Override
+	protected void doHead(HttpServletRequest req, HttpServletResponse resp) {
+		writeHeaders(resp, (State) report().get("state"));
+	}
+
+	private static void writeHeaders(HttpServletResponse resp, State state) {
+		resp.setStatus(state == State.READY ? HttpServletResponse.SC_OK : HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+		resp.setContentType("text/plain");
+		resp.addHeader(HttpHeaders.CACHE_CONTROL, "max-age=0,must-revalidate,no-cache,no-store");
+		resp.addHeader(HttpHeaders.PRAGMA, "no-cache");
+	}
+
+	/**
+	 * Returns the current load of the server, starting with its admission
+	 * state.
+	 *
+	 * @return the current load of the server.
+	 */
+	Map<String, Object> report() {
+		int queued = threadPool.getQueueSize();
+		boolean saturated = threadPool.isLowOnThreads();
+		for (ConcurrencyLimiter limiter : concurrencyLimiters) {
+			queued += limiter.queued();
+			saturated |= limiter.saturated();
+		}
+		Map<String, ProcessLoad> processLoads = processLoads();
+		int queuedProcesses = 0;
+		for (ProcessLoad load : processLoads.values()) {
+			queuedProcesses += load.queued;
+			saturated |= load.saturated;
+		}
+		long freeTempSpace = freeTempSpace();
+
+		final State state;
+		if (saturated) {
+			state = State.SATURATED;
+		} else if (freeTempSpace >= 0 && freeTempSpace < minFreeTempSpace) {
+			state = State.LOW_DISK_SPACE;
+		} else {
+			state = State.READY;
+		}
+
+		Map<String, Object> report = new LinkedHashMap<>();
+		report.put("state", state);
+		report.put("requests.inflight", loadMonitor.inFlight());
+		report.put("requests.queued", queued);
+		report.put("requests.completed", loadMonitor.completed());
+		report.put("requests.time.avg.ms", loadMonitor.averageServiceTimeMillis());
+		report.put("threads.busy", threadPool.getBusyThreads());
+		report.put("threads.max", threadPool.getMaxThreads());
+		report.put("temp.free.bytes", freeTempSpace);
+		report.put("processes.queued", queuedProcesses);
+		processLoads.forEach((tool, load) -> {
+			report.put("processes." + tool + ".slots.free", load.freeSlots);
+			report.put("processes." + tool + ".queued", load.queued);
+			report.put("processes." + tool + ".executions", load.executions);
+			report.put("processes." + tool + ".rejected", load.rejected);
+			report.put("processes." + tool + ".wait.avg.ms", load.averageWaitMillis());
+			report.put("processes." + tool + ".run.avg.ms", load.averageRunMillis());
+		});
+		return report;
+	}
+
+	/**
+	 * Returns the load of the governed tools, by tool name.
+	 */
+	private Map<String, ProcessLoad> processLoads() {
+		Map<String, ProcessLoad> loads = new TreeMap<>();
+		for (GovernedProcessExecutor processExecutor : processExecutors) {
+			processExecutor.metrics().forEach((tool, metrics) -> loads.computeIfAbsent(tool, t -> new ProcessLoad()).add(processExecutor, tool, metrics));
+		}
+		return loads;
+	}
+
+	private long freeTempSpace() {
+		try {
+			return Files.getFileStore(tempFolder).getUsableSpace();
+		} catch (@SuppressWarnings("unused") IOException e) {
+			return -1;
+		}
+	}
+
+	/**
+	 * The load of a tool, summed over the governed executors. The tool is
+	 * saturated if it is saturated in any of them.
+	 */
+	private static final class ProcessLoad {
+		int freeSlots;
+		int queued;
+		boolean saturated;
+		long executions;
+		long rejected;
+		long waitMillis;
+		long runMillis;
+
+		void add(GovernedProcessExecutor processExecutor, String tool, ToolMetrics metrics) {
+			freeSlots += processExecutor.availableSlots(tool);
+			queued += processExecutor.queuedProcesses(tool);
+			saturated |= processExecutor.saturated(tool);
+			executions += metrics.executions();
+			rejected += metrics.rejected();
+			waitMillis += metrics.averageWaitMillis() * metrics.executions();
+			runMillis += metrics.averageRunMillis() * metrics.executions();
+		}
+
+		long averageWaitMillis() {
+			return executions == 0 ? 0 : waitMillis / executions;
+		}
+
+		long averageRunMillis() {
+			return executions == 0 ? 0 : runMillis / executions;
+		}
+	}
+}
@@ -0,0 +1,211 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.server;
+
+import jakarta.servlet.Servlet;
+
+import org.eclipse.cbi.webservice.util.GovernedProcessExecutor;
+import org.eclipse.cbi.webservice.util.ProcessExecutor;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * A service mounted on an {@link EmbeddedServer}: a servlet, the path spec it
+ * serves, and the bounds on the number of requests it may process
+ * concurrently.
+ * <p>
+ * Requests above {@link #maxConcurrentRequests()} wait for a slot. Requests
+ * above {@link #maxQueuedRequests()} waiting ones are rejected with a
+ * {@code 503 Service Unavailable}, so that a saturated service does not starve
+ * the other services of the server from threads.
+ */
+@AutoValue
+public abstract class ServiceDefinition {
+
+	/** No bound on the number of concurrent or waiting requests. */
+	static final int UNLIMITED = -1;
+
+	private static final boolean DEFAULT_APPEND_SERVICE_VERSION_TO_PATH_SPEC = true;
+
+	ServiceDefinition() {} // prevents instantiation and subclassing outside the package
+
+	/**
+	 * Returns the servlet serving this service.
+	 *
+	 * @return the servlet serving this service.
+	 */
+	abstract Servlet servlet();
+
+	/**
+	 * Returns the path spec that will be associated with the servlet.
+	 *
+	 * @return the path spec that will be associated with the servlet.
+	 */
+	abstract String pathSpec();
+
+	/**
+	 * Returns whether the version of the servlet should be appended to the
+	 * path spec.
+	 *
+	 * @return whether the version of the servlet should be appended to the
+	 *         path spec.
+	 */
+	abstract boolean appendVersionToPathSpec();
+
+	/**
+	 * Returns the maximum number of requests this service processes
+	 * concurrently.
+	 *
+	 * @return the maximum number of concurrent requests, or {@value #UNLIMITED}.
+	 */
+	abstract int maxConcurrentRequests();
+
+	/**
+	 * Returns the maximum number of requests waiting for a processing slot.
+	 * Only relevant if the number of concurrent requests is bounded.
+	 *
+	 * @return the maximum number of waiting requests, or {@value #UNLIMITED}.
+	 */
+	abstract int maxQueuedRequests();
+
+	/**
+	 * Returns the governed executors running the processes of this service,
+	 * whose load is reported by the {@code /ready} endpoint of the server.
+	 *
+	 * @return the governed process executors of this service.
+	 */
+	abstract ImmutableList<GovernedProcessExecutor> processExecutors();
+
+	/**
+	 * Returns the full path spec of this service, i.e., its path spec with
+	 * the version of the servlet appended if requested.
+	 *
+	 * @return the full path spec of this service.
+	 */
+	final String fullPathSpec() {
+		if (appendVersionToPathSpec()) {
+			return pathSpec() + "/" + servlet().getClass().getPackage().getImplementationVersion();
+		}
+		return pathSpec();
+	}
+
+	/**
+	 * Creates and returns a new builder for this class.
+	 *
+	 * @return a new builder for this class.
+	 */
+	public static Builder builder() {
+		return new AutoValue_ServiceDefinition.Builder()
+			.appendVersionToPathSpec(DEFAULT_APPEND_SERVICE_VERSION_TO_PATH_SPEC)
+			.maxConcurrentRequests(UNLIMITED)
+			.maxQueuedRequests(UNLIMITED);
+	}
+
+	/**
+	 * A builder of {@link ServiceDefinition}.
+	 */
+	@AutoValue.Builder
+	public abstract static class Builder {
+		Builder() {}
+
+		/**
+		 * Sets the servlet serving the service.
+		 *
+		 * @param servlet
+		 *            the servlet serving the service. Must not be null.
+		 * @return this builder for daisy chaining.
+		 */
+		public abstract Builder servlet(Servlet servlet);
+
+		/**
+		 * Sets the path spec that will be associated with the servlet.
+		 *
+		 * @param pathSpec
+		 *            the path spec of the service. Must not be null.
+		 * @return this builder for daisy chaining.
+		 */
+		public abstract Builder pathSpec(String pathSpec);
+
+		/**
+		 * Configure the service to append or not the version of the servlet
+		 * to its path spec.
+		 *
+		 * @param appendVersionToPathSpec
+		 *            whether the version should be appended or not.
+		 * @return this builder for daisy chaining.
+		 */
+		public abstract Builder appendVersionToPathSpec(boolean appendVersionToPathSpec);
+
+		/**
+		 * Sets the maximum number of requests the service processes
+		 * concurrently.
+		 *
+		 * @param maxConcurrentRequests
+		 *            the maximum number of concurrent requests, or -1 for no
+		 *            limit.
+		 * @return this builder for daisy chaining.
+		 */
+		public abstract Builder maxConcurrentRequests(int maxConcurrentRequests);
+
+		/**
+		 * Sets the maximum number of requests waiting for a processing slot.
+		 *
+		 * @param maxQueuedRequests
+		 *            the maximum number of waiting requests, or -1 for no
+		 *            limit.
+		 * @return this builder for daisy chaining.
+		 */
+		public abstract Builder maxQueuedRequests(int maxQueuedRequests);
+
+		abstract ImmutableList.Builder<GovernedProcessExecutor> processExecutorsBuilder();
+
+		/**
+		 * Sets an executor running the processes of the service. If it is a
+		 * {@link GovernedProcessExecutor}, the load of its tools is reported
+		 * by the {@code /ready} endpoint of the server.
+		 *
+		 * @param processExecutor
+		 *            an executor of the service. Must not be null.
+		 * @return this builder for daisy chaining.
+		 */
+		public Builder processExecutor(ProcessExecutor processExecutor) {
+			if (processExecutor instanceof GovernedProcessExecutor governedProcessExecutor) {
+				processExecutorsBuilder().add(governedProcessExecutor);
+			}
+			return this;
+		}
+
+		abstract ServiceDefinition autoBuild();
+
+		/**
+		 * Creates and returns a new {@link ServiceDefinition}. The following
+		 * checks are done:
+		 * <ul>
+		 * <li>The trimmed path spec must not be empty</li>
+		 * <li>The maximum number of concurrent requests must be strictly positive or -1</li>
+		 * <li>The maximum number of waiting requests must be positive, zero or -1</li>
+		 * </ul>
+		 *
+		 * @return a new {@link ServiceDefinition}.
+		 */
+		public ServiceDefinition build() {
+			ServiceDefinition service = autoBuild();
+			Preconditions.checkState(!service.pathSpec().trim().isEmpty(), "Service path spec must not be empty");
+			Preconditions.checkState(service.maxConcurrentRequests() > 0 || service.maxConcurrentRequests() == UNLIMITED, "Maximum number of concurrent requests must be strictly positive or -1");
+			Preconditions.checkState(service.maxQueuedRequests() >= UNLIMITED, "Maximum number of queued requests must be positive, zero or -1");
+			return service;
+		}
+	}
+}
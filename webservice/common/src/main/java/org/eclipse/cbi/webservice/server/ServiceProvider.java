@@ -0,0 +1,54 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.server;
+
+import java.nio.file.Path;
+
+import jakarta.servlet.Servlet;
+
+import org.eclipse.cbi.webservice.util.ProcessExecutor;
+import org.eclipse.cbi.webservice.util.PropertiesReader;
+
+/**
+ * A factory of the servlet of a service, looked up with
+ * {@link java.util.ServiceLoader} by the {@link MultiServiceServer}.
+ * Implementations must have a public no-arg constructor and be registered in
+ * {@code META-INF/services/org.eclipse.cbi.webservice.server.ServiceProvider}.
+ */
+public interface ServiceProvider {
+
+	/**
+	 * Returns the name of the service, as referenced by the
+	 * {@value EmbeddedServerProperties#SERVICES} property.
+	 *
+	 * @return the name of the service.
+	 */
+	String name();
+
+	/**
+	 * Creates the servlet serving the service.
+	 *
+	 * @param properties
+	 *            the properties the service configuration is read from.
+	 * @param tempFolder
+	 *            the temporary folder of the server.
+	 * @param processExecutor
+	 *            the executor to run the processes of the service with. It is
+	 *            created by the server from the same properties, so that the
+	 *            load of its governed tools is reported by {@code /ready}.
+	 * @return the servlet serving the service.
+	 * @throws Exception
+	 *             if the service can not be created.
+	 */
+	Servlet createServlet(PropertiesReader properties, Path tempFolder, ProcessExecutor processExecutor) throws Exception;
+}
@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.server;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.base.Preconditions;
+
+/**
+ * Settings of the TLS connector of an {@link EmbeddedServer}.
+ */
+@AutoValue
+public abstract class TlsConfiguration {
+
+	private static final String DEFAULT_KEYSTORE_TYPE = "PKCS12";
+
+	TlsConfiguration() {} // prevents instantiation and subclassing outside the package
+
+	/**
+	 * Returns the port the TLS connector will listen to.
+	 *
+	 * @return the port the TLS connector will listen to.
+	 */
+	abstract int port();
+
+	/**
+	 * Returns the keystore holding the server certificate and private key.
+	 *
+	 * @return the keystore holding the server certificate and private key.
+	 */
+	abstract Path keystore();
+
+	/**
+	 * Returns the password of the keystore.
+	 *
+	 * @return the password of the keystore.
+	 */
+	abstract String keystorePassword();
+
+	/**
+	 * Returns the type of the keystore, e.g. {@code PKCS12}.
+	 *
+	 * @return the type of the keystore.
+	 */
+	abstract String keystoreType();
+
+	/**
+	 * Creates and returns a new builder for this class.
+	 *
+	 * @return a new builder for this class.
+	 */
+	public static Builder builder() {
+		return new AutoValue_TlsConfiguration.Builder()
+			.keystoreType(DEFAULT_KEYSTORE_TYPE);
+	}
+
+	/**
+	 * A builder of {@link TlsConfiguration}.
+	 */
+	@AutoValue.Builder
+	public abstract static class Builder {
+		Builder() {}
+
+		/**
+		 * Sets the port the TLS connector will listen to.
+		 *
+		 * @param port
+		 *            the port of the TLS connector.
+		 * @return this builder for daisy chaining.
+		 */
+		public abstract Builder port(int port);
+
+		/**
+		 * Sets the keystore holding the server certificate and private key.
+		 *
+		 * @param keystore
+		 *            the keystore file.
+		 * @return this builder for daisy chaining.
+		 */
+		public abstract Builder keystore(Path keystore);
+
+		/**
+		 * Sets the password of the keystore.
+		 *
+		 * @param keystorePassword
+		 *            the password of the keystore.
+		 * @return this builder for daisy chaining.
+		 */
+		public abstract Builder keystorePassword(String keystorePassword);
+
+		/**
+		 * Sets the type of the keystore.
+		 *
+		 * @param keystoreType
+		 *            the type of the keystore, e.g. {@code PKCS12}.
+		 * @return this builder for daisy chaining.
+		 */
+		public abstract Builder keystoreType(String keystoreType);
+
+		abstract TlsConfiguration autoBuild();
+
+		/**
+		 * Creates and returns a new {@link TlsConfiguration}. The following
+		 * checks are done:
+		 * <ul>
+		 * <li>The port number must be stricly positive</li>
+		 * <li>The keystore must be an existing file</li>
+		 * </ul>
+		 *
+		 * @return a new {@link TlsConfiguration}.
+		 */
+		public TlsConfiguration build() {
+			TlsConfiguration configuration = autoBuild();
+			Preconditions.checkState(configuration.port() > 0, "TLS port must be strictly positive");
+			Preconditions.checkState(Files.isRegularFile(configuration.keystore()), "TLS keystore must be an existing file");
+			return configuration;
+		}
+	}
+}
@@ -0,0 +1,285 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.server;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.base.Preconditions;
+
+/**
+ * Sizing of the connectors, thread pool and request limits of an
+ * {@link EmbeddedServer}. The defaults are the ones of Jetty, except for the
+ * multipart file size threshold.
+ */
+@AutoValue
+public abstract class TuningConfiguration {
+
+	/** Lets Jetty compute the number of acceptors or selectors from the number of cores. */
+	static final int AUTO = -1;
+	/** No limit on the size of an uploaded file or of a multipart request. */
+	static final long UNLIMITED = -1L;
+
+	static final int DEFAULT_ACCEPT_QUEUE_SIZE = 0; // OS default
+	static final long DEFAULT_IDLE_TIMEOUT = 30_000; // 30s
+	static final int DEFAULT_MIN_THREADS = 8;
+	static final int DEFAULT_MAX_THREADS = 200;
+	static final int DEFAULT_THREAD_IDLE_TIMEOUT = 60_000; // 60s
+	static final int DEFAULT_OUTPUT_BUFFER_SIZE = 32*1024; // 32KiB
+	static final int DEFAULT_MULTIPART_FILE_SIZE_THRESHOLD = 8*1024*1024; // 8MiB
+
+	TuningConfiguration() {} // prevents instantiation and subclassing outside the package
+
+	/**
+	 * Returns the number of acceptor threads of each connector.
+	 *
+	 * @return the number of acceptor threads, or {@value #AUTO} to let Jetty decide.
+	 */
+	abstract int acceptors();
+
+	/**
+	 * Returns the number of selectors of each connector.
+	 *
+	 * @return the number of selectors, or {@value #AUTO} to let Jetty decide.
+	 */
+	abstract int selectors();
+
+	/**
+	 * Returns the size of the TCP backlog of each connector.
+	 *
+	 * @return the size of the TCP backlog, or 0 to use the OS default.
+	 */
+	abstract int acceptQueueSize();
+
+	/**
+	 * Returns the time in milliseconds after which an idle connection is closed.
+	 *
+	 * @return the connection idle timeout in milliseconds.
+	 */
+	abstract long idleTimeout();
+
+	/**
+	 * Returns the minimum number of threads of the server thread pool.
+	 *
+	 * @return the minimum number of threads.
+	 */
+	abstract int minThreads();
+
+	/**
+	 * Returns the maximum number of threads of the server thread pool.
+	 *
+	 * @return the maximum number of threads.
+	 */
+	abstract int maxThreads();
+
+	/**
+	 * Returns the time in milliseconds after which an idle thread above the
+	 * minimum is stopped.
+	 *
+	 * @return the thread idle timeout in milliseconds.
+	 */
+	abstract int threadIdleTimeout();
+
+	/**
+	 * Returns the size in bytes of the response buffer.
+	 *
+	 * @return the size of the response buffer.
+	 */
+	abstract int outputBufferSize();
+
+	/**
+	 * Returns the size in bytes above which a multipart part is written to
+	 * disk instead of being held in memory.
+	 *
+	 * @return the multipart file size threshold.
+	 */
+	abstract int multipartFileSizeThreshold();
+
+	/**
+	 * Returns the maximum size in bytes of an uploaded file.
+	 *
+	 * @return the maximum size of an uploaded file, or {@value #UNLIMITED}.
+	 */
+	abstract long maxFileSize();
+
+	/**
+	 * Returns the maximum size in bytes of a multipart request.
+	 *
+	 * @return the maximum size of a multipart request, or {@value #UNLIMITED}.
+	 */
+	abstract long maxRequestSize();
+
+	/**
+	 * Creates and returns a new builder for this class, initialized with the
+	 * default settings.
+	 *
+	 * @return a new builder for this class.
+	 */
+	public static Builder builder() {
+		return new AutoValue_TuningConfiguration.Builder()
+			.acceptors(AUTO)
+			.selectors(AUTO)
+			.acceptQueueSize(DEFAULT_ACCEPT_QUEUE_SIZE)
+			.idleTimeout(DEFAULT_IDLE_TIMEOUT)
+			.minThreads(DEFAULT_MIN_THREADS)
+			.maxThreads(DEFAULT_MAX_THREADS)
+			.threadIdleTimeout(DEFAULT_THREAD_IDLE_TIMEOUT)
+			.outputBufferSize(DEFAULT_OUTPUT_BUFFER_SIZE)
+			.multipartFileSizeThreshold(DEFAULT_MULTIPART_FILE_SIZE_THRESHOLD)
+			.maxFileSize(UNLIMITED)
+			.maxRequestSize(UNLIMITED);
+	}
+
+	/**
+	 * A builder of {@link TuningConfiguration}.
+	 */
+	@AutoValue.Builder
+	public abstract static class Builder {
+		Builder() {}
+
+		/**
+		 * Sets the number of acceptor threads of each connector.
+		 *
+		 * @param acceptors
+		 *            the number of acceptors, or -1 to let Jetty decide.
+		 * @return this builder for daisy chaining.
+		 */
+		public abstract Builder acceptors(int acceptors);
+
+		/**
+		 * Sets the number of selectors of each connector.
+		 *
+		 * @param selectors
+		 *            the number of selectors, or -1 to let Jetty decide.
+		 * @return this builder for daisy chaining.
+		 */
+		public abstract Builder selectors(int selectors);
+
+		/**
+		 * Sets the size of the TCP backlog of each connector.
+		 *
+		 * @param acceptQueueSize
+		 *            the size of the TCP backlog, or 0 to use the OS default.
+		 * @return this builder for daisy chaining.
+		 */
+		public abstract Builder acceptQueueSize(int acceptQueueSize);
+
+		/**
+		 * Sets the time in milliseconds after which an idle connection is
+		 * closed.
+		 *
+		 * @param idleTimeout
+		 *            the connection idle timeout in milliseconds.
+		 * @return this builder for daisy chaining.
+		 */
+		public abstract Builder idleTimeout(long idleTimeout);
+
+		/**
+		 * Sets the minimum number of threads of the server thread pool.
+		 *
+		 * @param minThreads
+		 *            the minimum number of threads.
+		 * @return this builder for daisy chaining.
+		 */
+		public abstract Builder minThreads(int minThreads);
+
+		/**
+		 * Sets the maximum number of threads of the server thread pool.
+		 *
+		 * @param maxThreads
+		 *            the maximum number of threads.
+		 * @return this builder for daisy chaining.
+		 */
+		public abstract Builder maxThreads(int maxThreads);
+
+		/**
+		 * Sets the time in milliseconds after which an idle thread above the
+		 * minimum is stopped.
+		 *
+		 * @param threadIdleTimeout
+		 *            the thread idle timeout in milliseconds.
+		 * @return this builder for daisy chaining.
+		 */
+		public abstract Builder threadIdleTimeout(int threadIdleTimeout);
+
+		/**
+		 * Sets the size in bytes of the response buffer.
+		 *
+		 * @param outputBufferSize
+		 *            the size of the response buffer.
+		 * @return this builder for daisy chaining.
+		 */
+		public abstract Builder outputBufferSize(int outputBufferSize);
+
+		/**
+		 * Sets the size in bytes above which a multipart part is written to
+		 * disk.
+		 *
+		 * @param multipartFileSizeThreshold
+		 *            the multipart file size threshold.
+		 * @return this builder for daisy chaining.
+		 */
+		public abstract Builder multipartFileSizeThreshold(int multipartFileSizeThreshold);
+
+		/**
+		 * Sets the maximum size in bytes of an uploaded file.
+		 *
+		 * @param maxFileSize
+		 *            the maximum size of an uploaded file, or -1 for no limit.
+		 * @return this builder for daisy chaining.
+		 */
+		public abstract Builder maxFileSize(long maxFileSize);
+
+		/**
+		 * Sets the maximum size in bytes of a multipart request.
+		 *
+		 * @param maxRequestSize
+		 *            the maximum size of a multipart request, or -1 for no
+		 *            limit.
+		 * @return this builder for daisy chaining.
+		 */
+		public abstract Builder maxRequestSize(long maxRequestSize);
+
+		abstract TuningConfiguration autoBuild();
+
+		/**
+		 * Creates and returns a new {@link TuningConfiguration}. The following
+		 * checks are done:
+		 * <ul>
+		 * <li>The number of acceptors and selectors must be positive, zero or -1</li>
+		 * <li>The TCP backlog size must be positive or zero</li>
+		 * <li>The idle timeouts must be strictly positive</li>
+		 * <li>The minimum number of threads must be strictly positive and not
+		 * greater than the maximum number of threads</li>
+		 * <li>The output buffer size must be strictly positive</li>
+		 * <li>The multipart file size threshold must be positive or zero</li>
+		 * <li>The maximum file and request sizes must be strictly positive or -1</li>
+		 * </ul>
+		 *
+		 * @return a new {@link TuningConfiguration}.
+		 */
+		public TuningConfiguration build() {
+			TuningConfiguration configuration = autoBuild();
+			Preconditions.checkState(configuration.acceptors() >= AUTO, "Number of acceptors must be positive, zero or -1");
+			Preconditions.checkState(configuration.selectors() >= AUTO, "Number of selectors must be positive, zero or -1");
+			Preconditions.checkState(configuration.acceptQueueSize() >= 0, "Accept queue size must be positive or zero");
+			Preconditions.checkState(configuration.idleTimeout() > 0, "Connection idle timeout must be strictly positive");
+			Preconditions.checkState(configuration.minThreads() > 0, "Minimum number of threads must be strictly positive");
+			Preconditions.checkState(configuration.maxThreads() >= configuration.minThreads(), "Maximum number of threads must not be smaller than the minimum");
+			Preconditions.checkState(configuration.threadIdleTimeout() > 0, "Thread idle timeout must be strictly positive");
+			Preconditions.checkState(configuration.outputBufferSize() > 0, "Output buffer size must be strictly positive");
+			Preconditions.checkState(configuration.multipartFileSizeThreshold() >= 0, "Multipart file size threshold must be positive or zero");
+			Preconditions.checkState(configuration.maxFileSize() > 0 || configuration.maxFileSize() == UNLIMITED, "Maximum file size must be strictly positive or -1");
+			Preconditions.checkState(configuration.maxRequestSize() > 0 || configuration.maxRequestSize() == UNLIMITED, "Maximum request size must be strictly positive or -1");
+			return configuration;
+		}
+	}
+}
@@ -0,0 +1,382 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.servlet;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import com.google.common.io.MoreFiles;
+import com.google.common.io.RecursiveDeleteOption;
+import com.google.common.net.HttpHeaders;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * The asynchronous jobs of a service, for requests that take too long to keep
+ * the connection open until they complete.
+ * <p>
+ * A client submits a job by adding the {@value #ASYNC_PARAMETER} parameter to
+ * its usual {@code POST} request. The service answers right away with
+ * {@code 202 Accepted} and a {@code Location} header to poll. Polling and
+ * downloading are {@code GET} requests on the URL of the service:
+ * <ul>
+ * <li>{@code ?job=<id>} answers the status of the job as {@code key=value}
+ * lines: {@code id}, {@code state} (one of {@link Job.State}),
+ * {@code progress}, {@code elapsed} in seconds, and {@code error} or
+ * {@code result} (the URL to download the result) once the job is done;</li>
+ * <li>{@code ?result=<id>} downloads the result of the job, as many times as
+ * needed until it expires.</li>
+ * </ul>
+ * Finished jobs and their results are kept for a given retention time, and at
+ * most a given number of them are kept. Unknown and expired jobs are answered
+ * with {@code 404 Not Found}.
+ */
+public final class JobRegistry {
+
+	private static final Logger logger = LoggerFactory.getLogger(JobRegistry.class);
+
+	/**
+	 * The request parameter asking for an asynchronous job.
+	 */
+	public static final String ASYNC_PARAMETER = "async";
+
+	static final String JOB_PARAMETER = "job";
+	static final String RESULT_PARAMETER = "result";
+
+	private static final String STATUS_MEDIA_TYPE = "text/plain";
+
+	private static final ScheduledExecutorService REAPER = Executors.newSingleThreadScheduledExecutor(
+			new ThreadFactoryBuilder().setNameFormat("Job-Registry-Reaper-%d").setDaemon(true).build());
+
+	private final Path folder;
+	private final String resultMediaType;
+	private final Duration retention;
+	private final int maxFinishedJobs;
+	private final ConcurrentMap<String, Job> jobs;
+	private final AtomicLong sequence;
+
+	/**
+	 * Creates a new registry.
+	 *
+	 * @param folder
+	 *            the folder of the results of the jobs.
+	 * @param resultMediaType
+	 *            the media type of the results of the jobs.
+	 * @param retention
+	 *            how long finished jobs and their results are kept.
+	 * @param maxFinishedJobs
+	 *            the maximum number of finished jobs kept, the oldest ones are
+	 *            dropped first.
+	 */
+	public JobRegistry(Path folder, String resultMediaType, Duration retention, int maxFinishedJobs) {
+		Preconditions.checkArgument(!retention.isNegative() && !retention.isZero(), "Retention of the jobs must be strictly positive");
+		Preconditions.checkArgument(maxFinishedJobs > 0, "Maximum number of finished jobs must be strictly positive");
+		this.folder = folder;
+		this.resultMediaType = resultMediaType;
+		this.retention = retention;
+		this.maxFinishedJobs = maxFinishedJobs;
+		this.jobs = new ConcurrentHashMap<>();
+		this.sequence = new AtomicLong();
+		long period = Math.max(1, Math.min(TimeUnit.MINUTES.toSeconds(1), retention.getSeconds()));
+		REAPER.scheduleWithFixedDelay(this::evict, period, period, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * The work of a job.
+	 */
+	@FunctionalInterface
+	public interface Task {
+		/**
+		 * Does the work of the job.
+		 *
+		 * @param job
+		 *            the job, to report progress and to get the folder where
+		 *            the result must be created.
+		 * @return the result, in the {@link Job#folder() folder} of the job.
+		 * @throws Exception
+		 *             if the job fails.
+		 */
+		Path run(Job job) throws Exception;
+	}
+
+	/**
+	 * Submits a new job.
+	 *
+	 * @param task
+	 *            the work of the job.
+	 * @param executor
+	 *            the executor to run the job with.
+	 * @return the submitted job.
+	 * @throws IOException
+	 *             if the folder of the job can't be created.
+	 * @throws RejectedExecutionException
+	 *             if the executor does not accept any more jobs.
+	 */
+	public Job submit(Task task, Executor executor) throws IOException {
+		String id = UUID.randomUUID().toString();
+		Job job = new Job(id, sequence.incrementAndGet(), Files.createDirectories(folder.resolve(id)));
+		jobs.put(id, job);
+		try {
+			executor.execute(() -> job.run(task));
+		} catch (RejectedExecutionException e) {
+			jobs.remove(id);
+			deleteQuietly(job.folder());
+			throw e;
+		}
+		logger.info("Job '{}' has been submitted", id);
+		return job;
+	}
+
+	/**
+	 * Returns the job with the given id, if it has not expired.
+	 *
+	 * @param id
+	 *            the id of the job.
+	 * @return the job.
+	 */
+	public Optional<Job> find(String id) {
+		return Optional.ofNullable(jobs.get(Strings.nullToEmpty(id)));
+	}
+
+	/**
+	 * Answers the submission of the given job with {@code 202 Accepted} and its
+	 * status.
+	 *
+	 * @param job
+	 *            the submitted job.
+	 * @param request
+	 *            the submission request.
+	 * @param response
+	 *            the response to the submission.
+	 * @throws IOException
+	 *             if the response can't be written.
+	 */
+	public void replyAccepted(Job job, HttpServletRequest request, HttpServletResponse response) throws IOException {
+		response.setHeader(HttpHeaders.LOCATION, statusUrl(request, job));
+		replyWithStatus(job, request, response, HttpServletResponse.SC_ACCEPTED);
+	}
+
+	/**
+	 * Answers a {@code GET} request on the service, either for the status or
+	 * for the result of a job.
+	 *
+	 * @param request
+	 *            the request.
+	 * @param response
+	 *            the response.
+	 * @throws IOException
+	 *             if the response can't be written.
+	 */
+	public void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+		ResponseFacade responseFacade = ResponseFacade.builder().servletResponse(response).build();
+		String statusId = request.getParameter(JOB_PARAMETER);
+		String resultId = request.getParameter(RESULT_PARAMETER);
+		if (statusId == null && resultId == null) {
+			responseFacade.replyError(HttpServletResponse.SC_BAD_REQUEST, "The request must have a '" + JOB_PARAMETER + "' or a '" + RESULT_PARAMETER + "' parameter");
+			return;
+		}
+		Optional<Job> job = find(statusId != null ? statusId : resultId);
+		if (!job.isPresent()) {
+			responseFacade.replyError(HttpServletResponse.SC_NOT_FOUND, "Unknown or expired job");
+		} else if (statusId != null) {
+			replyWithStatus(job.get(), request, response, HttpServletResponse.SC_OK);
+		} else {
+			Path result = job.get().result;
+			if (result == null) {
+				responseFacade.replyError(HttpServletResponse.SC_CONFLICT, "Job is " + job.get().state());
+			} else {
+				responseFacade.replyWithFile(resultMediaType, result.getFileName().toString(), result);
+			}
+		}
+	}
+
+	private static void replyWithStatus(Job job, HttpServletRequest request, HttpServletResponse response, int statusCode) throws IOException {
+		response.setStatus(statusCode);
+		response.setContentType(STATUS_MEDIA_TYPE);
+		response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+		PrintWriter writer = response.getWriter();
+		writer.print("id=" + job.id() + "\n");
+		writer.print("state=" + job.state() + "\n");
+		writer.print("progress=" + singleLine(job.progress()) + "\n");
+		writer.print("elapsed=" + Duration.between(job.submitted, job.finished != null ? job.finished : Instant.now()).getSeconds() + "\n");
+		if (job.state() == Job.State.FAILED) {
+			writer.print("error=" + singleLine(job.error) + "\n");
+		} else if (job.state() == Job.State.SUCCEEDED) {
+			writer.print("result=" + serviceUrl(request) + "?" + RESULT_PARAMETER + "=" + job.id() + "\n");
+		}
+		writer.flush();
+	}
+
+	private static String statusUrl(HttpServletRequest request, Job job) {
+		return serviceUrl(request) + "?" + JOB_PARAMETER + "=" + job.id();
+	}
+
+	private static String serviceUrl(HttpServletRequest request) {
+		return request.getRequestURL().toString();
+	}
+
+	private static String singleLine(String message) {
+		return Strings.nullToEmpty(message).replaceAll("\\s+", " ").trim();
+	}
+
+	/**
+	 * Drops the finished jobs that have expired, and the oldest finished jobs
+	 * beyond the maximum number to keep.
+	 */
+	void evict() {
+		Instant expiry = Instant.now().minus(retention);
+		List<Job> finished = jobs.values().stream()
+				.filter(job -> job.finished != null)
+				.sorted(Comparator.comparing((Job job) -> job.finished).thenComparingLong(job -> job.sequence).reversed())
+				.collect(Collectors.toList());
+		for (int i = 0; i < finished.size(); i++) {
+			Job job = finished.get(i);
+			if (i >= maxFinishedJobs || job.finished.isBefore(expiry)) {
+				jobs.remove(job.id());
+				deleteQuietly(job.folder());
+				logger.info("Job '{}' has expired", job.id());
+			}
+		}
+	}
+
+	private static void deleteQuietly(Path jobFolder) {
+		try {
+			MoreFiles.deleteRecursively(jobFolder, RecursiveDeleteOption.ALLOW_INSECURE);
+		} catch (IOException e) {
+			logger.error("Error occurred while deleting the job folder '{}'", jobFolder, e);
+		}
+	}
+
+	/**
+	 * A job of the registry.
+	 */
+	public static final class Job {
+
+		/**
+		 * The states of a job.
+		 */
+		public enum State {
+			QUEUED, RUNNING, SUCCEEDED, FAILED
+		}
+
+		private final String id;
+		private final long sequence;
+		private final Path folder;
+		private final Instant submitted;
+		private volatile State state;
+		private volatile String progress;
+		private volatile Path result;
+		private volatile String error;
+		private volatile Instant finished;
+
+		Job(String id, long sequence, Path folder) {
+			this.id = id;
+			this.sequence = sequence;
+			this.folder = folder;
+			this.submitted = Instant.now();
+			this.state = State.QUEUED;
+			this.progress = "Waiting to be run";
+		}
+
+		void run(Task task) {
+			state = State.RUNNING;
+			progress = "Running";
+			try {
+				Path taskResult = task.run(this);
+				Preconditions.checkState(taskResult.startsWith(folder) && Files.isRegularFile(taskResult), "Result of the job must be a file in its folder");
+				result = taskResult;
+				progress = "Done";
+				state = State.SUCCEEDED;
+				logger.info("Job '{}' has succeeded", id);
+			} catch (Exception e) {
+				logger.error("Job '{}' has failed", id, e);
+				error = Strings.isNullOrEmpty(e.getMessage()) ? e.getClass().getSimpleName() : e.getMessage();
+				state = State.FAILED;
+			} finally {
+				finished = Instant.now();
+			}
+		}
+
+		/**
+		 * Returns the id of the job.
+		 *
+		 * @return the id of the job.
+		 */
+		public String id() {
+			return id;
+		}
+
+		/**
+		 * Returns the folder where the result of the job must be created. It
+		 * is deleted when the job expires.
+		 *
+		 * @return the folder of the job.
+		 */
+		public Path folder() {
+			return folder;
+		}
+
+		/**
+		 * Returns the state of the job.
+		 *
+		 * @return the state of the job.
+		 */
+		public State state() {
+			return state;
+		}
+
+		/**
+		 * Returns the last progress reported by the job.
+		 *
+		 * @return the progress of the job.
+		 */
+		public String progress() {
+			return progress;
+		}
+
+		/**
+		 * Reports the progress of the job, e.g., the step it is running.
+		 *
+		 * @param message
+		 *            the progress of the job.
+		 */
+		public void progress(String message) {
+			this.progress = message;
+		}
+	}
+}
@@ -15,12 +15,20 @@ package org.eclipse.cbi.webservice.servlet;
 import static com.google.common.base.Preconditions.checkState;
 
 import java.io.Closeable;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.security.SecureRandom;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -29,11 +37,17 @@ import jakarta.servlet.annotation.MultipartConfig;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.Part;
 
+import org.eclipse.jetty.ee9.nested.MultiPartFormInputStream;
+import org.eclipse.jetty.ee9.nested.MultiPartInputStreamLegacyParser;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.auto.value.AutoValue;
 import com.google.common.base.Strings;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.MoreFiles;
 
 /**
  * A facade to {@link HttpServletRequest}.
@@ -43,10 +57,19 @@ public abstract class RequestFacade implements Closeable {
 
 	private final static Logger logger = LoggerFactory.getLogger(RequestFacade.class);
 
+	/** Size of the buffer used to stream part content to disk */
+	private static final int TRANSFER_BUFFER_SIZE = 64 * 1024;
+
 	private final Set<Part> partToDelete;
+	private final Set<Path> pathToDelete;
+	private final Map<String, Path> partPaths;
+	private final Map<String, HashCode> partDigests;
 
 	RequestFacade() { //prevents subclassing and instantiation outside package
 		this.partToDelete = new LinkedHashSet<>();
+		this.pathToDelete = new LinkedHashSet<>();
+		this.partPaths = new LinkedHashMap<>();
+		this.partDigests = new LinkedHashMap<>();
 	}
 
 	/**
@@ -180,6 +203,13 @@ public abstract class RequestFacade implements Closeable {
 	 * <p>
 	 * The file name will be prefixed with the given string and suffixed with
 	 * the other one.
+	 * <p>
+	 * The content of the part is written to disk only once: if the container
+	 * already spooled the part to a file, this file is moved to the returned
+	 * path with {@link Part#write(String)}. Otherwise, the part has been kept
+	 * in memory and is streamed to the returned file, its SHA-256 digest being
+	 * computed on the fly. The digest can then be retrieved with
+	 * {@link #getPartDigest(String)}.
 	 *
 	 * @param partName
 	 *            the name of the part with the desired file
@@ -198,21 +228,86 @@ public abstract class RequestFacade implements Closeable {
 		Part part = request().getPart(partName);
 		if (part != null) {
 			Path generatedPath = generatePath(Strings.nullToEmpty(prefix), "-" + Strings.nullToEmpty(part.getSubmittedFileName()) + Strings.nullToEmpty(suffix));
-			// may rename in the temp folder as specified in MultipartConfig
-			part.write(tempFolder().relativize(generatedPath).toString());
-
-			if (!Files.exists(generatedPath)) {
-				ret = null;
+			this.partToDelete.add(part);
+			this.pathToDelete.add(generatedPath);
+			this.partDigests.remove(partName);
+			if (spooledFile(part) != null) {
+				// renames the spooled file, its digest is computed on demand
+				part.write(generatedPath.toString());
 			} else {
-				this.partToDelete.add(part);
-				ret = generatedPath;
+				try (InputStream partInputStream = part.getInputStream()) {
+					this.partDigests.put(partName, transfer(partInputStream, generatedPath));
+				} catch (IOException e) {
+					Files.deleteIfExists(generatedPath);
+					throw e;
+				}
 			}
+			this.partPaths.put(partName, generatedPath);
+			ret = generatedPath;
 		} else {
 			ret = null;
 		}
 		return Optional.ofNullable(ret);
 	}
 
+	/**
+	 * Returns the SHA-256 digest of the content of the part with the given
+	 * name, as written to disk the last time by
+	 * {@link #getPartPath(String, String, String)}. It is meant to be used as
+	 * a cache key for the uploaded content.
+	 *
+	 * @param partName
+	 *            the name of the part
+	 * @return the digest of the part content, or {@link Optional#empty()} if
+	 *         the part has not been written to disk yet.
+	 * @throws IOException
+	 *             if the part has been moved from the container spool and its
+	 *             file can't be read.
+	 */
+	public Optional<HashCode> getPartDigest(String partName) throws IOException {
+		HashCode digest = partDigests.get(partName);
+		Path path = partPaths.get(partName);
+		if (digest == null && path != null) {
+			digest = MoreFiles.asByteSource(path).hash(Hashing.sha256());
+			partDigests.put(partName, digest);
+		}
+		return Optional.ofNullable(digest);
+	}
+
+	/**
+	 * Returns the file to which the container has spooled the given part, or
+	 * {@code null} if the part is kept in memory (or of an unknown kind).
+	 */
+	private static File spooledFile(Part part) {
+		if (part instanceof MultiPartFormInputStream.MultiPart multiPart) {
+			return multiPart.getFile();
+		} else if (part instanceof MultiPartInputStreamLegacyParser.MultiPart multiPart) {
+			return multiPart.getFile();
+		}
+		return null;
+	}
+
+	/**
+	 * Streams the given input to a new file at the given path, and returns the
+	 * SHA-256 digest of the transfered bytes.
+	 */
+	private static HashCode transfer(InputStream source, Path target) throws IOException {
+		Hasher hasher = Hashing.sha256().newHasher();
+		ByteBuffer buffer = ByteBuffer.allocate(TRANSFER_BUFFER_SIZE);
+		try (ReadableByteChannel in = Channels.newChannel(source);
+				FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+			while (in.read(buffer) != -1) {
+				buffer.flip();
+				hasher.putBytes(buffer.duplicate());
+				while (buffer.hasRemaining()) {
+					out.write(buffer);
+				}
+				buffer.clear();
+			}
+		}
+		return hasher.hash();
+	}
+
 	/**
 	 * Returns the submitted file name of the part with the given name. If the
 	 * decorated request has no request with the given name, it will return
@@ -297,6 +392,13 @@ public abstract class RequestFacade implements Closeable {
 
 	@Override
 	public void close() {
+		pathToDelete.forEach(p -> {
+			try {
+				Files.deleteIfExists(p);
+			} catch (Exception e) {
+				logger.error("Error occurred while deleting a temporary file", e);
+			}
+		});
 		partToDelete.forEach(p -> {
 			try {
 				p.delete();
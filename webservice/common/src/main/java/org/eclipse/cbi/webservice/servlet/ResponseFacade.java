@@ -13,6 +13,7 @@
 package org.eclipse.cbi.webservice.servlet;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
@@ -95,6 +96,51 @@ public abstract class ResponseFacade {
 		servletResponse().flushBuffer();
 	}
 
+	/**
+	 * Writes the body of a response whose length is not known in advance.
+	 */
+	@FunctionalInterface
+	public interface BodyWriter {
+		/**
+		 * Writes the body to the given stream.
+		 *
+		 * @param body
+		 *            the stream of the body of the response. It must not be
+		 *            closed.
+		 * @throws IOException
+		 *             if the body can't be written.
+		 */
+		void writeTo(OutputStream body) throws IOException;
+	}
+
+	/**
+	 * Sets the {@link HttpServletResponse} with the appropriate headers to send
+	 * back a file to the client as it is being produced. As the status and
+	 * headers are sent before the body, a failure while writing it can only be
+	 * reported by the body itself or by the connection being closed.
+	 *
+	 * @param contentType
+	 *            the content type of the file to be send
+	 * @param fileName
+	 *            the filename of the file to be send
+	 * @param body
+	 *            the writer of the content of the file
+	 * @throws IOException
+	 *             if the file can't be produced or sent.
+	 */
+	public void replyWithStream(String contentType, String fileName, BodyWriter body) throws IOException {
+		servletResponse().setContentType(contentType);
+
+		servletResponse().addHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName+ "\"");
+		servletResponse().addHeader(HttpHeaders.CACHE_CONTROL, "max-age=0,must-revalidate,no-cache,no-store");
+		servletResponse().addHeader(HttpHeaders.PRAGMA, "no-cache");
+
+		servletResponse().setStatus(HttpServletResponse.SC_OK);
+
+		body.writeTo(servletResponse().getOutputStream());
+		servletResponse().flushBuffer();
+	}
+
 	/**
 	 * Sets the {@link HttpServletResponse} with the appropriate headers to
 	 * notify an error during the processing of the request. It will dump the
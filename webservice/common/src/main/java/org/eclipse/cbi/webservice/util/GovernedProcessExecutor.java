@@ -0,0 +1,251 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * A {@link ProcessExecutor} that bounds the number of processes of a given
+ * tool running concurrently. The tool of a command is the file name of its
+ * first element, e.g. {@code codesign} for {@code /usr/bin/codesign}.
+ * Commands of tools without a limit are forked right away.
+ * <p>
+ * Callers wait for a slot in FIFO order. The time spent waiting is taken from
+ * the timeout of the call, so that a process which waited for a slot is given
+ * only what remains of the timeout to complete. A call that can't get a slot
+ * within its timeout fails with an {@link IOException}.
+ * <p>
+ * The wait and run times of the governed tools are reported by the
+ * {@code /ready} endpoint of the server the executor is given to, see
+ * {@code ServiceDefinition.Builder#processExecutor(ProcessExecutor)}.
+ */
+public final class GovernedProcessExecutor implements ProcessExecutor {
+
+	private static final Logger logger = LoggerFactory.getLogger(GovernedProcessExecutor.class);
+
+	private final ProcessExecutor delegate;
+	private final ImmutableMap<String, Semaphore> slots;
+	private final ImmutableMap<String, ToolMetrics> metrics;
+
+	/**
+	 * Creates a new governed executor.
+	 *
+	 * @param delegate
+	 *            the executor that will actually run the processes.
+	 * @param concurrencyLimits
+	 *            the maximum number of concurrent processes per tool name.
+	 */
+	public GovernedProcessExecutor(ProcessExecutor delegate, Map<String, Integer> concurrencyLimits) {
+		this.delegate = Objects.requireNonNull(delegate);
+		ImmutableMap.Builder<String, Semaphore> slotsBuilder = ImmutableMap.builder();
+		ImmutableMap.Builder<String, ToolMetrics> metricsBuilder = ImmutableMap.builder();
+		concurrencyLimits.forEach((tool, limit) -> {
+			Preconditions.checkArgument(limit > 0, "Concurrency limit of '%s' must be strictly positive", tool);
+			slotsBuilder.put(tool, new Semaphore(limit, true));
+			metricsBuilder.put(tool, new ToolMetrics());
+		});
+		this.slots = slotsBuilder.build();
+		this.metrics = metricsBuilder.build();
+	}
+
+	@Override
+	public int exec(ImmutableList<String> command, StringBuilder processOutput, long timeout, TimeUnit timeoutUnit) throws IOException {
+		return governed(command, timeout, timeoutUnit, (remaining, unit) -> delegate.exec(command, processOutput, remaining, unit));
+	}
+
+	@Override
+	public int exec(ImmutableList<String> command, Consumer<String> outputLines, StringBuilder processOutput, long timeout, TimeUnit timeoutUnit) throws IOException {
+		return governed(command, timeout, timeoutUnit, (remaining, unit) -> delegate.exec(command, outputLines, processOutput, remaining, unit));
+	}
+
+	/**
+	 * Runs the given execution once the tool of the command got a slot, with
+	 * what remains of the timeout.
+	 */
+	private int governed(ImmutableList<String> command, long timeout, TimeUnit timeoutUnit, Execution execution) throws IOException {
+		Preconditions.checkArgument(!command.isEmpty(), "Command must not be empty");
+		String tool = toolName(command.get(0));
+		Semaphore toolSlots = slots.get(tool);
+		ToolMetrics toolMetrics = metrics.get(tool);
+		if (toolSlots == null || toolMetrics == null) {
+			return execution.exec(timeout, timeoutUnit);
+		}
+
+		long timeoutNanos = timeoutUnit.toNanos(timeout);
+		long waitStart = System.nanoTime();
+		try {
+			if (!toolSlots.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS)) {
+				toolMetrics.rejected.increment();
+				logger.warn("Process '{}' could not get a slot within {} {} ({})", tool, timeout, timeoutUnit, toolMetrics);
+				throw new IOException("Process '" + tool + "' could not be started within " + timeout + " " + timeoutUnit + ", all of its slots are in use");
+			}
+		} catch (@SuppressWarnings("unused") InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Thread '" + Thread.currentThread().getName() + "' has been interrupted while waiting for a slot to start the process '" + tool + "'");
+		}
+
+		long waitNanos = System.nanoTime() - waitStart;
+		long runStart = System.nanoTime();
+		try {
+			return execution.exec(Math.max(timeoutNanos - waitNanos, 1), TimeUnit.NANOSECONDS);
+		} finally {
+			toolSlots.release();
+			long runNanos = System.nanoTime() - runStart;
+			toolMetrics.record(waitNanos, runNanos);
+			logger.debug("Process '{}' waited {}ms for a slot and ran for {}ms", tool, TimeUnit.NANOSECONDS.toMillis(waitNanos), TimeUnit.NANOSECONDS.toMillis(runNanos));
+		}
+	}
+
+	@Override
+	public int exec(ImmutableList<String> command, long timeout, TimeUnit timeoutUnit) throws IOException {
+		return exec(command, new StringBuilder(), timeout, timeoutUnit);
+	}
+
+	/**
+	 * Returns the wait and run time metrics of the governed tools.
+	 *
+	 * @return the metrics of the governed tools, by tool name.
+	 */
+	public ImmutableMap<String, ToolMetrics> metrics() {
+		return metrics;
+	}
+
+	/**
+	 * Returns the number of processes of the given tool that can be started
+	 * right away.
+	 *
+	 * @param tool
+	 *            the name of the tool.
+	 * @return the number of free slots, or {@link Integer#MAX_VALUE} if the
+	 *         tool is not governed.
+	 */
+	public int availableSlots(String tool) {
+		Semaphore toolSlots = slots.get(tool);
+		return toolSlots == null ? Integer.MAX_VALUE : toolSlots.availablePermits();
+	}
+
+	/**
+	 * Returns the number of processes of the given tool waiting for a slot.
+	 *
+	 * @param tool
+	 *            the name of the tool.
+	 * @return an estimate of the number of waiting processes, {@code 0} if the
+	 *         tool is not governed.
+	 */
+	public int queuedProcesses(String tool) {
+		Semaphore toolSlots = slots.get(tool);
+		return toolSlots == null ? 0 : toolSlots.getQueueLength();
+	}
+
+	/**
+	 * Returns whether a new process of the given tool would have to wait
+	 * behind others for a slot, i.e., all of the tool slots are in use and
+	 * processes are already waiting.
+	 *
+	 * @param tool
+	 *            the name of the tool.
+	 * @return {@code true} if the tool is saturated, {@code false} otherwise
+	 *         or if the tool is not governed.
+	 */
+	public boolean saturated(String tool) {
+		Semaphore toolSlots = slots.get(tool);
+		return toolSlots != null && toolSlots.availablePermits() == 0 && toolSlots.hasQueuedThreads();
+	}
+
+	@FunctionalInterface
+	private interface Execution {
+		int exec(long timeout, TimeUnit timeoutUnit) throws IOException;
+	}
+
+	static String toolName(String arg0) {
+		int lastSeparator = Math.max(arg0.lastIndexOf('/'), arg0.lastIndexOf('\\'));
+		return arg0.substring(lastSeparator + 1);
+	}
+
+	/**
+	 * Cumulated wait and run times of the processes of a tool.
+	 */
+	public static final class ToolMetrics {
+
+		private final LongAdder executions = new LongAdder();
+		private final LongAdder rejected = new LongAdder();
+		private final LongAdder waitNanos = new LongAdder();
+		private final LongAdder runNanos = new LongAdder();
+
+		ToolMetrics() {}
+
+		void record(long wait, long run) {
+			executions.increment();
+			waitNanos.add(wait);
+			runNanos.add(run);
+		}
+
+		/**
+		 * Returns the number of processes that have been run.
+		 *
+		 * @return the number of processes that have been run.
+		 */
+		public long executions() {
+			return executions.sum();
+		}
+
+		/**
+		 * Returns the number of processes that could not get a slot within
+		 * their timeout.
+		 *
+		 * @return the number of rejected processes.
+		 */
+		public long rejected() {
+			return rejected.sum();
+		}
+
+		/**
+		 * Returns the average time a process waited for a slot.
+		 *
+		 * @return the average wait time in milliseconds.
+		 */
+		public long averageWaitMillis() {
+			long count = executions.sum();
+			return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(waitNanos.sum() / count);
+		}
+
+		/**
+		 * Returns the average time a process ran once it got a slot.
+		 *
+		 * @return the average run time in milliseconds.
+		 */
+		public long averageRunMillis() {
+			long count = executions.sum();
+			return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(runNanos.sum() / count);
+		}
+
+		@Override
+		public String toString() {
+			return "executions=" + executions() + ", rejected=" + rejected() + ", wait.avg.ms=" + averageWaitMillis() + ", run.avg.ms=" + averageRunMillis();
+		}
+	}
+}
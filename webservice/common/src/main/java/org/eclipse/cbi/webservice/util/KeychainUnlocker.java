@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.util;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Joiner;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Unlocks a macOS keychain with {@code security unlock} on behalf of the
+ * signing tools, and remembers it has done so for a while. Within the session
+ * time to live, {@link #ensureUnlocked()} doesn't fork anything; once it has
+ * expired, the next caller unlocks the keychain again while the concurrent
+ * callers wait for it rather than unlocking it as well.
+ * <p>
+ * The time to live should be shorter than the auto-lock timeout of the
+ * keychain (see {@code security show-keychain-info}). In case the keychain is
+ * locked anyway (e.g., when the machine went to sleep),
+ * {@link #exec(ImmutableList, StringBuilder, long, TimeUnit)} unlocks it and
+ * runs the command again. A time to live of {@code 0} unlocks the keychain on
+ * each call.
+ */
+public final class KeychainUnlocker {
+
+	private static final Logger logger = LoggerFactory.getLogger(KeychainUnlocker.class);
+
+	/**
+	 * What {@code codesign} and {@code productsign} print when the keychain
+	 * holding the signing identity is locked in a non-interactive session.
+	 */
+	private static final ImmutableList<String> LOCKED_KEYCHAIN_ERRORS = ImmutableList.of(
+		"errSecInternalComponent",
+		"User interaction is not allowed");
+
+	private final ProcessExecutor processExecutor;
+	private final ImmutableList<String> securityUnlockCommand;
+	private final long securityUnlockTimeout;
+	private final long sessionTtlNanos;
+	private final Object lock;
+
+	private volatile long sessionExpiry;
+	private volatile boolean sessionOpen;
+
+	/**
+	 * Creates a new unlocker.
+	 *
+	 * @param processExecutor
+	 *            the executor of the {@code security} command.
+	 * @param keychain
+	 *            the keychain to unlock.
+	 * @param keychainPassword
+	 *            the password of the keychain.
+	 * @param securityUnlockTimeout
+	 *            the timeout of the {@code security unlock} command, in
+	 *            seconds.
+	 * @param sessionTtl
+	 *            the time the keychain is deemed to stay unlocked, in seconds.
+	 */
+	public KeychainUnlocker(ProcessExecutor processExecutor, Path keychain, String keychainPassword, long securityUnlockTimeout, long sessionTtl) {
+		Preconditions.checkArgument(securityUnlockTimeout > 0, "Security unlock timeout must be strictly positive");
+		Preconditions.checkArgument(sessionTtl >= 0, "Keychain session time to live must be positive or zero");
+		this.processExecutor = Objects.requireNonNull(processExecutor);
+		this.securityUnlockCommand = ImmutableList.of("security", "unlock", "-p", keychainPassword, keychain.toString());
+		this.securityUnlockTimeout = securityUnlockTimeout;
+		this.sessionTtlNanos = TimeUnit.SECONDS.toNanos(sessionTtl);
+		this.lock = new Object();
+	}
+
+	/**
+	 * Unlocks the keychain unless it has been unlocked less than the session
+	 * time to live ago.
+	 *
+	 * @throws IOException
+	 *             if the {@code security unlock} command failed.
+	 */
+	public void ensureUnlocked() throws IOException {
+		if (isSessionValid()) {
+			return;
+		}
+		synchronized (lock) {
+			if (isSessionValid()) { // unlocked by another thread while we were waiting
+				return;
+			}
+			unlock();
+			sessionExpiry = System.nanoTime() + sessionTtlNanos;
+			sessionOpen = true;
+		}
+	}
+
+	/**
+	 * Forgets that the keychain has been unlocked, so that the next call to
+	 * {@link #ensureUnlocked()} unlocks it again.
+	 */
+	public void invalidate() {
+		sessionOpen = false;
+	}
+
+	/**
+	 * Runs a command that needs the keychain to be unlocked. If it fails
+	 * because the keychain has been locked since the last unlock, the keychain
+	 * is unlocked and the command is run again.
+	 *
+	 * @param command
+	 *            the command to run.
+	 * @param processOutput
+	 *            the output of the command.
+	 * @param timeout
+	 *            the timeout of the command.
+	 * @param timeoutUnit
+	 *            the unit of the timeout.
+	 * @return the exit value of the command.
+	 * @throws IOException
+	 *             if the command or the unlock failed to run.
+	 */
+	public int exec(ImmutableList<String> command, StringBuilder processOutput, long timeout, TimeUnit timeoutUnit) throws IOException {
+		int exitValue = processExecutor.exec(command, processOutput, timeout, timeoutUnit);
+		if (exitValue != 0 && isLockedKeychainError(processOutput)) {
+			logger.info("Keychain has been locked before the end of the session, unlocking it and running '{}' again", command.get(0));
+			invalidate();
+			ensureUnlocked();
+			processOutput.setLength(0);
+			exitValue = processExecutor.exec(command, processOutput, timeout, timeoutUnit);
+		}
+		return exitValue;
+	}
+
+	private boolean isSessionValid() {
+		return sessionOpen && sessionTtlNanos > 0 && System.nanoTime() - sessionExpiry < 0;
+	}
+
+	static boolean isLockedKeychainError(CharSequence output) {
+		String text = output.toString();
+		return LOCKED_KEYCHAIN_ERRORS.stream().anyMatch(text::contains);
+	}
+
+	private void unlock() throws IOException {
+		final StringBuilder output = new StringBuilder();
+		final int securityExitValue = processExecutor.exec(securityUnlockCommand, output, securityUnlockTimeout, TimeUnit.SECONDS);
+		if (securityExitValue != 0) {
+			throw new IOException(Joiner.on('\n').join(
+					"The 'security unlock' command exited with value '" + securityExitValue + "'",
+					"'security unlock' output:",
+					output));
+		}
+	}
+}
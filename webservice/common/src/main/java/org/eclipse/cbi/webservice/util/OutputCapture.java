@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.util;
+
+import java.nio.file.Path;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.base.Preconditions;
+
+/**
+ * Bounds on the output of a process captured by a {@link ProcessExecutor}.
+ * The output of the process is written to a log file in {@link #logFolder()}
+ * by the operating system, and only its first {@link #headSize()} bytes and
+ * its last {@link #tailSize()} bytes are read back in memory once the process
+ * has exited. The log file is deleted afterwards unless {@link #keepLog()} is
+ * set.
+ */
+@AutoValue
+public abstract class OutputCapture {
+
+	static final int DEFAULT_HEAD_SIZE = 16*1024; // 16KiB
+	static final int DEFAULT_TAIL_SIZE = 48*1024; // 48KiB
+	static final boolean DEFAULT_KEEP_LOG = false;
+
+	OutputCapture() {} // prevents instantiation and subclassing outside the package
+
+	/**
+	 * Returns the number of bytes kept from the start of the output.
+	 *
+	 * @return the number of bytes kept from the start of the output.
+	 */
+	abstract int headSize();
+
+	/**
+	 * Returns the number of bytes kept from the end of the output.
+	 *
+	 * @return the number of bytes kept from the end of the output.
+	 */
+	abstract int tailSize();
+
+	/**
+	 * Returns the folder where the full output of the processes is written.
+	 *
+	 * @return the folder where the full output of the processes is written.
+	 */
+	abstract Path logFolder();
+
+	/**
+	 * Returns whether the file with the full output of a process is kept
+	 * after the process has exited.
+	 *
+	 * @return whether the full output is kept on disk.
+	 */
+	abstract boolean keepLog();
+
+	/**
+	 * Creates and returns a new builder for this class.
+	 *
+	 * @return a new builder for this class.
+	 */
+	public static Builder builder() {
+		return new AutoValue_OutputCapture.Builder()
+			.headSize(DEFAULT_HEAD_SIZE)
+			.tailSize(DEFAULT_TAIL_SIZE)
+			.keepLog(DEFAULT_KEEP_LOG);
+	}
+
+	/**
+	 * A builder of {@link OutputCapture}.
+	 */
+	@AutoValue.Builder
+	public abstract static class Builder {
+		Builder() {}
+
+		/**
+		 * Sets the number of bytes kept from the start of the output.
+		 *
+		 * @param headSize
+		 *            the number of bytes kept from the start of the output.
+		 * @return this builder for daisy chaining.
+		 */
+		public abstract Builder headSize(int headSize);
+
+		/**
+		 * Sets the number of bytes kept from the end of the output.
+		 *
+		 * @param tailSize
+		 *            the number of bytes kept from the end of the output.
+		 * @return this builder for daisy chaining.
+		 */
+		public abstract Builder tailSize(int tailSize);
+
+		/**
+		 * Sets the folder where the full output of the processes is written.
+		 *
+		 * @param logFolder
+		 *            the folder of the process logs. Must not be null.
+		 * @return this builder for daisy chaining.
+		 */
+		public abstract Builder logFolder(Path logFolder);
+
+		/**
+		 * Sets whether the file with the full output of a process is kept
+		 * after the process has exited.
+		 *
+		 * @param keepLog
+		 *            whether the full output is kept on disk.
+		 * @return this builder for daisy chaining.
+		 */
+		public abstract Builder keepLog(boolean keepLog);
+
+		abstract OutputCapture autoBuild();
+
+		/**
+		 * Creates and returns a new {@link OutputCapture}. The head and tail
+		 * sizes must be positive or zero.
+		 *
+		 * @return a new {@link OutputCapture}.
+		 */
+		public OutputCapture build() {
+			OutputCapture capture = autoBuild();
+			Preconditions.checkState(capture.headSize() >= 0, "Head size must be positive or zero");
+			Preconditions.checkState(capture.tailSize() >= 0, "Tail size must be positive or zero");
+			return capture;
+		}
+	}
+}
@@ -16,9 +16,15 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Objects;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
@@ -27,6 +33,7 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -85,8 +92,44 @@ public interface ProcessExecutor {
 	 */
 	int exec(ImmutableList<String> command, long timeout, TimeUnit timeoutUnit) throws IOException;
 
+	/**
+	 * Same as {@link #exec(ImmutableList, StringBuilder, long, TimeUnit)},
+	 * passing each line of the output of the process to the given consumer
+	 * once the process has completed. The consumer sees the whole output, even
+	 * when the executor only keeps part of it in {@code processOutput}.
+	 *
+	 * @param command
+	 *            the command to execute
+	 * @param outputLines
+	 *            the consumer of the lines of the output
+	 * @param processOutput
+	 *            where the stdout and stderr will be written to
+	 * @param timeout
+	 *            the amount of time to wait before killing the subprocess
+	 * @param timeoutUnit
+	 *            the unit of the amount of time to wait before killing the
+	 *            subprocess
+	 * @return the exit value of the process
+	 * @throws IOException
+	 *             if the process can not be started or if it has been
+	 *             {@link Process#destroyForcibly() destroyed} after the
+	 *             timeout.
+	 */
+	default int exec(ImmutableList<String> command, Consumer<String> outputLines, StringBuilder processOutput, long timeout, TimeUnit timeoutUnit) throws IOException {
+		Objects.requireNonNull(outputLines);
+		int exitValue = exec(command, processOutput, timeout, timeoutUnit);
+		processOutput.toString().lines().forEach(outputLines);
+		return exitValue;
+	}
+
 	/**
 	 * A basic implementation that will use a {@link ProcessBuilder} to build and run the {@link Process}.
+	 * <p>
+	 * By default, the whole output of the process is gathered in memory by a
+	 * stream gobbler thread. If an {@link OutputCapture} is given, the output
+	 * is rather redirected to a log file by the operating system, the
+	 * completion of the process is awaited with {@link Process#onExit()}, and
+	 * only the head and the tail of the output are read back in memory.
 	 */
 	class BasicImpl implements ProcessExecutor {
 
@@ -96,6 +139,29 @@ public interface ProcessExecutor {
 
 		private static final int STREAM_GLOBBER_GRACETIME = 3; // in seconds
 
+		private static final String NL = System.lineSeparator();
+
+		private final OutputCapture outputCapture;
+
+		/**
+		 * Creates an executor that gathers the whole output of the processes
+		 * in memory.
+		 */
+		public BasicImpl() {
+			this.outputCapture = null;
+		}
+
+		/**
+		 * Creates an executor that only keeps the head and the tail of the
+		 * output of the processes in memory.
+		 *
+		 * @param outputCapture
+		 *            the bounds on the captured output.
+		 */
+		public BasicImpl(OutputCapture outputCapture) {
+			this.outputCapture = Objects.requireNonNull(outputCapture);
+		}
+
 		/**
 		 * {@inheritDoc}
 		 */
@@ -108,6 +174,10 @@ public interface ProcessExecutor {
             logger.debug("Will execute '{}'", String.join(" ", command));
 			final String arg0 = command.iterator().next();
 
+			if (outputCapture != null) {
+				return execCaptured(command, arg0, null, processOutput, timeout, timeoutUnit);
+			}
+
 			ProcessBuilder pb = new ProcessBuilder(command);
 			pb.redirectErrorStream(true);
 
@@ -158,6 +228,102 @@ public interface ProcessExecutor {
 			return logOutput(arg0, p.exitValue(), processOutput);
 		}
 
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int exec(ImmutableList<String> command, Consumer<String> outputLines, StringBuilder processOutput, long timeout, TimeUnit timeoutUnit) throws IOException {
+			if (outputCapture == null) {
+				// the whole output is in processOutput
+				return ProcessExecutor.super.exec(command, outputLines, processOutput, timeout, timeoutUnit);
+			}
+			Objects.requireNonNull(command);
+			Preconditions.checkArgument(!command.isEmpty(), "Command must not be empty");
+			Objects.requireNonNull(outputLines);
+			Objects.requireNonNull(processOutput);
+			return execCaptured(command, command.get(0), outputLines, processOutput, timeout, timeoutUnit);
+		}
+
+		private int execCaptured(ImmutableList<String> command, String arg0, Consumer<String> outputLines, StringBuilder processOutput, long timeout, TimeUnit timeoutUnit) throws IOException {
+			final Path log = Files.createTempFile(outputCapture.logFolder(), "process-", ".log");
+			try {
+				ProcessBuilder pb = new ProcessBuilder(command);
+				pb.redirectErrorStream(true);
+				pb.redirectOutput(log.toFile());
+
+				logger.debug("Process '{}' starts, output is written to '{}'", arg0, log);
+
+				Process p = pb.start();
+				try {
+					p.onExit().get(timeout, timeoutUnit);
+				} catch (@SuppressWarnings("unused") TimeoutException e) {
+					p.destroyForcibly();
+					readCapturedOutput(log, processOutput);
+					throw new IOException(Joiner.on('\n').join(
+							"Process '" + arg0 + "' has been stopped forcibly. It did not complete in " + timeout + " " + timeoutUnit,
+							"Process '" + arg0 + "' output: " + processOutput.toString()));
+				} catch (InterruptedException e) { // we've been interrupted
+					p.destroyForcibly(); // kill the subprocess
+
+					logger.error("Thread '{}' has been interrupted while waiting for the process '{}' to complete.", Thread.currentThread().getName(), arg0, e);
+					readCapturedOutput(log, processOutput);
+					logger.error("Process '{}' output: {}", arg0, processOutput);
+
+					// Restore the interrupted status
+					Thread.currentThread().interrupt();
+					throw new InterruptedIOException("Thread '" + Thread.currentThread().getName() + "' has been interrupted while waiting for the process '" + arg0 + "' to complete.");
+				} catch (ExecutionException e) {
+					throw new IOException(e.getCause());
+				}
+
+				if (outputLines != null) {
+					// streams the log, whatever its size
+					try (BufferedReader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(log), StandardCharsets.UTF_8))) {
+						reader.lines().forEach(outputLines);
+					}
+				}
+				readCapturedOutput(log, processOutput);
+				return logOutput(arg0, p.exitValue(), processOutput);
+			} finally {
+				if (!outputCapture.keepLog()) {
+					Files.deleteIfExists(log);
+				}
+			}
+		}
+
+		/**
+		 * Appends the head and the tail of the given log file to the process
+		 * output. What's in between is replaced by a notice of the number of
+		 * omitted bytes.
+		 */
+		private void readCapturedOutput(Path log, StringBuilder processOutput) throws IOException {
+			try (FileChannel channel = FileChannel.open(log, StandardOpenOption.READ)) {
+				long size = channel.size();
+				int headSize = outputCapture.headSize();
+				int tailSize = outputCapture.tailSize();
+				if (size <= (long) headSize + tailSize) {
+					processOutput.append(read(channel, 0, (int) size));
+				} else {
+					processOutput.append(read(channel, 0, headSize));
+					processOutput.append(NL).append("[... ").append(size - headSize - tailSize).append(" bytes omitted");
+					if (outputCapture.keepLog()) {
+						processOutput.append(", full output in '").append(log).append('\'');
+					}
+					processOutput.append(" ...]").append(NL);
+					processOutput.append(read(channel, size - tailSize, tailSize));
+				}
+			}
+		}
+
+		private static String read(FileChannel channel, long position, int length) throws IOException {
+			ByteBuffer buffer = ByteBuffer.allocate(length);
+			while (buffer.hasRemaining() && channel.read(buffer, position + buffer.position()) >= 0) {
+				// read until the buffer is full or the end of the file is reached
+			}
+			buffer.flip();
+			return StandardCharsets.UTF_8.decode(buffer).toString();
+		}
+
 		private static void printStackTrace(Exception e, StringBuilder output) {
 			StringWriter stackTrace = new StringWriter();
 			e.printStackTrace(new PrintWriter(stackTrace));
@@ -211,7 +377,6 @@ public interface ProcessExecutor {
 		 */
 		private static final class StreamRedirection implements Callable<String> {
 
-			private static final String NL = System.lineSeparator();
 			private final InputStream is;
 
 			/**
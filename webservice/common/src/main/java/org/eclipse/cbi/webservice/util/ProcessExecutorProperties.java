@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.util;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * A reader of the {@link ProcessExecutor} related {@link java.util.Properties}.
+ */
+public final class ProcessExecutorProperties {
+
+	private static final boolean DEFAULT_OUTPUT_BOUNDED = false;
+
+	/** The key for the option whether only the head and tail of the process output should be kept in memory. */
+	public static final String OUTPUT_BOUNDED = "process.output.bounded";
+	/** The key for the number of bytes kept from the start of the process output. */
+	public static final String OUTPUT_HEAD_SIZE = "process.output.head";
+	/** The key for the number of bytes kept from the end of the process output. */
+	public static final String OUTPUT_TAIL_SIZE = "process.output.tail";
+	/** The key for the folder where the full process output is written. */
+	public static final String OUTPUT_LOG_FOLDER = "process.output.log.folder";
+	/** The key for the option whether the file with the full process output should be kept. */
+	public static final String OUTPUT_LOG_KEEP = "process.output.log.keep";
+	/** The prefix of the keys for the maximum number of concurrent processes of a tool, e.g. {@code process.limit.codesign}. */
+	public static final String CONCURRENCY_LIMIT_PREFIX = "process.limit.";
+	/** The key for the maximum number of long-lived worker processes of a tool, {@code 0} to fork a process per command. */
+	public static final String WORKERS_MAX = "process.workers.max";
+	/** The key for the number of jobs after which a worker process is recycled. */
+	public static final String WORKERS_JOBS_MAX = "process.workers.jobs.max";
+	/** The key for the time in milliseconds a worker process can stay idle before being checked again. */
+	public static final String WORKERS_CHECK_INTERVAL = "process.workers.check.interval";
+	/** The key for the time in milliseconds a worker process has to answer a health check. */
+	public static final String WORKERS_CHECK_TIMEOUT = "process.workers.check.timeout";
+
+	private final PropertiesReader propertiesReader;
+
+	/**
+	 * Default constructor.
+	 *
+	 * @param propertiesReader
+	 *            the properties from which configuration will be retrieved.
+	 */
+	public ProcessExecutorProperties(PropertiesReader propertiesReader) {
+		this.propertiesReader = propertiesReader;
+	}
+
+	/**
+	 * Gets the bounds on the captured process output if
+	 * {@value #OUTPUT_BOUNDED} is true. The sizes are read from
+	 * {@value #OUTPUT_HEAD_SIZE} and {@value #OUTPUT_TAIL_SIZE}, the log
+	 * folder from {@value #OUTPUT_LOG_FOLDER} and whether the logs are kept
+	 * from {@value #OUTPUT_LOG_KEEP}.
+	 *
+	 * @param defaultLogFolder
+	 *            the log folder if {@value #OUTPUT_LOG_FOLDER} is not
+	 *            specified, usually the temporary folder of the server.
+	 * @return the bounds on the captured output, or {@code null} if the
+	 *         whole output should be kept in memory.
+	 * @throws IllegalStateException
+	 *             if one of the sizes can not be parsed or is negative, or if
+	 *             the log folder is not a directory.
+	 */
+	public OutputCapture getOutputCapture(Path defaultLogFolder) {
+		if (!propertiesReader.getBoolean(OUTPUT_BOUNDED, DEFAULT_OUTPUT_BOUNDED)) {
+			return null;
+		}
+		Path logFolder = propertiesReader.getPath(OUTPUT_LOG_FOLDER, defaultLogFolder.toString());
+		if (!Files.isDirectory(logFolder)) {
+			throw new IllegalStateException("Process output log folder '" + logFolder + "' must be an existing directory");
+		}
+		return OutputCapture.builder()
+			.headSize(propertiesReader.getInt(OUTPUT_HEAD_SIZE, OutputCapture.DEFAULT_HEAD_SIZE))
+			.tailSize(propertiesReader.getInt(OUTPUT_TAIL_SIZE, OutputCapture.DEFAULT_TAIL_SIZE))
+			.logFolder(logFolder)
+			.keepLog(propertiesReader.getBoolean(OUTPUT_LOG_KEEP, OutputCapture.DEFAULT_KEEP_LOG))
+			.build();
+	}
+
+	/**
+	 * Gets the maximum number of concurrent processes per tool, read from the
+	 * properties starting with {@value #CONCURRENCY_LIMIT_PREFIX} followed by
+	 * the file name of the tool.
+	 *
+	 * @return the concurrency limits by tool name, empty if no tool is
+	 *         limited.
+	 * @throws IllegalStateException
+	 *             if one of the limits can not be parsed.
+	 */
+	public ImmutableMap<String, Integer> getConcurrencyLimits() {
+		ImmutableMap.Builder<String, Integer> limits = ImmutableMap.builder();
+		for (Map.Entry<String, String> entry : propertiesReader.toMap().entrySet()) {
+			String key = entry.getKey();
+			if (key.startsWith(CONCURRENCY_LIMIT_PREFIX) && key.length() > CONCURRENCY_LIMIT_PREFIX.length()) {
+				limits.put(key.substring(CONCURRENCY_LIMIT_PREFIX.length()), propertiesReader.getInt(key));
+			}
+		}
+		return limits.build();
+	}
+
+	/**
+	 * Gets the settings of the pool of long-lived worker processes if
+	 * {@value #WORKERS_MAX} is strictly positive. The recycling and health
+	 * check settings are read from {@value #WORKERS_JOBS_MAX},
+	 * {@value #WORKERS_CHECK_INTERVAL} and {@value #WORKERS_CHECK_TIMEOUT}.
+	 * Only the services whose tool has a worker implementation use it.
+	 *
+	 * @return the settings of the worker pool, or {@code null} if a process
+	 *         should be forked for each command.
+	 * @throws IllegalStateException
+	 *             if one of the values can not be parsed or is out of range.
+	 */
+	public WorkerPoolConfiguration getWorkerPoolConfiguration() {
+		int maxWorkers = propertiesReader.getInt(WORKERS_MAX, 0);
+		if (maxWorkers <= 0) {
+			return null;
+		}
+		return WorkerPoolConfiguration.builder()
+			.maxWorkers(maxWorkers)
+			.maxJobsPerWorker(propertiesReader.getInt(WORKERS_JOBS_MAX, WorkerPoolConfiguration.DEFAULT_MAX_JOBS_PER_WORKER))
+			.healthCheckInterval(propertiesReader.getLong(WORKERS_CHECK_INTERVAL, WorkerPoolConfiguration.DEFAULT_HEALTH_CHECK_INTERVAL))
+			.healthCheckTimeout(propertiesReader.getLong(WORKERS_CHECK_TIMEOUT, WorkerPoolConfiguration.DEFAULT_HEALTH_CHECK_TIMEOUT))
+			.build();
+	}
+
+	/**
+	 * Creates a {@link ProcessExecutor} according to these properties. If
+	 * some tools have a concurrency limit, the executor is a
+	 * {@link GovernedProcessExecutor}.
+	 *
+	 * @param defaultLogFolder
+	 *            the log folder if {@value #OUTPUT_LOG_FOLDER} is not
+	 *            specified.
+	 * @return a new {@link ProcessExecutor}.
+	 */
+	public ProcessExecutor createProcessExecutor(Path defaultLogFolder) {
+		OutputCapture outputCapture = getOutputCapture(defaultLogFolder);
+		ProcessExecutor executor = outputCapture == null ? new ProcessExecutor.BasicImpl() : new ProcessExecutor.BasicImpl(outputCapture);
+		ImmutableMap<String, Integer> concurrencyLimits = getConcurrencyLimits();
+		return concurrencyLimits.isEmpty() ? executor : new GovernedProcessExecutor(executor, concurrencyLimits);
+	}
+}
@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileDescriptor;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * The main loop of a long-lived worker process started by a
+ * {@link WorkerPoolProcessExecutor}. Jobs are read from the standard input of
+ * the process and their results are written to its standard output, one
+ * after the other:
+ * <ul>
+ * <li>a job is the number of its arguments followed by the arguments, an
+ * empty job being a health check;</li>
+ * <li>a result is the exit value of the job followed by the length and the
+ * UTF-8 bytes of its output.</li>
+ * </ul>
+ * Everything the job prints on {@link System#out} or {@link System#err} is
+ * part of its output. The loop ends when the standard input is closed.
+ */
+public final class ProcessWorker {
+
+	/**
+	 * The exit value of a job that the worker can't run. The job is then run
+	 * by forking the tool instead.
+	 */
+	public static final int UNSUPPORTED = Integer.MIN_VALUE;
+
+	/**
+	 * A job run by a worker process.
+	 */
+	@FunctionalInterface
+	public interface Job {
+		/**
+		 * Runs the job with the given arguments.
+		 *
+		 * @param arguments
+		 *            the arguments of the command, without the tool itself.
+		 * @param output
+		 *            the output of the job.
+		 * @return the exit value of the job, or {@link ProcessWorker#UNSUPPORTED}.
+		 * @throws Exception
+		 *             if the job failed. The stack trace is part of its output
+		 *             and the exit value is {@code 1}.
+		 */
+		int run(ImmutableList<String> arguments, PrintStream output) throws Exception;
+	}
+
+	private ProcessWorker() {}
+
+	/**
+	 * Runs the jobs read from the standard input until it is closed.
+	 *
+	 * @param job
+	 *            the job to run.
+	 * @throws IOException
+	 *             if the jobs can't be read or their results can't be written.
+	 */
+	@SuppressWarnings("resource")
+	public static void serve(Job job) throws IOException {
+		DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(FileDescriptor.in)));
+		DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out)));
+		ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+		PrintStream jobOutput = new PrintStream(buffer, true, StandardCharsets.UTF_8);
+		System.setOut(jobOutput);
+		System.setErr(jobOutput);
+
+		while (true) {
+			final ImmutableList<String> arguments;
+			try {
+				arguments = readJob(in);
+			} catch (@SuppressWarnings("unused") EOFException e) {
+				return;
+			}
+
+			buffer.reset();
+			int exitValue = 0;
+			if (!arguments.isEmpty()) {
+				try {
+					exitValue = job.run(arguments, jobOutput);
+				} catch (Exception e) {
+					e.printStackTrace(jobOutput);
+					exitValue = 1;
+				}
+			}
+			jobOutput.flush();
+			writeResult(out, exitValue, buffer.toByteArray());
+		}
+	}
+
+	static ImmutableList<String> readJob(DataInputStream in) throws IOException {
+		int count = in.readInt();
+		List<String> arguments = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			arguments.add(in.readUTF());
+		}
+		return ImmutableList.copyOf(arguments);
+	}
+
+	static void writeJob(DataOutputStream out, List<String> arguments) throws IOException {
+		out.writeInt(arguments.size());
+		for (String argument : arguments) {
+			out.writeUTF(argument);
+		}
+		out.flush();
+	}
+
+	static void writeResult(DataOutputStream out, int exitValue, byte[] output) throws IOException {
+		out.writeInt(exitValue);
+		out.writeInt(output.length);
+		out.write(output);
+		out.flush();
+	}
+}
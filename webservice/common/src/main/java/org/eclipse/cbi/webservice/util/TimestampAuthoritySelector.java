@@ -0,0 +1,371 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Chooses the timestamping authorities (TSA) to send the timestamp requests
+ * of the signing services to, according to how they have been doing lately.
+ * <p>
+ * The latency and the outcome of the last requests sent to each authority are
+ * kept for a while. {@link #authorities()} orders the authorities by their
+ * expected time to get a timestamp, i.e., their average latency divided by
+ * their success rate. The authorities without recent requests come first, in
+ * configuration order, so that an authority that has been failing is tried
+ * again once its failures are forgotten.
+ * <p>
+ * {@link #request(Request, int)} sends a request to the best authority and
+ * fails over to the next ones. When hedging is enabled, it also sends the
+ * request to the next authority if the first one hasn't answered within the
+ * given percentile of its recent latencies, and takes the first answer. An
+ * attempt outrun by another one is recorded as a failure that took at least
+ * the hedging delay, so that the authority that has just been outrun no
+ * longer ranks first and is hedged sooner.
+ */
+public final class TimestampAuthoritySelector {
+
+	private static final Logger logger = LoggerFactory.getLogger(TimestampAuthoritySelector.class);
+
+	private static final int WINDOW_SIZE = 100;
+	private static final long SAMPLE_MAX_AGE = TimeUnit.MINUTES.toNanos(10);
+	private static final int MIN_HEDGING_SAMPLES = 5;
+	private static final double MIN_SUCCESS_RATE = 0.05;
+
+	/**
+	 * What the signing tools print when the timestamping fails: jarsigner
+	 * reports the network errors of its request (e.g., an
+	 * {@code UnknownHostException} or an HTTP error code for the authority
+	 * URL), osslsigncode its curl failures and failed timestamping.
+	 */
+	private static final Pattern TIMESTAMPING_FAILURE = Pattern.compile(
+		"\\btsa\\b|timestamping|curl|SocketTimeoutException|UnknownHostException|ConnectException|NoRouteToHostException|Server returned HTTP response code",
+		Pattern.CASE_INSENSITIVE);
+
+	private static final ExecutorService REQUEST_EXECUTOR = Executors.newCachedThreadPool(
+		new ThreadFactoryBuilder().setNameFormat("Timestamp-Authority-%d").setDaemon(true).build());
+
+	/**
+	 * A request to a timestamping authority.
+	 *
+	 * @param <T>
+	 *            the type of the answer.
+	 */
+	@FunctionalInterface
+	public interface Request<T> {
+		/**
+		 * Sends the request to the given authority.
+		 *
+		 * @param authority
+		 *            the URI of the authority.
+		 * @return the answer of the authority.
+		 * @throws Exception
+		 *             if the authority could not be reached or rejected the
+		 *             request.
+		 */
+		T send(URI authority) throws Exception;
+	}
+
+	private final ImmutableList<URI> configured;
+	private final ImmutableMap<URI, Samples> samples;
+	private final int hedgingPercentile;
+
+	/**
+	 * Creates a selector without hedging.
+	 *
+	 * @param authorities
+	 *            the URIs of the authorities, in order of preference.
+	 */
+	public TimestampAuthoritySelector(List<URI> authorities) {
+		this(authorities, 0);
+	}
+
+	/**
+	 * Creates a selector.
+	 *
+	 * @param authorities
+	 *            the URIs of the authorities, in order of preference.
+	 * @param hedgingPercentile
+	 *            the percentile of the latencies of an authority after which
+	 *            the request is also sent to the next one, between 1 and 99;
+	 *            {@code 0} to disable hedging.
+	 */
+	public TimestampAuthoritySelector(List<URI> authorities, int hedgingPercentile) {
+		Preconditions.checkArgument(!authorities.isEmpty(), "At least one timestamping authority is required");
+		Preconditions.checkArgument(hedgingPercentile >= 0 && hedgingPercentile < 100, "Hedging percentile must be between 0 and 99");
+		this.configured = ImmutableList.copyOf(authorities);
+		ImmutableMap.Builder<URI, Samples> builder = ImmutableMap.builder();
+		this.configured.stream().distinct().forEach(authority -> builder.put(authority, new Samples()));
+		this.samples = builder.build();
+		this.hedgingPercentile = hedgingPercentile;
+	}
+
+	/**
+	 * Returns the authorities, the one expected to give a timestamp the
+	 * fastest first.
+	 *
+	 * @return the authorities, best first.
+	 */
+	public ImmutableList<URI> authorities() {
+		long now = System.nanoTime();
+		List<URI> authorities = new ArrayList<>(samples.keySet());
+		// stable sort, authorities with the same score stay in configuration order
+		authorities.sort(Comparator.comparingDouble(authority -> samples(authority).expectedLatency(now)));
+		return ImmutableList.copyOf(authorities);
+	}
+
+	/**
+	 * Records a successful request.
+	 *
+	 * @param authority
+	 *            the authority the request has been sent to.
+	 * @param latency
+	 *            the time it took, in nanoseconds.
+	 */
+	public void recordSuccess(URI authority, long latency) {
+		samples(authority).add(System.nanoTime(), latency, false);
+	}
+
+	/**
+	 * Records a failed request.
+	 *
+	 * @param authority
+	 *            the authority the request has been sent to.
+	 * @param latency
+	 *            the time it took to fail, in nanoseconds.
+	 */
+	public void recordFailure(URI authority, long latency) {
+		samples(authority).add(System.nanoTime(), latency, true);
+	}
+
+	/**
+	 * Tells whether the output of a failed signing command shows that the
+	 * timestamping failed, rather than the signing itself. Only such failures
+	 * should be recorded against the authority.
+	 *
+	 * @param output
+	 *            the output of the command.
+	 * @param authority
+	 *            the authority given to the command.
+	 * @return {@code true} if the output names the authority or reports a
+	 *         timestamping or network error.
+	 */
+	public static boolean isTimestampingFailure(CharSequence output, URI authority) {
+		String host = authority.getHost();
+		if (host != null && Pattern.compile(Pattern.quote(host), Pattern.CASE_INSENSITIVE).matcher(output).find()) {
+			return true;
+		}
+		return TIMESTAMPING_FAILURE.matcher(output).find();
+	}
+
+	/**
+	 * Returns the recent success rate of the given authority, or {@code 1} if
+	 * no request has been sent to it recently.
+	 *
+	 * @param authority
+	 *            the authority.
+	 * @return the recent success rate of the authority.
+	 */
+	public double successRate(URI authority) {
+		return samples(authority).successRate(System.nanoTime());
+	}
+
+	/**
+	 * Sends the request to the best authorities until one of them answers.
+	 * The authorities are tried in the order of {@link #authorities()}, over
+	 * and over if {@code maxAttempts} is greater than the number of
+	 * authorities. With hedging, an attempt is started on the next authority
+	 * when the current one is slower than usual.
+	 *
+	 * @param request
+	 *            the request to send.
+	 * @param maxAttempts
+	 *            the maximum number of attempts, hedged ones included.
+	 * @return the first answer.
+	 * @throws IOException
+	 *             if all attempts failed. The failures of the attempts are
+	 *             suppressed exceptions of the thrown one.
+	 */
+	public <T> T request(Request<T> request, int maxAttempts) throws IOException {
+		Preconditions.checkArgument(maxAttempts > 0, "Maximum number of attempts must be strictly positive");
+		final ImmutableList<URI> authorities = authorities();
+		final CompletionService<T> completionService = new ExecutorCompletionService<>(REQUEST_EXECUTOR);
+		final List<Future<T>> attempts = new ArrayList<>();
+		final IOException failure = new IOException("No timestamping authority answered the request");
+		int running = 0;
+		try {
+			final long firstHedgingDelay = hedgingDelay(authorities.get(0));
+			attempts.add(completionService.submit(() -> send(request, authorities.get(0), firstHedgingDelay)));
+			running++;
+			long hedgingDelay = firstHedgingDelay;
+			while (running > 0) {
+				final Future<T> done;
+				if (hedgingDelay > 0 && attempts.size() < maxAttempts && authorities.size() > 1) {
+					done = completionService.poll(hedgingDelay, TimeUnit.NANOSECONDS);
+					hedgingDelay = 0;
+				} else {
+					done = completionService.take();
+				}
+
+				if (done == null) {
+					URI hedge = authorities.get(attempts.size() % authorities.size());
+					logger.debug("Timestamping authority '{}' is slower than usual, also sending the request to '{}'", authorities.get(0), hedge);
+				} else {
+					running--;
+					try {
+						return done.get();
+					} catch (ExecutionException e) {
+						failure.addSuppressed(e.getCause());
+					}
+					if (attempts.size() == maxAttempts) {
+						continue;
+					}
+				}
+				URI next = authorities.get(attempts.size() % authorities.size());
+				attempts.add(completionService.submit(() -> send(request, next, 0)));
+				running++;
+			}
+			throw failure;
+		} catch (@SuppressWarnings("unused") InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Thread '" + Thread.currentThread().getName() + "' has been interrupted while waiting for a timestamping authority");
+		} finally {
+			attempts.forEach(attempt -> attempt.cancel(true));
+		}
+	}
+
+	/**
+	 * Sends the request to the authority and records the outcome. An attempt
+	 * interrupted because another one answered first did not succeed, and
+	 * only tells that the authority is slower than the given minimum latency.
+	 */
+	private <T> T send(Request<T> request, URI authority, long minLatency) throws Exception {
+		long start = System.nanoTime();
+		try {
+			T answer = request.send(authority);
+			recordSuccess(authority, System.nanoTime() - start);
+			return answer;
+		} catch (Exception e) {
+			if (Thread.currentThread().isInterrupted() || e instanceof InterruptedException || e instanceof InterruptedIOException) {
+				// outrun by another attempt, it was at least that slow
+				recordFailure(authority, Math.max(System.nanoTime() - start, minLatency));
+			} else {
+				logger.warn("Timestamping authority '{}' failed: {}", authority, e.getMessage());
+				recordFailure(authority, System.nanoTime() - start);
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Returns the time after which a hedged request is sent, or {@code 0} if
+	 * hedging is disabled or there are too few recent samples.
+	 */
+	private long hedgingDelay(URI authority) {
+		if (hedgingPercentile == 0) {
+			return 0;
+		}
+		return samples(authority).latencyPercentile(System.nanoTime(), hedgingPercentile);
+	}
+
+	private Samples samples(URI authority) {
+		Samples authoritySamples = samples.get(authority);
+		Preconditions.checkArgument(authoritySamples != null, "Unknown timestamping authority '%s'", authority);
+		return authoritySamples;
+	}
+
+	/**
+	 * The last requests sent to an authority.
+	 */
+	private static final class Samples {
+		private final long[] times = new long[WINDOW_SIZE];
+		private final long[] latencies = new long[WINDOW_SIZE];
+		private final boolean[] failures = new boolean[WINDOW_SIZE];
+		private int count;
+		private int next;
+
+		synchronized void add(long time, long latency, boolean failure) {
+			times[next] = time;
+			latencies[next] = latency;
+			failures[next] = failure;
+			next = (next + 1) % WINDOW_SIZE;
+			count = Math.min(count + 1, WINDOW_SIZE);
+		}
+
+		synchronized double expectedLatency(long now) {
+			long total = 0;
+			int recent = 0;
+			int succeeded = 0;
+			for (int i = 0; i < count; i++) {
+				if (now - times[i] < SAMPLE_MAX_AGE) {
+					total += latencies[i];
+					recent++;
+					succeeded += failures[i] ? 0 : 1;
+				}
+			}
+			if (recent == 0) {
+				return 0;
+			}
+			return (double) total / recent / Math.max((double) succeeded / recent, MIN_SUCCESS_RATE);
+		}
+
+		synchronized double successRate(long now) {
+			int recent = 0;
+			int succeeded = 0;
+			for (int i = 0; i < count; i++) {
+				if (now - times[i] < SAMPLE_MAX_AGE) {
+					recent++;
+					succeeded += failures[i] ? 0 : 1;
+				}
+			}
+			return recent == 0 ? 1 : (double) succeeded / recent;
+		}
+
+		synchronized long latencyPercentile(long now, int percentile) {
+			long[] recent = new long[count];
+			int size = 0;
+			for (int i = 0; i < count; i++) {
+				if (!failures[i] && now - times[i] < SAMPLE_MAX_AGE) {
+					recent[size++] = latencies[i];
+				}
+			}
+			if (size < MIN_HEDGING_SAMPLES) {
+				return 0;
+			}
+			Arrays.sort(recent, 0, size);
+			return Math.max(recent[Math.min(size - 1, size * percentile / 100)], 1);
+		}
+	}
+}
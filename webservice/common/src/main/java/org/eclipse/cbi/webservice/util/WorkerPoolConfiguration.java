@@ -0,0 +1,134 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.util;
+
+import com.google.auto.value.AutoValue;
+import com.google.common.base.Preconditions;
+
+/**
+ * Sizing and health check settings of the long-lived worker processes of a
+ * {@link WorkerPoolProcessExecutor}.
+ */
+@AutoValue
+public abstract class WorkerPoolConfiguration {
+
+	static final int DEFAULT_MAX_JOBS_PER_WORKER = 100;
+	static final long DEFAULT_HEALTH_CHECK_INTERVAL = 30000; // in ms
+	static final long DEFAULT_HEALTH_CHECK_TIMEOUT = 5000; // in ms
+
+	WorkerPoolConfiguration() {} // prevents instantiation and subclassing outside the package
+
+	/**
+	 * Returns the maximum number of worker processes alive at the same time.
+	 *
+	 * @return the maximum number of worker processes.
+	 */
+	abstract int maxWorkers();
+
+	/**
+	 * Returns the number of jobs after which a worker process is recycled.
+	 *
+	 * @return the number of jobs run by a worker before it is recycled.
+	 */
+	abstract int maxJobsPerWorker();
+
+	/**
+	 * Returns the time a worker can stay idle before it is checked again
+	 * before its next job.
+	 *
+	 * @return the health check interval in milliseconds.
+	 */
+	abstract long healthCheckInterval();
+
+	/**
+	 * Returns the time a worker has to answer a health check.
+	 *
+	 * @return the health check timeout in milliseconds.
+	 */
+	abstract long healthCheckTimeout();
+
+	/**
+	 * Creates and returns a new builder for this class.
+	 *
+	 * @return a new builder for this class.
+	 */
+	public static Builder builder() {
+		return new AutoValue_WorkerPoolConfiguration.Builder()
+			.maxJobsPerWorker(DEFAULT_MAX_JOBS_PER_WORKER)
+			.healthCheckInterval(DEFAULT_HEALTH_CHECK_INTERVAL)
+			.healthCheckTimeout(DEFAULT_HEALTH_CHECK_TIMEOUT);
+	}
+
+	/**
+	 * A builder of {@link WorkerPoolConfiguration}.
+	 */
+	@AutoValue.Builder
+	public abstract static class Builder {
+		Builder() {}
+
+		/**
+		 * Sets the maximum number of worker processes alive at the same time.
+		 *
+		 * @param maxWorkers
+		 *            the maximum number of worker processes.
+		 * @return this builder for daisy chaining.
+		 */
+		public abstract Builder maxWorkers(int maxWorkers);
+
+		/**
+		 * Sets the number of jobs after which a worker process is recycled.
+		 *
+		 * @param maxJobsPerWorker
+		 *            the number of jobs run by a worker before it is recycled.
+		 * @return this builder for daisy chaining.
+		 */
+		public abstract Builder maxJobsPerWorker(int maxJobsPerWorker);
+
+		/**
+		 * Sets the time a worker can stay idle before it is checked again
+		 * before its next job.
+		 *
+		 * @param healthCheckInterval
+		 *            the health check interval in milliseconds.
+		 * @return this builder for daisy chaining.
+		 */
+		public abstract Builder healthCheckInterval(long healthCheckInterval);
+
+		/**
+		 * Sets the time a worker has to answer a health check.
+		 *
+		 * @param healthCheckTimeout
+		 *            the health check timeout in milliseconds.
+		 * @return this builder for daisy chaining.
+		 */
+		public abstract Builder healthCheckTimeout(long healthCheckTimeout);
+
+		abstract WorkerPoolConfiguration autoBuild();
+
+		/**
+		 * Creates and returns a new {@link WorkerPoolConfiguration}. The
+		 * number of workers, the number of jobs per worker and the health
+		 * check timeout must be strictly positive.
+		 *
+		 * @return a new {@link WorkerPoolConfiguration}.
+		 */
+		public WorkerPoolConfiguration build() {
+			WorkerPoolConfiguration configuration = autoBuild();
+			Preconditions.checkState(configuration.maxWorkers() > 0, "Maximum number of workers must be strictly positive");
+			Preconditions.checkState(configuration.maxJobsPerWorker() > 0, "Maximum number of jobs per worker must be strictly positive");
+			Preconditions.checkState(configuration.healthCheckInterval() >= 0, "Health check interval must be positive or zero");
+			Preconditions.checkState(configuration.healthCheckTimeout() > 0, "Health check timeout must be strictly positive");
+			return configuration;
+		}
+	}
+}
@@ -0,0 +1,346 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * A {@link ProcessExecutor} that runs the commands of a Java tool in a pool of
+ * long-lived worker processes instead of forking a new JVM for each command.
+ * The worker processes run a main class built on {@link ProcessWorker}, so
+ * that the work is still isolated from the server process (e.g., the
+ * keystores are only opened by the workers).
+ * <p>
+ * The {@code -J} options of a command are the options of the worker JVM, and
+ * a pool is kept for each distinct set of options. The other arguments are
+ * sent to a worker as a job. Commands of other tools, and jobs the worker
+ * answers with {@link ProcessWorker#UNSUPPORTED}, are run by the fallback
+ * executor.
+ * <p>
+ * A worker that doesn't complete a job within the timeout is stopped
+ * forcibly, as a forked process would be. Workers are recycled after
+ * {@link WorkerPoolConfiguration#maxJobsPerWorker()} jobs and are checked
+ * before being reused if they have been idle for more than
+ * {@link WorkerPoolConfiguration#healthCheckInterval()}.
+ */
+public final class WorkerPoolProcessExecutor implements ProcessExecutor {
+
+	private static final Logger logger = LoggerFactory.getLogger(WorkerPoolProcessExecutor.class);
+
+	private static final String JVM_OPTION_PREFIX = "-J";
+	private static final long STOP_GRACE_TIME = 5; // in seconds
+
+	private final ProcessExecutor fallback;
+	private final String tool;
+	private final String workerMainClass;
+	private final WorkerPoolConfiguration configuration;
+	private final Map<ImmutableList<String>, Pool> pools;
+	private final ScheduledExecutorService watchdog;
+	private final LongAdder startedWorkers;
+
+	/**
+	 * Creates a new worker pool executor.
+	 *
+	 * @param fallback
+	 *            the executor of the commands that can't be run by a worker.
+	 * @param tool
+	 *            the name of the tool whose commands are run by the workers,
+	 *            e.g. {@code jarsigner}.
+	 * @param workerMainClass
+	 *            the main class of the worker processes. It must be on the
+	 *            classpath of the server.
+	 * @param configuration
+	 *            the sizing of the pool.
+	 */
+	public WorkerPoolProcessExecutor(ProcessExecutor fallback, String tool, String workerMainClass, WorkerPoolConfiguration configuration) {
+		this.fallback = Objects.requireNonNull(fallback);
+		this.tool = Objects.requireNonNull(tool);
+		this.workerMainClass = Objects.requireNonNull(workerMainClass);
+		this.configuration = Objects.requireNonNull(configuration);
+		this.pools = new ConcurrentHashMap<>();
+		this.watchdog = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("Process-Worker-Watchdog-%d").setDaemon(true).build());
+		this.startedWorkers = new LongAdder();
+	}
+
+	@Override
+	public int exec(ImmutableList<String> command, StringBuilder processOutput, long timeout, TimeUnit timeoutUnit) throws IOException {
+		Preconditions.checkArgument(!command.isEmpty(), "Command must not be empty");
+		Objects.requireNonNull(processOutput);
+		final String arg0 = command.get(0);
+		if (!tool.equals(GovernedProcessExecutor.toolName(arg0))) {
+			return fallback.exec(command, processOutput, timeout, timeoutUnit);
+		}
+
+		ImmutableList.Builder<String> workerCommand = ImmutableList.<String>builder().add(javaCommand(arg0));
+		ImmutableList.Builder<String> arguments = ImmutableList.builder();
+		for (String argument : command.subList(1, command.size())) {
+			if (argument.startsWith(JVM_OPTION_PREFIX)) {
+				workerCommand.add(argument.substring(JVM_OPTION_PREFIX.length()));
+			} else {
+				arguments.add(argument);
+			}
+		}
+		workerCommand.add("-cp", System.getProperty("java.class.path"), workerMainClass);
+
+		long deadline = System.nanoTime() + timeoutUnit.toNanos(timeout);
+		Pool pool = pools.computeIfAbsent(workerCommand.build(), Pool::new);
+		Worker worker = pool.borrow(deadline);
+		boolean reusable = false;
+		final Result result;
+		try {
+			result = worker.run(arguments.build(), Math.max(deadline - System.nanoTime(), 1));
+			reusable = true;
+		} catch (IOException e) {
+			if (worker.stoppedByWatchdog()) {
+				throw new IOException("Process '" + arg0 + "' has been stopped forcibly. It did not complete in " + timeout + " " + timeoutUnit, e);
+			}
+			throw new IOException("Worker process of '" + arg0 + "' failed", e);
+		} finally {
+			pool.release(worker, reusable);
+		}
+
+		if (result.exitValue() == ProcessWorker.UNSUPPORTED) {
+			logger.debug("Worker process of '{}' can't run the command, forking it", arg0);
+			return fallback.exec(command, processOutput, Math.max(deadline - System.nanoTime(), 1), TimeUnit.NANOSECONDS);
+		}
+
+		processOutput.append(result.output());
+		if (result.exitValue() == 0) {
+			logger.debug("Worker process of '{}' exited job with value '{}'", arg0, result.exitValue());
+		} else {
+			logger.error("Worker process of '{}' exited job with value '{}'\nOutput:\n{}", arg0, result.exitValue(), result.output());
+		}
+		return result.exitValue();
+	}
+
+	@Override
+	public int exec(ImmutableList<String> command, long timeout, TimeUnit timeoutUnit) throws IOException {
+		return exec(command, new StringBuilder(), timeout, timeoutUnit);
+	}
+
+	@Override
+	public int exec(ImmutableList<String> command, Consumer<String> outputLines, StringBuilder processOutput, long timeout, TimeUnit timeoutUnit) throws IOException {
+		Preconditions.checkArgument(!command.isEmpty(), "Command must not be empty");
+		if (!tool.equals(GovernedProcessExecutor.toolName(command.get(0)))) {
+			return fallback.exec(command, outputLines, processOutput, timeout, timeoutUnit);
+		}
+		// the whole output of a job is sent back by the worker
+		return ProcessExecutor.super.exec(command, outputLines, processOutput, timeout, timeoutUnit);
+	}
+
+	/**
+	 * Returns the number of worker processes started so far, including the
+	 * ones that have been recycled.
+	 *
+	 * @return the number of started worker processes.
+	 */
+	public long startedWorkers() {
+		return startedWorkers.sum();
+	}
+
+	/**
+	 * Returns the {@code java} launcher next to the tool if there is one, so
+	 * that the workers run on the same JDK as the forked tool would. Otherwise
+	 * returns the launcher of the running JVM.
+	 */
+	private static String javaCommand(String arg0) {
+		Path parent = Paths.get(arg0).getParent();
+		if (parent != null) {
+			for (String launcher : ImmutableList.of("java", "java.exe")) {
+				Path java = parent.resolve(launcher);
+				if (Files.isExecutable(java)) {
+					return java.toString();
+				}
+			}
+		}
+		return Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+	}
+
+	/**
+	 * The workers started with the same command.
+	 */
+	private final class Pool {
+
+		private final ImmutableList<String> workerCommand;
+		private final Semaphore permits;
+		private final Deque<Worker> idle;
+
+		Pool(ImmutableList<String> workerCommand) {
+			this.workerCommand = workerCommand;
+			this.permits = new Semaphore(configuration.maxWorkers(), true);
+			this.idle = new ConcurrentLinkedDeque<>();
+		}
+
+		Worker borrow(long deadline) throws IOException {
+			try {
+				if (!permits.tryAcquire(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+					throw new IOException("No worker process of '" + tool + "' became available before the timeout");
+				}
+			} catch (@SuppressWarnings("unused") InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Thread '" + Thread.currentThread().getName() + "' has been interrupted while waiting for a worker process of '" + tool + "'");
+			}
+
+			try {
+				Worker worker;
+				while ((worker = idle.pollFirst()) != null) {
+					if (isHealthy(worker)) {
+						return worker;
+					}
+					worker.stop();
+				}
+				return start();
+			} catch (IOException | RuntimeException e) {
+				permits.release();
+				throw e;
+			}
+		}
+
+		private boolean isHealthy(Worker worker) {
+			if (!worker.process.isAlive()) {
+				return false;
+			}
+			if (System.nanoTime() - worker.lastUsed < TimeUnit.MILLISECONDS.toNanos(configuration.healthCheckInterval())) {
+				return true;
+			}
+			try {
+				return worker.run(ImmutableList.of(), TimeUnit.MILLISECONDS.toNanos(configuration.healthCheckTimeout())).exitValue() == 0;
+			} catch (IOException e) {
+				logger.warn("Worker process of '{}' failed its health check, replacing it", tool, e);
+				return false;
+			}
+		}
+
+		private Worker start() throws IOException {
+			logger.debug("Starting a worker process of '{}': '{}'", tool, String.join(" ", workerCommand));
+			Process process = new ProcessBuilder(workerCommand)
+				.redirectError(ProcessBuilder.Redirect.INHERIT)
+				.start();
+			startedWorkers.increment();
+			return new Worker(process);
+		}
+
+		void release(Worker worker, boolean reusable) {
+			try {
+				if (reusable && worker.process.isAlive() && worker.completedJobs < configuration.maxJobsPerWorker()) {
+					worker.lastUsed = System.nanoTime();
+					idle.offerFirst(worker);
+				} else {
+					worker.stop();
+				}
+			} finally {
+				permits.release();
+			}
+		}
+	}
+
+	/**
+	 * A worker process, used by a single thread at a time.
+	 */
+	private final class Worker {
+
+		final Process process;
+		private final DataOutputStream requests;
+		private final DataInputStream results;
+		private final AtomicBoolean stoppedByWatchdog;
+		int completedJobs;
+		long lastUsed;
+
+		Worker(Process process) {
+			this.process = process;
+			this.requests = new DataOutputStream(new BufferedOutputStream(process.getOutputStream()));
+			this.results = new DataInputStream(new BufferedInputStream(process.getInputStream()));
+			this.stoppedByWatchdog = new AtomicBoolean();
+			this.lastUsed = System.nanoTime();
+		}
+
+		Result run(ImmutableList<String> arguments, long timeoutNanos) throws IOException {
+			ScheduledFuture<?> timeout = watchdog.schedule(() -> {
+				stoppedByWatchdog.set(true);
+				process.destroyForcibly();
+			}, timeoutNanos, TimeUnit.NANOSECONDS);
+			try {
+				ProcessWorker.writeJob(requests, arguments);
+				int exitValue = results.readInt();
+				byte[] output = new byte[results.readInt()];
+				results.readFully(output);
+				if (!arguments.isEmpty()) {
+					completedJobs++;
+				}
+				return new Result(exitValue, new String(output, StandardCharsets.UTF_8));
+			} finally {
+				timeout.cancel(false);
+			}
+		}
+
+		boolean stoppedByWatchdog() {
+			return stoppedByWatchdog.get();
+		}
+
+		void stop() {
+			try {
+				requests.close(); // the worker exits once its input is closed
+			} catch (IOException e) {
+				logger.debug("Unable to close the input of a worker process of '{}'", tool, e);
+			}
+			watchdog.schedule(() -> process.destroyForcibly(), STOP_GRACE_TIME, TimeUnit.SECONDS);
+		}
+	}
+
+	private static final class Result {
+		private final int exitValue;
+		private final String output;
+
+		Result(int exitValue, String output) {
+			this.exitValue = exitValue;
+			this.output = output;
+		}
+
+		int exitValue() {
+			return exitValue;
+		}
+
+		String output() {
+			return output;
+		}
+	}
+}
@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@SuppressWarnings("javadoc")
+@ExtendWith(MockitoExtension.class)
+public class ConcurrencyLimiterTest {
+
+	@Mock HttpServletRequest request;
+	@Mock HttpServletResponse response;
+	@Mock FilterChain chain;
+
+	@Test
+	public void testNonPositiveConcurrency() {
+		assertThrows(IllegalArgumentException.class, () -> new ConcurrencyLimiter("test", 0, -1));
+	}
+
+	@Test
+	public void testWithinLimit() throws IOException, ServletException {
+		ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 1, 0);
+
+		limiter.doFilter(request, response, chain);
+		limiter.doFilter(request, response, chain);
+
+		verify(chain, times(2)).doFilter(request, response);
+		verify(response, never()).setStatus(anyInt());
+	}
+
+	@Test
+	public void testRejectedWhenQueueIsFull() throws IOException, ServletException {
+		ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 1, 0);
+		HttpServletRequest otherRequest = mock(HttpServletRequest.class);
+		FilterChain outerChain = mock(FilterChain.class);
+		doAnswer(invocation -> {
+			assertTrue(limiter.saturated());
+			// second request arrives while the first one is being processed
+			limiter.doFilter(request, response, chain);
+			return null;
+		}).when(outerChain).doFilter(otherRequest, response);
+
+		limiter.doFilter(otherRequest, response, outerChain);
+
+		verify(chain, never()).doFilter(request, response);
+		verify(response).setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+		verify(response).setHeader("Retry-After", "5");
+		assertEquals(0, limiter.queued());
+		assertFalse(limiter.saturated());
+	}
+
+	@Test
+	public void testQueuedUntilSlotIsReleased() throws Exception {
+		ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 1, 1);
+		HttpServletRequest otherRequest = mock(HttpServletRequest.class);
+		FilterChain outerChain = mock(FilterChain.class);
+		Thread[] waiting = new Thread[1];
+		doAnswer(invocation -> {
+			waiting[0] = new Thread(() -> {
+				try {
+					limiter.doFilter(request, response, chain);
+				} catch (IOException | ServletException e) {
+					throw new AssertionError(e);
+				}
+			});
+			waiting[0].start();
+			while (limiter.queued() == 0) {
+				Thread.onSpinWait();
+			}
+			verify(chain, never()).doFilter(request, response);
+			return null;
+		}).when(outerChain).doFilter(otherRequest, response);
+
+		limiter.doFilter(otherRequest, response, outerChain);
+		waiting[0].join(10_000);
+
+		verify(chain).doFilter(request, response);
+		verify(response, never()).setStatus(anyInt());
+		assertEquals(0, limiter.queued());
+	}
+}
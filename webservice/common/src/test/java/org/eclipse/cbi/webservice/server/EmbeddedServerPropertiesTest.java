@@ -16,16 +16,23 @@ import java.io.IOException;
 import java.nio.file.FileSystem;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.Properties;
 
+import jakarta.servlet.Servlet;
+
+import org.eclipse.cbi.webservice.util.GovernedProcessExecutor;
+import org.eclipse.cbi.webservice.util.ProcessExecutor;
 import org.eclipse.cbi.webservice.util.PropertiesReader;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.jimfs.Configuration;
 import com.google.common.jimfs.Jimfs;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
 
 @SuppressWarnings("javadoc")
 public class EmbeddedServerPropertiesTest {
@@ -62,6 +69,14 @@ public class EmbeddedServerPropertiesTest {
 		}
 	}
 
+	@Test
+	public void testEmptyPropertiesGetMultipartMemoryLimit() throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			EmbeddedServerConfiguration propertiesReader = new EmbeddedServerProperties(new PropertiesReader(new Properties(), fs));
+			assertEquals(64 * 1024 * 1024, propertiesReader.getMultipartMemoryLimit());
+		}
+	}
+
 	@Test
 	public void testGetAccessLog() throws IOException {
 		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
@@ -98,6 +113,181 @@ public class EmbeddedServerPropertiesTest {
 		}
 	}
 
+	@Test
+	public void testGetMultipartMemoryLimit() throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			EmbeddedServerConfiguration propertiesReader = new EmbeddedServerProperties(new PropertiesReader(createTestProperties(), fs));
+			assertEquals(1048576, propertiesReader.getMultipartMemoryLimit());
+		}
+	}
+
+	@Test
+	public void testNegativeMultipartMemoryLimit() throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			Properties properties = createTestProperties();
+			properties.setProperty("server.multipart.memory.max", "-1");
+			EmbeddedServerConfiguration propertiesReader = new EmbeddedServerProperties(new PropertiesReader(properties, fs));
+			assertThrows(IllegalStateException.class, () -> propertiesReader.getMultipartMemoryLimit());
+		}
+	}
+
+	@Test
+	public void testGetMinFreeTempSpace() throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			Properties properties = createTestProperties();
+			EmbeddedServerConfiguration propertiesReader = new EmbeddedServerProperties(new PropertiesReader(properties, fs));
+			assertEquals(0, propertiesReader.getMinFreeTempSpace());
+			properties.setProperty("server.temp.folder.min.free", "1073741824");
+			assertEquals(1073741824L, propertiesReader.getMinFreeTempSpace());
+			properties.setProperty("server.temp.folder.min.free", "-1");
+			assertThrows(IllegalStateException.class, () -> propertiesReader.getMinFreeTempSpace());
+		}
+	}
+
+	@Test
+	public void testEmptyPropertiesGetHttp2AndTlsConfiguration() throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			EmbeddedServerConfiguration propertiesReader = new EmbeddedServerProperties(new PropertiesReader(new Properties(), fs));
+			assertNull(propertiesReader.getHttp2Configuration());
+			assertNull(propertiesReader.getTlsConfiguration());
+		}
+	}
+
+	@Test
+	public void testGetHttp2Configuration() throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			Properties properties = createTestProperties();
+			properties.setProperty("server.http2.enabled", "true");
+			properties.setProperty("server.http2.window.stream", "1048576");
+			EmbeddedServerConfiguration propertiesReader = new EmbeddedServerProperties(new PropertiesReader(properties, fs));
+			Http2Configuration http2 = propertiesReader.getHttp2Configuration();
+			assertEquals(1048576, http2.initialStreamRecvWindow());
+			assertEquals(16 * 1024 * 1024, http2.initialSessionRecvWindow());
+			assertEquals(128, http2.maxConcurrentStreams());
+		}
+	}
+
+	@Test
+	public void testHttp2SessionWindowSmallerThanStreamWindow() throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			Properties properties = createTestProperties();
+			properties.setProperty("server.http2.enabled", "true");
+			properties.setProperty("server.http2.window.session", "65535");
+			EmbeddedServerConfiguration propertiesReader = new EmbeddedServerProperties(new PropertiesReader(properties, fs));
+			assertThrows(IllegalStateException.class, () -> propertiesReader.getHttp2Configuration());
+		}
+	}
+
+	@Test
+	public void testGetTlsConfiguration() throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			Path keystore = Files.write(Files.createDirectories(fs.getPath("/etc/ssl")).resolve("server.p12"), new byte[] {1});
+			Files.write(keystore.resolveSibling("server.pass"), "secret\n".getBytes());
+			Properties properties = createTestProperties();
+			properties.setProperty("server.tls.port", "8443");
+			properties.setProperty("server.tls.keystore", keystore.toString());
+			properties.setProperty("server.tls.keystore.password", "/etc/ssl/server.pass");
+			EmbeddedServerConfiguration propertiesReader = new EmbeddedServerProperties(new PropertiesReader(properties, fs));
+			TlsConfiguration tls = propertiesReader.getTlsConfiguration();
+			assertEquals(8443, tls.port());
+			assertEquals(keystore, tls.keystore());
+			assertEquals("secret", tls.keystorePassword());
+			assertEquals("PKCS12", tls.keystoreType());
+		}
+	}
+
+	@Test
+	public void testGetTlsConfigurationMissingKeystore() throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			Properties properties = createTestProperties();
+			properties.setProperty("server.tls.port", "8443");
+			properties.setProperty("server.tls.keystore", "/etc/ssl/server.p12");
+			EmbeddedServerConfiguration propertiesReader = new EmbeddedServerProperties(new PropertiesReader(properties, fs));
+			assertThrows(IllegalStateException.class, () -> propertiesReader.getTlsConfiguration());
+		}
+	}
+
+	@Test
+	public void testEmptyPropertiesGetTuningConfiguration() throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			EmbeddedServerConfiguration propertiesReader = new EmbeddedServerProperties(new PropertiesReader(new Properties(), fs));
+			assertEquals(TuningConfiguration.builder().build(), propertiesReader.getTuningConfiguration());
+		}
+	}
+
+	@Test
+	public void testGetTuningConfiguration() throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			Properties properties = createTestProperties();
+			properties.setProperty("server.connector.acceptors", "2");
+			properties.setProperty("server.connector.selectors", "8");
+			properties.setProperty("server.connector.backlog", "512");
+			properties.setProperty("server.threads.min", "16");
+			properties.setProperty("server.threads.max", "400");
+			properties.setProperty("server.multipart.threshold", "0");
+			properties.setProperty("server.request.max", "4294967296");
+			EmbeddedServerConfiguration propertiesReader = new EmbeddedServerProperties(new PropertiesReader(properties, fs));
+			TuningConfiguration tuning = propertiesReader.getTuningConfiguration();
+			assertEquals(2, tuning.acceptors());
+			assertEquals(8, tuning.selectors());
+			assertEquals(512, tuning.acceptQueueSize());
+			assertEquals(16, tuning.minThreads());
+			assertEquals(400, tuning.maxThreads());
+			assertEquals(0, tuning.multipartFileSizeThreshold());
+			assertEquals(-1, tuning.maxFileSize());
+			assertEquals(4294967296L, tuning.maxRequestSize());
+			assertEquals(32 * 1024, tuning.outputBufferSize());
+		}
+	}
+
+	@Test
+	public void testMaxThreadsSmallerThanMinThreads() throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			Properties properties = createTestProperties();
+			properties.setProperty("server.threads.min", "16");
+			properties.setProperty("server.threads.max", "8");
+			EmbeddedServerConfiguration propertiesReader = new EmbeddedServerProperties(new PropertiesReader(properties, fs));
+			assertThrows(IllegalStateException.class, () -> propertiesReader.getTuningConfiguration());
+		}
+	}
+
+	@Test
+	public void testGetServiceDefinitions() throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			Properties properties = createTestProperties();
+			properties.setProperty("server.services", " jar, windows ,");
+			properties.setProperty("service.jar.pathspec", "/jarsigner");
+			properties.setProperty("service.jar.concurrency.max", "16");
+			properties.setProperty("service.windows.pathspec", "/authenticode");
+			properties.setProperty("service.windows.pathspec.versioned", "false");
+			properties.setProperty("service.windows.queue.max", "32");
+			EmbeddedServerProperties propertiesReader = new EmbeddedServerProperties(new PropertiesReader(properties, fs));
+			assertEquals(List.of("jar", "windows"), propertiesReader.getServiceNames());
+
+			GovernedProcessExecutor governed = new GovernedProcessExecutor(new ProcessExecutor.BasicImpl(), ImmutableMap.of("jarsigner", 1));
+			ServiceDefinition jar = propertiesReader.getServiceDefinition("jar", mock(Servlet.class), governed);
+			assertEquals("/jarsigner", jar.pathSpec());
+			assertTrue(jar.appendVersionToPathSpec());
+			assertEquals(16, jar.maxConcurrentRequests());
+			assertEquals(-1, jar.maxQueuedRequests());
+			assertEquals(List.of(governed), jar.processExecutors());
+
+			ServiceDefinition windows = propertiesReader.getServiceDefinition("windows", mock(Servlet.class), new ProcessExecutor.BasicImpl());
+			assertEquals("/authenticode", windows.fullPathSpec());
+			assertEquals(-1, windows.maxConcurrentRequests());
+			assertEquals(32, windows.maxQueuedRequests());
+			assertTrue(windows.processExecutors().isEmpty());
+		}
+	}
+
+	@Test
+	public void testGetServiceDefinitionMissingPathSpec() throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			EmbeddedServerProperties propertiesReader = new EmbeddedServerProperties(new PropertiesReader(createTestProperties(), fs));
+			assertThrows(IllegalStateException.class, () -> propertiesReader.getServiceDefinition("dmg", mock(Servlet.class), new ProcessExecutor.BasicImpl()));
+		}
+	}
+
 	@Test
 	public void testGetLog4jConfiguration() throws IOException {
 		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
@@ -115,6 +305,7 @@ public class EmbeddedServerPropertiesTest {
 		properties.setProperty("server.temp.folder", "/tmp/X");
 		properties.setProperty("server.port", "1025");
 		properties.setProperty("server.service.pathspec", "service/serve");
+		properties.setProperty("server.multipart.memory.max", "1048576");
 		properties.setProperty("log4j.rootLogger", "INFO");
 		properties.setProperty("log4j.appender.file.MaxBackupIndex", "10");
 		properties.setProperty("log4jsubSection", "None");
@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@SuppressWarnings("javadoc")
+@ExtendWith(MockitoExtension.class)
+public class LoadMonitorTest {
+
+	@Mock HttpServletRequest request;
+	@Mock HttpServletResponse response;
+	@Mock FilterChain chain;
+
+	@Test
+	public void testInFlightAndServiceTime() throws IOException, ServletException {
+		LoadMonitor monitor = new LoadMonitor();
+		doAnswer(invocation -> {
+			assertEquals(1, monitor.inFlight());
+			Thread.sleep(20);
+			return null;
+		}).when(chain).doFilter(request, response);
+
+		monitor.doFilter(request, response, chain);
+
+		assertEquals(0, monitor.inFlight());
+		assertEquals(1, monitor.completed());
+		assertTrue(monitor.averageServiceTimeMillis() >= 20);
+	}
+
+	@Test
+	public void testCountedOnFailure() throws IOException, ServletException {
+		LoadMonitor monitor = new LoadMonitor();
+		doThrow(new IOException()).when(chain).doFilter(request, response);
+
+		assertThrows(IOException.class, () -> monitor.doFilter(request, response, chain));
+
+		assertEquals(0, monitor.inFlight());
+		assertEquals(1, monitor.completed());
+	}
+}
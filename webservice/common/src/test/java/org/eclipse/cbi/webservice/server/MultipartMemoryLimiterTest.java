@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.MultipartConfigElement;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.eclipse.jetty.ee9.nested.Request;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@SuppressWarnings("javadoc")
+@ExtendWith(MockitoExtension.class)
+public class MultipartMemoryLimiterTest {
+
+	private static final MultipartConfigElement CONFIG = new MultipartConfigElement("/tmp", -1L, -1L, 1024);
+
+	@Mock HttpServletRequest request;
+	@Mock HttpServletResponse response;
+	@Mock FilterChain chain;
+
+	@Test
+	public void testNegativeLimit() {
+		assertThrows(IllegalArgumentException.class, () -> new MultipartMemoryLimiter(-1));
+	}
+
+	@Test
+	public void testNonMultipartRequest() throws IOException, ServletException {
+		MultipartMemoryLimiter limiter = new MultipartMemoryLimiter(100);
+		when(request.getAttribute(Request.MULTIPART_CONFIG_ELEMENT)).thenReturn(CONFIG);
+		when(request.getContentType()).thenReturn("application/json");
+
+		limiter.doFilter(request, response, chain);
+
+		verify(chain).doFilter(request, response);
+		verify(request, never()).setAttribute(any(), any());
+	}
+
+	@Test
+	public void testWithinBudget() throws IOException, ServletException {
+		MultipartMemoryLimiter limiter = new MultipartMemoryLimiter(100);
+		when(request.getAttribute(Request.MULTIPART_CONFIG_ELEMENT)).thenReturn(CONFIG);
+		when(request.getContentType()).thenReturn("multipart/form-data; boundary=xyz");
+		when(request.getContentLengthLong()).thenReturn(60L);
+		doAnswer(invocation -> {
+			assertEquals(60, limiter.reserved());
+			return null;
+		}).when(chain).doFilter(request, response);
+
+		limiter.doFilter(request, response, chain);
+
+		verify(chain).doFilter(request, response);
+		verify(request, never()).setAttribute(any(), any());
+		assertEquals(0, limiter.reserved());
+	}
+
+	@Test
+	public void testBudgetExhausted() throws IOException, ServletException {
+		MultipartMemoryLimiter limiter = new MultipartMemoryLimiter(100);
+		HttpServletRequest otherRequest = mock(HttpServletRequest.class);
+		when(otherRequest.getAttribute(Request.MULTIPART_CONFIG_ELEMENT)).thenReturn(CONFIG);
+		when(otherRequest.getContentType()).thenReturn("multipart/form-data; boundary=xyz");
+		when(otherRequest.getContentLengthLong()).thenReturn(60L);
+		when(request.getAttribute(Request.MULTIPART_CONFIG_ELEMENT)).thenReturn(CONFIG);
+		when(request.getContentType()).thenReturn("multipart/form-data; boundary=xyz");
+		when(request.getContentLengthLong()).thenReturn(60L);
+
+		FilterChain outerChain = mock(FilterChain.class);
+		doAnswer(invocation -> {
+			// second request arrives while the first one still holds its reservation
+			limiter.doFilter(request, response, chain);
+			return null;
+		}).when(outerChain).doFilter(otherRequest, response);
+
+		limiter.doFilter(otherRequest, response, outerChain);
+
+		ArgumentCaptor<MultipartConfigElement> captor = ArgumentCaptor.forClass(MultipartConfigElement.class);
+		verify(request).setAttribute(eq(Request.MULTIPART_CONFIG_ELEMENT), captor.capture());
+		assertEquals(MultipartMemoryLimiter.SPOOL_ALL_THRESHOLD, captor.getValue().getFileSizeThreshold());
+		assertEquals("/tmp", captor.getValue().getLocation());
+		verify(chain).doFilter(request, response);
+		assertEquals(0, limiter.reserved());
+	}
+
+	@Test
+	public void testUnknownContentLength() throws IOException, ServletException {
+		MultipartMemoryLimiter limiter = new MultipartMemoryLimiter(100);
+		when(request.getAttribute(Request.MULTIPART_CONFIG_ELEMENT)).thenReturn(CONFIG);
+		when(request.getContentType()).thenReturn("multipart/form-data; boundary=xyz");
+		when(request.getContentLengthLong()).thenReturn(-1L);
+
+		limiter.doFilter(request, response, chain);
+
+		ArgumentCaptor<MultipartConfigElement> captor = ArgumentCaptor.forClass(MultipartConfigElement.class);
+		verify(request).setAttribute(eq(Request.MULTIPART_CONFIG_ELEMENT), captor.capture());
+		assertEquals(MultipartMemoryLimiter.SPOOL_ALL_THRESHOLD, captor.getValue().getFileSizeThreshold());
+		verify(chain).doFilter(request, response);
+	}
+}
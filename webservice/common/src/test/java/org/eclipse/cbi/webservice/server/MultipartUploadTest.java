@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.MultipartConfigElement;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.eclipse.cbi.webservice.servlet.RequestFacade;
+import org.eclipse.jetty.ee9.servlet.FilterHolder;
+import org.eclipse.jetty.ee9.servlet.ServletContextHandler;
+import org.eclipse.jetty.ee9.servlet.ServletHolder;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.common.hash.Hashing;
+
+/**
+ * Posts real multipart requests through Jetty, the
+ * {@link MultipartMemoryLimiter} and {@link RequestFacade}.
+ */
+@SuppressWarnings("javadoc")
+public class MultipartUploadTest {
+
+	private static final int FILE_SIZE_THRESHOLD = 1024;
+	private static final String BOUNDARY = "cbi-multipart-boundary";
+
+	@TempDir Path tempFolder;
+
+	private Server server;
+	private UploadServlet servlet;
+	private MultipartMemoryLimiter limiter;
+
+	@AfterEach
+	public void stopServer() throws Exception {
+		if (server != null) {
+			server.stop();
+		}
+	}
+
+	@Test
+	public void testInMemoryPartIsStreamedOnce() throws Exception {
+		startServer(1024 * 1024);
+		byte[] content = content(100);
+		byte[] body = multipartBody(content);
+
+		assertEquals(200, post(body));
+
+		assertEquals(body.length, servlet.reservedDuringRequest);
+		assertEquals(List.of(), servlet.filesBeforeWrite);
+		assertEquals(List.of(servlet.partPath), servlet.filesAfterWrite);
+		assertArrayEquals(content, servlet.partContent);
+		assertEquals(Hashing.sha256().hashBytes(content).toString(), servlet.partDigest);
+		assertEquals(0, limiter.reserved());
+		assertEquals(List.of(), list(tempFolder));
+	}
+
+	@Test
+	public void testSpooledPartIsMovedNotCopied() throws Exception {
+		startServer(1024 * 1024);
+		byte[] content = content(256 * 1024);
+
+		assertEquals(200, post(multipartBody(content)));
+
+		assertEquals(1, servlet.filesBeforeWrite.size());
+		// the spooled file has been renamed, not copied
+		assertEquals(List.of(servlet.partPath), servlet.filesAfterWrite);
+		assertArrayEquals(content, servlet.partContent);
+		assertEquals(Hashing.sha256().hashBytes(content).toString(), servlet.partDigest);
+		assertEquals(0, limiter.reserved());
+		assertEquals(List.of(), list(tempFolder));
+	}
+
+	@Test
+	public void testPartIsSpooledWhenBudgetIsExhausted() throws Exception {
+		startServer(10);
+		byte[] content = content(100);
+
+		assertEquals(200, post(multipartBody(content)));
+
+		assertEquals(0, servlet.reservedDuringRequest);
+		// below the configured threshold, but spooled as it does not fit in the budget
+		assertEquals(1, servlet.filesBeforeWrite.size());
+		assertEquals(List.of(servlet.partPath), servlet.filesAfterWrite);
+		assertArrayEquals(content, servlet.partContent);
+		assertEquals(List.of(), list(tempFolder));
+	}
+
+	private void startServer(long multipartMemoryLimit) throws Exception {
+		server = new Server();
+		ServerConnector connector = new ServerConnector(server);
+		connector.setHost("localhost");
+		server.addConnector(connector);
+
+		limiter = new MultipartMemoryLimiter(multipartMemoryLimit);
+		servlet = new UploadServlet(tempFolder, limiter);
+		ServletContextHandler contextHandler = new ServletContextHandler();
+		ServletHolder servletHolder = new ServletHolder(servlet);
+		servletHolder.getRegistration().setMultipartConfig(new MultipartConfigElement(tempFolder.toString(), -1L, -1L, FILE_SIZE_THRESHOLD));
+		contextHandler.addServlet(servletHolder, "/upload");
+		contextHandler.addFilter(new FilterHolder(limiter), "/upload", EnumSet.of(DispatcherType.REQUEST));
+		server.setHandler(contextHandler.get());
+		server.start();
+	}
+
+	private int post(byte[] body) throws IOException, InterruptedException {
+		URI uri = URI.create("http://localhost:" + ((ServerConnector) server.getConnectors()[0]).getLocalPort() + "/upload");
+		HttpRequest request = HttpRequest.newBuilder(uri)
+				.header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+				.POST(HttpRequest.BodyPublishers.ofByteArray(body))
+				.build();
+		return HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+	}
+
+	private static byte[] multipartBody(byte[] content) throws IOException {
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		body.write(("--" + BOUNDARY + "\r\n"
+				+ "Content-Disposition: form-data; name=\"file\"; filename=\"file.bin\"\r\n"
+				+ "Content-Type: application/octet-stream\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+		body.write(content);
+		body.write(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+		return body.toByteArray();
+	}
+
+	private static byte[] content(int size) {
+		byte[] content = new byte[size];
+		for (int i = 0; i < size; i++) {
+			content[i] = (byte) (i * 31);
+		}
+		return content;
+	}
+
+	private static List<Path> list(Path folder) throws IOException {
+		try (Stream<Path> files = Files.list(folder)) {
+			return files.sorted().collect(Collectors.toList());
+		}
+	}
+
+	private static final class UploadServlet extends HttpServlet {
+		private static final long serialVersionUID = 1L;
+
+		private final transient Path tempFolder;
+		private final transient MultipartMemoryLimiter limiter;
+
+		volatile long reservedDuringRequest;
+		volatile List<Path> filesBeforeWrite;
+		volatile List<Path> filesAfterWrite;
+		volatile Path partPath;
+		volatile byte[] partContent;
+		volatile String partDigest;
+
+		UploadServlet(Path tempFolder, MultipartMemoryLimiter limiter) {
+			this.tempFolder = tempFolder;
+			this.limiter = limiter;
+		}
+
+		@Override
+		protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+			reservedDuringRequest = limiter.reserved();
+			try (RequestFacade facade = RequestFacade.builder(tempFolder).request(req).build()) {
+				// parses the request
+				req.getPart("file");
+				filesBeforeWrite = list(tempFolder);
+				partPath = facade.getPartPath("file").get();
+				filesAfterWrite = list(tempFolder);
+				partContent = Files.readAllBytes(partPath);
+				partDigest = facade.getPartDigest("file").get().toString();
+			}
+			resp.setStatus(HttpServletResponse.SC_OK);
+		}
+	}
+}
@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.server;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.eclipse.cbi.webservice.util.GovernedProcessExecutor;
+import org.eclipse.cbi.webservice.util.ProcessExecutor;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+
+@SuppressWarnings("javadoc")
+public class ReadinessServletTest {
+
+	@Test
+	public void testReady() throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			Path tempFolder = Files.createDirectories(fs.getPath("/tmp"));
+			ReadinessServlet servlet = new ReadinessServlet(new LoadMonitor(), List.of(), List.of(), new QueuedThreadPool(), tempFolder, 0);
+			HttpServletResponse response = mock(HttpServletResponse.class);
+			StringWriter content = new StringWriter();
+			when(response.getWriter()).thenReturn(new PrintWriter(content));
+
+			servlet.doGet(mock(HttpServletRequest.class), response);
+
+			verify(response).setStatus(HttpServletResponse.SC_OK);
+			assertTrue(content.toString().startsWith("state=READY" + System.lineSeparator()));
+			assertTrue(content.toString().contains("requests.inflight=0"));
+			assertTrue(content.toString().contains("temp.free.bytes=" + Files.getFileStore(tempFolder).getUsableSpace()));
+		}
+	}
+
+	@Test
+	public void testLowDiskSpace() throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			Path tempFolder = Files.createDirectories(fs.getPath("/tmp"));
+			ReadinessServlet servlet = new ReadinessServlet(new LoadMonitor(), List.of(), List.of(), new QueuedThreadPool(), tempFolder, Long.MAX_VALUE);
+			HttpServletResponse response = mock(HttpServletResponse.class);
+
+			servlet.doHead(mock(HttpServletRequest.class), response);
+
+			verify(response).setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+			assertEquals(ReadinessServlet.State.LOW_DISK_SPACE, servlet.report().get("state"));
+		}
+	}
+
+	@Test
+	public void testSaturated() throws IOException, ServletException {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			Path tempFolder = Files.createDirectories(fs.getPath("/tmp"));
+			LoadMonitor monitor = new LoadMonitor();
+			ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", 1, 0);
+			ReadinessServlet servlet = new ReadinessServlet(monitor, List.of(limiter), List.of(), new QueuedThreadPool(), tempFolder, 0);
+			FilterChain chain = mock(FilterChain.class);
+			HttpServletRequest request = mock(HttpServletRequest.class);
+			HttpServletResponse response = mock(HttpServletResponse.class);
+			doAnswer(invocation -> {
+				Map<String, Object> report = servlet.report();
+				assertEquals(ReadinessServlet.State.SATURATED, report.get("state"));
+				assertEquals(1, report.get("requests.inflight"));
+				return null;
+			}).when(chain).doFilter(request, response);
+
+			monitor.doFilter(request, response, (req, resp) -> limiter.doFilter(req, resp, chain));
+
+			verify(chain).doFilter(request, response);
+			assertEquals(ReadinessServlet.State.READY, servlet.report().get("state"));
+			assertEquals(1L, servlet.report().get("requests.completed"));
+		}
+	}
+
+	@Test
+	public void testProcessMetrics() throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			Path tempFolder = Files.createDirectories(fs.getPath("/tmp"));
+			ProcessExecutor processExecutor = mock(ProcessExecutor.class);
+			GovernedProcessExecutor signing = new GovernedProcessExecutor(processExecutor, ImmutableMap.of("jarsigner", 1));
+			GovernedProcessExecutor packaging = new GovernedProcessExecutor(processExecutor, ImmutableMap.of("jarsigner", 1, "codesign", 1));
+			ReadinessServlet servlet = new ReadinessServlet(new LoadMonitor(), List.of(), List.of(signing, packaging), new QueuedThreadPool(), tempFolder, 0);
+
+			signing.exec(ImmutableList.of("jarsigner", "a.jar"), new StringBuilder(), 10, TimeUnit.SECONDS);
+			packaging.exec(ImmutableList.of("/usr/bin/jarsigner", "b.jar"), new StringBuilder(), 10, TimeUnit.SECONDS);
+			Map<String, Object> report = servlet.report();
+
+			assertEquals(ReadinessServlet.State.READY, report.get("state"));
+			assertEquals(2L, report.get("processes.jarsigner.executions"));
+			assertEquals(0L, report.get("processes.jarsigner.rejected"));
+			assertTrue(report.containsKey("processes.jarsigner.wait.avg.ms"));
+			assertTrue(report.containsKey("processes.jarsigner.run.avg.ms"));
+			assertEquals(0L, report.get("processes.codesign.executions"));
+		}
+	}
+
+	@Test
+	public void testSaturatedProcesses() throws Exception {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			Path tempFolder = Files.createDirectories(fs.getPath("/tmp"));
+			CountDownLatch release = new CountDownLatch(1);
+			ProcessExecutor processExecutor = mock(ProcessExecutor.class);
+			when(processExecutor.exec(any(), any(StringBuilder.class), anyLong(), any())).thenAnswer(invocation -> {
+				release.await();
+				return 0;
+			});
+			GovernedProcessExecutor governor = new GovernedProcessExecutor(processExecutor, ImmutableMap.of("codesign", 1));
+			ReadinessServlet servlet = new ReadinessServlet(new LoadMonitor(), List.of(), List.of(governor), new QueuedThreadPool(), tempFolder, 0);
+			ExecutorService pool = Executors.newFixedThreadPool(2);
+			try {
+				Future<Integer> running = pool.submit(() -> governor.exec(ImmutableList.of("codesign", "a"), new StringBuilder(), 10, TimeUnit.SECONDS));
+				Future<Integer> queued = pool.submit(() -> governor.exec(ImmutableList.of("codesign", "b"), new StringBuilder(), 10, TimeUnit.SECONDS));
+				long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+				while (governor.queuedProcesses("codesign") == 0 && System.nanoTime() < deadline) {
+					Thread.sleep(10);
+				}
+
+				Map<String, Object> report = servlet.report();
+				assertEquals(ReadinessServlet.State.SATURATED, report.get("state"));
+				assertEquals(1, report.get("processes.queued"));
+				assertEquals(1, report.get("processes.codesign.queued"));
+				assertEquals(0, report.get("processes.codesign.slots.free"));
+
+				release.countDown();
+				assertEquals(0, running.get(10, TimeUnit.SECONDS).intValue());
+				assertEquals(0, queued.get(10, TimeUnit.SECONDS).intValue());
+			} finally {
+				release.countDown();
+				pool.shutdownNow();
+			}
+			Map<String, Object> report = servlet.report();
+			assertEquals(ReadinessServlet.State.READY, report.get("state"));
+			assertEquals(0, report.get("processes.queued"));
+			assertEquals(1, report.get("processes.codesign.slots.free"));
+		}
+	}
+}
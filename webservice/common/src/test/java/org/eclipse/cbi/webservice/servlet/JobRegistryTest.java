@@ -0,0 +1,146 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.servlet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+import com.google.common.net.HttpHeaders;
+
+@SuppressWarnings("javadoc")
+@ExtendWith(MockitoExtension.class)
+public class JobRegistryTest {
+
+	private static final String SERVICE_URL = "http://localhost/service";
+
+	@Mock private HttpServletRequest request;
+	@Mock private HttpServletResponse response;
+
+	private String replyStatus(JobRegistry registry, String id) throws IOException {
+		StringWriter body = new StringWriter();
+		when(request.getParameter(JobRegistry.JOB_PARAMETER)).thenReturn(id);
+		when(response.getWriter()).thenReturn(new PrintWriter(body));
+		registry.doGet(request, response);
+		return body.toString();
+	}
+
+	@Test
+	public void testSucceededJob() throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			JobRegistry registry = new JobRegistry(fs.getPath("/jobs"), "text/plain", Duration.ofHours(1), 10);
+			JobRegistry.Job job = registry.submit(j -> {
+				j.progress("Writing");
+				return Files.write(j.folder().resolve("result.txt"), "done".getBytes(StandardCharsets.UTF_8));
+			}, Runnable::run);
+
+			assertEquals(JobRegistry.Job.State.SUCCEEDED, job.state());
+			when(request.getRequestURL()).thenReturn(new StringBuffer(SERVICE_URL));
+			String status = replyStatus(registry, job.id());
+			assertTrue(status.contains("state=SUCCEEDED\n"), status);
+			assertTrue(status.contains("result=" + SERVICE_URL + "?result=" + job.id() + "\n"), status);
+			verify(response).setStatus(HttpServletResponse.SC_OK);
+		}
+	}
+
+	@Test
+	public void testFailedJob() throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			JobRegistry registry = new JobRegistry(fs.getPath("/jobs"), "text/plain", Duration.ofHours(1), 10);
+			JobRegistry.Job job = registry.submit(j -> {
+				throw new IOException("Packaging\nfailed");
+			}, Runnable::run);
+
+			assertEquals(JobRegistry.Job.State.FAILED, job.state());
+			String status = replyStatus(registry, job.id());
+			assertTrue(status.contains("state=FAILED\n"), status);
+			assertTrue(status.contains("error=Packaging failed\n"), status);
+		}
+	}
+
+	@Test
+	public void testAccepted() throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			JobRegistry registry = new JobRegistry(fs.getPath("/jobs"), "text/plain", Duration.ofHours(1), 10);
+			JobRegistry.Job job = registry.submit(j -> j.folder().resolve("never"), command -> {});
+			StringWriter body = new StringWriter();
+			when(response.getWriter()).thenReturn(new PrintWriter(body));
+			when(request.getRequestURL()).thenReturn(new StringBuffer(SERVICE_URL));
+
+			registry.replyAccepted(job, request, response);
+			verify(response).setStatus(HttpServletResponse.SC_ACCEPTED);
+			verify(response).setHeader(HttpHeaders.LOCATION, SERVICE_URL + "?job=" + job.id());
+			assertTrue(body.toString().contains("state=QUEUED\n"), body.toString());
+		}
+	}
+
+	@Test
+	public void testUnknownJob() throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			JobRegistry registry = new JobRegistry(fs.getPath("/jobs"), "text/plain", Duration.ofHours(1), 10);
+			when(request.getParameter(JobRegistry.JOB_PARAMETER)).thenReturn("unknown");
+			registry.doGet(request, response);
+			verify(response).sendError(HttpServletResponse.SC_NOT_FOUND, "Unknown or expired job");
+		}
+	}
+
+	@Test
+	public void testOldestFinishedJobsAreEvicted() throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			JobRegistry registry = new JobRegistry(fs.getPath("/jobs"), "text/plain", Duration.ofHours(1), 1);
+			JobRegistry.Job first = registry.submit(j -> Files.createFile(j.folder().resolve("first")), Runnable::run);
+			JobRegistry.Job second = registry.submit(j -> Files.createFile(j.folder().resolve("second")), Runnable::run);
+			registry.evict();
+			assertFalse(registry.find(first.id()).isPresent());
+			assertFalse(Files.exists(first.folder()));
+			assertTrue(registry.find(second.id()).isPresent());
+		}
+	}
+
+	@Test
+	public void testRejectedJob() throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			Path folder = fs.getPath("/jobs");
+			JobRegistry registry = new JobRegistry(folder, "text/plain", Duration.ofHours(1), 10);
+			assertThrows(RejectedExecutionException.class, () -> registry.submit(j -> j.folder(), command -> {
+				throw new RejectedExecutionException();
+			}));
+			try (var jobs = Files.list(folder)) {
+				assertEquals(0, jobs.count());
+			}
+		}
+	}
+}
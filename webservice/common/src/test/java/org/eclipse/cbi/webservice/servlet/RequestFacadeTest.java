@@ -18,6 +18,8 @@ import static org.mockito.Mockito.*;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystem;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -32,6 +34,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.google.common.hash.Hashing;
 import com.google.common.jimfs.Jimfs;
 
 @SuppressWarnings("javadoc")
@@ -106,11 +109,7 @@ public class RequestFacadeTest {
 		try (FileSystem fs = Jimfs.newFileSystem(); RequestFacade facade = createRequestFacadeUnderTest(fs)) {
 			when(request.getPart("testPart")).thenReturn(part);
 			when(part.getSubmittedFileName()).thenReturn("submittedFilename.txt");
-			doAnswer(invocation -> {
-				String filename = invocation.getArgument(0);
-				Files.createFile(fs.getRootDirectories().iterator().next().resolve("tmp").resolve(filename));
-				return null;
-			}).when(part).write(anyString());
+			when(part.getInputStream()).thenAnswer(invocation -> new ByteArrayInputStream(new byte[0]));
 
 			Path path = facade.getPartPath("testPart").get();
 			assertTrue(path.toString().startsWith(fs.getRootDirectories().iterator().next() + "tmp/"));
@@ -123,17 +122,59 @@ public class RequestFacadeTest {
 			Path pathWithPrefixAndSuffix = facade.getPartPath("testPart", "prefix-", "-suffix").get();
 			assertTrue(pathWithPrefixAndSuffix.toString().startsWith(fs.getRootDirectories().iterator().next() + "tmp/prefix-"));
 			assertTrue(pathWithPrefixAndSuffix.toString().endsWith("submittedFilename.txt-suffix"));
+			verify(part, never()).write(anyString());
 		}
 	}
 
 	@Test
-	public void testPartPathCantWrite() throws IOException, ServletException {
+	public void testPartPathContentAndDigest() throws IOException, ServletException {
+		byte[] content = new byte[200 * 1024];
+		for (int i = 0; i < content.length; i++) {
+			content[i] = (byte) i;
+		}
+		try (FileSystem fs = Jimfs.newFileSystem(); RequestFacade facade = createRequestFacadeUnderTest(fs)) {
+			when(request.getPart("testPart")).thenReturn(part);
+			when(part.getSubmittedFileName()).thenReturn("submittedFilename.bin");
+			when(part.getInputStream()).thenReturn(new ByteArrayInputStream(content));
+
+			assertEquals(Optional.empty(), facade.getPartDigest("testPart"));
+			Path path = facade.getPartPath("testPart").get();
+			assertArrayEquals(content, Files.readAllBytes(path));
+			assertEquals(Optional.of(Hashing.sha256().hashBytes(content)), facade.getPartDigest("testPart"));
+		}
+	}
+
+	@Test
+	public void testPartPathDeletedOnClose() throws IOException, ServletException {
+		try (FileSystem fs = Jimfs.newFileSystem()) {
+			final Path path;
+			try (RequestFacade facade = createRequestFacadeUnderTest(fs)) {
+				when(request.getPart("testPart")).thenReturn(part);
+				when(part.getSubmittedFileName()).thenReturn("submittedFilename");
+				when(part.getInputStream()).thenReturn(new ByteArrayInputStream("content".getBytes(StandardCharsets.UTF_8)));
+
+				path = facade.getPartPath("testPart").get();
+				assertTrue(Files.exists(path));
+			}
+			assertFalse(Files.exists(path));
+			verify(part).delete();
+		}
+	}
+
+	@Test
+	public void testPartPathCantRead() throws IOException, ServletException {
 		try (FileSystem fs = Jimfs.newFileSystem(); RequestFacade facade = createRequestFacadeUnderTest(fs)) {
+			Path tempFolder = fs.getRootDirectories().iterator().next().resolve("tmp");
+			InputStream failingStream = mock(InputStream.class);
+			when(failingStream.read(any(byte[].class), anyInt(), anyInt())).thenThrow(new IOException("Connection reset"));
 			when(request.getPart("testPart")).thenReturn(part);
 			when(part.getSubmittedFileName()).thenReturn("submittedFilename");
-			doNothing().when(part).write(anyString());
+			when(part.getInputStream()).thenReturn(failingStream);
 
-			assertEquals(Optional.empty(), facade.getPartPath("testPart"));
+			assertThrows(IOException.class, () -> facade.getPartPath("testPart"));
+			try (var files = Files.list(tempFolder)) {
+				assertEquals(0, files.count());
+			}
 		}
 	}
 
@@ -19,6 +19,7 @@ import static org.mockito.Mockito.when;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystem;
 import java.nio.file.Path;
 
@@ -65,6 +66,17 @@ public class ResponseFacadeTest {
 		}
 	}
 
+	@Test
+	public void testReplyWithStream() throws IOException {
+		ResponseFacade responseFacade = ResponseFacade.builder().servletResponse(response).build();
+		responseFacade.replyWithStream("application/mine", "test.ext", out -> out.write(SampleFilesGenerators.loremIpsumRepeated(2).getBytes(StandardCharsets.UTF_8)));
+		assertEquals(SampleFilesGenerators.loremIpsumRepeated(2), baos.toString());
+		verify(response).setContentType("application/mine");
+		verify(response).setStatus(200);
+		verify(response).addHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"test.ext\"");
+		verify(response).flushBuffer();
+	}
+
 	private static class ForwardingServletOutputStream extends ServletOutputStream {
 		private final ByteArrayOutputStream baos;
 
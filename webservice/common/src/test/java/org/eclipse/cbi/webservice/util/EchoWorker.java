@@ -0,0 +1,39 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.util;
+
+import java.io.IOException;
+
+/**
+ * A worker main class for {@link WorkerPoolProcessExecutorTest}.
+ */
+@SuppressWarnings("javadoc")
+public class EchoWorker {
+
+	public static void main(String[] args) throws IOException {
+		ProcessWorker.serve((arguments, output) -> {
+			switch (arguments.get(0)) {
+				case "echo":
+					output.println(String.join(" ", arguments.subList(1, arguments.size())));
+					return 0;
+				case "sleep":
+					Thread.sleep(Long.parseLong(arguments.get(1)));
+					return 0;
+				case "fail":
+					throw new IllegalStateException("Job failed");
+				default:
+					return ProcessWorker.UNSUPPORTED;
+			}
+		});
+	}
+}
@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+
+@SuppressWarnings("javadoc")
+public class GovernedProcessExecutorTest {
+
+	@Test
+	public void testToolName() {
+		assertEquals("codesign", GovernedProcessExecutor.toolName("/usr/bin/codesign"));
+		assertEquals("osslsigncode", GovernedProcessExecutor.toolName("osslsigncode"));
+		assertEquals("jarsigner.exe", GovernedProcessExecutor.toolName("C:\\jdk\\bin\\jarsigner.exe"));
+	}
+
+	@Test
+	public void testUngovernedToolIsNotLimited() throws IOException {
+		GovernedProcessExecutor executor = new GovernedProcessExecutor(new ProcessExecutor.BasicImpl(), ImmutableMap.of("codesign", 1));
+		assertEquals(0, executor.exec(ImmutableList.of("echo", "Hello World"), 10, TimeUnit.SECONDS));
+		assertEquals(0, executor.metrics().get("codesign").executions());
+	}
+
+	@Test
+	public void testQueueWaitTimesOut() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ProcessExecutor blocking = new StubProcessExecutor() {
+			@Override
+			public int exec(ImmutableList<String> command, StringBuilder processOutput, long timeout, TimeUnit timeoutUnit) throws IOException {
+				started.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					throw new IOException(e);
+				}
+				return 0;
+			}
+		};
+		GovernedProcessExecutor executor = new GovernedProcessExecutor(blocking, ImmutableMap.of("codesign", 1));
+		ExecutorService pool = Executors.newSingleThreadExecutor();
+		try {
+			Future<Integer> first = pool.submit(() -> executor.exec(ImmutableList.of("/usr/bin/codesign", "a"), new StringBuilder(), 10, TimeUnit.SECONDS));
+			started.await();
+			assertEquals(0, executor.availableSlots("codesign"));
+			assertThrows(IOException.class, () -> executor.exec(ImmutableList.of("codesign", "b"), new StringBuilder(), 100, TimeUnit.MILLISECONDS));
+			release.countDown();
+			assertEquals(0, first.get().intValue());
+		} finally {
+			pool.shutdownNow();
+		}
+		assertEquals(1, executor.metrics().get("codesign").executions());
+		assertEquals(1, executor.metrics().get("codesign").rejected());
+		assertEquals(1, executor.availableSlots("codesign"));
+	}
+
+	@Test
+	public void testRemainingTimeoutIsGivenToDelegate() throws IOException {
+		long[] givenTimeout = new long[1];
+		ProcessExecutor recording = new StubProcessExecutor() {
+			@Override
+			public int exec(ImmutableList<String> command, StringBuilder processOutput, long timeout, TimeUnit timeoutUnit) {
+				givenTimeout[0] = timeoutUnit.toMillis(timeout);
+				return 0;
+			}
+		};
+		GovernedProcessExecutor executor = new GovernedProcessExecutor(recording, ImmutableMap.of("jarsigner", 2));
+		executor.exec(ImmutableList.of("jarsigner"), new StringBuilder(), 5, TimeUnit.SECONDS);
+		assertTrue(givenTimeout[0] > 0 && givenTimeout[0] <= 5000, Long.toString(givenTimeout[0]));
+	}
+
+	@Test
+	public void testOutputLinesAreForwardedToDelegate() throws IOException {
+		ProcessExecutor lineByLine = new StubProcessExecutor() {
+			@Override
+			public int exec(ImmutableList<String> command, StringBuilder processOutput, long timeout, TimeUnit timeoutUnit) {
+				processOutput.append("[... omitted ...]");
+				return 0;
+			}
+
+			@Override
+			public int exec(ImmutableList<String> command, Consumer<String> outputLines, StringBuilder processOutput, long timeout, TimeUnit timeoutUnit) {
+				outputLines.accept("first");
+				outputLines.accept("last");
+				return exec(command, processOutput, timeout, timeoutUnit);
+			}
+		};
+		List<String> lines = new CopyOnWriteArrayList<>();
+		GovernedProcessExecutor executor = new GovernedProcessExecutor(lineByLine, ImmutableMap.of("flatpak-builder", 1));
+		assertEquals(0, executor.exec(ImmutableList.of("flatpak-builder"), lines::add, new StringBuilder(), 5, TimeUnit.SECONDS));
+		assertEquals(List.of("first", "last"), lines);
+		assertEquals(1, executor.metrics().get("flatpak-builder").executions());
+	}
+
+	private abstract static class StubProcessExecutor implements ProcessExecutor {
+		@Override
+		public int exec(ImmutableList<String> command, long timeout, TimeUnit timeoutUnit) throws IOException {
+			return exec(command, new StringBuilder(), timeout, timeoutUnit);
+		}
+	}
+}
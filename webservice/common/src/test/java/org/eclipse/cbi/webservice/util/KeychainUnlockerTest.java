@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.google.common.collect.ImmutableList;
+
+@SuppressWarnings("javadoc")
+@ExtendWith(MockitoExtension.class)
+public class KeychainUnlockerTest {
+
+	private static final ImmutableList<String> UNLOCK = ImmutableList.of("security", "unlock", "-p", "password", "/path/to/keychain");
+	private static final ImmutableList<String> CODESIGN = ImmutableList.of("codesign", "MyApp.app");
+
+	@Mock private ProcessExecutor processExecutor;
+
+	private KeychainUnlocker createUnlocker(long ttl) {
+		return new KeychainUnlocker(processExecutor, Paths.get("/path/to/keychain"), "password", 10, ttl);
+	}
+
+	@Test
+	public void testUnlockOncePerSession() throws IOException {
+		KeychainUnlocker unlocker = createUnlocker(60);
+		unlocker.ensureUnlocked();
+		unlocker.ensureUnlocked();
+		verify(processExecutor, times(1)).exec(eq(UNLOCK), any(), eq(10L), eq(TimeUnit.SECONDS));
+
+		unlocker.invalidate();
+		unlocker.ensureUnlocked();
+		verify(processExecutor, times(2)).exec(eq(UNLOCK), any(), eq(10L), eq(TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testNoSessionUnlocksEachTime() throws IOException {
+		KeychainUnlocker unlocker = createUnlocker(0);
+		unlocker.ensureUnlocked();
+		unlocker.ensureUnlocked();
+		verify(processExecutor, times(2)).exec(eq(UNLOCK), any(), anyLong(), any());
+	}
+
+	@Test
+	public void testFailedUnlock() throws IOException {
+		when(processExecutor.exec(eq(UNLOCK), any(), anyLong(), any())).thenReturn(51);
+		KeychainUnlocker unlocker = createUnlocker(60);
+		assertThrows(IOException.class, unlocker::ensureUnlocked);
+		assertThrows(IOException.class, unlocker::ensureUnlocked);
+		verify(processExecutor, times(2)).exec(eq(UNLOCK), any(), anyLong(), any());
+	}
+
+	@Test
+	public void testCommandRunAgainWhenKeychainGotLocked() throws IOException {
+		when(processExecutor.exec(eq(UNLOCK), any(), anyLong(), any())).thenReturn(0);
+		when(processExecutor.exec(eq(CODESIGN), any(), anyLong(), any())).then(invocation -> {
+			invocation.getArgument(1, StringBuilder.class).append("MyApp.app: errSecInternalComponent\n");
+			return 1;
+		}).thenReturn(0);
+		KeychainUnlocker unlocker = createUnlocker(60);
+		unlocker.ensureUnlocked();
+
+		StringBuilder output = new StringBuilder();
+		assertEquals(0, unlocker.exec(CODESIGN, output, 20, TimeUnit.SECONDS));
+		assertEquals("", output.toString());
+		verify(processExecutor, times(2)).exec(eq(UNLOCK), any(), anyLong(), any());
+		verify(processExecutor, times(2)).exec(eq(CODESIGN), any(), anyLong(), any());
+	}
+}
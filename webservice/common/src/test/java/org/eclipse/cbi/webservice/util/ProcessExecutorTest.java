@@ -13,11 +13,19 @@
 package org.eclipse.cbi.webservice.util;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import com.google.common.collect.ImmutableList;
 
@@ -33,4 +41,64 @@ public class ProcessExecutorTest {
 		assertEquals("Hello World\n", output.toString());
 	}
 
+	@Test
+	public void testCapturedEcho(@TempDir Path logFolder) throws IOException {
+		StringBuilder output = new StringBuilder();
+		ProcessExecutor executor = new ProcessExecutor.BasicImpl(OutputCapture.builder().logFolder(logFolder).build());
+		int exitValue = executor.exec(ImmutableList.of("echo", "Hello World"), output, 10, TimeUnit.SECONDS);
+		assertEquals(0, exitValue);
+		assertEquals("Hello World\n", output.toString());
+		assertEquals(0, countFiles(logFolder));
+	}
+
+	@Test
+	public void testCapturedOutputKeepsHeadAndTail(@TempDir Path logFolder) throws IOException {
+		StringBuilder output = new StringBuilder();
+		OutputCapture capture = OutputCapture.builder().headSize(6).tailSize(4).logFolder(logFolder).keepLog(true).build();
+		ProcessExecutor executor = new ProcessExecutor.BasicImpl(capture);
+		int exitValue = executor.exec(ImmutableList.of("sh", "-c", "echo first; seq 1 1000 >/dev/null; seq 1 100; echo last 1>&2"), output, 10, TimeUnit.SECONDS);
+		assertEquals(0, exitValue);
+		assertTrue(output.toString().startsWith("first\n"), output.toString());
+		assertTrue(output.toString().endsWith("ast\n"), output.toString());
+		assertTrue(output.toString().contains(" bytes omitted, full output in '" + logFolder), output.toString());
+		assertEquals(1, countFiles(logFolder));
+	}
+
+	@Test
+	public void testOutputLines() throws IOException {
+		List<String> lines = new ArrayList<>();
+		ProcessExecutor executor = new ProcessExecutor.BasicImpl();
+		int exitValue = executor.exec(ImmutableList.of("sh", "-c", "echo first; echo second 1>&2"), lines::add, new StringBuilder(), 10, TimeUnit.SECONDS);
+		assertEquals(0, exitValue);
+		assertEquals(List.of("first", "second"), lines);
+	}
+
+	@Test
+	public void testCapturedOutputLinesAreNotBounded(@TempDir Path logFolder) throws IOException {
+		List<String> lines = new ArrayList<>();
+		StringBuilder output = new StringBuilder();
+		OutputCapture capture = OutputCapture.builder().headSize(6).tailSize(4).logFolder(logFolder).build();
+		ProcessExecutor executor = new ProcessExecutor.BasicImpl(capture);
+		int exitValue = executor.exec(ImmutableList.of("sh", "-c", "echo first; seq 1 100"), lines::add, output, 10, TimeUnit.SECONDS);
+		assertEquals(0, exitValue);
+		assertEquals(101, lines.size());
+		assertEquals("first", lines.get(0));
+		assertEquals("100", lines.get(100));
+		assertTrue(output.toString().contains(" bytes omitted"), output.toString());
+		assertEquals(0, countFiles(logFolder));
+	}
+
+	@Test
+	public void testCapturedTimeout(@TempDir Path logFolder) throws IOException {
+		ProcessExecutor executor = new ProcessExecutor.BasicImpl(OutputCapture.builder().logFolder(logFolder).build());
+		IOException e = assertThrows(IOException.class, () -> executor.exec(ImmutableList.of("sh", "-c", "echo started; sleep 10"), new StringBuilder(), 200, TimeUnit.MILLISECONDS));
+		assertTrue(e.getMessage().contains("started"), e.getMessage());
+		assertEquals(0, countFiles(logFolder));
+	}
+
+	private static long countFiles(Path folder) throws IOException {
+		try (Stream<Path> files = Files.list(folder)) {
+			return files.count();
+		}
+	}
 }
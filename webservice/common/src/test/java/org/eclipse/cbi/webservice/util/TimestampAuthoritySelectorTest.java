@@ -0,0 +1,191 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+@SuppressWarnings("javadoc")
+public class TimestampAuthoritySelectorTest {
+
+	private HttpServer tsa;
+	private ExecutorService tsaExecutor;
+	private URI fast;
+	private URI slow;
+	private URI broken;
+
+	/**
+	 * Starts a local stand-in for the timestamping authorities: '/fast'
+	 * answers at once, '/slow' after a second and '/broken' with an error.
+	 */
+	@BeforeEach
+	public void startStandInAuthorities() throws IOException {
+		tsa = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		tsa.createContext("/fast", exchange -> respond(exchange, 200, "fast"));
+		tsa.createContext("/slow", exchange -> {
+			try {
+				Thread.sleep(1000);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			respond(exchange, 200, "slow");
+		});
+		tsa.createContext("/broken", exchange -> respond(exchange, 503, "broken"));
+		tsaExecutor = Executors.newCachedThreadPool();
+		tsa.setExecutor(tsaExecutor);
+		tsa.start();
+		String base = "http://127.0.0.1:" + tsa.getAddress().getPort();
+		fast = URI.create(base + "/fast");
+		slow = URI.create(base + "/slow");
+		broken = URI.create(base + "/broken");
+	}
+
+	@AfterEach
+	public void stopStandInAuthorities() {
+		tsa.stop(0);
+		tsaExecutor.shutdownNow();
+	}
+
+	private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+		byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+		exchange.sendResponseHeaders(status, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+
+	private static String post(URI authority) throws IOException {
+		HttpURLConnection connection = (HttpURLConnection) authority.toURL().openConnection();
+		connection.setRequestMethod("POST");
+		connection.setDoOutput(true);
+		try (OutputStream out = connection.getOutputStream()) {
+			out.write(new byte[] { 0x30, 0x00 });
+		}
+		if (connection.getResponseCode() != 200) {
+			throw new IOException("Timestamping authority answered with status " + connection.getResponseCode());
+		}
+		try (InputStream in = connection.getInputStream()) {
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+
+	@Test
+	public void testAuthoritiesAreOrderedByExpectedLatency() {
+		TimestampAuthoritySelector selector = new TimestampAuthoritySelector(ImmutableList.of(broken, slow, fast));
+		assertEquals(ImmutableList.of(broken, slow, fast), selector.authorities());
+
+		selector.recordSuccess(slow, TimeUnit.MILLISECONDS.toNanos(900));
+		selector.recordSuccess(fast, TimeUnit.MILLISECONDS.toNanos(100));
+		selector.recordFailure(broken, TimeUnit.MILLISECONDS.toNanos(100));
+		assertEquals(ImmutableList.of(fast, slow, broken), selector.authorities());
+		assertEquals(0, selector.successRate(broken));
+		assertEquals(1, selector.successRate(fast));
+	}
+
+	@Test
+	public void testFailsOverToNextAuthority() throws IOException {
+		TimestampAuthoritySelector selector = new TimestampAuthoritySelector(ImmutableList.of(broken, fast));
+		assertEquals("fast", selector.request(TimestampAuthoritySelectorTest::post, 2));
+		assertEquals(0, selector.successRate(broken));
+		assertEquals(ImmutableList.of(fast, broken), selector.authorities());
+	}
+
+	@Test
+	public void testAllAuthoritiesFail() {
+		TimestampAuthoritySelector selector = new TimestampAuthoritySelector(ImmutableList.of(broken));
+		IOException e = assertThrows(IOException.class, () -> selector.request(TimestampAuthoritySelectorTest::post, 3));
+		assertEquals(3, e.getSuppressed().length);
+	}
+
+	@Test
+	public void testHedgedRequestOutrunsSlowAuthority() throws IOException {
+		TimestampAuthoritySelector selector = new TimestampAuthoritySelector(ImmutableList.of(slow, fast), 90);
+		for (int i = 0; i < 10; i++) {
+			// the slow authority used to be fast
+			selector.recordSuccess(slow, TimeUnit.MILLISECONDS.toNanos(10));
+		}
+		for (int i = 0; i < 10; i++) {
+			selector.recordSuccess(fast, TimeUnit.MILLISECONDS.toNanos(50));
+		}
+		assertEquals(slow, selector.authorities().get(0));
+
+		long start = System.nanoTime();
+		assertEquals("fast", selector.request(TimestampAuthoritySelectorTest::post, 2));
+		assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(900), "Hedged request should not wait for the slow authority");
+	}
+
+	@Test
+	public void testOutrunAuthorityIsRankedBehind() throws IOException, InterruptedException {
+		TimestampAuthoritySelector selector = new TimestampAuthoritySelector(ImmutableList.of(slow, fast), 90);
+		for (int i = 0; i < 5; i++) {
+			selector.recordSuccess(slow, TimeUnit.MILLISECONDS.toNanos(10));
+			selector.recordSuccess(fast, TimeUnit.MILLISECONDS.toNanos(30));
+		}
+		// a stand-in slow authority which gives up as soon as it is outrun
+		TimestampAuthoritySelector.Request<String> request = authority -> {
+			if (slow.equals(authority)) {
+				Thread.sleep(TimeUnit.SECONDS.toMillis(10));
+				return "slow";
+			}
+			return "fast";
+		};
+
+		int outrun = 0;
+		while (slow.equals(selector.authorities().get(0))) {
+			assertTrue(outrun < 5, "The outrun authority should not keep ranking first");
+			assertEquals("fast", selector.request(request, 2));
+			outrun++;
+			// the outrun attempt is recorded once it has been interrupted
+			long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+			while (selector.successRate(slow) > 5.0 / (5 + outrun) && System.nanoTime() < deadline) {
+				Thread.sleep(10);
+			}
+			assertEquals(5.0 / (5 + outrun), selector.successRate(slow), 1e-9);
+		}
+		assertEquals(ImmutableList.of(fast, slow), selector.authorities());
+	}
+
+	@Test
+	public void testTimestampingFailures() {
+		URI tsa = URI.create("http://timestamp.example.org/tsa");
+		assertTrue(TimestampAuthoritySelector.isTimestampingFailure(
+				"jarsigner: unable to sign jar: java.io.IOException: Server returned HTTP response code: 503 for URL: http://timestamp.example.org/tsa", tsa));
+		assertTrue(TimestampAuthoritySelector.isTimestampingFailure("jarsigner error: java.net.SocketTimeoutException: Read timed out", tsa));
+		assertTrue(TimestampAuthoritySelector.isTimestampingFailure("CURL failure: Timeout was reached\nAuthenticode timestamping failed", tsa));
+		assertFalse(TimestampAuthoritySelector.isTimestampingFailure(
+				"jarsigner: unable to sign jar: java.util.zip.ZipException: invalid entry compressed size", tsa));
+		assertFalse(TimestampAuthoritySelector.isTimestampingFailure("Failed to read PKCS#12 file: wrong password", tsa));
+	}
+}
@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+
+@SuppressWarnings("javadoc")
+public class WorkerPoolProcessExecutorTest {
+
+	private static final String TOOL = "echo-tool";
+
+	private static WorkerPoolProcessExecutor createExecutor(ProcessExecutor fallback, int maxJobsPerWorker) {
+		WorkerPoolConfiguration configuration = WorkerPoolConfiguration.builder()
+			.maxWorkers(1)
+			.maxJobsPerWorker(maxJobsPerWorker)
+			.build();
+		return new WorkerPoolProcessExecutor(fallback, TOOL, EchoWorker.class.getName(), configuration);
+	}
+
+	@Test
+	public void testWorkerIsReused() throws IOException {
+		WorkerPoolProcessExecutor executor = createExecutor(new ProcessExecutor.BasicImpl(), 10);
+		for (int i = 0; i < 3; i++) {
+			StringBuilder output = new StringBuilder();
+			assertEquals(0, executor.exec(ImmutableList.of(TOOL, "echo", "Hello", "World"), output, 30, TimeUnit.SECONDS));
+			assertEquals("Hello World" + System.lineSeparator(), output.toString());
+		}
+		assertEquals(1, executor.startedWorkers());
+	}
+
+	@Test
+	public void testWorkerIsRecycled() throws IOException {
+		WorkerPoolProcessExecutor executor = createExecutor(new ProcessExecutor.BasicImpl(), 2);
+		for (int i = 0; i < 3; i++) {
+			assertEquals(0, executor.exec(ImmutableList.of(TOOL, "echo", "Hello"), 30, TimeUnit.SECONDS));
+		}
+		assertEquals(2, executor.startedWorkers());
+	}
+
+	@Test
+	public void testFailingJob() throws IOException {
+		WorkerPoolProcessExecutor executor = createExecutor(new ProcessExecutor.BasicImpl(), 10);
+		StringBuilder output = new StringBuilder();
+		assertEquals(1, executor.exec(ImmutableList.of(TOOL, "fail"), output, 30, TimeUnit.SECONDS));
+		assertTrue(output.toString().contains("Job failed"), output.toString());
+		assertEquals(0, executor.exec(ImmutableList.of(TOOL, "echo"), 30, TimeUnit.SECONDS));
+		assertEquals(1, executor.startedWorkers());
+	}
+
+	@Test
+	public void testTimeoutStopsWorker() throws IOException {
+		WorkerPoolProcessExecutor executor = createExecutor(new ProcessExecutor.BasicImpl(), 10);
+		assertEquals(0, executor.exec(ImmutableList.of(TOOL, "echo"), 30, TimeUnit.SECONDS));
+		IOException e = assertThrows(IOException.class, () -> executor.exec(ImmutableList.of(TOOL, "sleep", "60000"), 500, TimeUnit.MILLISECONDS));
+		assertTrue(e.getMessage().contains("stopped forcibly"), e.getMessage());
+		assertEquals(0, executor.exec(ImmutableList.of(TOOL, "echo"), 30, TimeUnit.SECONDS));
+		assertEquals(2, executor.startedWorkers());
+	}
+
+	@Test
+	public void testUnsupportedJobAndOtherToolsAreForked() throws IOException {
+		List<ImmutableList<String>> forked = new ArrayList<>();
+		ProcessExecutor fallback = new ProcessExecutor() {
+			@Override
+			public int exec(ImmutableList<String> command, StringBuilder processOutput, long timeout, TimeUnit timeoutUnit) {
+				forked.add(command);
+				return 42;
+			}
+
+			@Override
+			public int exec(ImmutableList<String> command, long timeout, TimeUnit timeoutUnit) {
+				return exec(command, new StringBuilder(), timeout, timeoutUnit);
+			}
+		};
+		WorkerPoolProcessExecutor executor = createExecutor(fallback, 10);
+		assertEquals(42, executor.exec(ImmutableList.of("echo", "Hello"), 10, TimeUnit.SECONDS));
+		assertEquals(0, executor.startedWorkers());
+
+		assertEquals(42, executor.exec(ImmutableList.of(TOOL, "-J-Xmx64m", "unknown"), 30, TimeUnit.SECONDS));
+		assertEquals(1, executor.startedWorkers());
+		assertEquals(ImmutableList.of(ImmutableList.of("echo", "Hello"), ImmutableList.of(TOOL, "-J-Xmx64m", "unknown")), forked);
+	}
+}
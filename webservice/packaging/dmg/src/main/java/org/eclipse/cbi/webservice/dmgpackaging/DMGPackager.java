@@ -30,6 +30,8 @@ import com.google.common.collect.ImmutableList;
 public abstract class DMGPackager {
 	
 	private static final Logger logger = LoggerFactory.getLogger(DMGPackager.class);
+
+	static final String DEFAULT_CREATE_DMG = "./create-dmg/create-dmg";
 	
 	DMGPackager() {}
 	
@@ -56,7 +58,7 @@ public abstract class DMGPackager {
 
 	private ImmutableList<String> createCommand(Path appFolder, Path targetImageFile, Options options) {
 		ImmutableList.Builder<String> command = ImmutableList.builder();
-		command.add("./create-dmg/create-dmg");
+		command.add(createDmg().toString());
 		command.add("--skip-jenkins");
 		
 		Splitter splitter = Splitter.on(' ').trimResults().omitEmptyStrings();
@@ -87,11 +89,13 @@ public abstract class DMGPackager {
 
 	abstract ProcessExecutor processExecutor();
 	abstract long timeout();
+	abstract Path createDmg();
 	
 	public static Builder builder(ProcessExecutor executor) {
 		return new AutoValue_DMGPackager.Builder()
 			.processExecutor(executor)
-			.timeout(TimeUnit.MINUTES.toSeconds(3));
+			.timeout(TimeUnit.MINUTES.toSeconds(3))
+			.createDmg(Path.of(DEFAULT_CREATE_DMG));
 	}
 	
 	@AutoValue.Builder
@@ -99,6 +103,7 @@ public abstract class DMGPackager {
 		Builder() {}
 		abstract Builder processExecutor(ProcessExecutor executor);
 		public abstract Builder timeout(long timeout);
+		public abstract Builder createDmg(Path createDmg);
 
 		public abstract DMGPackager build();
 	}
@@ -13,6 +13,7 @@
 package org.eclipse.cbi.webservice.dmgpackaging;
 
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.cbi.webservice.util.PropertiesReader;
@@ -24,6 +25,7 @@ public class DMGPackagerProperties {
 	
 	// signing
 	private static final long DEFAULT_SECURITY_UNLOCK_TIMEOUT = 20;
+	private static final long DEFAULT_SECURITY_UNLOCK_TTL = 60;
 	private static final long DEFAULT_CODESIGN_TIMEOUT = TimeUnit.MINUTES.toSeconds(10);
 	private static final String DEFAULT_CODESIGN_TIMESTAMP_AUTHORITY = "";
 	
@@ -31,9 +33,30 @@ public class DMGPackagerProperties {
 	private static final String KEYCHAIN_PASSWORD_FILE = "macosx.keychain.password";
 	private static final String KEYCHAIN_PATH = "macosx.keychain";
 	private static final String SECURITY_UNLOCK_TIMEOUT = "macosx.security.unlock.timeout";
+	private static final String SECURITY_UNLOCK_TTL = "macosx.security.unlock.ttl";
 	private static final String CODESIGN_TIMEOUT = "macosx.codesign.timeout";
 	private static final String CODESIGN_TIMESTAMP_AUTHORITY = "macosx.codesign.timestamp";
 
+	// packaging runs
+	private static final String CREATE_DMG = "dmgpackager.create-dmg";
+	private static final int DEFAULT_RUNS_CONCURRENT = 2;
+	private static final int DEFAULT_RUNS_QUEUED = 16;
+	private static final long DEFAULT_WORKSPACE_QUOTA = 10L * 1024 * 1024 * 1024;
+
+	private static final String RUNS_CONCURRENT = "dmgpackager.runs.concurrent";
+	private static final String RUNS_QUEUED = "dmgpackager.runs.queued";
+	private static final String WORKSPACE_QUOTA = "dmgpackager.workspace.quota";
+
+	// asynchronous jobs
+	private static final long DEFAULT_JOBS_RETENTION = TimeUnit.HOURS.toSeconds(1);
+	private static final int DEFAULT_JOBS_RETAINED = 32;
+
+	private static final String JOBS_RETENTION = "dmgpackager.jobs.retention";
+	private static final String JOBS_RETAINED = "dmgpackager.jobs.retained";
+
+	// uploaded source
+	private static final String PARALLEL_SOURCE_DECODING = "dmgpackager.source.decoding.parallel";
+
 	private final PropertiesReader propertiesReader;
 	
 	public DMGPackagerProperties(PropertiesReader propertiesReader) {
@@ -56,6 +79,10 @@ public class DMGPackagerProperties {
 		return propertiesReader.getLong(SECURITY_UNLOCK_TIMEOUT, DEFAULT_SECURITY_UNLOCK_TIMEOUT);
 	}
 
+	public long getSecurityUnlockTtl() {
+		return propertiesReader.getLong(SECURITY_UNLOCK_TTL, DEFAULT_SECURITY_UNLOCK_TTL);
+	}
+
 	public long getCodesignTimeout() {
 		return propertiesReader.getLong(CODESIGN_TIMEOUT, DEFAULT_CODESIGN_TIMEOUT);
 	}
@@ -72,4 +99,32 @@ public class DMGPackagerProperties {
 			throw new IllegalStateException("'" + TIMEOUT + "' '" + timeout + "' must be a valid long integer", e);
 		}
 	}
+
+	public Path getCreateDmg() {
+		return propertiesReader.getPath(CREATE_DMG, DMGPackager.DEFAULT_CREATE_DMG).toAbsolutePath();
+	}
+
+	public int getRunsConcurrent() {
+		return propertiesReader.getInt(RUNS_CONCURRENT, DEFAULT_RUNS_CONCURRENT);
+	}
+
+	public int getRunsQueued() {
+		return propertiesReader.getInt(RUNS_QUEUED, DEFAULT_RUNS_QUEUED);
+	}
+
+	public long getWorkspaceQuota() {
+		return propertiesReader.getLong(WORKSPACE_QUOTA, DEFAULT_WORKSPACE_QUOTA);
+	}
+
+	public Duration getJobsRetention() {
+		return Duration.ofSeconds(propertiesReader.getLong(JOBS_RETENTION, DEFAULT_JOBS_RETENTION));
+	}
+
+	public int getJobsRetained() {
+		return propertiesReader.getInt(JOBS_RETAINED, DEFAULT_JOBS_RETAINED);
+	}
+
+	public boolean isParallelSourceDecoding() {
+		return propertiesReader.getBoolean(PARALLEL_SOURCE_DECODING, false);
+	}
 }
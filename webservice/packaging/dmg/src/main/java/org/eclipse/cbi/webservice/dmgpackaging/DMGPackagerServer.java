@@ -19,10 +19,13 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
+import jakarta.servlet.Servlet;
+
 import org.eclipse.cbi.webservice.server.EmbeddedServer;
 import org.eclipse.cbi.webservice.server.EmbeddedServerConfiguration;
 import org.eclipse.cbi.webservice.server.EmbeddedServerProperties;
 import org.eclipse.cbi.webservice.util.ProcessExecutor;
+import org.eclipse.cbi.webservice.util.ProcessExecutorProperties;
 import org.eclipse.cbi.webservice.util.PropertiesReader;
 import org.kohsuke.args4j.Argument;
 import org.kohsuke.args4j.CmdLineException;
@@ -48,31 +51,21 @@ public class DMGPackagerServer {
 			final EmbeddedServerConfiguration serverConf = new EmbeddedServerProperties(PropertiesReader.create(confPath));
 			final Path tempFolder = serverConf.getTempFolder();
 
-			final ProcessExecutor processExecutor = new ProcessExecutor.BasicImpl();
-			final DMGPackagerProperties conf = new DMGPackagerProperties(PropertiesReader.create(confPath));
-			final DMGPackager dmgPackager = DMGPackager.builder(processExecutor).timeout(conf.getTimeout()).build();
-			final DMGSigner dmgSigner = DMGSigner.builder()
-					.certificateName(conf.getCertificate())
-					.keychain(conf.getKeychain())
-					.keychainPassword(conf.getKeychainPassword())
-					.codesignTimeout(conf.getCodesignTimeout())
-					.timeStampAuthority(conf.getTimeStampAuthority())
-					.securityUnlockTimeout(conf.getSecurityUnlockTimeout())
-					.processExecutor(processExecutor)
-					.build();
-			
-			final DMGPackagerServlet createDMGServlet = DMGPackagerServlet.builder()
-					.tempFolder(tempFolder)
-					.dmgPackager(dmgPackager)
-					.dmgSigner(dmgSigner)
-					.build();
+			final ProcessExecutor processExecutor = new ProcessExecutorProperties(PropertiesReader.create(confPath)).createProcessExecutor(tempFolder);
+			final Servlet createDMGServlet = new DMGPackagerServiceProvider().createServlet(PropertiesReader.create(confPath), tempFolder, processExecutor);
 			
 			final EmbeddedServer server = EmbeddedServer.builder()
 				.port(serverConf.getServerPort())
 				.accessLogFile(serverConf.getAccessLogFile())
+				.multipartMemoryLimit(serverConf.getMultipartMemoryLimit())
+				.minFreeTempSpace(serverConf.getMinFreeTempSpace())
+				.http2(serverConf.getHttp2Configuration())
+				.tls(serverConf.getTlsConfiguration())
+				.tuning(serverConf.getTuningConfiguration())
 				.servicePathSpec(serverConf.getServicePathSpec())
 				.appendServiceVersionToPathSpec(serverConf.isServiceVersionAppendedToPathSpec())
 				.servlet(createDMGServlet)
+				.processExecutor(processExecutor)
 				.tempFolder(tempFolder)
 				.log4jConfiguration(serverConf.getLog4jProperties())
 				.build();
@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.dmgpackaging;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import jakarta.servlet.Servlet;
+
+import org.eclipse.cbi.webservice.server.ServiceProvider;
+import org.eclipse.cbi.webservice.servlet.JobRegistry;
+import org.eclipse.cbi.webservice.util.ProcessExecutor;
+import org.eclipse.cbi.webservice.util.PropertiesReader;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Provides the DMG packaging service to a multi-service server.
+ */
+public class DMGPackagerServiceProvider implements ServiceProvider {
+
+	private static final Duration QUOTA_CHECK_INTERVAL = Duration.ofSeconds(5);
+
+	@Override
+	public String name() {
+		return "dmg";
+	}
+
+	@Override
+	public Servlet createServlet(PropertiesReader properties, Path tempFolder, ProcessExecutor processExecutor) {
+		final DMGPackagerProperties conf = new DMGPackagerProperties(properties);
+		final DMGPackager dmgPackager = DMGPackager.builder(processExecutor).timeout(conf.getTimeout()).createDmg(conf.getCreateDmg()).build();
+		final DMGSigner dmgSigner = DMGSigner.builder()
+				.certificateName(conf.getCertificate())
+				.keychain(conf.getKeychain())
+				.keychainPassword(conf.getKeychainPassword())
+				.codesignTimeout(conf.getCodesignTimeout())
+				.timeStampAuthority(conf.getTimeStampAuthority())
+				.securityUnlockTimeout(conf.getSecurityUnlockTimeout())
+				.securityUnlockTtl(conf.getSecurityUnlockTtl())
+				.processExecutor(processExecutor)
+				.build();
+
+		final JobRegistry jobs = new JobRegistry(tempFolder.resolve("jobs"), DMGPackagerServlet.APPLE_DISKIMAGE_MEDIA_TYPE, conf.getJobsRetention(), conf.getJobsRetained());
+		final DMGPackagingScheduler scheduler = new DMGPackagingScheduler(tempFolder.resolve("workspaces"), conf.getRunsConcurrent(), conf.getRunsQueued(),
+				conf.getWorkspaceQuota(), QUOTA_CHECK_INTERVAL);
+		final Executor sourceDecoder = conf.isParallelSourceDecoding()
+				? Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("DMG-Source-Decoder-%d").setDaemon(true).build())
+				: null;
+
+		return DMGPackagerServlet.builder()
+				.dmgPackager(dmgPackager)
+				.dmgSigner(dmgSigner)
+				.jobs(jobs)
+				.scheduler(scheduler)
+				.sourceDecoder(sourceDecoder)
+				.build();
+	}
+}
@@ -13,8 +13,16 @@
 package org.eclipse.cbi.webservice.dmgpackaging;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
 
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServlet;
@@ -23,17 +31,22 @@ import jakarta.servlet.http.HttpServletResponse;
 
 import org.eclipse.cbi.common.util.Paths;
 import org.eclipse.cbi.webservice.dmgpackaging.DMGPackager.Options;
+import org.eclipse.cbi.webservice.servlet.JobRegistry;
 import org.eclipse.cbi.webservice.servlet.RequestFacade;
 import org.eclipse.cbi.webservice.servlet.ResponseFacade;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.auto.value.AutoValue;
+import com.google.common.base.Throwables;
+import com.google.common.net.HttpHeaders;
 
 @AutoValue
 public abstract class DMGPackagerServlet extends HttpServlet {
 
-	private static final String APPLE_DISKIMAGE_MEDIA_TYPE = "application/x-apple-diskimage";
+	static final String APPLE_DISKIMAGE_MEDIA_TYPE = "application/x-apple-diskimage";
+
+	private static final String RETRY_AFTER_SECONDS = "30";
 
 	private static final String DOT_APP = ".app";
 	private static final String DOT_DMG = ".dmg";
@@ -44,9 +57,11 @@ public abstract class DMGPackagerServlet extends HttpServlet {
 	
 	DMGPackagerServlet() {}
 	
-	abstract Path tempFolder();
 	abstract DMGPackager dmgPackager();
 	abstract DMGSigner dmgSigner();
+	abstract JobRegistry jobs();
+	abstract DMGPackagingScheduler scheduler();
+	@Nullable abstract Executor sourceDecoder();
 	
 	public static Builder builder() {
 		return new AutoValue_DMGPackagerServlet.Builder();
@@ -57,20 +72,29 @@ public abstract class DMGPackagerServlet extends HttpServlet {
 		Builder() {}
 		public abstract Builder dmgPackager(DMGPackager dmgPackager);
 		public abstract Builder dmgSigner(DMGSigner dmgSigner);
-		public abstract Builder tempFolder(Path tempFolder);
+		public abstract Builder jobs(JobRegistry jobs);
+		public abstract Builder scheduler(DMGPackagingScheduler scheduler);
+		public abstract Builder sourceDecoder(@Nullable Executor sourceDecoder);
 		public abstract DMGPackagerServlet build();
 	}
 	
+	@Override
+	protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+		jobs().doGet(req, resp);
+	}
+
 	@Override
 	protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
 		final ResponseFacade responseFacade = ResponseFacade.builder()
 				.servletResponse(resp)
 				.build();
 		
-		Path targetImageFile = null;
-		try(RequestFacade requestFacade = RequestFacade.builder(tempFolder()).request(req).build();
-				DMGPackagerServletRequestParser parser = DMGPackagerServletRequestParser.builder(tempFolder()).requestFacade(requestFacade).build()) {
-			
+		// the upload and the extracted source go to the workspace as well, so that the disk quota covers the whole packaging
+		final Path workspace = scheduler().createWorkspace();
+		RequestFacade requestFacade = RequestFacade.builder(workspace).request(req).build();
+		DMGPackagerServletRequestParser parser = DMGPackagerServletRequestParser.builder(workspace).requestFacade(requestFacade).sourceDecoder(sourceDecoder()).build();
+		boolean ownedByJob = false;
+		try {
 			final Options options = Options.builder()
 				.appDropLink(parser.getAppDropLink())
 				.backgroundImage(parser.getBackgroundImage())
@@ -83,21 +107,79 @@ public abstract class DMGPackagerServlet extends HttpServlet {
 				.windowSize(parser.getWindowSize())
 				.build();
 			
-			Path source = parser.getSource();
-			targetImageFile = dmgPackager().packageImageFile(source, source.normalize().getParent().resolve(source.getFileName().toString().replace(DOT_APP, DOT_DMG)), options);
+			final Path source = parser.getSource();
+			final String imageFileName = source.getFileName().toString().replace(DOT_APP, DOT_DMG);
+			final boolean sign = requestFacade.getBooleanParameter("sign");
 			
-			if (requestFacade.getBooleanParameter("sign")) {
+			if (requestFacade.getBooleanParameter(JobRegistry.ASYNC_PARAMETER)) {
+				// the request is over once the job is accepted, the job owns the workspace
 				try {
-					dmgSigner().sign(targetImageFile);
-				} catch (IOException e) {
-					logger.error("Error occured while signing '"+targetImageFile.toString()+"'", e);
+					JobRegistry.Job job = jobs().submit(j -> {
+						try (requestFacade; parser) {
+							return scheduler().call(workspace, () -> {
+								Path imageFile = packageImageFile(source, workspace.resolve(imageFileName), options, sign, j::progress);
+								return Files.move(imageFile, j.folder().resolve(imageFileName));
+							});
+						} finally {
+							deleteTemporaryResource(workspace);
+						}
+					}, scheduler());
+					ownedByJob = true;
+					jobs().replyAccepted(job, req, resp);
+				} catch (@SuppressWarnings("unused") RejectedExecutionException e) {
+					rejectRequest(resp, responseFacade);
+				}
+			} else {
+				try {
+					Path targetImageFile = awaitRun(scheduler().submit(workspace,
+							() -> packageImageFile(source, workspace.resolve(imageFileName), options, sign, step -> {})));
+					responseFacade.replyWithFile(APPLE_DISKIMAGE_MEDIA_TYPE, targetImageFile.getFileName().toString(), targetImageFile);
+				} catch (@SuppressWarnings("unused") RejectedExecutionException e) {
+					rejectRequest(resp, responseFacade);
 				}
 			}
-			
-			responseFacade.replyWithFile(APPLE_DISKIMAGE_MEDIA_TYPE, targetImageFile.getFileName().toString(), targetImageFile);
 		} finally {
-			deleteTemporaryResource(targetImageFile);
+			if (!ownedByJob) {
+				parser.close();
+				requestFacade.close();
+				deleteTemporaryResource(workspace);
+			}
+		}
+	}
+
+	private static void rejectRequest(HttpServletResponse resp, ResponseFacade responseFacade) throws IOException {
+		logger.warn("Too many DMG packagings are waiting, rejecting request");
+		resp.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+		responseFacade.replyError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Too many DMG packagings are waiting, retry later");
+	}
+
+	private static Path awaitRun(Future<Path> run) throws IOException {
+		try {
+			return run.get();
+		} catch (@SuppressWarnings("unused") InterruptedException e) {
+			run.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Thread '" + Thread.currentThread().getName() + "' has been interrupted while waiting for a DMG packaging");
+		} catch (ExecutionException e) {
+			Throwables.throwIfInstanceOf(e.getCause(), IOException.class);
+			Throwables.throwIfUnchecked(e.getCause());
+			throw new IOException(e.getCause());
+		}
+	}
+
+	private Path packageImageFile(Path source, Path targetImageFile, Options options, boolean sign, Consumer<String> progress) throws IOException {
+		progress.accept("Packaging the DMG file");
+		Path imageFile = dmgPackager().packageImageFile(source, targetImageFile, options);
+		
+		if (sign) {
+			progress.accept("Signing the DMG file");
+			try {
+				dmgSigner().sign(imageFile);
+			} catch (IOException e) {
+				logger.error("Error occured while signing '"+imageFile.toString()+"'", e);
+			}
 		}
+		return imageFile;
 	}
 
 	private void deleteTemporaryResource(Path tempResource) {
@@ -16,14 +16,18 @@ import static com.google.common.base.Preconditions.checkState;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.PathMatcher;
 import java.util.LinkedHashSet;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.stream.Stream;
 
+import javax.annotation.Nullable;
+
 import jakarta.servlet.ServletException;
 
 import org.eclipse.cbi.common.util.Paths;
@@ -37,7 +41,8 @@ import com.google.auto.value.AutoValue;
 /**
  * A parser for request to {@link DMGPackagerServlet}.
  * <p>
- * It will create temporary resources during call to some methods. Calling
+ * It will create temporary resources in the workspace of the packaging during
+ * call to some methods, so that they count against its disk quota. Calling
  * {@link #close()} method will remove these temporary resources.
  */
 @AutoValue
@@ -48,6 +53,7 @@ public abstract class DMGPackagerServletRequestParser implements Closeable {
 	private static final String DOT_APP_GLOB_PATTERN = "glob:**.app";
 	static final String SOURCE_PART_NAME = "source";
 	private static final String DOT_TAR_GZ = ".tar.gz";
+	private static final String DOT_TAR_ZST = ".tar.zst";
 	private static final String DOT_ZIP = ".zip";
 	private static final String TEMP_FILE_PREFIX = DMGPackagerServletRequestParser.class.getSimpleName() + "-";
 	
@@ -75,35 +81,55 @@ public abstract class DMGPackagerServletRequestParser implements Closeable {
 	
 	public Path getSource() throws RequestParserException, IOException, ServletException {
 		if (requestFacade().hasPart(SOURCE_PART_NAME)) {
-			Optional<Path> sourcePath = requestFacade().getPartPath(SOURCE_PART_NAME, TEMP_FILE_PREFIX);
-			if (requestFacade().getSubmittedFileName(SOURCE_PART_NAME).get().endsWith(DOT_TAR_GZ)) {
-				if (sourcePath.isPresent()) {
-					return extractAppFromTarGz(sourcePath.get());
-				} else {
-					throw new RequestParserException("An error occured while retrieving the content of the part named '" + SOURCE_PART_NAME + "'");
-				}
-			} else if (requestFacade().getSubmittedFileName(SOURCE_PART_NAME).get().endsWith(DOT_ZIP)) {
+			String submittedFileName = requestFacade().getSubmittedFileName(SOURCE_PART_NAME).get();
+			if (submittedFileName.endsWith(DOT_TAR_GZ)) {
+				return extractAppFromTarball(sourceDecoder() != null
+						? (source, folder) -> Zips.unpackTarGz(source, folder, sourceDecoder())
+						: Zips::unpackTarGz, DOT_TAR_GZ);
+			} else if (submittedFileName.endsWith(DOT_TAR_ZST)) {
+				return extractAppFromTarball(sourceDecoder() != null
+						? (source, folder) -> Zips.unpackTarZst(source, folder, sourceDecoder())
+						: Zips::unpackTarZst, DOT_TAR_ZST);
+			} else if (submittedFileName.endsWith(DOT_ZIP)) {
+				// the central directory of a zip is at its end, it can't be extracted while being read
+				Optional<Path> sourcePath = requestFacade().getPartPath(SOURCE_PART_NAME, TEMP_FILE_PREFIX);
 				if (sourcePath.isPresent()) {
 					return extractAppFromZip(sourcePath.get());
 				} else {
 					throw new RequestParserException("An error occured while retrieving the content of the part named '" + SOURCE_PART_NAME + "'");
 				}
 			} else {
-				throw new RequestParserException("The file name of the part named '" + SOURCE_PART_NAME + "' must have a 'tar.gz' extension");
+				throw new RequestParserException("The file name of the part named '" + SOURCE_PART_NAME + "' must have a 'tar.gz', 'tar.zst' or 'zip' extension");
 			}
 		} else {
 			throw new RequestParserException("The request must contain a part named '" + SOURCE_PART_NAME + "'");
 		}
 	}
 	
-	private Path extractAppFromTarGz(Path sourcePath) throws IOException, ServletException, RequestParserException {
-		Path untarFolder = createTempDirectory(tempFolder(), TEMP_FILE_PREFIX);
-		untar(sourcePath, untarFolder);
+	/**
+	 * Extracts the tarball straight from the content of the part, without
+	 * writing a copy of it first.
+	 */
+	private Path extractAppFromTarball(TarballUnpacker unpacker, String extension) throws IOException, ServletException, RequestParserException {
+		Optional<InputStream> source = requestFacade().getPartInputStream(SOURCE_PART_NAME);
+		if (!source.isPresent()) {
+			throw new RequestParserException("An error occured while retrieving the content of the part named '" + SOURCE_PART_NAME + "'");
+		}
+		Path untarFolder = createTempDirectory(workspace(), TEMP_FILE_PREFIX);
+		int unpackedEntries = unpacker.unpack(source.get(), untarFolder);
+		if (unpackedEntries <= 0) {
+			throw new RequestParserException("The provided '" + SOURCE_PART_NAME + "' part is not a valid '" + extension + "' file.");
+		}
 		return findFirstAppInFolder(untarFolder);
 	}
 	
+	@FunctionalInterface
+	private interface TarballUnpacker {
+		int unpack(InputStream source, Path outputDir) throws IOException;
+	}
+	
 	private Path extractAppFromZip(Path sourcePath) throws IOException, ServletException, RequestParserException {
-		Path untarFolder = createTempDirectory(tempFolder(), TEMP_FILE_PREFIX);
+		Path untarFolder = createTempDirectory(workspace(), TEMP_FILE_PREFIX);
 		unzip(sourcePath, untarFolder);
 		return findFirstAppInFolder(untarFolder);
 	}
@@ -117,20 +143,13 @@ public abstract class DMGPackagerServletRequestParser implements Closeable {
 			).findFirst();
 			
 			if (!firstAppFolder.isPresent()) {
-				throw new RequestParserException("Can't find a '.app' folder in the submitted '" + SOURCE_PART_NAME + "' tar.gz file ");
+				throw new RequestParserException("Can't find a '.app' folder in the submitted '" + SOURCE_PART_NAME + "' archive");
 			} else {
 				return firstAppFolder.get();
 			}
 		}
 	}
 	
-	private void untar(Path sourcePath, Path extractFolder) throws RequestParserException, IOException {
-		int unpackedEntries = Zips.unpackTarGz(sourcePath, extractFolder);
-		if (unpackedEntries <= 0) {
-			throw new RequestParserException("The provided '" + SOURCE_PART_NAME + "' part is not a valid '.tar.gz' file.");
-		}
-	}
-	
 	private void unzip(Path sourcePath, Path extractFolder) throws RequestParserException, IOException {
 		int unpackedEntries = Zips.unpackZip(sourcePath, extractFolder);
 		if (unpackedEntries <= 0) {
@@ -197,22 +216,26 @@ public abstract class DMGPackagerServletRequestParser implements Closeable {
 
 	abstract RequestFacade requestFacade();
 
-	abstract Path tempFolder();
+	abstract Path workspace();
+
+	@Nullable
+	abstract Executor sourceDecoder();
 
-	public static Builder builder(Path tempFolder) {
+	public static Builder builder(Path workspace) {
 		return new AutoValue_DMGPackagerServletRequestParser.Builder()
-			.tempFolder(tempFolder);
+			.workspace(workspace);
 	}
 
 	@AutoValue.Builder
 	public static abstract class Builder {
 		Builder() {}
 		public abstract Builder requestFacade(RequestFacade requestFacade);
-		abstract Builder tempFolder(Path path);
+		abstract Builder workspace(Path path);
+		public abstract Builder sourceDecoder(@Nullable Executor sourceDecoder);
 		abstract DMGPackagerServletRequestParser autoBuild();
 		public DMGPackagerServletRequestParser build() {
 			DMGPackagerServletRequestParser parser = autoBuild();
-			checkState(Files.isDirectory(parser.tempFolder()), "Temporary folder must be an existing directory");
+			checkState(Files.isDirectory(parser.workspace()), "Workspace must be an existing directory");
 			return parser;
 		}
 	}
@@ -0,0 +1,259 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.dmgpackaging;
+
+import java.io.IOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Runs the DMG packagings of the service. Each packaging gets its own
+ * workspace folder. At most a given number of packagings run concurrently, the
+ * others wait in FIFO order. Once the wait queue is full, new packagings are
+ * rejected.
+ * <p>
+ * The size of the workspace of a running packaging is checked periodically.
+ * If it grows beyond the disk quota, the thread running the packaging is
+ * interrupted, which kills the {@code create-dmg} process, and the packaging
+ * fails.
+ */
+public final class DMGPackagingScheduler implements Executor {
+
+	private static final Logger logger = LoggerFactory.getLogger(DMGPackagingScheduler.class);
+
+	private static final ScheduledExecutorService QUOTA_CHECKER = Executors.newSingleThreadScheduledExecutor(
+			new ThreadFactoryBuilder().setNameFormat("DMG-Quota-Checker-%d").setDaemon(true).build());
+
+	private final Path workFolder;
+	private final ThreadPoolExecutor executor;
+	private final long diskQuota;
+	private final Duration quotaCheckInterval;
+
+	/**
+	 * Creates a new scheduler.
+	 *
+	 * @param workFolder
+	 *            the folder where the workspaces are created.
+	 * @param maxConcurrentRuns
+	 *            the maximum number of packagings running concurrently.
+	 * @param maxQueuedRuns
+	 *            the maximum number of packagings waiting to be run.
+	 * @param diskQuota
+	 *            the maximum size in bytes of a workspace, 0 for no quota.
+	 * @param quotaCheckInterval
+	 *            the time between two checks of the size of a workspace.
+	 */
+	public DMGPackagingScheduler(Path workFolder, int maxConcurrentRuns, int maxQueuedRuns, long diskQuota, Duration quotaCheckInterval) {
+		Preconditions.checkArgument(maxConcurrentRuns > 0, "Maximum number of concurrent packagings must be strictly positive");
+		Preconditions.checkArgument(maxQueuedRuns > 0, "Maximum number of queued packagings must be strictly positive");
+		Preconditions.checkArgument(diskQuota >= 0, "Disk quota must be positive");
+		Preconditions.checkArgument(!quotaCheckInterval.isNegative() && !quotaCheckInterval.isZero(), "Quota check interval must be strictly positive");
+		this.workFolder = workFolder;
+		this.diskQuota = diskQuota;
+		this.quotaCheckInterval = quotaCheckInterval;
+		this.executor = new ThreadPoolExecutor(maxConcurrentRuns, maxConcurrentRuns, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(maxQueuedRuns, true),
+				new ThreadFactoryBuilder().setNameFormat("DMG-Packaging-%d").setDaemon(true).build());
+	}
+
+	/**
+	 * Creates a new, empty, workspace. It is up to the caller to delete it
+	 * once done.
+	 *
+	 * @return the path to the workspace folder.
+	 * @throws IOException
+	 *             if the folder can't be created.
+	 */
+	public Path createWorkspace() throws IOException {
+		Files.createDirectories(workFolder);
+		return Files.createTempDirectory(workFolder, "dmg-");
+	}
+
+	/**
+	 * Schedules a packaging in the given workspace.
+	 *
+	 * @param workspace
+	 *            the workspace of the packaging, subject to the disk quota.
+	 * @param run
+	 *            the packaging to run.
+	 * @return the pending result of the packaging.
+	 * @throws RejectedExecutionException
+	 *             if too many packagings are already waiting to be run.
+	 */
+	public <T> Future<T> submit(Path workspace, Callable<T> run) {
+		return executor.submit(() -> call(workspace, run));
+	}
+
+	/**
+	 * Runs a packaging in the given workspace, in the calling thread, while
+	 * enforcing the disk quota. Meant to be used by tasks already scheduled
+	 * with {@link #execute(Runnable)}.
+	 *
+	 * @param workspace
+	 *            the workspace of the packaging, subject to the disk quota.
+	 * @param run
+	 *            the packaging to run.
+	 * @return the result of the packaging.
+	 * @throws IOException
+	 *             if the workspace grew beyond the disk quota.
+	 * @throws Exception
+	 *             if the packaging failed.
+	 */
+	public <T> T call(Path workspace, Callable<T> run) throws Exception {
+		if (diskQuota == 0) {
+			return run.call();
+		}
+
+		QuotaGuard guard = new QuotaGuard(workspace, Thread.currentThread());
+		ScheduledFuture<?> check = QUOTA_CHECKER.scheduleWithFixedDelay(guard, quotaCheckInterval.toMillis(), quotaCheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+		final T result;
+		try {
+			result = run.call();
+		} catch (Exception e) {
+			if (guard.finish()) {
+				IOException quotaExceeded = quotaExceeded(workspace);
+				quotaExceeded.addSuppressed(e);
+				throw quotaExceeded;
+			}
+			throw e;
+		} finally {
+			check.cancel(false);
+		}
+		if (guard.finish()) {
+			throw quotaExceeded(workspace);
+		}
+		return result;
+	}
+
+	private IOException quotaExceeded(Path workspace) {
+		// the interrupt was aimed at the packaging, not at the caller
+		Thread.interrupted();
+		return new IOException("Workspace '" + workspace + "' exceeded its disk quota of " + diskQuota + " bytes");
+	}
+
+	/**
+	 * Schedules a packaging.
+	 *
+	 * @param run
+	 *            the packaging to run.
+	 * @throws RejectedExecutionException
+	 *             if too many packagings are already waiting to be run.
+	 */
+	@Override
+	public void execute(Runnable run) {
+		executor.execute(run);
+	}
+
+	/**
+	 * Returns the number of packagings currently running.
+	 *
+	 * @return the number of running packagings.
+	 */
+	public int running() {
+		return executor.getActiveCount();
+	}
+
+	/**
+	 * Returns the number of packagings waiting to be run.
+	 *
+	 * @return the number of waiting packagings.
+	 */
+	public int queued() {
+		return executor.getQueue().size();
+	}
+
+	/**
+	 * Returns the size in bytes of the regular files in the given folder.
+	 * Files that disappear while walking the folder are ignored.
+	 */
+	static long sizeOf(Path folder) throws IOException {
+		final long[] size = new long[1];
+		Files.walkFileTree(folder, new SimpleFileVisitor<Path>() {
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+				if (attrs.isRegularFile()) {
+					size[0] += attrs.size();
+				}
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFileFailed(Path file, IOException exc) {
+				return FileVisitResult.CONTINUE;
+			}
+		});
+		return size[0];
+	}
+
+	/**
+	 * Interrupts the running packaging once its workspace is over quota.
+	 */
+	private final class QuotaGuard implements Runnable {
+		private final Path workspace;
+		private final Thread runner;
+		private boolean done;
+		private boolean exceeded;
+
+		QuotaGuard(Path workspace, Thread runner) {
+			this.workspace = workspace;
+			this.runner = runner;
+		}
+
+		@Override
+		public synchronized void run() {
+			if (done || exceeded) {
+				return;
+			}
+			try {
+				long size = sizeOf(workspace);
+				if (size > diskQuota) {
+					logger.warn("Workspace '{}' uses {} bytes, more than its quota of {} bytes, stopping the packaging", workspace, size, diskQuota);
+					exceeded = true;
+					runner.interrupt();
+				}
+			} catch (IOException e) {
+				logger.warn("Unable to compute the size of the workspace '{}'", workspace, e);
+			}
+		}
+
+		/**
+		 * Stops the checks.
+		 *
+		 * @return whether the quota has been exceeded.
+		 */
+		synchronized boolean finish() {
+			done = true;
+			return exceeded;
+		}
+	}
+}
@@ -21,6 +21,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.concurrent.TimeUnit;
 
+import org.eclipse.cbi.webservice.util.KeychainUnlocker;
 import org.eclipse.cbi.webservice.util.ProcessExecutor;
 
 import com.google.auto.value.AutoValue;
@@ -63,13 +64,22 @@ public abstract class DMGSigner {
 
 	abstract long securityUnlockTimeout();
 
+	/**
+	 * Returns the time the keychain is deemed to stay unlocked after a
+	 * {@code security unlock}, in seconds.
+	 *
+	 * @return the keychain session time to live in seconds.
+	 */
+	abstract long securityUnlockTtl();
+
 	abstract ImmutableList<String> codesignCommandPrefix();
 
-	abstract ImmutableList<String> securityUnlockCommand();
+	abstract KeychainUnlocker keychainUnlocker();
 
 	public static Builder builder() {
 		return new AutoValue_DMGSigner.Builder()
 			.securityUnlockTimeout(20)
+			.securityUnlockTtl(60)
 			.codesignTimeout(TimeUnit.MINUTES.toSeconds(10));
 	}
 
@@ -77,10 +87,10 @@ public abstract class DMGSigner {
 		requireNonNull(dmg);
 		checkArgument(dmg.getFileSystem().getPathMatcher(DOT_DMG_GLOB_PATTERN).matches(dmg), "Path must ends with '.dmg");
 
-		unlockKeychain();
+		keychainUnlocker().ensureUnlocked();
 
 		final StringBuilder output = new StringBuilder();
-		final int codesignExitValue = processExecutor().exec(codesignCommand(dmg), output, codesignTimeout(), TimeUnit.SECONDS);
+		final int codesignExitValue = keychainUnlocker().exec(codesignCommand(dmg), output, codesignTimeout(), TimeUnit.SECONDS);
 		if (codesignExitValue == 0) {
 			return true;
 		} else {
@@ -95,17 +105,6 @@ public abstract class DMGSigner {
 		return ImmutableList.<String>builder().addAll(codesignCommandPrefix()).add(path.toString()).build();
 	}
 	
-	private void unlockKeychain() throws IOException {
-		final StringBuilder output = new StringBuilder();
-		final int securityExitValue = processExecutor().exec(securityUnlockCommand(), output , securityUnlockTimeout(), TimeUnit.SECONDS);
-		if (securityExitValue != 0) {
-			throw new IOException(Joiner.on('\n').join(
-					"The 'security unlock' command exited with value '" + securityExitValue + "'",
-					"'security unlock' output:",
-					output));
-		}
-	}
-	
 	@AutoValue.Builder
 	public abstract static class Builder {
 		Builder() {}
@@ -144,14 +143,28 @@ public abstract class DMGSigner {
 		abstract String timeStampAuthority();
 
 		public abstract Builder processExecutor(ProcessExecutor executor);
+		abstract ProcessExecutor processExecutor();
 
 		public abstract Builder codesignTimeout(long codesignTimeout);
 
 		public abstract Builder securityUnlockTimeout(long securityUnlockTimeout);
+		abstract long securityUnlockTimeout();
+
+		/**
+		 * Sets the time the keychain is deemed to stay unlocked after a
+		 * {@code security unlock}. {@code 0} unlocks the keychain for each
+		 * request.
+		 *
+		 * @param securityUnlockTtl
+		 *            the keychain session time to live in seconds.
+		 * @return this builder for daisy chaining.
+		 */
+		public abstract Builder securityUnlockTtl(long securityUnlockTtl);
+		abstract long securityUnlockTtl();
 
 		abstract Builder codesignCommandPrefix(ImmutableList<String> commandPrefix);
 
-		abstract Builder securityUnlockCommand(ImmutableList<String> command);
+		abstract Builder keychainUnlocker(KeychainUnlocker keychainUnlocker);
 
 		abstract DMGSigner autoBuild();
 
@@ -178,11 +191,12 @@ public abstract class DMGSigner {
 				commandPrefix.add("--timestamp");
 			}
 			codesignCommandPrefix(commandPrefix.build());
-			securityUnlockCommand(ImmutableList.of("security", "unlock", "-p", keychainPassword(), keychain().toString()));
+			checkState(securityUnlockTimeout() > 0, "Security unlock timeout must be strictly positive");
+			checkState(securityUnlockTtl() >= 0, "Security unlock time to live must be positive or zero");
+			keychainUnlocker(new KeychainUnlocker(processExecutor(), keychain(), keychainPassword(), securityUnlockTimeout(), securityUnlockTtl()));
 
 			DMGSigner dmgSigner = autoBuild();
 			checkState(dmgSigner.codesignTimeout() > 0, "Codesign timeout must be strictly positive");
-			checkState(dmgSigner.securityUnlockTimeout() > 0, "Security unlock timeout must be strictly positive");
 			return dmgSigner;
 		}
 	}
@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.dmgpackaging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import jakarta.servlet.MultipartConfigElement;
+
+import org.eclipse.cbi.webservice.servlet.JobRegistry;
+import org.eclipse.cbi.webservice.util.ProcessExecutor;
+import org.eclipse.jetty.ee9.servlet.ServletContextHandler;
+import org.eclipse.jetty.ee9.servlet.ServletHolder;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Posts packagings through Jetty and the {@link DMGPackagerServlet}, with a
+ * stand-in create-dmg script, to check that the submitted source is extracted
+ * in the workspace of the packaging and counts against its disk quota.
+ */
+@SuppressWarnings("javadoc")
+public class DMGPackagerServletTest {
+
+	private static final String BOUNDARY = "cbi-multipart-boundary";
+
+	@TempDir
+	Path tempDir;
+
+	private Server server;
+	private Path workspaces;
+
+	@BeforeEach
+	public void posixOnly() {
+		assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"), "Stand-in create-dmg script needs a POSIX shell");
+	}
+
+	@AfterEach
+	public void stopServer() throws Exception {
+		if (server != null) {
+			server.stop();
+		}
+	}
+
+	@Test
+	public void testSourceIsExtractedInWorkspace() throws Exception {
+		// the image tells where the source has been extracted
+		startServer("for last; do :; done\ntarget=$(eval echo \\${$(($# - 1))})\necho \"$last\" > \"$target\"\n", 0);
+
+		HttpResponse<String> response = post("", 1024);
+
+		assertEquals(200, response.statusCode());
+		assertTrue(response.body().trim().startsWith(workspaces.toString()), response.body());
+		assertTrue(response.body().trim().endsWith("Eclipse.app"), response.body());
+		awaitFiles(workspaces, 0);
+	}
+
+	@Test
+	public void testQuotaCoversExtractedSource() throws Exception {
+		startServer("sleep 30\n", 64 * 1024);
+
+		long start = System.nanoTime();
+		HttpResponse<String> response = post("", 1024 * 1024);
+
+		assertEquals(500, response.statusCode());
+		assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(20), "Packaging should have been stopped before the end of the script");
+		awaitFiles(workspaces, 0);
+	}
+
+	@Test
+	public void testQuotaCoversExtractedSourceOfJob() throws Exception {
+		startServer("sleep 30\n", 64 * 1024);
+
+		HttpResponse<String> accepted = post("&async=true", 1024 * 1024);
+		assertEquals(202, accepted.statusCode());
+		String jobId = accepted.body().lines().filter(line -> line.startsWith("id=")).findFirst().get().substring(3);
+
+		String status;
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(20);
+		do {
+			Thread.sleep(50);
+			status = HttpClient.newHttpClient().send(HttpRequest.newBuilder(serviceUri("job=" + jobId)).build(), HttpResponse.BodyHandlers.ofString()).body();
+		} while (!status.contains("state=FAILED") && System.nanoTime() < deadline);
+
+		assertTrue(status.contains("state=FAILED"), status);
+		assertTrue(status.contains("exceeded its disk quota"), status);
+		awaitFiles(workspaces, 0);
+	}
+
+	private void startServer(String createDmgBody, long diskQuota) throws Exception {
+		Path createDmg = tempDir.resolve("create-dmg");
+		Files.write(createDmg, ("#!/bin/sh\n" + createDmgBody).getBytes(StandardCharsets.UTF_8));
+		Files.setPosixFilePermissions(createDmg, PosixFilePermissions.fromString("rwx------"));
+		Path upload = Files.createDirectories(tempDir.resolve("upload"));
+		workspaces = tempDir.resolve("workspaces");
+		ProcessExecutor processExecutor = new ProcessExecutor.BasicImpl();
+		DMGPackagerServlet servlet = DMGPackagerServlet.builder()
+				.dmgPackager(DMGPackager.builder(processExecutor).timeout(30).createDmg(createDmg).build())
+				.dmgSigner(DMGSigner.builder().certificateName("Eclipse").keychain(Files.createFile(tempDir.resolve("keychain")))
+						.keychainPassword("password").timeStampAuthority("http://timestamp.example.org").processExecutor(processExecutor).build())
+				.jobs(new JobRegistry(tempDir.resolve("jobs"), DMGPackagerServlet.APPLE_DISKIMAGE_MEDIA_TYPE, Duration.ofMinutes(1), 10))
+				.scheduler(new DMGPackagingScheduler(workspaces, 1, 1, diskQuota, Duration.ofMillis(50)))
+				.build();
+
+		server = new Server();
+		ServerConnector connector = new ServerConnector(server);
+		connector.setHost("localhost");
+		server.addConnector(connector);
+		ServletContextHandler contextHandler = new ServletContextHandler();
+		ServletHolder servletHolder = new ServletHolder(servlet);
+		servletHolder.getRegistration().setMultipartConfig(new MultipartConfigElement(upload.toString()));
+		contextHandler.addServlet(servletHolder, "/dmg");
+		server.setHandler(contextHandler.get());
+		server.start();
+	}
+
+	private URI serviceUri(String query) {
+		return URI.create("http://localhost:" + ((ServerConnector) server.getConnectors()[0]).getLocalPort() + "/dmg?" + query);
+	}
+
+	private HttpResponse<String> post(String parameters, int appSize) throws IOException, InterruptedException {
+		HttpRequest request = HttpRequest.newBuilder(serviceUri("volumeName=Eclipse" + parameters))
+				.header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+				.POST(HttpRequest.BodyPublishers.ofByteArray(multipartBody(appSize)))
+				.build();
+		return HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+	}
+
+	private static byte[] multipartBody(int appSize) throws IOException {
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		body.write(("--" + BOUNDARY + "\r\n"
+				+ "Content-Disposition: form-data; name=\"source\"; filename=\"Eclipse.zip\"\r\n"
+				+ "Content-Type: application/zip\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+		try (ZipOutputStream zip = new ZipOutputStream(body)) {
+			zip.putNextEntry(new ZipEntry("Eclipse.app/Contents/MacOS/eclipse"));
+			zip.write(new byte[appSize]);
+			zip.closeEntry();
+			zip.finish();
+			body.write(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+		}
+		return body.toByteArray();
+	}
+
+	/**
+	 * Waits for the given number of files in the folder, as workspaces are
+	 * deleted once the response has been sent.
+	 */
+	private static void awaitFiles(Path folder, int files) throws IOException, InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+		while (list(folder).size() != files && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(files, list(folder).size(), list(folder).toString());
+	}
+
+	private static List<Path> list(Path folder) throws IOException {
+		try (Stream<Path> files = Files.list(folder)) {
+			return files.sorted().collect(Collectors.toList());
+		}
+	}
+}
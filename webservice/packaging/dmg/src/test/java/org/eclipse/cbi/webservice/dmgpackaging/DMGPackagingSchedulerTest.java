@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.dmgpackaging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cbi.webservice.util.ProcessExecutor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+@SuppressWarnings("javadoc")
+public class DMGPackagingSchedulerTest {
+
+	@TempDir
+	Path tempDir;
+
+	@BeforeEach
+	public void posixOnly() {
+		assumeTrue(FileSystems.getDefault().supportedFileAttributeViews().contains("posix"), "Stand-in create-dmg script needs a POSIX shell");
+	}
+
+	/**
+	 * Writes a stand-in for the create-dmg script. Like the real one, the last
+	 * two arguments are the target DMG file and the source folder.
+	 */
+	private Path createDmgScript(String body) throws IOException {
+		Path script = tempDir.resolve("create-dmg");
+		Files.write(script, ("#!/bin/sh\n"
+				+ "for last; do :; done\n"
+				+ "target=$(eval echo \\${$(($# - 1))})\n"
+				+ body).getBytes(StandardCharsets.UTF_8));
+		Files.setPosixFilePermissions(script, PosixFilePermissions.fromString("rwx------"));
+		return script;
+	}
+
+	private DMGPackager packager(Path script) {
+		return DMGPackager.builder(new ProcessExecutor.BasicImpl()).timeout(30).createDmg(script).build();
+	}
+
+	@Test
+	public void testRunsInTheirOwnWorkspace() throws Exception {
+		DMGPackager packager = packager(createDmgScript("echo \"$last\" > \"$target\"\n"));
+		DMGPackagingScheduler scheduler = new DMGPackagingScheduler(tempDir.resolve("workspaces"), 2, 4, 0, Duration.ofSeconds(1));
+		Path app = Files.createDirectories(tempDir.resolve("Eclipse.app"));
+
+		List<Path> workspaces = new ArrayList<>();
+		List<Future<Path>> runs = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			Path workspace = scheduler.createWorkspace();
+			workspaces.add(workspace);
+			runs.add(scheduler.submit(workspace, () -> packager.packageImageFile(app, workspace.resolve("Eclipse.dmg"))));
+		}
+
+		for (int i = 0; i < 3; i++) {
+			Path dmg = runs.get(i).get(30, TimeUnit.SECONDS);
+			assertEquals(workspaces.get(i).resolve("Eclipse.dmg"), dmg);
+			assertEquals(app.toString(), Files.readString(dmg).trim());
+		}
+		assertEquals(3, workspaces.stream().distinct().count());
+	}
+
+	@Test
+	public void testRejectsWhenQueueIsFull() throws Exception {
+		DMGPackagingScheduler scheduler = new DMGPackagingScheduler(tempDir.resolve("workspaces"), 1, 1, 0, Duration.ofSeconds(1));
+		CountDownLatch release = new CountDownLatch(1);
+		Path workspace = scheduler.createWorkspace();
+
+		Future<Boolean> running = scheduler.submit(workspace, () -> release.await(30, TimeUnit.SECONDS));
+		Future<Boolean> queued = scheduler.submit(workspace, () -> release.await(30, TimeUnit.SECONDS));
+		assertThrows(RejectedExecutionException.class, () -> scheduler.submit(workspace, () -> Boolean.TRUE));
+
+		release.countDown();
+		assertTrue(running.get(30, TimeUnit.SECONDS));
+		assertTrue(queued.get(30, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testStopsRunOverQuota() throws Exception {
+		DMGPackager packager = packager(createDmgScript(
+				"head -c 65536 /dev/zero > \"$target.rw\"\n"
+				+ "sleep 30\n"
+				+ "touch \"$target\"\n"));
+		DMGPackagingScheduler scheduler = new DMGPackagingScheduler(tempDir.resolve("workspaces"), 1, 1, 1024, Duration.ofMillis(50));
+		Path app = Files.createDirectories(tempDir.resolve("Eclipse.app"));
+		Path workspace = scheduler.createWorkspace();
+
+		long start = System.nanoTime();
+		ExecutionException e = assertThrows(ExecutionException.class,
+				() -> scheduler.submit(workspace, () -> packager.packageImageFile(app, workspace.resolve("Eclipse.dmg"))).get(30, TimeUnit.SECONDS));
+		assertTrue(e.getCause() instanceof IOException, e.getCause().toString());
+		assertTrue(e.getCause().getMessage().contains("exceeded its disk quota"), e.getCause().getMessage());
+		assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(20), "Run should have been stopped before the end of the script");
+		assertFalse(Files.exists(workspace.resolve("Eclipse.dmg")));
+	}
+
+	@Test
+	public void testSizeOf() throws IOException {
+		Path folder = Files.createDirectories(tempDir.resolve("folder/sub"));
+		Files.write(folder.resolve("a"), new byte[100]);
+		Files.write(folder.getParent().resolve("b"), new byte[20]);
+		assertEquals(120, DMGPackagingScheduler.sizeOf(folder.getParent()));
+	}
+}
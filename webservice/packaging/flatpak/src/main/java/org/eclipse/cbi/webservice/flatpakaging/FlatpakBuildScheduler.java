@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.flatpakaging;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Runs the Flatpak builds of the service. At most a given number of builds run
+ * concurrently, the others wait in FIFO order. Once the wait queue is full,
+ * new builds are rejected.
+ */
+public final class FlatpakBuildScheduler implements Executor {
+
+	private final ThreadPoolExecutor executor;
+
+	/**
+	 * Creates a new scheduler.
+	 *
+	 * @param maxConcurrentBuilds
+	 *            the maximum number of builds running concurrently.
+	 * @param maxQueuedBuilds
+	 *            the maximum number of builds waiting to be run.
+	 */
+	public FlatpakBuildScheduler(int maxConcurrentBuilds, int maxQueuedBuilds) {
+		Preconditions.checkArgument(maxConcurrentBuilds > 0, "Maximum number of concurrent builds must be strictly positive");
+		Preconditions.checkArgument(maxQueuedBuilds > 0, "Maximum number of queued builds must be strictly positive");
+		this.executor = new ThreadPoolExecutor(maxConcurrentBuilds, maxConcurrentBuilds, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(maxQueuedBuilds, true),
+				new ThreadFactoryBuilder().setNameFormat("Flatpak-Build-%d").setDaemon(true).build());
+	}
+
+	/**
+	 * Schedules a build.
+	 *
+	 * @param build
+	 *            the build to run.
+	 * @return the pending result of the build.
+	 * @throws RejectedExecutionException
+	 *             if too many builds are already waiting to be run.
+	 */
+	public <T> Future<T> submit(Callable<T> build) {
+		return executor.submit(build);
+	}
+
+	/**
+	 * Schedules a build.
+	 *
+	 * @param build
+	 *            the build to run.
+	 * @throws RejectedExecutionException
+	 *             if too many builds are already waiting to be run.
+	 */
+	@Override
+	public void execute(Runnable build) {
+		executor.execute(build);
+	}
+
+	/**
+	 * Returns the number of builds currently running.
+	 *
+	 * @return the number of running builds.
+	 */
+	public int running() {
+		return executor.getActiveCount();
+	}
+
+	/**
+	 * Returns the number of builds waiting to be run.
+	 *
+	 * @return the number of waiting builds.
+	 */
+	public int queued() {
+		return executor.getQueue().size();
+	}
+}
@@ -0,0 +1,334 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.flatpakaging;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.eclipse.cbi.common.util.Paths;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Preconditions;
+import com.google.common.hash.Hashing;
+
+/**
+ * A persistent cache of {@code flatpak-builder} state directories, shared by
+ * the builds of the service.
+ * <p>
+ * There is one state directory per Flatpak application id and branch. Within
+ * it, {@code flatpak-builder} caches each module step keyed by the checksum of
+ * its inputs, and ccache keeps the compiled objects, so a build only redoes
+ * the steps whose sources changed. A state directory is used by one build at
+ * a time: other builds of the same application wait for it, across processes
+ * sharing the cache folder too.
+ * <p>
+ * Once a build is done, the least recently used state directories are evicted
+ * until the cache fits in its maximum size.
+ */
+public final class FlatpakBuilderCache {
+
+	private static final Logger logger = LoggerFactory.getLogger(FlatpakBuilderCache.class);
+
+	private static final String LOCK_FILE_EXTENSION = ".lock";
+
+	private static final String CACHE_HIT = "Cache hit for ";
+	private static final String CACHE_MISS = "Cache miss";
+
+	private final Path folder;
+	private final long maxSize;
+	private final ConcurrentMap<String, ReentrantLock> locks;
+	private final LongAdder hits;
+	private final LongAdder misses;
+
+	/**
+	 * Creates a new cache.
+	 *
+	 * @param folder
+	 *            the folder of the state directories.
+	 * @param maxSize
+	 *            the maximum size of the cache in bytes.
+	 */
+	public FlatpakBuilderCache(Path folder, long maxSize) {
+		Preconditions.checkArgument(maxSize > 0, "Maximum size of the cache must be strictly positive");
+		this.folder = folder;
+		this.maxSize = maxSize;
+		this.locks = new ConcurrentHashMap<>();
+		this.hits = new LongAdder();
+		this.misses = new LongAdder();
+	}
+
+	/**
+	 * Takes the state directory of the given application, waiting for the
+	 * build currently using it, if any.
+	 *
+	 * @param flatpakId
+	 *            ID of the Flatpak application.
+	 * @param branch
+	 *            the ostree repo branch of the Flatpak application.
+	 * @return the lease of the state directory, to be closed once the build is
+	 *         done.
+	 * @throws IOException
+	 *             if the state directory can't be created or locked.
+	 */
+	public Lease acquire(String flatpakId, String branch) throws IOException {
+		String key = Hashing.sha256().hashString(flatpakId + '/' + branch, StandardCharsets.UTF_8).toString();
+		ReentrantLock lock;
+		do {
+			lock = lock(key);
+			try {
+				lock.lockInterruptibly();
+			} catch (@SuppressWarnings("unused") InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Thread '" + Thread.currentThread().getName() + "' has been interrupted while waiting for the flatpak-builder cache of '" + flatpakId + "'");
+			}
+			if (locks.get(key) != lock) {
+				// the state directory has been evicted while we were waiting
+				lock.unlock();
+				lock = null;
+			}
+		} while (lock == null);
+		FileChannel lockChannel = null;
+		try {
+			Files.createDirectories(folder);
+			lockChannel = FileChannel.open(folder.resolve(key + LOCK_FILE_EXTENSION), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+			FileLock fileLock = lockChannel.lock();
+			Path stateDir = folder.resolve(key);
+			boolean warm = Files.isDirectory(stateDir);
+			Files.createDirectories(stateDir);
+			logger.info("Using {} flatpak-builder cache '{}' for '{}' ({})", warm ? "warm" : "cold", stateDir, flatpakId, branch);
+			return new Lease(lock, fileLock, stateDir, warm);
+		} catch (IOException | RuntimeException e) {
+			if (lockChannel != null) {
+				lockChannel.close();
+			}
+			lock.unlock();
+			throw e;
+		}
+	}
+
+	private ReentrantLock lock(String key) {
+		return locks.computeIfAbsent(key, k -> new ReentrantLock(true));
+	}
+
+	/**
+	 * Returns a new counter of the module cache hits and misses reported by a
+	 * {@code flatpak-builder} run. It is given the lines of the output of the
+	 * run, and then {@link RunCounter#record() recorded}.
+	 *
+	 * @return a new counter.
+	 */
+	RunCounter newRunCounter() {
+		return new RunCounter();
+	}
+
+	/**
+	 * Returns the number of module steps that have been reused from the cache.
+	 *
+	 * @return the number of cache hits.
+	 */
+	public long hits() {
+		return hits.sum();
+	}
+
+	/**
+	 * Returns the number of module steps that had to be rebuilt.
+	 *
+	 * @return the number of cache misses.
+	 */
+	public long misses() {
+		return misses.sum();
+	}
+
+	/**
+	 * Evicts the least recently used state directories that no build is
+	 * using, until the cache fits in its maximum size.
+	 */
+	private synchronized void evict() {
+		List<Entry> entries = new ArrayList<>();
+		long totalSize = 0;
+		try (Stream<Path> stateDirs = Files.list(folder)) {
+			for (Path stateDir : (Iterable<Path>) stateDirs.filter(Files::isDirectory)::iterator) {
+				try {
+					Entry entry = new Entry(stateDir, Files.getLastModifiedTime(stateDir), size(stateDir));
+					entries.add(entry);
+					totalSize += entry.size;
+				} catch (IOException | UncheckedIOException e) {
+					// being modified by a running build, it will be measured next time
+					logger.debug("Unable to compute the size of the flatpak-builder cache '{}'", stateDir, e);
+				}
+			}
+		} catch (IOException e) {
+			logger.error("Unable to compute the size of the flatpak-builder cache '{}'", folder, e);
+			return;
+		}
+
+		entries.sort(Comparator.comparing(entry -> entry.lastUsed));
+		for (Entry entry : entries) {
+			if (totalSize <= maxSize) {
+				break;
+			}
+			String key = entry.stateDir.getFileName().toString();
+			ReentrantLock lock = lock(key);
+			// a lease of this thread is not released by re-entering the lock
+			if (!lock.isHeldByCurrentThread() && lock.tryLock()) {
+				try (FileChannel lockChannel = FileChannel.open(folder.resolve(key + LOCK_FILE_EXTENSION), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+						FileLock fileLock = lockChannel.tryLock()) {
+					// builds waiting for the state directory will use it soon
+					if (fileLock != null && !lock.hasQueuedThreads()) {
+						logger.info("Evicting flatpak-builder cache '{}' ({} bytes, last used {})", entry.stateDir, entry.size, entry.lastUsed);
+						locks.remove(key, lock);
+						Paths.delete(entry.stateDir);
+						totalSize -= entry.size;
+					}
+				} catch (IOException e) {
+					logger.error("Unable to evict flatpak-builder cache '{}'", entry.stateDir, e);
+				} finally {
+					lock.unlock();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of state directories whose lock is kept in memory.
+	 *
+	 * @return the number of locks.
+	 */
+	int lockCount() {
+		return locks.size();
+	}
+
+	private static long size(Path dir) throws IOException {
+		try (Stream<Path> files = Files.walk(dir)) {
+			return files.mapToLong(file -> {
+				try {
+					BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+					return attributes.isRegularFile() ? attributes.size() : 0;
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}).sum();
+		}
+	}
+
+	/**
+	 * The exclusive use of a state directory by a build.
+	 */
+	public final class Lease implements Closeable {
+		private final ReentrantLock lock;
+		private final FileLock fileLock;
+		private final Path stateDir;
+		private final boolean warm;
+
+		Lease(ReentrantLock lock, FileLock fileLock, Path stateDir, boolean warm) {
+			this.lock = lock;
+			this.fileLock = fileLock;
+			this.stateDir = stateDir;
+			this.warm = warm;
+		}
+
+		/**
+		 * Returns the state directory to give to {@code flatpak-builder}.
+		 *
+		 * @return the state directory.
+		 */
+		public Path stateDir() {
+			return stateDir;
+		}
+
+		/**
+		 * Returns whether the state directory has been used by a previous
+		 * build.
+		 *
+		 * @return whether the state directory is warm.
+		 */
+		public boolean warm() {
+			return warm;
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				Files.setLastModifiedTime(stateDir, FileTime.fromMillis(System.currentTimeMillis()));
+			} finally {
+				try {
+					fileLock.channel().close();
+				} finally {
+					lock.unlock();
+				}
+			}
+			evict();
+		}
+	}
+
+	/**
+	 * Counts the module cache hits and misses reported in the output of a
+	 * {@code flatpak-builder} run, line by line.
+	 */
+	final class RunCounter implements Consumer<String> {
+		private long runHits;
+		private long runMisses;
+
+		RunCounter() {}
+
+		@Override
+		public void accept(String line) {
+			if (line.startsWith(CACHE_HIT)) {
+				runHits++;
+			} else if (line.startsWith(CACHE_MISS)) {
+				runMisses++;
+			}
+		}
+
+		/**
+		 * Adds the hits and misses of the run to the cache statistics.
+		 */
+		void record() {
+			hits.add(runHits);
+			misses.add(runMisses);
+			logger.info("flatpak-builder cache: {} hit(s) and {} miss(es) for this build, {} hit(s) and {} miss(es) overall", runHits, runMisses, hits(), misses());
+		}
+	}
+
+	private static final class Entry {
+		final Path stateDir;
+		final FileTime lastUsed;
+		final long size;
+
+		Entry(Path stateDir, FileTime lastUsed, long size) {
+			this.stateDir = stateDir;
+			this.lastUsed = lastUsed;
+			this.size = size;
+		}
+	}
+}
@@ -13,8 +13,12 @@
 package org.eclipse.cbi.webservice.flatpakaging;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
 
 import org.eclipse.cbi.webservice.util.ProcessExecutor;
 import org.slf4j.Logger;
@@ -32,50 +36,113 @@ public abstract class Flatpakager {
 	 * This method does the actual work of building the Flatpak application and
 	 * creating a single-file bundle for sending back to the client.
 	 *
+	 * @param workspace the directory of the request, under {@link #work()}. The
+	 *                  build state, ostree repo and bundle are created there so
+	 *                  that concurrent builds don't interfere.
 	 * @param flatpakId ID of the Flatpak application
 	 * @param branch    the ostree repo branch of the Flatpak application
 	 * @param sign      true if the Flatpak application should be signed
 	 * @param manifest  path to the Flatpak application manifest file
+	 * @return the single-file bundle
 	 * @throws IOException if anything went wrong during the process
 	 */
-	public void generateFlatpakBundle(String flatpakId, String branch, boolean sign, Path manifest) throws IOException {
+	public Path generateFlatpakBundle(Path workspace, String flatpakId, String branch, boolean sign, Path manifest) throws IOException {
+		return generateFlatpakBundle(workspace, flatpakId, branch, sign, manifest, step -> {});
+	}
+
+	/**
+	 * Same as {@link #generateFlatpakBundle(Path, String, String, boolean, Path)},
+	 * reporting the step being run to the given consumer.
+	 *
+	 * @param workspace the directory of the request, under {@link #work()}
+	 * @param flatpakId ID of the Flatpak application
+	 * @param branch    the ostree repo branch of the Flatpak application
+	 * @param sign      true if the Flatpak application should be signed
+	 * @param manifest  path to the Flatpak application manifest file
+	 * @param progress  consumer of the step being run
+	 * @return the single-file bundle
+	 * @throws IOException if anything went wrong during the process
+	 */
+	public Path generateFlatpakBundle(Path workspace, String flatpakId, String branch, boolean sign, Path manifest, Consumer<String> progress) throws IOException {
 		// Build application and generate a ostree repo
+		progress.accept("Building the application with flatpak-builder");
+		final FlatpakBuilderCache cache = cache();
+		if (cache == null) {
+			executeProcess(builderCommand(workspace, workspace.resolve(".flatpak-builder"), branch, sign, manifest));
+		} else {
+			try (FlatpakBuilderCache.Lease lease = cache.acquire(flatpakId, branch)) {
+				// counted line by line, the captured output may only be its head and tail
+				FlatpakBuilderCache.RunCounter counter = cache.newRunCounter();
+				executeProcess(builderCommand(workspace, lease.stateDir(), branch, sign, manifest), counter);
+				counter.record();
+			}
+		}
+
+		// Create single-file bundle from the application in the ostree repo
+		progress.accept("Creating the single-file bundle");
+		ImmutableList.Builder<String> bundleArgs = ImmutableList.builder();
+		bundleArgs.add("flatpak");
+		bundleArgs.add("build-bundle");
+		if (sign) {
+			bundleArgs.add("--gpg-sign=" + gpgKey());
+			bundleArgs.add("--gpg-homedir=" + gpgHome());
+		}
+		bundleArgs.add(workspace.resolve("repo").toString());
+		Path bundle = workspace.resolve(flatpakId + ".flatpak");
+		bundleArgs.add(bundle.toString());
+		bundleArgs.add(flatpakId);
+		bundleArgs.add(branch);
+		executeProcess(bundleArgs.build());
+		return bundle;
+	}
+
+	private ImmutableList<String> builderCommand(Path workspace, Path stateDir, String branch, boolean sign, Path manifest) {
 		ImmutableList.Builder<String> builderArgs = ImmutableList.builder();
 		builderArgs.add("flatpak-builder");
 		builderArgs.add("--force-clean");
-		builderArgs.add("--disable-cache");
+		if (cache() == null) {
+			builderArgs.add("--disable-cache");
+		} else {
+			builderArgs.add("--ccache");
+		}
 		builderArgs.add("--disable-download");
 		builderArgs.add("--disable-updates");
 		builderArgs.add("--default-branch=" + branch);
-		builderArgs.add("--state-dir=" + work().resolve(".flatpak-builder").toString());
-		builderArgs.add("--repo=" + work().resolve("repo").toString());
+		builderArgs.add("--state-dir=" + stateDir.toString());
+		builderArgs.add("--repo=" + workspace.resolve("repo").toString());
 		if (sign) {
 			builderArgs.add("--gpg-sign=" + gpgKey());
 			builderArgs.add("--gpg-homedir=" + gpgHome());
 		}
-		builderArgs.add(work().resolve("build").toString());
+		builderArgs.add(workspace.resolve("build").toString());
 		builderArgs.add(manifest.toString());
-		executeProcess(builderArgs.build());
+		return builderArgs.build();
+	}
 
-		// Create single-file bundle from the application in the ostree repo
-		ImmutableList.Builder<String> bundleArgs = ImmutableList.builder();
-		bundleArgs.add("flatpak");
-		bundleArgs.add("build-bundle");
-		if (sign) {
-			builderArgs.add("--gpg-sign=" + gpgKey());
-			builderArgs.add("--gpg-homedir=" + gpgHome());
-		}
-		bundleArgs.add(work().resolve("repo").toString());
-		bundleArgs.add(work().resolve(flatpakId + ".flatpak").toString());
-		bundleArgs.add(flatpakId);
-		bundleArgs.add(branch);
-		executeProcess(bundleArgs.build());
+	/**
+	 * Creates a new, empty workspace under {@link #work()} for a build.
+	 *
+	 * @return the path to the workspace
+	 * @throws IOException if the workspace can't be created
+	 */
+	public Path createWorkspace() throws IOException {
+		Files.createDirectories(work());
+		return Files.createTempDirectory(work(), "build-");
 	}
 
 	private void executeProcess(ImmutableList<String> args) throws IOException {
+		executeProcess(args, null);
+	}
+
+	private void executeProcess(ImmutableList<String> args, @Nullable Consumer<String> outputLines) throws IOException {
 		logger.info("The following 'flatpak' command will be executed: '" + String.join(" ", args) + "'");
 		final StringBuilder output = new StringBuilder();
-		int exitCode = processExecutor().exec(args, output, timeout(), TimeUnit.SECONDS);
+		final int exitCode;
+		if (outputLines == null) {
+			exitCode = processExecutor().exec(args, output, timeout(), TimeUnit.SECONDS);
+		} else {
+			exitCode = processExecutor().exec(args, outputLines, output, timeout(), TimeUnit.SECONDS);
+		}
 		if (exitCode != 0) {
 			throw new IOException(String.join("\n", "The 'flatpak' command exited with value '" + exitCode + "'",
 					"Command output:", output));
@@ -90,8 +157,18 @@ public abstract class Flatpakager {
 
 	public abstract Path gpgHome();
 
+	/**
+	 * The root of the workspaces of the builds.
+	 */
 	public abstract Path work();
 
+	/**
+	 * The persistent flatpak-builder cache, or {@code null} to build from
+	 * scratch every time.
+	 */
+	@Nullable
+	public abstract FlatpakBuilderCache cache();
+
 	public static Builder builder() {
 		return new AutoValue_Flatpakager.Builder();
 	}
@@ -108,6 +185,8 @@ public abstract class Flatpakager {
 
 		public abstract Builder work(Path work);
 
+		public abstract Builder cache(FlatpakBuilderCache cache);
+
 		public abstract Flatpakager build();
 	}
 
@@ -14,6 +14,7 @@ package org.eclipse.cbi.webservice.flatpakaging;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.cbi.webservice.util.PropertiesReader;
@@ -30,6 +31,23 @@ public class FlatpakagerProperties {
 	private static final String GPGHOME = "flatpak.gpghome";
 	private static final String GPGKEY = "flatpak.gpgkey";
 
+	private static final int DEFAULT_MAX_CONCURRENT_BUILDS = 1;
+	private static final String MAX_CONCURRENT_BUILDS = "flatpak.builds.concurrent";
+
+	private static final int DEFAULT_MAX_QUEUED_BUILDS = 16;
+	private static final String MAX_QUEUED_BUILDS = "flatpak.builds.queued";
+
+	private static final String CACHE_ENABLED = "flatpak.cache.enabled";
+	private static final String DEFAULT_CACHE_FOLDER = Paths.get(System.getProperty("user.home"), ".cache", "flatpak-packaging-service").toString();
+	private static final String CACHE_FOLDER = "flatpak.cache.folder";
+	private static final long DEFAULT_CACHE_MAX_SIZE = 20L * 1024 * 1024 * 1024;
+	private static final String CACHE_MAX_SIZE = "flatpak.cache.maxsize";
+
+	private static final long DEFAULT_JOBS_RETENTION = TimeUnit.HOURS.toSeconds(1);
+	private static final String JOBS_RETENTION = "flatpak.jobs.retention";
+	private static final int DEFAULT_JOBS_RETAINED = 32;
+	private static final String JOBS_RETAINED = "flatpak.jobs.retained";
+
 	private final PropertiesReader propertiesReader;
 
 	public FlatpakagerProperties(PropertiesReader propertiesReader) {
@@ -52,4 +70,36 @@ public class FlatpakagerProperties {
 			throw new IllegalStateException("'" + TIMEOUT + "' '" + timeout + "' must be a valid long integer", e);
 		}
 	}
+
+	public int getMaxConcurrentBuilds() {
+		return propertiesReader.getInt(MAX_CONCURRENT_BUILDS, DEFAULT_MAX_CONCURRENT_BUILDS);
+	}
+
+	public int getMaxQueuedBuilds() {
+		return propertiesReader.getInt(MAX_QUEUED_BUILDS, DEFAULT_MAX_QUEUED_BUILDS);
+	}
+
+	public boolean isCacheEnabled() {
+		return propertiesReader.getBoolean(CACHE_ENABLED, false);
+	}
+
+	public Path getCacheFolder() {
+		return propertiesReader.getPath(CACHE_FOLDER, DEFAULT_CACHE_FOLDER);
+	}
+
+	public long getCacheMaxSize() {
+		long maxSize = propertiesReader.getLong(CACHE_MAX_SIZE, DEFAULT_CACHE_MAX_SIZE);
+		if (maxSize <= 0) {
+			throw new IllegalStateException("Property '" + CACHE_MAX_SIZE + "' must be strictly positive (currently '" + maxSize + "')");
+		}
+		return maxSize;
+	}
+
+	public Duration getJobsRetention() {
+		return Duration.ofSeconds(propertiesReader.getLong(JOBS_RETENTION, DEFAULT_JOBS_RETENTION));
+	}
+
+	public int getJobsRetained() {
+		return propertiesReader.getInt(JOBS_RETAINED, DEFAULT_JOBS_RETAINED);
+	}
 }
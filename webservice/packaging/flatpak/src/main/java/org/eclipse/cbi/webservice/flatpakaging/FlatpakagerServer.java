@@ -19,10 +19,13 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
+import jakarta.servlet.Servlet;
+
 import org.eclipse.cbi.webservice.server.EmbeddedServer;
 import org.eclipse.cbi.webservice.server.EmbeddedServerConfiguration;
 import org.eclipse.cbi.webservice.server.EmbeddedServerProperties;
 import org.eclipse.cbi.webservice.util.ProcessExecutor;
+import org.eclipse.cbi.webservice.util.ProcessExecutorProperties;
 import org.eclipse.cbi.webservice.util.PropertiesReader;
 import org.kohsuke.args4j.Argument;
 import org.kohsuke.args4j.CmdLineException;
@@ -53,18 +56,18 @@ public class FlatpakagerServer {
 					PropertiesReader.create(confPath));
 			final Path tempFolder = serverConf.getTempFolder();
 
-			final ProcessExecutor executor = new ProcessExecutor.BasicImpl();
-			final FlatpakagerProperties conf = new FlatpakagerProperties(PropertiesReader.create(confPath));
-			final Flatpakager packager = Flatpakager.builder().processExecutor(executor).timeout(conf.getTimeout())
-					.gpgHome(conf.getGpghome()).gpgKey(conf.getGpgkey()).work(tempFolder.resolve("work")).build();
-
-			final FlatpakagerServlet createServlet = FlatpakagerServlet.builder().tempFolder(tempFolder)
-					.packager(packager).build();
+			final ProcessExecutor processExecutor = new ProcessExecutorProperties(PropertiesReader.create(confPath)).createProcessExecutor(tempFolder);
+			final Servlet createServlet = new FlatpakagerServiceProvider().createServlet(PropertiesReader.create(confPath), tempFolder, processExecutor);
 
 			final EmbeddedServer server = EmbeddedServer.builder().port(serverConf.getServerPort())
 					.accessLogFile(serverConf.getAccessLogFile()).servicePathSpec(serverConf.getServicePathSpec())
+					.multipartMemoryLimit(serverConf.getMultipartMemoryLimit())
+					.minFreeTempSpace(serverConf.getMinFreeTempSpace())
+					.http2(serverConf.getHttp2Configuration())
+					.tls(serverConf.getTlsConfiguration())
+					.tuning(serverConf.getTuningConfiguration())
 					.appendServiceVersionToPathSpec(serverConf.isServiceVersionAppendedToPathSpec())
-					.servlet(createServlet).tempFolder(tempFolder).log4jConfiguration(serverConf.getLog4jProperties())
+					.servlet(createServlet).processExecutor(processExecutor).tempFolder(tempFolder).log4jConfiguration(serverConf.getLog4jProperties())
 					.build();
 
 			server.start();
@@ -0,0 +1,47 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.flatpakaging;
+
+import java.nio.file.Path;
+
+import jakarta.servlet.Servlet;
+
+import org.eclipse.cbi.webservice.server.ServiceProvider;
+import org.eclipse.cbi.webservice.servlet.JobRegistry;
+import org.eclipse.cbi.webservice.util.ProcessExecutor;
+import org.eclipse.cbi.webservice.util.PropertiesReader;
+
+/**
+ * Provides the Flatpak packaging service to a multi-service server.
+ */
+public class FlatpakagerServiceProvider implements ServiceProvider {
+
+	@Override
+	public String name() {
+		return "flatpak";
+	}
+
+	@Override
+	public Servlet createServlet(PropertiesReader properties, Path tempFolder, ProcessExecutor processExecutor) {
+		final FlatpakagerProperties conf = new FlatpakagerProperties(properties);
+		final FlatpakBuilderCache cache = conf.isCacheEnabled() ? new FlatpakBuilderCache(conf.getCacheFolder(), conf.getCacheMaxSize()) : null;
+		final Flatpakager packager = Flatpakager.builder().processExecutor(processExecutor).timeout(conf.getTimeout())
+				.gpgHome(conf.getGpghome()).gpgKey(conf.getGpgkey()).work(tempFolder.resolve("work")).cache(cache).build();
+
+		final FlatpakBuildScheduler scheduler = new FlatpakBuildScheduler(conf.getMaxConcurrentBuilds(), conf.getMaxQueuedBuilds());
+
+		final JobRegistry jobs = new JobRegistry(tempFolder.resolve("jobs"), FlatpakagerServlet.REPLY_MEDIA_TYPE, conf.getJobsRetention(), conf.getJobsRetained());
+
+		return FlatpakagerServlet.builder().tempFolder(tempFolder).packager(packager).scheduler(scheduler).jobs(jobs).build();
+	}
+}
@@ -13,16 +13,23 @@
 package org.eclipse.cbi.webservice.flatpakaging;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.eclipse.cbi.common.util.Paths;
+import org.eclipse.cbi.webservice.servlet.JobRegistry;
 import org.eclipse.cbi.webservice.servlet.RequestFacade;
 import org.eclipse.cbi.webservice.servlet.ResponseFacade;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.auto.value.AutoValue;
+import com.google.common.base.Throwables;
+import com.google.common.net.HttpHeaders;
 
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServlet;
@@ -32,7 +39,9 @@ import jakarta.servlet.http.HttpServletResponse;
 @AutoValue
 public abstract class FlatpakagerServlet extends HttpServlet {
 
-	private static final String REPLY_MEDIA_TYPE = "application/gzip";
+	static final String REPLY_MEDIA_TYPE = "application/gzip";
+
+	private static final String RETRY_AFTER_SECONDS = "30";
 
 	private final static Logger logger = LoggerFactory.getLogger(FlatpakagerServlet.class);
 
@@ -40,6 +49,10 @@ public abstract class FlatpakagerServlet extends HttpServlet {
 
 	abstract Flatpakager packager();
 
+	abstract FlatpakBuildScheduler scheduler();
+
+	abstract JobRegistry jobs();
+
 	public static Builder builder() {
 		return new AutoValue_FlatpakagerServlet.Builder();
 	}
@@ -50,45 +63,91 @@ public abstract class FlatpakagerServlet extends HttpServlet {
 
 		public abstract Builder tempFolder(Path tempFolder);
 
+		public abstract Builder scheduler(FlatpakBuildScheduler scheduler);
+
+		public abstract Builder jobs(JobRegistry jobs);
+
 		public abstract FlatpakagerServlet build();
 	}
 
+	@Override
+	protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
+		jobs().doGet(req, resp);
+	}
+
 	@Override
 	protected void doPost(HttpServletRequest req, HttpServletResponse resp) throws ServletException, IOException {
 		final ResponseFacade responseFacade = ResponseFacade.builder().servletResponse(resp).build();
 
+		Path workspace = null;
 		try (RequestFacade facade = RequestFacade.builder(tempFolder()).request(req).build()) {
-			Files.createDirectories(packager().work());
+			workspace = packager().createWorkspace();
 
 			// Create a directory with all of our source files with their original filenames
-			// restored, because they'll be named that way in the Flatpak manifest file
+			// restored, because they'll be named that way in the Flatpak manifest file. They
+			// are moved there so that the build does not depend on the request anymore.
 			String name = facade.getSubmittedFileName("source").get();
 			Path path = facade.getPartPath("source").get();
-			Files.createSymbolicLink(packager().work().resolve(name), path);
+			Files.move(path, workspace.resolve(name));
 			for (int i = 0; i < Integer.parseInt(facade.getParameter("additionalSources").get()); i++) {
 				name = facade.getSubmittedFileName("additionalSource" + i).get();
 				path = facade.getPartPath("additionalSource" + i).get();
-				Files.createSymbolicLink(packager().work().resolve(name), path);
+				Files.move(path, workspace.resolve(name));
 			}
 			// And also put the manifest file in the same directory
 			name = facade.getSubmittedFileName("manifest").get();
 			path = facade.getPartPath("manifest").get();
-			Files.createSymbolicLink(packager().work().resolve(name), path);
-
-			String flatpakId = facade.getParameter("flatpakId").get();
-			packager().generateFlatpakBundle(flatpakId, facade.getParameter("branch").get(),
-					facade.getBooleanParameter("sign"), packager().work().resolve(name));
+			Files.move(path, workspace.resolve(name));
 
-			Path bundle = packager().work().resolve(flatpakId + ".flatpak");
-			long bytes = Files.size(bundle);
-			logger.info("Reply size: " + bytes + " bytes");
-			responseFacade.replyWithFile(REPLY_MEDIA_TYPE, bundle.getFileName().toString(), bundle);
+			final Path buildWorkspace = workspace;
+			final Path manifest = workspace.resolve(name);
+			final String flatpakId = facade.getParameter("flatpakId").get();
+			final String branch = facade.getParameter("branch").get();
+			final boolean sign = facade.getBooleanParameter("sign");
+			try {
+				if (facade.getBooleanParameter(JobRegistry.ASYNC_PARAMETER)) {
+					JobRegistry.Job job = jobs().submit(j -> {
+						try {
+							Path bundle = packager().generateFlatpakBundle(buildWorkspace, flatpakId, branch, sign, manifest, j::progress);
+							return Files.move(bundle, j.folder().resolve(bundle.getFileName().toString()));
+						} finally {
+							deleteTemporaryResource(buildWorkspace);
+						}
+					}, scheduler());
+					// the job owns the workspace now
+					workspace = null;
+					jobs().replyAccepted(job, req, resp);
+				} else {
+					Path bundle = awaitBuild(scheduler().submit(() -> packager().generateFlatpakBundle(buildWorkspace, flatpakId, branch, sign, manifest)));
+					long bytes = Files.size(bundle);
+					logger.info("Reply size: " + bytes + " bytes");
+					responseFacade.replyWithFile(REPLY_MEDIA_TYPE, bundle.getFileName().toString(), bundle);
+				}
+			} catch (@SuppressWarnings("unused") RejectedExecutionException e) {
+				logger.warn("Too many Flatpak builds are waiting, rejecting request");
+				resp.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+				responseFacade.replyError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Too many Flatpak builds are waiting, retry later");
+			}
 		} finally {
-			deleteTemporaryResource(packager().work());
+			deleteTemporaryResource(workspace);
+		}
+	}
+
+	private static Path awaitBuild(Future<Path> build) throws IOException {
+		try {
+			return build.get();
+		} catch (@SuppressWarnings("unused") InterruptedException e) {
+			build.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Thread '" + Thread.currentThread().getName() + "' has been interrupted while waiting for a Flatpak build");
+		} catch (ExecutionException e) {
+			Throwables.throwIfInstanceOf(e.getCause(), IOException.class);
+			Throwables.throwIfUnchecked(e.getCause());
+			throw new IOException(e.getCause());
 		}
 	}
 
-	private void deleteTemporaryResource(Path tempResource) {
+	private static void deleteTemporaryResource(Path tempResource) {
 		if (tempResource != null && Files.exists(tempResource)) {
 			try {
 				Paths.delete(tempResource);
@@ -0,0 +1,139 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.flatpakaging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.common.collect.ImmutableList;
+
+@SuppressWarnings("javadoc")
+public class FlatpakBuildSchedulerTest {
+
+	@TempDir
+	Path tempDir;
+
+	private Flatpakager flatpakager(StandInProcessExecutor processExecutor) {
+		return Flatpakager.builder().processExecutor(processExecutor).timeout(30).gpgKey("key").gpgHome(tempDir.resolve("gpg"))
+				.work(tempDir.resolve("work")).build();
+	}
+
+	@Test
+	public void testRunsAtMostMaxConcurrentBuilds() throws Exception {
+		StandInProcessExecutor processExecutor = new StandInProcessExecutor(new CountDownLatch(1));
+		Flatpakager flatpakager = flatpakager(processExecutor);
+		FlatpakBuildScheduler scheduler = new FlatpakBuildScheduler(2, 2);
+
+		List<Future<Path>> builds = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			Path workspace = flatpakager.createWorkspace();
+			builds.add(scheduler.submit(() -> flatpakager.generateFlatpakBundle(workspace, "org.example.App", "stable", false, workspace.resolve("manifest.json"))));
+		}
+		awaitStarted(processExecutor, 2);
+		assertEquals(2, scheduler.running());
+		assertEquals(2, scheduler.queued());
+		assertThrows(RejectedExecutionException.class, () -> scheduler.submit(() -> Boolean.TRUE));
+
+		processExecutor.release.countDown();
+		for (Future<Path> build : builds) {
+			assertTrue(Files.isRegularFile(build.get(30, TimeUnit.SECONDS)));
+		}
+		assertEquals(4, processExecutor.started().size());
+		assertEquals(2, processExecutor.maxRunning.get());
+	}
+
+	@Test
+	public void testQueuedBuildsRunInOrder() throws Exception {
+		StandInProcessExecutor processExecutor = new StandInProcessExecutor(new CountDownLatch(1));
+		Flatpakager flatpakager = flatpakager(processExecutor);
+		FlatpakBuildScheduler scheduler = new FlatpakBuildScheduler(1, 3);
+
+		List<String> manifests = new ArrayList<>();
+		List<Future<Path>> builds = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			Path workspace = flatpakager.createWorkspace();
+			Path manifest = workspace.resolve("manifest.json");
+			manifests.add(manifest.toString());
+			builds.add(scheduler.submit(() -> flatpakager.generateFlatpakBundle(workspace, "org.example.App", "stable", false, manifest)));
+		}
+		awaitStarted(processExecutor, 1);
+		assertEquals(3, scheduler.queued());
+
+		processExecutor.release.countDown();
+		for (Future<Path> build : builds) {
+			build.get(30, TimeUnit.SECONDS);
+		}
+		assertEquals(manifests, processExecutor.started());
+		assertEquals(1, processExecutor.maxRunning.get());
+	}
+
+	@Test
+	public void testBuildsRunInTheirOwnWorkspace() throws Exception {
+		StandInProcessExecutor processExecutor = new StandInProcessExecutor(new CountDownLatch(1));
+		Flatpakager flatpakager = flatpakager(processExecutor);
+		FlatpakBuildScheduler scheduler = new FlatpakBuildScheduler(3, 1);
+
+		List<Path> workspaces = new ArrayList<>();
+		List<Future<Path>> builds = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			Path workspace = flatpakager.createWorkspace();
+			workspaces.add(workspace);
+			builds.add(scheduler.submit(() -> flatpakager.generateFlatpakBundle(workspace, "org.example.App", "stable", false, workspace.resolve("manifest.json"))));
+		}
+		// all the builds of the same application are running at the same time
+		awaitStarted(processExecutor, 3);
+		processExecutor.release.countDown();
+
+		assertEquals(3, workspaces.stream().distinct().count());
+		for (int i = 0; i < 3; i++) {
+			Path workspace = workspaces.get(i);
+			assertEquals(flatpakager.work(), workspace.getParent());
+			assertEquals(workspace.resolve("org.example.App.flatpak"), builds.get(i).get(30, TimeUnit.SECONDS));
+		}
+		for (ImmutableList<String> command : processExecutor.commands()) {
+			if ("flatpak-builder".equals(command.get(0))) {
+				Path workspace = Paths.get(command.get(command.size() - 1)).getParent();
+				assertTrue(workspaces.contains(workspace), command.toString());
+				assertEquals(workspace.resolve(".flatpak-builder").toString(), StandInProcessExecutor.argument(command, "--state-dir="));
+				assertEquals(workspace.resolve("repo").toString(), StandInProcessExecutor.argument(command, "--repo="));
+				assertEquals(workspace.resolve("build").toString(), command.get(command.size() - 2));
+			} else {
+				Path workspace = Paths.get(command.get(command.size() - 3)).getParent();
+				assertTrue(workspaces.contains(workspace), command.toString());
+				assertEquals(workspace.resolve("repo").toString(), command.get(command.size() - 4));
+			}
+		}
+	}
+
+	private static void awaitStarted(StandInProcessExecutor processExecutor, int builds) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+		while (processExecutor.started().size() < builds && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(builds, processExecutor.started().size());
+	}
+}
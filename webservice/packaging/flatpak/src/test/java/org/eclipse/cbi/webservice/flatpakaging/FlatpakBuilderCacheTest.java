@@ -0,0 +1,177 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.flatpakaging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import org.eclipse.cbi.webservice.util.ProcessExecutor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.google.common.collect.ImmutableList;
+
+@SuppressWarnings("javadoc")
+public class FlatpakBuilderCacheTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	public void testEvictsLeastRecentlyUsed() throws IOException {
+		FlatpakBuilderCache cache = new FlatpakBuilderCache(tempDir.resolve("cache"), 100);
+		Path a = build(cache, "org.example.A", 40);
+		Path b = build(cache, "org.example.B", 40);
+		long now = System.currentTimeMillis();
+		Files.setLastModifiedTime(a, FileTime.fromMillis(now - 5_000));
+		Files.setLastModifiedTime(b, FileTime.fromMillis(now - 10_000));
+
+		Path c = build(cache, "org.example.C", 40);
+
+		assertTrue(Files.isDirectory(a));
+		assertFalse(Files.exists(b));
+		assertTrue(Files.isDirectory(c));
+		assertEquals(2, cache.lockCount());
+	}
+
+	@Test
+	public void testLeasedStateDirIsNotEvicted() throws IOException {
+		FlatpakBuilderCache cache = new FlatpakBuilderCache(tempDir.resolve("cache"), 10);
+		Path a;
+		try (FlatpakBuilderCache.Lease lease = cache.acquire("org.example.A", "stable")) {
+			a = lease.stateDir();
+			Files.write(a.resolve("module"), new byte[40]);
+
+			Path b = build(cache, "org.example.B", 40);
+
+			assertTrue(Files.isDirectory(a));
+			assertFalse(Files.exists(b));
+		}
+		assertFalse(Files.exists(a));
+		assertEquals(0, cache.lockCount());
+	}
+
+	@Test
+	public void testWarmStateDir() throws IOException {
+		FlatpakBuilderCache cache = new FlatpakBuilderCache(tempDir.resolve("cache"), 100);
+		try (FlatpakBuilderCache.Lease lease = cache.acquire("org.example.A", "stable")) {
+			assertFalse(lease.warm());
+		}
+		try (FlatpakBuilderCache.Lease lease = cache.acquire("org.example.A", "stable")) {
+			assertTrue(lease.warm());
+		}
+		try (FlatpakBuilderCache.Lease lease = cache.acquire("org.example.A", "beta")) {
+			assertFalse(lease.warm());
+		}
+	}
+
+	@Test
+	public void testStateDirIsUsedByOneBuildAtATime() throws Exception {
+		FlatpakBuilderCache cache = new FlatpakBuilderCache(tempDir.resolve("cache"), 100);
+		ExecutorService pool = Executors.newSingleThreadExecutor();
+		try {
+			FlatpakBuilderCache.Lease lease = cache.acquire("org.example.A", "stable");
+			Path lockFile = lease.stateDir().resolveSibling(lease.stateDir().getFileName() + ".lock");
+			Future<Boolean> other = pool.submit(() -> {
+				try (FlatpakBuilderCache.Lease otherLease = cache.acquire("org.example.A", "stable")) {
+					return otherLease.warm();
+				}
+			});
+			try {
+				assertThrows(TimeoutException.class, () -> other.get(200, TimeUnit.MILLISECONDS));
+				// the file is locked too, for the other processes sharing the cache
+				try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.WRITE)) {
+					assertThrows(OverlappingFileLockException.class, channel::tryLock);
+				}
+				// other applications are not blocked
+				cache.acquire("org.example.B", "stable").close();
+			} finally {
+				lease.close();
+			}
+			assertTrue(other.get(10, TimeUnit.SECONDS));
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testRunCounter() {
+		FlatpakBuilderCache cache = new FlatpakBuilderCache(tempDir.resolve("cache"), 100);
+		FlatpakBuilderCache.RunCounter counter = cache.newRunCounter();
+		List.of("Downloading sources",
+				"Cache hit for org.example.A, skipping build",
+				"Cache hit for libfoo, skipping build",
+				"Cache miss, checking out last cache hit",
+				"Starting build of 'org.example.A'").forEach(counter);
+		assertEquals(0, cache.hits());
+		counter.record();
+		assertEquals(2, cache.hits());
+		assertEquals(1, cache.misses());
+	}
+
+	@Test
+	public void testHitsAreCountedOnTheWholeOutput() throws IOException {
+		FlatpakBuilderCache cache = new FlatpakBuilderCache(tempDir.resolve("cache"), 1024);
+		ProcessExecutor boundedOutput = new ProcessExecutor() {
+			@Override
+			public int exec(ImmutableList<String> command, StringBuilder processOutput, long timeout, TimeUnit timeoutUnit) {
+				// only the head and the tail of the output are captured
+				processOutput.append("Downloading sources\n[... 1024 bytes omitted ...]\nCache hit for org.example.A, skipping build\n");
+				return 0;
+			}
+
+			@Override
+			public int exec(ImmutableList<String> command, long timeout, TimeUnit timeoutUnit) {
+				return exec(command, new StringBuilder(), timeout, timeoutUnit);
+			}
+
+			@Override
+			public int exec(ImmutableList<String> command, Consumer<String> outputLines, StringBuilder processOutput, long timeout, TimeUnit timeoutUnit) {
+				List.of("Downloading sources", "Cache hit for libfoo, skipping build", "Cache miss, checking out last cache hit",
+						"Cache hit for org.example.A, skipping build").forEach(outputLines);
+				return exec(command, processOutput, timeout, timeoutUnit);
+			}
+		};
+		Flatpakager flatpakager = Flatpakager.builder().processExecutor(boundedOutput).timeout(10).gpgKey("key").gpgHome(tempDir.resolve("gpg"))
+				.work(tempDir.resolve("work")).cache(cache).build();
+
+		flatpakager.generateFlatpakBundle(flatpakager.createWorkspace(), "org.example.A", "stable", false, tempDir.resolve("manifest.json"));
+
+		assertEquals(2, cache.hits());
+		assertEquals(1, cache.misses());
+	}
+
+	private static Path build(FlatpakBuilderCache cache, String flatpakId, int size) throws IOException {
+		try (FlatpakBuilderCache.Lease lease = cache.acquire(flatpakId, "stable")) {
+			Files.write(lease.stateDir().resolve("module"), new byte[size]);
+			return lease.stateDir();
+		}
+	}
+}
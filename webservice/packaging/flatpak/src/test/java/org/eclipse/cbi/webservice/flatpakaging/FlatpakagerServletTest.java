@@ -0,0 +1,169 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.flatpakaging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import jakarta.servlet.MultipartConfigElement;
+
+import org.eclipse.cbi.webservice.servlet.JobRegistry;
+import org.eclipse.jetty.ee9.servlet.ServletContextHandler;
+import org.eclipse.jetty.ee9.servlet.ServletHolder;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Posts builds through Jetty and the {@link FlatpakagerServlet}, with
+ * stand-in flatpak commands, to check that their workspaces are cleaned up.
+ */
+@SuppressWarnings("javadoc")
+public class FlatpakagerServletTest {
+
+	private static final String BOUNDARY = "cbi-multipart-boundary";
+
+	@TempDir
+	Path tempDir;
+
+	private Server server;
+	private Path work;
+
+	@AfterEach
+	public void stopServer() throws Exception {
+		if (server != null) {
+			server.stop();
+		}
+	}
+
+	@Test
+	public void testBuildDeletesItsWorkspace() throws Exception {
+		startServer(new StandInProcessExecutor(new CountDownLatch(0)), new FlatpakBuildScheduler(1, 1));
+
+		HttpResponse<String> response = post("");
+
+		assertEquals(200, response.statusCode());
+		assertEquals("org.example.App", response.body());
+		awaitFiles(work, 0);
+	}
+
+	@Test
+	public void testFailedBuildDeletesItsWorkspace() throws Exception {
+		StandInProcessExecutor processExecutor = new StandInProcessExecutor(new CountDownLatch(0));
+		processExecutor.builderExitCode = 1;
+		startServer(processExecutor, new FlatpakBuildScheduler(1, 1));
+
+		assertEquals(500, post("").statusCode());
+		awaitFiles(work, 0);
+	}
+
+	@Test
+	public void testRejectedBuildDeletesItsWorkspace() throws Exception {
+		StandInProcessExecutor processExecutor = new StandInProcessExecutor(new CountDownLatch(1));
+		startServer(processExecutor, new FlatpakBuildScheduler(1, 1));
+
+		// one running, one queued
+		assertEquals(202, post("&async=true").statusCode());
+		assertEquals(202, post("&async=true").statusCode());
+		HttpResponse<String> rejected = post("&async=true");
+
+		assertEquals(503, rejected.statusCode());
+		assertEquals("30", rejected.headers().firstValue("Retry-After").orElse(null));
+		awaitFiles(work, 2);
+
+		// the jobs delete the workspaces of the accepted builds
+		processExecutor.release.countDown();
+		awaitFiles(work, 0);
+	}
+
+	private void startServer(StandInProcessExecutor processExecutor, FlatpakBuildScheduler scheduler) throws Exception {
+		work = Files.createDirectories(tempDir.resolve("work"));
+		Path upload = Files.createDirectories(tempDir.resolve("upload"));
+		Flatpakager packager = Flatpakager.builder().processExecutor(processExecutor).timeout(30).gpgKey("key").gpgHome(tempDir.resolve("gpg"))
+				.work(work).build();
+		FlatpakagerServlet servlet = FlatpakagerServlet.builder().packager(packager).tempFolder(upload).scheduler(scheduler)
+				.jobs(new JobRegistry(tempDir.resolve("jobs"), FlatpakagerServlet.REPLY_MEDIA_TYPE, Duration.ofMinutes(1), 10))
+				.build();
+
+		server = new Server();
+		ServerConnector connector = new ServerConnector(server);
+		connector.setHost("localhost");
+		server.addConnector(connector);
+		ServletContextHandler contextHandler = new ServletContextHandler();
+		ServletHolder servletHolder = new ServletHolder(servlet);
+		servletHolder.getRegistration().setMultipartConfig(new MultipartConfigElement(upload.toString()));
+		contextHandler.addServlet(servletHolder, "/flatpak");
+		server.setHandler(contextHandler.get());
+		server.start();
+	}
+
+	private HttpResponse<String> post(String parameters) throws IOException, InterruptedException {
+		URI uri = URI.create("http://localhost:" + ((ServerConnector) server.getConnectors()[0]).getLocalPort()
+				+ "/flatpak?flatpakId=org.example.App&branch=stable&additionalSources=0" + parameters);
+		HttpRequest request = HttpRequest.newBuilder(uri)
+				.header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+				.POST(HttpRequest.BodyPublishers.ofByteArray(multipartBody()))
+				.build();
+		return HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString());
+	}
+
+	private static byte[] multipartBody() throws IOException {
+		ByteArrayOutputStream body = new ByteArrayOutputStream();
+		body.write(part("source", "app.tar.gz", "sources"));
+		body.write(part("manifest", "org.example.App.json", "{}"));
+		body.write(("--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+		return body.toByteArray();
+	}
+
+	private static byte[] part(String name, String fileName, String content) {
+		return ("--" + BOUNDARY + "\r\n"
+				+ "Content-Disposition: form-data; name=\"" + name + "\"; filename=\"" + fileName + "\"\r\n"
+				+ "Content-Type: application/octet-stream\r\n\r\n"
+				+ content + "\r\n").getBytes(StandardCharsets.US_ASCII);
+	}
+
+	/**
+	 * Waits for the given number of files in the folder, as workspaces are
+	 * deleted once the response has been sent.
+	 */
+	private static void awaitFiles(Path folder, int files) throws IOException, InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+		while (list(folder).size() != files && System.nanoTime() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(files, list(folder).size(), list(folder).toString());
+	}
+
+	private static List<Path> list(Path folder) throws IOException {
+		try (Stream<Path> files = Files.list(folder)) {
+			return files.sorted().collect(Collectors.toList());
+		}
+	}
+}
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.flatpakaging;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.eclipse.cbi.webservice.util.ProcessExecutor;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * A stand-in for the flatpak commands. Like the real ones, flatpak-builder
+ * fills the {@code --repo} and build-bundle writes the bundle given as its
+ * third to last argument. flatpak-builder waits for {@link #release} and may
+ * be made to fail.
+ */
+@SuppressWarnings("javadoc")
+final class StandInProcessExecutor implements ProcessExecutor {
+
+	final CountDownLatch release;
+	final List<ImmutableList<String>> commands = new ArrayList<>();
+	final List<String> started = new ArrayList<>();
+	final AtomicInteger running = new AtomicInteger();
+	final AtomicInteger maxRunning = new AtomicInteger();
+	volatile int builderExitCode;
+
+	StandInProcessExecutor(CountDownLatch release) {
+		this.release = release;
+	}
+
+	@Override
+	public int exec(ImmutableList<String> command, StringBuilder processOutput, long timeout, TimeUnit timeoutUnit) throws IOException {
+		synchronized (commands) {
+			commands.add(command);
+		}
+		if ("flatpak-builder".equals(command.get(0))) {
+			return build(command, processOutput);
+		}
+		Path bundle = Paths.get(command.get(command.size() - 3));
+		Files.write(bundle, command.get(command.size() - 2).getBytes(StandardCharsets.UTF_8));
+		return 0;
+	}
+
+	@Override
+	public int exec(ImmutableList<String> command, long timeout, TimeUnit timeoutUnit) throws IOException {
+		return exec(command, new StringBuilder(), timeout, timeoutUnit);
+	}
+
+	@Override
+	public int exec(ImmutableList<String> command, Consumer<String> outputLines, StringBuilder processOutput, long timeout, TimeUnit timeoutUnit) throws IOException {
+		return exec(command, processOutput, timeout, timeoutUnit);
+	}
+
+	private int build(ImmutableList<String> command, StringBuilder processOutput) throws IOException {
+		int current = running.incrementAndGet();
+		maxRunning.accumulateAndGet(current, Math::max);
+		try {
+			synchronized (started) {
+				started.add(command.get(command.size() - 1));
+			}
+			if (!release.await(30, TimeUnit.SECONDS)) {
+				throw new IOException("Stand-in build has not been released");
+			}
+			Files.createDirectories(Paths.get(argument(command, "--state-dir=")));
+			Files.createDirectories(Paths.get(argument(command, "--repo=")));
+			if (builderExitCode != 0) {
+				processOutput.append("Build failed\n");
+			}
+			return builderExitCode;
+		} catch (@SuppressWarnings("unused") InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Stand-in build has been interrupted");
+		} finally {
+			running.decrementAndGet();
+		}
+	}
+
+	List<ImmutableList<String>> commands() {
+		synchronized (commands) {
+			return new ArrayList<>(commands);
+		}
+	}
+
+	List<String> started() {
+		synchronized (started) {
+			return new ArrayList<>(started);
+		}
+	}
+
+	static String argument(List<String> command, String prefix) {
+		return command.stream().filter(arg -> arg.startsWith(prefix)).map(arg -> arg.substring(prefix.length())).findFirst()
+				.orElseThrow(() -> new AssertionError("No " + prefix + " in " + command));
+	}
+}
@@ -16,6 +16,7 @@ import static com.google.common.base.Preconditions.checkState;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.net.URI;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Objects;
@@ -26,6 +27,7 @@ import com.google.common.base.Splitter;
 import org.eclipse.cbi.common.security.MessageDigestAlgorithm;
 import org.eclipse.cbi.common.security.SignatureAlgorithm;
 import org.eclipse.cbi.webservice.util.ProcessExecutor;
+import org.eclipse.cbi.webservice.util.TimestampAuthoritySelector;
 
 import com.google.auto.value.AutoValue;
 import com.google.common.base.Joiner;
@@ -43,6 +45,12 @@ public abstract class JarSigner {
 	 */
 	private GoogleCredentials kmsCredentials = null;
 
+	/**
+	 * Chooses the timestamping authority of each jarsigner command, or
+	 * {@code null} if jars are not timestamped.
+	 */
+	private TimestampAuthoritySelector timestampAuthoritySelector = null;
+
 	/**
 	 * Returns the configuration object for this JarSigner instance.
 	 *
@@ -86,8 +94,18 @@ public abstract class JarSigner {
 		Objects.requireNonNull(sigAlg);
 		Objects.requireNonNull(digestAlg);
 		final StringBuilder output = new StringBuilder();
+		final URI tsa = timestampAuthoritySelector != null ? timestampAuthoritySelector.authorities().get(0) : null;
+		final long start = System.nanoTime();
 		int jarSignerExitValue =
-				processExecutor().exec(createCommand(jar, sigAlg, digestAlg, sigFile), output, configuration().getTimeout(), TimeUnit.SECONDS);
+				processExecutor().exec(createCommand(jar, sigAlg, digestAlg, sigFile, tsa), output, configuration().getTimeout(), TimeUnit.SECONDS);
+		if (tsa != null) {
+			// the timestamp request can't be timed apart from the rest of the run, the whole run is accounted to the authority
+			if (jarSignerExitValue == 0) {
+				timestampAuthoritySelector.recordSuccess(tsa, System.nanoTime() - start);
+			} else if (TimestampAuthoritySelector.isTimestampingFailure(output, tsa)) {
+				timestampAuthoritySelector.recordFailure(tsa, System.nanoTime() - start);
+			}
+		}
 		if (jarSignerExitValue != 0) {
 			throw new IOException(Joiner.on('\n').join(
 				"The '" + configuration().getJarSigner().toString() + "' command exited with value '" + jarSignerExitValue + "'",
@@ -110,10 +128,12 @@ public abstract class JarSigner {
 	 *            of a JAR file. Must not be <code>null</code>.
 	 * @param sigFile 
 	 *            then the base file name for the signatures files.
+	 * @param tsa
+	 *            the URI of the timestamping authority, or {@code null}.
 	 * @return a list of string composing the command (see
 	 *         {@link ProcessBuilder} for format).
 	 */
-	private ImmutableList<String> createCommand(Path jar, SignatureAlgorithm sigAlg, MessageDigestAlgorithm digestAlg, String sigFile) {
+	private ImmutableList<String> createCommand(Path jar, SignatureAlgorithm sigAlg, MessageDigestAlgorithm digestAlg, String sigFile, URI tsa) {
 		ImmutableList.Builder<String> command = ImmutableList.<String>builder().add(configuration().getJarSigner().toString());
 
 		if (!Strings.isNullOrEmpty(configuration().getJavaArgs())) {
@@ -146,9 +166,8 @@ public abstract class JarSigner {
 			command.add("-digestalg", digestAlg.standardName());
 		}
 		
-		String tsa = configuration().getTimeStampingAuthority().toString();
-		if (!Strings.isNullOrEmpty(tsa)) {
-			command.add("-tsa", tsa);
+		if (tsa != null) {
+			command.add("-tsa", tsa.toString());
 		}
 
 		if (!Strings.isNullOrEmpty(configuration().getStoreType())) {
@@ -260,6 +279,10 @@ public abstract class JarSigner {
 			}
 
 			jarSigner.initKmsCredentialsIfNeeded();
+			List<URI> authorities = configuration.getTimeStampingAuthorities();
+			if (!authorities.isEmpty()) {
+				jarSigner.timestampAuthoritySelector = new TimestampAuthoritySelector(authorities);
+			}
 			return jarSigner;
 		}
 	}
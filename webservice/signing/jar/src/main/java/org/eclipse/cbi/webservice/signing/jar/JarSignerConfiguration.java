@@ -14,6 +14,7 @@ package org.eclipse.cbi.webservice.signing.jar;
 
 import java.net.URI;
 import java.nio.file.Path;
+import java.util.List;
 
 public interface JarSignerConfiguration {
 
@@ -105,6 +106,18 @@ public interface JarSignerConfiguration {
 	 */
 	URI getTimeStampingAuthority();
 
+	/**
+	 * Returns the URIs of the timestamping authorities the jarsigner command
+	 * can use, in order of preference. Defaults to
+	 * {@link #getTimeStampingAuthority()} alone.
+	 *
+	 * @return the URIs of the timestamping authorities, possibly empty.
+	 */
+	default List<URI> getTimeStampingAuthorities() {
+		URI tsa = getTimeStampingAuthority();
+		return tsa == null || tsa.toString().isEmpty() ? List.of() : List.of(tsa);
+	}
+
 	/**
 	 * Returns the timeout of the jarsigner command.
 	 * 
@@ -15,6 +15,8 @@ package org.eclipse.cbi.webservice.signing.jar;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import com.google.common.base.Strings;
@@ -176,6 +178,29 @@ public class JarSignerProperties implements JarSignerConfiguration {
 		}
 	}
 
+	/**
+	 * Reads and returns the URIs of the timestamping authorities: the
+	 * {@value #JARSIGNER_TSA} one, followed by the optional alternate ones
+	 * {@value #JARSIGNER_TSA}{@code .1}, {@value #JARSIGNER_TSA}{@code .2}...
+	 *
+	 * @return the URIs of the timestamping authorities.
+	 */
+	@Override
+	public List<URI> getTimeStampingAuthorities() {
+		List<URI> result = new ArrayList<>(JarSignerConfiguration.super.getTimeStampingAuthorities());
+		int i = 1;
+		String value;
+		while (!Strings.isNullOrEmpty(value = propertiesReader.getString(JARSIGNER_TSA + "." + i, ""))) {
+			try {
+				result.add(new URI(value));
+			} catch (URISyntaxException e) {
+				throw new IllegalArgumentException("Property '" + JARSIGNER_TSA + "." + i + "' must be a valid URI (currently '" + value + "')", e);
+			}
+			i++;
+		}
+		return result;
+	}
+
 	/**
 	 * Reads and returns the timeout of the jarsigner command. If no 
 	 * {@value #JARSIGNER_TIMEOUT} property can be found returns the default
@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.signing.jar;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.Provider;
+import java.security.Security;
+import java.security.cert.CertPath;
+import java.security.cert.Certificate;
+import java.security.cert.CertificateFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.ZipFile;
+
+import org.eclipse.cbi.webservice.util.ProcessWorker;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * Main class of the long-lived worker processes that sign jars with the
+ * {@code jdk.security.jarsigner} API instead of forking {@code jarsigner} for
+ * each jar. It understands the subset of the {@code jarsigner} options that
+ * {@link JarSigner} uses; any other command is answered with
+ * {@link ProcessWorker#UNSUPPORTED} so that it is forked as usual.
+ * <p>
+ * The private key and the certificate chain are loaded on the first job and
+ * kept for the following jobs with the same keystore settings, which is where
+ * most of the time of a {@code jarsigner} run goes.
+ */
+public final class JarSignerWorker implements ProcessWorker.Job {
+
+	private static final ImmutableSet<String> OPTIONS = ImmutableSet.of(
+		"-sigalg", "-digestalg", "-tsa", "-storetype", "-providerClass", "-providerArg",
+		"-certchain", "-sigfile", "-keystore", "-storepass");
+
+	private static final String KEYSTORE_NONE = "NONE";
+
+	private List<String> cachedKeyEntryId;
+	private PrivateKey privateKey;
+	private CertPath certPath;
+
+	public static void main(String[] args) throws IOException {
+		boolean jarsignerApiAvailable = ModuleLayer.boot().findModule("jdk.jartool").isPresent();
+		ProcessWorker.serve(jarsignerApiAvailable ? new JarSignerWorker() : (arguments, output) -> ProcessWorker.UNSUPPORTED);
+	}
+
+	@Override
+	public int run(ImmutableList<String> arguments, PrintStream output) throws Exception {
+		Map<String, String> options = new HashMap<>();
+		List<String> operands = new ArrayList<>();
+		for (int i = 0; i < arguments.size(); i++) {
+			String argument = arguments.get(i);
+			if (argument.startsWith("-")) {
+				if (!OPTIONS.contains(argument) || i + 1 == arguments.size()) {
+					return ProcessWorker.UNSUPPORTED;
+				}
+				options.put(argument, arguments.get(++i));
+			} else {
+				operands.add(argument);
+			}
+		}
+		if (operands.size() != 2) {
+			return ProcessWorker.UNSUPPORTED;
+		}
+
+		Path jar = Paths.get(operands.get(0));
+		loadKeyEntry(options, operands.get(1));
+
+		jdk.security.jarsigner.JarSigner.Builder builder = new jdk.security.jarsigner.JarSigner.Builder(privateKey, certPath);
+		if (options.containsKey("-sigalg")) {
+			builder.signatureAlgorithm(options.get("-sigalg"));
+		}
+		if (options.containsKey("-digestalg")) {
+			builder.digestAlgorithm(options.get("-digestalg"));
+		}
+		if (options.containsKey("-tsa")) {
+			builder.tsa(URI.create(options.get("-tsa")));
+		}
+		if (options.containsKey("-sigfile")) {
+			builder.signerName(options.get("-sigfile"));
+		}
+
+		Path signedJar = Files.createTempFile(jar.toAbsolutePath().getParent(), jar.getFileName().toString(), ".signed");
+		try {
+			try (ZipFile unsignedJar = new ZipFile(jar.toFile()); OutputStream out = Files.newOutputStream(signedJar)) {
+				builder.build().sign(unsignedJar, out);
+			}
+			Files.move(signedJar, jar, StandardCopyOption.REPLACE_EXISTING);
+		} finally {
+			Files.deleteIfExists(signedJar);
+		}
+		output.println("jar signed.");
+		return 0;
+	}
+
+	private void loadKeyEntry(Map<String, String> options, String alias) throws IOException, GeneralSecurityException, ReflectiveOperationException {
+		String keystore = options.getOrDefault("-keystore", KEYSTORE_NONE);
+		String storepass = options.get("-storepass");
+		List<String> keyEntryId = Arrays.asList(keystore, lastModified(keystore), options.get("-storetype"),
+			options.get("-providerClass"), options.get("-providerArg"), options.get("-certchain"), storepass, alias);
+		if (keyEntryId.equals(cachedKeyEntryId)) {
+			return;
+		}
+
+		if (options.containsKey("-providerClass")) {
+			Security.addProvider(loadProvider(options.get("-providerClass"), options.get("-providerArg")));
+		}
+
+		char[] password = storepass == null ? null : storepass.toCharArray();
+		KeyStore keyStore = KeyStore.getInstance(options.getOrDefault("-storetype", KeyStore.getDefaultType()));
+		if (KEYSTORE_NONE.equals(keystore)) {
+			keyStore.load(null, password);
+		} else {
+			try (InputStream in = Files.newInputStream(Paths.get(keystore))) {
+				keyStore.load(in, password);
+			}
+		}
+
+		PrivateKey key = (PrivateKey) keyStore.getKey(alias, password);
+		if (key == null) {
+			throw new GeneralSecurityException("Alias '" + alias + "' does not exist or is not a private key entry");
+		}
+
+		final List<? extends Certificate> chain;
+		CertificateFactory certificateFactory = CertificateFactory.getInstance("X.509");
+		if (options.containsKey("-certchain")) {
+			try (InputStream in = Files.newInputStream(Paths.get(options.get("-certchain")))) {
+				chain = new ArrayList<>(certificateFactory.generateCertificates(in));
+			}
+		} else {
+			Certificate[] certificates = Objects.requireNonNull(keyStore.getCertificateChain(alias), "No certificate chain found for alias '" + alias + "'");
+			chain = Arrays.asList(certificates);
+		}
+
+		this.privateKey = key;
+		this.certPath = certificateFactory.generateCertPath(chain);
+		this.cachedKeyEntryId = keyEntryId;
+	}
+
+	private static String lastModified(String keystore) throws IOException {
+		return KEYSTORE_NONE.equals(keystore) ? "" : Files.getLastModifiedTime(Paths.get(keystore)).toString();
+	}
+
+	private static Provider loadProvider(String providerClass, String providerArg) throws ReflectiveOperationException {
+		Class<?> type = Class.forName(providerClass, true, ClassLoader.getSystemClassLoader());
+		if (providerArg == null) {
+			return (Provider) type.getConstructor().newInstance();
+		}
+		try {
+			return (Provider) type.getConstructor(String.class).newInstance(providerArg);
+		} catch (@SuppressWarnings("unused") NoSuchMethodException e) {
+			return ((Provider) type.getConstructor().newInstance()).configure(providerArg);
+		}
+	}
+}
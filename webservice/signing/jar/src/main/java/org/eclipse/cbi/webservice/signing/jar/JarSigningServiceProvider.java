@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.signing.jar;
+
+import java.nio.file.Path;
+
+import jakarta.servlet.Servlet;
+
+import org.eclipse.cbi.webservice.server.ServiceProvider;
+import org.eclipse.cbi.webservice.util.ProcessExecutor;
+import org.eclipse.cbi.webservice.util.ProcessExecutorProperties;
+import org.eclipse.cbi.webservice.util.PropertiesReader;
+import org.eclipse.cbi.webservice.util.WorkerPoolConfiguration;
+import org.eclipse.cbi.webservice.util.WorkerPoolProcessExecutor;
+
+/**
+ * Provides the jar signing service to a multi-service server.
+ */
+public class JarSigningServiceProvider implements ServiceProvider {
+
+	@Override
+	public String name() {
+		return "jar";
+	}
+
+	@Override
+	public Servlet createServlet(PropertiesReader properties, Path tempFolder, ProcessExecutor processExecutor) {
+		JarSignerProperties jarSignerConf = new JarSignerProperties(properties);
+		return createServlet(jarSignerConf, tempFolder, createProcessExecutor(jarSignerConf, new ProcessExecutorProperties(properties), processExecutor));
+	}
+
+	/**
+	 * Creates the executor of the jarsigner commands on top of the given one.
+	 * If a worker pool is configured, the jars are signed by long-lived
+	 * {@link JarSignerWorker} processes rather than by a new jarsigner process
+	 * each.
+	 */
+	static ProcessExecutor createProcessExecutor(JarSignerConfiguration jarSignerConf, ProcessExecutorProperties processExecutorConf, ProcessExecutor processExecutor) {
+		WorkerPoolConfiguration workers = processExecutorConf.getWorkerPoolConfiguration();
+		if (workers == null) {
+			return processExecutor;
+		}
+		String jarSignerTool = jarSignerConf.getJarSigner().getFileName().toString();
+		return new WorkerPoolProcessExecutor(processExecutor, jarSignerTool, JarSignerWorker.class.getName(), workers);
+	}
+
+	static SigningServlet createServlet(JarSignerConfiguration jarSignerConf, Path tempFolder, ProcessExecutor processExecutor) {
+		final JarSigner jarSigner =
+			JarSigner.builder()
+				.configuration(jarSignerConf)
+				.processExecutor(processExecutor)
+				.build();
+
+		return SigningServlet.builder()
+				.jarSigner(jarSigner)
+				.tempFolder(tempFolder)
+				.build();
+	}
+}
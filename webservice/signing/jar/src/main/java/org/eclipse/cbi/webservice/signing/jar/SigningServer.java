@@ -23,6 +23,7 @@ import org.eclipse.cbi.webservice.server.EmbeddedServer;
 import org.eclipse.cbi.webservice.server.EmbeddedServerConfiguration;
 import org.eclipse.cbi.webservice.server.EmbeddedServerProperties;
 import org.eclipse.cbi.webservice.util.ProcessExecutor;
+import org.eclipse.cbi.webservice.util.ProcessExecutorProperties;
 import org.eclipse.cbi.webservice.util.PropertiesReader;
 import org.kohsuke.args4j.Argument;
 import org.kohsuke.args4j.CmdLineException;
@@ -50,32 +51,44 @@ public class SigningServer {
 			final Path confPath = fs.getPath(configurationFilePath);
 			final EmbeddedServerConfiguration serverConf = new EmbeddedServerProperties(PropertiesReader.create(confPath));
 			final JarSignerConfiguration conf = new JarSignerProperties(PropertiesReader.create(confPath));
-			startServer(serverConf, conf);
+			final ProcessExecutorProperties processExecutorConf = new ProcessExecutorProperties(PropertiesReader.create(confPath));
+			final ProcessExecutor processExecutor = processExecutorConf.createProcessExecutor(serverConf.getTempFolder());
+			startServer(serverConf, conf, JarSigningServiceProvider.createProcessExecutor(conf, processExecutorConf, processExecutor), processExecutor);
 		}
 	}
 
 	public void startServer(final EmbeddedServerConfiguration serverConf, final JarSignerConfiguration jarSignerConf) throws Exception {
-		final Path tempFolder = serverConf.getTempFolder();
+		startServer(serverConf, jarSignerConf, new ProcessExecutor.BasicImpl());
+	}
 
-		final JarSigner jarSigner =
-			JarSigner.builder()
-				.configuration(jarSignerConf)
-				.processExecutor(new ProcessExecutor.BasicImpl())
-				.build();
+	public void startServer(final EmbeddedServerConfiguration serverConf, final JarSignerConfiguration jarSignerConf, final ProcessExecutor processExecutor) throws Exception {
+		startServer(serverConf, jarSignerConf, processExecutor, processExecutor);
+	}
 
-		final SigningServlet codeSignServlet =
-			SigningServlet.builder()
-				.jarSigner(jarSigner)
-				.tempFolder(tempFolder)
-				.build();
+	/**
+	 * Starts the server with the given executor of the jarsigner commands,
+	 * which may wrap the given base executor in a worker pool. The load of the
+	 * base executor is reported by {@code /ready} if it is governed.
+	 */
+	private void startServer(final EmbeddedServerConfiguration serverConf, final JarSignerConfiguration jarSignerConf, final ProcessExecutor processExecutor,
+			final ProcessExecutor baseProcessExecutor) throws Exception {
+		final Path tempFolder = serverConf.getTempFolder();
+
+		final SigningServlet codeSignServlet = JarSigningServiceProvider.createServlet(jarSignerConf, tempFolder, processExecutor);
 
 		final EmbeddedServer server =
 			EmbeddedServer.builder()
 				.port(serverConf.getServerPort())
 				.accessLogFile(serverConf.getAccessLogFile())
+				.multipartMemoryLimit(serverConf.getMultipartMemoryLimit())
+				.minFreeTempSpace(serverConf.getMinFreeTempSpace())
+				.http2(serverConf.getHttp2Configuration())
+				.tls(serverConf.getTlsConfiguration())
+				.tuning(serverConf.getTuningConfiguration())
 				.servicePathSpec(serverConf.getServicePathSpec())
 				.appendServiceVersionToPathSpec(serverConf.isServiceVersionAppendedToPathSpec())
 				.servlet(codeSignServlet)
+				.processExecutor(baseProcessExecutor)
 				.tempFolder(tempFolder)
 				.log4jConfiguration(serverConf.getLog4jProperties())
 				.build();
@@ -18,6 +18,9 @@ import java.util.concurrent.TimeUnit;
 
 import org.apache.log4j.PropertyConfigurator;
 import org.eclipse.cbi.webservice.server.EmbeddedServerConfiguration;
+import org.eclipse.cbi.webservice.server.Http2Configuration;
+import org.eclipse.cbi.webservice.server.TlsConfiguration;
+import org.eclipse.cbi.webservice.server.TuningConfiguration;
 import org.eclipse.cbi.webservice.util.ProcessExecutor;
 import org.kohsuke.args4j.CmdLineException;
 import org.kohsuke.args4j.CmdLineParser;
@@ -378,6 +381,31 @@ public class TestServer {
 			return false;
 		}
 
+		@Override
+		public long getMultipartMemoryLimit() {
+			return 64 * 1024 * 1024;
+		}
+
+		@Override
+		public long getMinFreeTempSpace() {
+			return 0;
+		}
+
+		@Override
+		public Http2Configuration getHttp2Configuration() {
+			return null;
+		}
+
+		@Override
+		public TlsConfiguration getTlsConfiguration() {
+			return null;
+		}
+
+		@Override
+		public TuningConfiguration getTuningConfiguration() {
+			return TuningConfiguration.builder().build();
+		}
+
 		@Override
 		public Properties getLog4jProperties() {
 			final Properties log4jConf = new Properties();
@@ -14,29 +14,40 @@ package org.eclipse.cbi.webservice.signing.macosx;
 
 import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
-import static com.google.common.base.Throwables.throwIfInstanceOf;
-import static com.google.common.base.Throwables.throwIfUnchecked;
 import static java.util.Objects.requireNonNull;
-import static org.eclipse.cbi.webservice.util.function.UnsafePredicate.safePredicate;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.nio.file.FileSystem;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.google.auto.value.AutoValue;
 import com.google.common.base.Joiner;
 import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.eclipse.cbi.common.util.Paths;
 import org.eclipse.cbi.common.util.Zips;
+import org.eclipse.cbi.webservice.util.KeychainUnlocker;
 import org.eclipse.cbi.webservice.util.ProcessExecutor;
-import org.eclipse.cbi.webservice.util.function.WrappedException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -49,6 +60,17 @@ public abstract class Codesigner {
 
 	private static final String DOT_PKG_GLOB_PATTERN = "glob:**.{pkg,mpkg}";
 
+	private static final ExecutorService SIGNING_EXECUTOR = Executors.newCachedThreadPool(new ThreadFactoryBuilder().setNameFormat("Codesigner-%d").setDaemon(true).build());
+
+	private static final ThreadFactory INSIDE_OUT_THREAD_FACTORY = new ThreadFactoryBuilder().setNameFormat("Codesigner-Inside-Out-%d").setDaemon(true).build();
+
+	/**
+	 * The executor of the inside out signings of all the bundles, so that no
+	 * more than {@link #signingParallelism()} nested codes are signed at once,
+	 * whatever the number of bundles being signed. Created on first use.
+	 */
+	private ExecutorService insideOutExecutor;
+
 	Codesigner() {}
 
 	public long signZippedApplications(Path source, Path target, Options options) throws IOException {
@@ -93,38 +115,106 @@ public abstract class Codesigner {
 
 	/**
 	 * Use the {@code codesign} command line utility to sign all .app in the
-	 * {@code tempDirectory}.
+	 * {@code tempDirectory}. Up to {@link #signingParallelism()} entries are
+	 * signed concurrently. All the entries are attempted even if some of them
+	 * fail to be signed.
 	 *
-	 * @return true if all found apps has been signed properly, false if no apps
-	 *         is signed or an error occured with at least one.
-	 * @throws IOException  if an I/O error occurs when signing
+	 * @return the number of signed entries.
+	 * @throws IOException
+	 *             if at least one entry failed to be signed. The failure of
+	 *             each entry is attached as a suppressed exception.
 	 */
 	private long signAll(Path directory, Options options) throws IOException {
 		requireNonNull(directory);
 		checkArgument(Files.isDirectory(directory), "Path must reference an existing directory");
 
-		unlockKeychain();
+		keychainUnlocker().ensureUnlocked();
 
+		final List<Path> entries;
 		try (Stream<Path> pathStream = Files.list(directory)) {
+			entries = pathStream.sorted().collect(Collectors.toList());
+		}
+
+		final Queue<Path> pending = new ConcurrentLinkedQueue<>(entries);
+		final Queue<SigningResult> results = new ConcurrentLinkedQueue<>();
+		final int workers = Math.min(signingParallelism(), entries.size());
+		final List<Future<?>> helpers = new ArrayList<>();
+		for (int i = 1; i < workers; i++) {
+			helpers.add(SIGNING_EXECUTOR.submit(() -> signPending(pending, results, options)));
+		}
+		signPending(pending, results, options);
+		for (Future<?> helper : helpers) {
+			try {
+				helper.get();
+			} catch (@SuppressWarnings("unused") InterruptedException e) {
+				pending.clear();
+				helpers.forEach(h -> h.cancel(true));
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Thread '" + Thread.currentThread().getName() + "' has been interrupted while waiting for the signing of '" + directory + "'");
+			} catch (ExecutionException e) {
+				throw new IOException("Unexpected failure while signing '" + directory + "'", e.getCause());
+			}
+		}
+
+		return summarize(results, entries.size());
+	}
+
+	private void signPending(Queue<Path> pending, Queue<SigningResult> results, Options options) {
+		Path entry;
+		while ((entry = pending.poll()) != null) {
+			final long start = System.nanoTime();
 			try {
-				return pathStream
-					.filter(safePredicate(p -> doSign(p, options, false)))
-					.count();
-			} catch (WrappedException e) {
-				throwIfInstanceOf(e.getCause(), IOException.class);
-				throwIfUnchecked(e.getCause());
-				throw new RuntimeException(e.getCause());
+				boolean signed = doSign(entry, options, false);
+				results.add(new SigningResult(entry, signed, elapsedMillis(start), null));
+			} catch (IOException | RuntimeException e) {
+				results.add(new SigningResult(entry, false, elapsedMillis(start), e));
+			}
+		}
+	}
+
+	private static long summarize(Collection<SigningResult> results, int entries) throws IOException {
+		long signed = 0;
+		List<SigningResult> failures = new ArrayList<>();
+		for (SigningResult result : results) {
+			if (result.error != null) {
+				logger.error("Signing of '{}' failed after {}ms", result.entry.getFileName(), result.millis);
+				failures.add(result);
+			} else if (result.signed) {
+				logger.info("Signed '{}' in {}ms", result.entry.getFileName(), result.millis);
+				signed++;
 			}
 		}
+
+		if (failures.isEmpty()) {
+			return signed;
+		}
+		if (failures.size() == 1 && entries == 1 && failures.get(0).error instanceof IOException) {
+			throw (IOException) failures.get(0).error;
+		}
+		StringBuilder message = new StringBuilder()
+			.append("Signing of ").append(failures.size()).append(" out of ").append(entries).append(" entries failed:");
+		for (SigningResult failure : failures) {
+			message.append('\n').append(failure.error.getMessage());
+		}
+		IOException e = new IOException(message.toString());
+		failures.forEach(failure -> e.addSuppressed(failure.error));
+		throw e;
+	}
+
+	private static long elapsedMillis(long start) {
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
 	}
 
 	private boolean doSign(Path file, Options options, boolean needUnlock) throws IOException {
 		if (needUnlock) {
-			unlockKeychain();
+			keychainUnlocker().ensureUnlocked();
 		}
 
 		final FileSystem fs = file.getFileSystem();
 		if (Files.isDirectory(file)) {
+			if (options.insideOut() && NestedCode.isBundle(file)) {
+				return signInsideOut(file, options);
+			}
 			return codesign(file, options);
 		} else if (Files.isRegularFile(file)) {
 			if (fs.getPathMatcher(DOT_PKG_GLOB_PATTERN).matches(file)) {
@@ -137,11 +227,67 @@ public abstract class Codesigner {
 		return false;
 	}
 
+	/**
+	 * Signs the code nested in the bundle before the bundle itself, rather
+	 * than relying on {@code codesign --deep}. The pieces of code that don't
+	 * contain each other are signed concurrently, up to
+	 * {@link #signingParallelism()} at a time for all the bundles being signed.
+	 * A bundle is signed once all its content has been, and is not signed if
+	 * any of it failed.
+	 */
+	private boolean signInsideOut(Path bundle, Options options) throws IOException {
+		final long start = System.nanoTime();
+		final NestedCode root = NestedCode.scan(bundle);
+		final List<CompletableFuture<Void>> tasks = new ArrayList<>();
+		final Queue<SigningResult> failures = new ConcurrentLinkedQueue<>();
+		scheduleInsideOut(root, options, insideOutExecutor(), tasks, failures);
+		CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0])).handle((result, error) -> null).join();
+
+		if (!failures.isEmpty()) {
+			summarize(failures, root.size());
+		}
+		logger.info("Signed '{}' and {} nested code(s) inside out in {}ms", bundle.getFileName(), root.size() - 1, elapsedMillis(start));
+		return true;
+	}
+
+	private CompletableFuture<Void> scheduleInsideOut(NestedCode code, Options options, ExecutorService executor, List<CompletableFuture<Void>> tasks, Queue<SigningResult> failures) {
+		CompletableFuture<?>[] children = code.children().stream()
+			.map(child -> scheduleInsideOut(child, options, executor, tasks, failures))
+			.toArray(CompletableFuture<?>[]::new);
+		// entitlements are meant for executables, i.e., apps, not for the libraries they load
+		Options codeOptions = Options.builder()
+			.deep(false)
+			.force(options.force())
+			.insideOut(true)
+			.entitlements(code.path().toString().endsWith(".app") ? options.entitlements() : Optional.empty())
+			.build();
+		CompletableFuture<Void> task = CompletableFuture.allOf(children).thenRunAsync(() -> {
+			final long start = System.nanoTime();
+			try {
+				codesign(code.path(), codeOptions);
+				logger.debug("Signed '{}' in {}ms", code.path(), elapsedMillis(start));
+			} catch (IOException | RuntimeException e) {
+				failures.add(new SigningResult(code.path(), false, elapsedMillis(start), e));
+				// completes the task exceptionally, so that the enclosing code is not signed
+				throw new CompletionException(e);
+			}
+		}, executor);
+		tasks.add(task);
+		return task;
+	}
+
+	private synchronized ExecutorService insideOutExecutor() {
+		if (insideOutExecutor == null) {
+			insideOutExecutor = Executors.newFixedThreadPool(signingParallelism(), INSIDE_OUT_THREAD_FACTORY);
+		}
+		return insideOutExecutor;
+	}
+
 	private boolean codesign(Path file, Options options) throws IOException {
 		requireNonNull(file);
 
 		final StringBuilder output = new StringBuilder();
-		final int codesignExitValue = processExecutor().exec(codesignCommand(file, options), output, codesignTimeout(), TimeUnit.SECONDS);
+		final int codesignExitValue = keychainUnlocker().exec(codesignCommand(file, options), output, codesignTimeout(), TimeUnit.SECONDS);
 		if (codesignExitValue == 0) {
 			return true;
 		} else {
@@ -160,7 +306,7 @@ public abstract class Codesigner {
 		final StringBuilder output = new StringBuilder();
 		Path signedProduct = Files.createTempFile(file.getParent(), com.google.common.io.Files.getNameWithoutExtension(file.getFileName().toString()), com.google.common.io.Files.getFileExtension(file.getFileName().toString()));
 		try {
-			final int productsignExitValue = processExecutor().exec(productsignCommand(file, signedProduct), output, productsignTimeout(), TimeUnit.SECONDS);
+			final int productsignExitValue = keychainUnlocker().exec(productsignCommand(file, signedProduct), output, productsignTimeout(), TimeUnit.SECONDS);
 			if (productsignExitValue == 0) {
 				Files.move(signedProduct, file, StandardCopyOption.REPLACE_EXISTING);
 				return true;
@@ -175,17 +321,6 @@ public abstract class Codesigner {
 		}
 	}
 
-	private void unlockKeychain() throws IOException {
-		final StringBuilder output = new StringBuilder();
-		final int securityExitValue = processExecutor().exec(securityUnlockCommand(), output , securityUnlockTimeout(), TimeUnit.SECONDS);
-		if (securityExitValue != 0) {
-			throw new IOException(Joiner.on('\n').join(
-					"The 'security unlock' command exited with value '" + securityExitValue + "'",
-					"'security unlock' output:",
-					output));
-		}
-	}
-
 	private ImmutableList<String> codesignCommand(Path path, Options options) {
 		return ImmutableList.<String>builder()
 			.addAll(codesignCommandPrefix())
@@ -254,15 +389,32 @@ public abstract class Codesigner {
 
 	abstract long securityUnlockTimeout();
 
+	/**
+	 * Returns the time the keychain is deemed to stay unlocked after a
+	 * {@code security unlock}, in seconds.
+	 *
+	 * @return the keychain session time to live in seconds.
+	 */
+	abstract long securityUnlockTtl();
+
+	/**
+	 * Returns the maximum number of entries of a zip signed concurrently.
+	 *
+	 * @return the maximum number of entries signed concurrently.
+	 */
+	abstract int signingParallelism();
+
 	abstract ImmutableList<String> codesignCommandPrefix();
 
 	abstract ImmutableList<String> productsignCommandPrefix();
 
-	abstract ImmutableList<String> securityUnlockCommand();
+	abstract KeychainUnlocker keychainUnlocker();
 
 	public static Builder builder() {
 		return new AutoValue_Codesigner.Builder()
+			.signingParallelism(1)
 			.securityUnlockTimeout(20)
+			.securityUnlockTtl(60)
 			.codesignTimeout(TimeUnit.MINUTES.toSeconds(10))
 			.productsignTimeout(TimeUnit.MINUTES.toSeconds(10));
 	}
@@ -314,6 +466,7 @@ public abstract class Codesigner {
 		abstract String identityInstaller();
 
 		public abstract Builder processExecutor(ProcessExecutor executor);
+		abstract ProcessExecutor processExecutor();
 
 		public abstract Builder codesignTimeout(long codesignTimeout);
 
@@ -323,12 +476,35 @@ public abstract class Codesigner {
 		abstract String timeStampAuthority();
 
 		public abstract Builder securityUnlockTimeout(long securityUnlockTimeout);
+		abstract long securityUnlockTimeout();
+
+		/**
+		 * Sets the time the keychain is deemed to stay unlocked after a
+		 * {@code security unlock}. {@code 0} unlocks the keychain for each
+		 * request.
+		 *
+		 * @param securityUnlockTtl
+		 *            the keychain session time to live in seconds.
+		 * @return this builder for daisy chaining.
+		 */
+		public abstract Builder securityUnlockTtl(long securityUnlockTtl);
+		abstract long securityUnlockTtl();
+
+		/**
+		 * Sets the maximum number of top-level entries of a zip that are
+		 * signed concurrently.
+		 *
+		 * @param signingParallelism
+		 *            the maximum number of entries signed concurrently.
+		 * @return this builder for daisy chaining.
+		 */
+		public abstract Builder signingParallelism(int signingParallelism);
 
 		abstract Builder codesignCommandPrefix(ImmutableList<String> commandPrefix);
 
 		abstract Builder productsignCommandPrefix(ImmutableList<String> commandPrefix);
 
-		abstract Builder securityUnlockCommand(ImmutableList<String> command);
+		abstract Builder keychainUnlocker(KeychainUnlocker keychainUnlocker);
 
 		abstract Codesigner autoBuild();
 
@@ -365,11 +541,13 @@ public abstract class Codesigner {
 			}
 			productsignCommandPrefix(productsignCommandPrefix.build());
 
-			securityUnlockCommand(ImmutableList.of("security", "unlock", "-p", keychainPassword(), keychain().toString()));
+			checkState(securityUnlockTimeout() > 0, "Security unlock timeout must be strictly positive");
+			checkState(securityUnlockTtl() >= 0, "Security unlock time to live must be positive or zero");
+			keychainUnlocker(new KeychainUnlocker(processExecutor(), keychain(), keychainPassword(), securityUnlockTimeout(), securityUnlockTtl()));
 
 			Codesigner codesigner = autoBuild();
 			checkState(codesigner.codesignTimeout() > 0, "Codesign timeout must be strictly positive");
-			checkState(codesigner.securityUnlockTimeout() > 0, "Security unlock timeout must be strictly positive");
+			checkState(codesigner.signingParallelism() > 0, "Signing parallelism must be strictly positive");
 			checkState(Files.exists(codesigner.tempFolder()), "Temporary folder must exists");
 			checkState(Files.exists(codesigner.tempFolder()), "Temporary folder must exists");
 			checkState(Files.isDirectory(codesigner.tempFolder()), "Temporary folder must be a directory");
@@ -377,6 +555,23 @@ public abstract class Codesigner {
 		}
 	}
 
+	/**
+	 * The outcome of the signing of a top-level entry.
+	 */
+	private static final class SigningResult {
+		final Path entry;
+		final boolean signed;
+		final long millis;
+		final Exception error;
+
+		SigningResult(Path entry, boolean signed, long millis, Exception error) {
+			this.entry = entry;
+			this.signed = signed;
+			this.millis = millis;
+			this.error = error;
+		}
+	}
+
 	@AutoValue
 	public static abstract class Options {
 
@@ -386,15 +581,24 @@ public abstract class Codesigner {
 
 		public abstract Optional<Path> entitlements();
 
+		/**
+		 * Returns whether the code nested in the bundles is signed piece by
+		 * piece from the inside out, rather than with {@code --deep}.
+		 *
+		 * @return whether the bundles are signed from the inside out.
+		 */
+		public abstract boolean insideOut();
+
 		public static Options.Builder builder() {
 			return new AutoValue_Codesigner_Options.Builder()
 				.deep(true)
-				.force(true);
+				.force(true)
+				.insideOut(false);
 		}
 
 		public List<String> toArgsList() {
 			ImmutableList.Builder<String> ret = ImmutableList.builder();
-			if (deep()) {
+			if (deep() && !insideOut()) {
 				ret.add("--deep");
 			}
 			if (force()) {
@@ -412,6 +616,7 @@ public abstract class Codesigner {
 			public abstract Options.Builder force(boolean force);
 			public abstract Options.Builder entitlements(Path entitlements);
 			public abstract Options.Builder entitlements(Optional<Path> entitlements);
+			public abstract Options.Builder insideOut(boolean insideOut);
 			public abstract Options build();
 		}
 	}
@@ -25,14 +25,18 @@ import org.eclipse.cbi.webservice.util.PropertiesReader;
 public class CodesignerProperties {
 
 	private static final long DEFAULT_SECURITY_UNLOCK_TIMEOUT = 20;
+	private static final long DEFAULT_SECURITY_UNLOCK_TTL = 60;
 	private static final long DEFAULT_CODESIGN_TIMEOUT = TimeUnit.MINUTES.toSeconds(10);
+	private static final int DEFAULT_CODESIGN_PARALLELISM = 1;
 	private static final String DEFAULT_CODESIGN_TIMESTAMP_AUTHORITY = "";
 	private static final String IDENTITY_NAME_APPLICATION = "macosx.identity.application";
 	private static final String IDENTITY_NAME_INSTALLER = "macosx.identity.installer";
 	private static final String KEYCHAIN_PASSWORD_FILE = "macosx.keychain.password";
 	private static final String KEYCHAIN_PATH = "macosx.keychain";
 	private static final String SECURITY_UNLOCK_TIMEOUT = "macosx.security.unlock.timeout";
+	private static final String SECURITY_UNLOCK_TTL = "macosx.security.unlock.ttl";
 	private static final String CODESIGN_TIMEOUT = "macosx.codesign.timeout";
+	private static final String CODESIGN_PARALLELISM = "macosx.codesign.parallelism";
 	private static final String CODESIGN_TIMESTAMP_AUTHORITY = "macosx.codesign.timestamp";
 
 	private final PropertiesReader propertiesReader;
@@ -61,10 +65,18 @@ public class CodesignerProperties {
 		return propertiesReader.getLong(SECURITY_UNLOCK_TIMEOUT, DEFAULT_SECURITY_UNLOCK_TIMEOUT);
 	}
 
+	public long getSecurityUnlockTtl() {
+		return propertiesReader.getLong(SECURITY_UNLOCK_TTL, DEFAULT_SECURITY_UNLOCK_TTL);
+	}
+
 	public long getCodesignTimeout() {
 		return propertiesReader.getLong(CODESIGN_TIMEOUT, DEFAULT_CODESIGN_TIMEOUT);
 	}
 	
+	public int getCodesignParallelism() {
+		return propertiesReader.getInt(CODESIGN_PARALLELISM, DEFAULT_CODESIGN_PARALLELISM);
+	}
+
 	public String getTimeStampAuthority() {
 		return propertiesReader.getString(CODESIGN_TIMESTAMP_AUTHORITY, DEFAULT_CODESIGN_TIMESTAMP_AUTHORITY);
 	}
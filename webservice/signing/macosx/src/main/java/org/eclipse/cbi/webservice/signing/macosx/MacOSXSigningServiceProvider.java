@@ -0,0 +1,56 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.signing.macosx;
+
+import java.nio.file.Path;
+
+import jakarta.servlet.Servlet;
+
+import org.eclipse.cbi.webservice.server.ServiceProvider;
+import org.eclipse.cbi.webservice.util.ProcessExecutor;
+import org.eclipse.cbi.webservice.util.PropertiesReader;
+
+/**
+ * Provides the macOS code signing service to a multi-service server.
+ */
+public class MacOSXSigningServiceProvider implements ServiceProvider {
+
+	@Override
+	public String name() {
+		return "macosx";
+	}
+
+	@Override
+	public Servlet createServlet(PropertiesReader properties, Path tempFolder, ProcessExecutor processExecutor) {
+		final CodesignerProperties conf = new CodesignerProperties(properties);
+
+		final Codesigner codesigner = Codesigner.builder()
+			.identityApplication(conf.getIdentityApplication())
+			.identityInstaller(conf.getIdentityInstaller())
+			.keychain(conf.getKeychain())
+			.keychainPassword(conf.getKeychainPassword())
+			.tempFolder(tempFolder)
+			.codesignTimeout(conf.getCodesignTimeout())
+			.signingParallelism(conf.getCodesignParallelism())
+			.timeStampAuthority(conf.getTimeStampAuthority())
+			.securityUnlockTimeout(conf.getSecurityUnlockTimeout())
+			.securityUnlockTtl(conf.getSecurityUnlockTtl())
+			.processExecutor(processExecutor)
+			.build();
+
+		return SigningServlet.builder()
+			.tempFolder(tempFolder)
+			.codesigner(codesigner)
+			.build();
+	}
+}
@@ -0,0 +1,236 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.signing.macosx;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+
+/**
+ * A piece of code of an application bundle that has its own signature, along
+ * with the pieces of code it contains. Code must be signed from the inside
+ * out: the {@link #children()} before their container.
+ * <p>
+ * {@link #scan(Path)} finds the nested bundles (frameworks, helper apps,
+ * plug-ins, XPC services...) by their extension and the standalone Mach-O
+ * files (dylibs, jnilibs, executables under {@code Contents/MacOS} or
+ * {@code Contents/Eclipse}...) by their magic number. The main executable of
+ * a bundle is not listed as it is signed along with its bundle.
+ */
+final class NestedCode {
+
+	private static final ImmutableSet<String> BUNDLE_EXTENSIONS = ImmutableSet.of("app", "framework", "bundle", "plugin", "xpc", "appex", "kext");
+
+	private static final String CODE_SIGNATURE_FOLDER = "_CodeSignature";
+
+	private static final Pattern BUNDLE_EXECUTABLE = Pattern.compile("<key>CFBundleExecutable</key>\\s*<string>([^<]+)</string>");
+
+	/** Java class files share the 0xCAFEBABE magic number with universal binaries, but not their small architecture count. */
+	private static final int MAX_FAT_ARCHITECTURES = 30;
+
+	private final Path path;
+	private final boolean bundle;
+	private final ImmutableList<NestedCode> children;
+
+	private NestedCode(Path path, boolean bundle, ImmutableList<NestedCode> children) {
+		this.path = path;
+		this.bundle = bundle;
+		this.children = children;
+	}
+
+	/**
+	 * Returns the path of the code.
+	 *
+	 * @return the path of the code.
+	 */
+	Path path() {
+		return path;
+	}
+
+	/**
+	 * Returns whether the code is a bundle, or a single Mach-O file.
+	 *
+	 * @return whether the code is a bundle.
+	 */
+	boolean isBundle() {
+		return bundle;
+	}
+
+	/**
+	 * Returns the code contained in this bundle, to be signed before it.
+	 *
+	 * @return the code contained in this bundle.
+	 */
+	ImmutableList<NestedCode> children() {
+		return children;
+	}
+
+	/**
+	 * Returns the number of pieces of code in this tree, including this one.
+	 *
+	 * @return the number of pieces of code in this tree.
+	 */
+	int size() {
+		return 1 + children.stream().mapToInt(NestedCode::size).sum();
+	}
+
+	/**
+	 * Returns whether the given directory is a bundle that can contain nested
+	 * code, according to its extension.
+	 *
+	 * @param directory
+	 *            the directory to test.
+	 * @return whether the directory is a bundle.
+	 */
+	static boolean isBundle(Path directory) {
+		return Files.isDirectory(directory, LinkOption.NOFOLLOW_LINKS)
+			&& BUNDLE_EXTENSIONS.contains(com.google.common.io.Files.getFileExtension(directory.getFileName().toString()));
+	}
+
+	/**
+	 * Finds the code nested in the given bundle.
+	 *
+	 * @param bundle
+	 *            the bundle to scan.
+	 * @return the tree of the code of the bundle, rooted at the bundle.
+	 * @throws IOException
+	 *             if the bundle can't be read.
+	 */
+	static NestedCode scan(Path bundle) throws IOException {
+		final List<Path> bundles = new ArrayList<>();
+		final List<Path> machOFiles = new ArrayList<>();
+		try (Stream<Path> paths = Files.walk(bundle)) {
+			for (Path path : paths.filter(p -> !p.equals(bundle)).collect(Collectors.toList())) {
+				if (isInCodeSignature(bundle, path)) {
+					continue;
+				}
+				if (isBundle(path)) {
+					bundles.add(path);
+				} else if (Files.isRegularFile(path, LinkOption.NOFOLLOW_LINKS) && isMachO(path)) {
+					machOFiles.add(path);
+				}
+			}
+		}
+
+		// the code of each bundle, the deepest bundles being the last ones
+		TreeMap<Path, List<NestedCode>> contents = new TreeMap<>(Comparator.comparingInt(Path::getNameCount).thenComparing(Comparator.naturalOrder()));
+		contents.put(bundle, new ArrayList<>());
+		bundles.forEach(b -> contents.put(b, new ArrayList<>()));
+
+		for (Path file : machOFiles) {
+			Path container = container(bundle, file, contents);
+			if (!isMainExecutable(container, file)) {
+				contents.get(container).add(new NestedCode(file, false, ImmutableList.of()));
+			}
+		}
+
+		// build the trees from the inside out, a bundle is complete once all deeper bundles are
+		for (Path b : contents.descendingKeySet()) {
+			List<NestedCode> children = contents.get(b);
+			children.sort(Comparator.comparing(NestedCode::path));
+			NestedCode tree = new NestedCode(b, true, ImmutableList.copyOf(children));
+			if (b.equals(bundle)) {
+				return tree;
+			}
+			contents.get(container(bundle, b, contents)).add(tree);
+		}
+		throw new IllegalStateException("The scanned bundle is always the shallowest path");
+	}
+
+	private static Path container(Path root, Path path, Map<Path, ?> bundles) {
+		Path parent = path.getParent();
+		while (parent != null && !parent.equals(root) && !bundles.containsKey(parent)) {
+			parent = parent.getParent();
+		}
+		return parent == null ? root : parent;
+	}
+
+	private static boolean isInCodeSignature(Path root, Path path) {
+		for (Path segment : root.relativize(path)) {
+			if (CODE_SIGNATURE_FOLDER.equals(segment.toString())) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns whether the file is the main executable of the bundle, i.e.,
+	 * {@code Contents/MacOS/<CFBundleExecutable>} or the
+	 * {@code Versions/<version>/<name>} binary of a framework.
+	 */
+	private static boolean isMainExecutable(Path bundle, Path file) throws IOException {
+		Path parent = file.getParent();
+		String fileName = file.getFileName().toString();
+		if (parent.equals(bundle.resolve("Contents").resolve("MacOS"))) {
+			return bundleExecutable(bundle.resolve("Contents").resolve("Info.plist"))
+				.map(fileName::equals)
+				.orElseGet(() -> fileName.equals(bundleName(bundle)));
+		}
+		return parent.getParent() != null && parent.getParent().equals(bundle.resolve("Versions")) && fileName.equals(bundleName(bundle));
+	}
+
+	private static String bundleName(Path bundle) {
+		return com.google.common.io.Files.getNameWithoutExtension(bundle.getFileName().toString());
+	}
+
+	private static Optional<String> bundleExecutable(Path infoPlist) throws IOException {
+		if (!Files.isRegularFile(infoPlist)) {
+			return Optional.empty();
+		}
+		Matcher matcher = BUNDLE_EXECUTABLE.matcher(new String(Files.readAllBytes(infoPlist), StandardCharsets.UTF_8));
+		return matcher.find() ? Optional.of(matcher.group(1).trim()) : Optional.empty();
+	}
+
+	/**
+	 * Returns whether the file starts with the magic number of a thin or
+	 * universal Mach-O binary.
+	 */
+	static boolean isMachO(Path file) throws IOException {
+		byte[] header = new byte[8];
+		int read;
+		try (InputStream in = Files.newInputStream(file)) {
+			read = in.readNBytes(header, 0, header.length);
+		}
+		if (read < 4) {
+			return false;
+		}
+		ByteBuffer buffer = ByteBuffer.wrap(header);
+		switch (buffer.getInt(0)) {
+			case 0xFEEDFACE: case 0xFEEDFACF: // big endian
+			case 0xCEFAEDFE: case 0xCFFAEDFE: // little endian
+				return true;
+			case 0xCAFEBABE: case 0xCAFEBABF: // universal
+				return read == 8 && buffer.getInt(4) > 0 && buffer.getInt(4) < MAX_FAT_ARCHITECTURES;
+			default:
+				return false;
+		}
+	}
+}
@@ -19,10 +19,13 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
+import jakarta.servlet.Servlet;
+
 import org.eclipse.cbi.webservice.server.EmbeddedServer;
 import org.eclipse.cbi.webservice.server.EmbeddedServerConfiguration;
 import org.eclipse.cbi.webservice.server.EmbeddedServerProperties;
 import org.eclipse.cbi.webservice.util.ProcessExecutor;
+import org.eclipse.cbi.webservice.util.ProcessExecutorProperties;
 import org.eclipse.cbi.webservice.util.PropertiesReader;
 import org.kohsuke.args4j.Argument;
 import org.kohsuke.args4j.CmdLineException;
@@ -49,32 +52,23 @@ public class SigningServer {
 		if (parseCmdLineArguments(fs, args)) {
 			final Path confPath = fs.getPath(configurationFilePath);
 			final EmbeddedServerConfiguration serverConf = new EmbeddedServerProperties(PropertiesReader.create(confPath));
-			final CodesignerProperties conf = new CodesignerProperties(PropertiesReader.create(confPath));
 			final Path tempFolder = serverConf.getTempFolder();
 
-			final Codesigner codesigner = Codesigner.builder()
-				.identityApplication(conf.getIdentityApplication())
-				.identityInstaller(conf.getIdentityInstaller())
-				.keychain(conf.getKeychain())
-				.keychainPassword(conf.getKeychainPassword())
-				.tempFolder(tempFolder)
-				.codesignTimeout(conf.getCodesignTimeout())
-				.timeStampAuthority(conf.getTimeStampAuthority())
-				.securityUnlockTimeout(conf.getSecurityUnlockTimeout())
-				.processExecutor(new ProcessExecutor.BasicImpl())
-				.build();
-
-			final SigningServlet codeSignServlet = SigningServlet.builder()
-				.tempFolder(tempFolder)
-				.codesigner(codesigner)
-				.build();
+			final ProcessExecutor processExecutor = new ProcessExecutorProperties(PropertiesReader.create(confPath)).createProcessExecutor(tempFolder);
+			final Servlet codeSignServlet = new MacOSXSigningServiceProvider().createServlet(PropertiesReader.create(confPath), tempFolder, processExecutor);
 
 			final EmbeddedServer server = EmbeddedServer.builder()
 				.port(serverConf.getServerPort())
 				.accessLogFile(serverConf.getAccessLogFile())
+				.multipartMemoryLimit(serverConf.getMultipartMemoryLimit())
+				.minFreeTempSpace(serverConf.getMinFreeTempSpace())
+				.http2(serverConf.getHttp2Configuration())
+				.tls(serverConf.getTlsConfiguration())
+				.tuning(serverConf.getTuningConfiguration())
 				.servicePathSpec(serverConf.getServicePathSpec())
 				.appendServiceVersionToPathSpec(serverConf.isServiceVersionAppendedToPathSpec())
 				.servlet(codeSignServlet)
+				.processExecutor(processExecutor)
 				.tempFolder(tempFolder)
 				.log4jConfiguration(serverConf.getLog4jProperties())
 				.build();
@@ -45,6 +45,8 @@ public abstract class SigningServlet extends HttpServlet {
 
 	private static final String ENTITLEMENTS_PART_NAME = "entitlements";
 
+	private static final String INSIDE_OUT_PARAMETER = "insideOut";
+
 	private static final long serialVersionUID = 523028904959736808L;
 
 	SigningServlet() {}
@@ -70,7 +72,10 @@ public abstract class SigningServlet extends HttpServlet {
 	private void doSign(RequestFacade requestFacade, final ResponseFacade answeringMachine) throws IOException, ServletException {
 		Path fileToBeSigned = requestFacade.getPartPath(FILE_PART_NAME, TEMP_FILE_PREFIX).get();
 		Optional<Path> entitlements = requestFacade.getPartPath(ENTITLEMENTS_PART_NAME, TEMP_FILE_PREFIX);
-		Codesigner.Options codesignerOptions = Codesigner.Options.builder().entitlements(entitlements).build();
+		Codesigner.Options codesignerOptions = Codesigner.Options.builder()
+			.entitlements(entitlements)
+			.insideOut(requestFacade.getBooleanParameter(INSIDE_OUT_PARAMETER))
+			.build();
 		if ("zip".equals(com.google.common.io.Files.getFileExtension(requestFacade.getSubmittedFileName(FILE_PART_NAME).get()))) {
 			signFilesInZip(requestFacade, answeringMachine, fileToBeSigned, codesignerOptions);
 		} else {
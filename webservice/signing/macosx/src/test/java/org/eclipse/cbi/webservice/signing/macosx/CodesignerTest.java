@@ -1,6 +1,7 @@
 package org.eclipse.cbi.webservice.signing.macosx;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -14,6 +15,9 @@ import java.io.IOException;
 import java.nio.file.FileSystem;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.stream.Stream;
 
 import com.google.common.collect.ImmutableList;
@@ -272,8 +276,103 @@ public class CodesignerTest {
 		}
 	}
 
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	@Test
+	public void testParallelSigning() throws IOException {
+		try(FileSystem fs = Jimfs.newFileSystem(Configuration.osX())) {
+			assertEquals(3,
+				createCodesignerUnderTest(fs, processExecutor, 3).signZippedApplications(createTestZipFile2(fs), fs.getPath("signed.zip"), Codesigner.Options.builder().build()));
+
+			ArgumentCaptor<ImmutableList> listCaptor = ArgumentCaptor.forClass(ImmutableList.class);
+			verify(processExecutor, times(4)).exec(listCaptor.capture(), any(), anyLong(), any());
+			assertEquals(1, listCaptor.getAllValues().stream().filter(args -> "security".equals(args.get(0))).count());
+			assertEquals(3, listCaptor.getAllValues().stream().filter(args -> "codesign".equals(args.get(0))).count());
+
+			verifyCleanedTempFolder(fs);
+		}
+	}
+
+	@SuppressWarnings({ "unchecked" })
+	@Test
+	public void testFailuresAreAggregated() throws IOException {
+		try(FileSystem fs = Jimfs.newFileSystem(Configuration.osX())) {
+			when(processExecutor.exec(any(), any(), anyLong(), any())).then(invocation -> {
+				ImmutableList<String> command = (ImmutableList<String>) invocation.getArguments()[0];
+				return "codesign".equals(command.get(0)) && !command.get(command.size() - 1).endsWith("MyApp.app") ? 1 : 0;
+			});
+
+			IOException e = assertThrows(IOException.class, () -> createCodesignerUnderTest(fs, processExecutor, 2).signZippedApplications(createTestZipFile2(fs), fs.getPath("signed.zip"), Codesigner.Options.builder().build()));
+			assertTrue(e.getMessage().startsWith("Signing of 2 out of 3 entries failed"), e.getMessage());
+			assertEquals(2, e.getSuppressed().length);
+			verify(processExecutor, times(4)).exec(any(), any(), anyLong(), any());
+
+			verifyCleanedTempFolder(fs);
+		}
+	}
+
+	@SuppressWarnings({ "unchecked" })
+	@Test
+	public void testInsideOutSigning() throws IOException {
+		try(FileSystem fs = Jimfs.newFileSystem(Configuration.osX())) {
+			List<String> signed = Collections.synchronizedList(new ArrayList<>());
+			when(processExecutor.exec(any(), any(), anyLong(), any())).then(invocation -> {
+				ImmutableList<String> command = (ImmutableList<String>) invocation.getArguments()[0];
+				if ("codesign".equals(command.get(0))) {
+					assertFalse(command.contains("--deep"));
+					signed.add(fs.getPath(command.get(command.size() - 1)).getFileName().toString());
+				}
+				return 0;
+			});
+
+			NestedCodeTest.createApp(fs.getPath("folder"));
+			Path zip = fs.getPath("testFile.zip");
+			Zips.packZip(fs.getPath("folder"), zip, false);
+			assertEquals(1, createCodesignerUnderTest(fs, processExecutor, 3).signZippedApplications(zip, fs.getPath("signed.zip"), Codesigner.Options.builder().insideOut(true).build()));
+
+			assertEquals(6, signed.size());
+			assertTrue(signed.indexOf("libbar.dylib") < signed.indexOf("Foo.framework"), signed.toString());
+			assertEquals("MyApp.app", signed.get(signed.size() - 1));
+			verifyCleanedTempFolder(fs);
+		}
+	}
+
+	@SuppressWarnings({ "unchecked" })
+	@Test
+	public void testInsideOutNestedFailureSkipsEnclosingCode() throws IOException {
+		try(FileSystem fs = Jimfs.newFileSystem(Configuration.osX())) {
+			List<String> signed = Collections.synchronizedList(new ArrayList<>());
+			when(processExecutor.exec(any(), any(), anyLong(), any())).then(invocation -> {
+				ImmutableList<String> command = (ImmutableList<String>) invocation.getArguments()[0];
+				if ("codesign".equals(command.get(0))) {
+					String name = fs.getPath(command.get(command.size() - 1)).getFileName().toString();
+					if ("libbar.dylib".equals(name)) {
+						return 1;
+					}
+					signed.add(name);
+				}
+				return 0;
+			});
+
+			NestedCodeTest.createApp(fs.getPath("folder"));
+			Path zip = fs.getPath("testFile.zip");
+			Zips.packZip(fs.getPath("folder"), zip, false);
+			IOException e = assertThrows(IOException.class, () -> createCodesignerUnderTest(fs, processExecutor, 3).signZippedApplications(zip, fs.getPath("signed.zip"), Codesigner.Options.builder().insideOut(true).build()));
+			assertTrue(e.getMessage().contains("libbar.dylib"), e.getMessage());
+
+			assertFalse(signed.contains("Foo.framework"), signed.toString());
+			assertFalse(signed.contains("MyApp.app"), signed.toString());
+			assertTrue(signed.contains("Helper.app"), signed.toString());
+			verifyCleanedTempFolder(fs);
+		}
+	}
+
 	private static Codesigner createCodesignerUnderTest(FileSystem fs, ProcessExecutor processExecutor) throws IOException {
+		return createCodesignerUnderTest(fs, processExecutor, 1);
+	}
+
+	private static Codesigner createCodesignerUnderTest(FileSystem fs, ProcessExecutor processExecutor, int signingParallelism) throws IOException {
 		return Codesigner.builder()
+				.signingParallelism(signingParallelism)
 				.identityApplication("Cert application")
 				.identityInstaller("Cert installer")
 				.keychain(Files.createFile(Files.createDirectories(fs.getPath("/path/to")).resolve("keychain")))
@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.signing.macosx;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+
+@SuppressWarnings("javadoc")
+public class NestedCodeTest {
+
+	private static final byte[] MACH_O_64 = { (byte) 0xCF, (byte) 0xFA, (byte) 0xED, (byte) 0xFE, 7, 0, 0, 1 };
+	private static final byte[] UNIVERSAL = { (byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 0, 0, 0, 2 };
+	private static final byte[] CLASS_FILE = { (byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, 0, 0, 0, 65 };
+
+	/**
+	 * Creates an application bundle with nested code in the given folder.
+	 */
+	static Path createApp(Path folder) throws IOException {
+		Path app = folder.resolve("MyApp.app");
+		Path contents = app.resolve("Contents");
+		write(contents.resolve("Info.plist"), "<plist><dict>\n<key>CFBundleExecutable</key>\n<string>eclipse</string>\n</dict></plist>".getBytes(StandardCharsets.UTF_8));
+		write(contents.resolve("MacOS/eclipse"), MACH_O_64);
+		write(contents.resolve("MacOS/helper"), UNIVERSAL);
+		write(contents.resolve("Eclipse/plugins/x/lib.jnilib"), MACH_O_64);
+		write(contents.resolve("Eclipse/plugins/x/Foo.class"), CLASS_FILE);
+		write(contents.resolve("Frameworks/Foo.framework/Versions/A/Foo"), MACH_O_64);
+		write(contents.resolve("Frameworks/Foo.framework/Versions/A/Libraries/libbar.dylib"), MACH_O_64);
+		write(contents.resolve("Helpers/Helper.app/Contents/MacOS/Helper"), MACH_O_64);
+		write(contents.resolve("Resources/readme.txt"), "Hello".getBytes(StandardCharsets.UTF_8));
+		write(contents.resolve("_CodeSignature/CodeResources"), MACH_O_64);
+		return app;
+	}
+
+	private static void write(Path file, byte[] content) throws IOException {
+		Files.createDirectories(file.getParent());
+		Files.write(file, content);
+	}
+
+	@Test
+	public void testMachOMagicNumbers() throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.osX())) {
+			write(fs.getPath("/thin"), MACH_O_64);
+			write(fs.getPath("/universal"), UNIVERSAL);
+			write(fs.getPath("/Foo.class"), CLASS_FILE);
+			write(fs.getPath("/short"), new byte[] { (byte) 0xCF });
+			assertTrue(NestedCode.isMachO(fs.getPath("/thin")));
+			assertTrue(NestedCode.isMachO(fs.getPath("/universal")));
+			assertFalse(NestedCode.isMachO(fs.getPath("/Foo.class")));
+			assertFalse(NestedCode.isMachO(fs.getPath("/short")));
+		}
+	}
+
+	@Test
+	public void testScan() throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.osX())) {
+			Path app = createApp(fs.getPath("/folder"));
+			NestedCode root = NestedCode.scan(app);
+
+			assertEquals(app, root.path());
+			assertEquals(6, root.size());
+			assertEquals(List.of(
+					"Contents/Eclipse/plugins/x/lib.jnilib",
+					"Contents/Frameworks/Foo.framework",
+					"Contents/Helpers/Helper.app",
+					"Contents/MacOS/helper"),
+				root.children().stream().map(c -> app.relativize(c.path()).toString()).collect(Collectors.toList()));
+
+			NestedCode framework = root.children().get(1);
+			assertTrue(framework.isBundle());
+			assertEquals(1, framework.children().size());
+			assertEquals("libbar.dylib", framework.children().get(0).path().getFileName().toString());
+			assertFalse(framework.children().get(0).isBundle());
+			assertTrue(root.children().get(2).children().isEmpty());
+		}
+	}
+}
@@ -0,0 +1,218 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.signing.windows;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import org.eclipse.cbi.common.util.Paths;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.base.Strings;
+
+/**
+ * The Windows executables of a zip file, signed concurrently and sent back as
+ * a zip file.
+ * <p>
+ * The signed executables are written to the returned zip file in the order
+ * their signing completes, under the name of their entry in the submitted zip
+ * file. A last {@value #STATUS_ENTRY_NAME} entry gives the status of each
+ * executable, one per line: {@code OK<tab>name} or
+ * {@code FAILED<tab>name<tab>reason}. The executables that could not be
+ * signed are not part of the returned zip file.
+ */
+final class ExecutableBatch implements Closeable {
+
+	private static final Logger logger = LoggerFactory.getLogger(ExecutableBatch.class);
+
+	/**
+	 * The name of the entry of the returned zip file that gives the status of
+	 * each executable.
+	 */
+	static final String STATUS_ENTRY_NAME = "signing-status.txt";
+
+	private final Path workFolder;
+	private final Map<String, Path> executables;
+
+	private ExecutableBatch(Path workFolder, Map<String, Path> executables) {
+		this.workFolder = workFolder;
+		this.executables = executables;
+	}
+
+	/**
+	 * Extracts the executables of the given zip file.
+	 *
+	 * @param zip
+	 *            the zip file.
+	 * @param tempFolder
+	 *            the folder to extract the executables to.
+	 * @return the batch of the executables of the zip file.
+	 * @throws IOException
+	 *             if the zip file can't be read.
+	 * @throws IllegalArgumentException
+	 *             if the zip file contains no executable or something else
+	 *             than executables.
+	 */
+	static ExecutableBatch extract(Path zip, Path tempFolder) throws IOException {
+		Path workFolder = Files.createTempDirectory(tempFolder, ExecutableBatch.class.getSimpleName() + "-");
+		Map<String, Path> executables = new LinkedHashMap<>();
+		try (ZipInputStream in = new ZipInputStream(Files.newInputStream(zip))) {
+			ZipEntry entry;
+			while ((entry = in.getNextEntry()) != null) {
+				if (entry.isDirectory()) {
+					continue;
+				}
+				String name = entry.getName();
+				if (STATUS_ENTRY_NAME.equals(name) || executables.containsKey(name)) {
+					throw new IllegalArgumentException("Entry '" + name + "' of the submitted zip file is duplicated or reserved");
+				}
+				if (!isExecutable(name)) {
+					throw new IllegalArgumentException("Entry '" + name + "' of the submitted zip file must end with '.exe', '.dll' or '.msi'");
+				}
+				// the extension tells the signer the type of the file, the rest of the name is not trusted
+				Path executable = workFolder.resolve(executables.size() + "-" + fileName(name));
+				Files.copy(in, executable);
+				executables.put(name, executable);
+			}
+		} catch (IOException | RuntimeException e) {
+			Paths.deleteQuietly(workFolder);
+			throw e;
+		}
+		if (executables.isEmpty()) {
+			Paths.deleteQuietly(workFolder);
+			throw new IllegalArgumentException("The submitted zip file does not contain any executable");
+		}
+		return new ExecutableBatch(workFolder, executables);
+	}
+
+	static boolean isExecutable(String fileName) {
+		return fileName.endsWith(".exe") || fileName.endsWith(".dll") || fileName.endsWith(".msi");
+	}
+
+	private static String fileName(String entryName) {
+		return entryName.substring(Math.max(entryName.lastIndexOf('/'), entryName.lastIndexOf('\\')) + 1);
+	}
+
+	/**
+	 * Returns the number of executables of the batch.
+	 *
+	 * @return the number of executables of the batch.
+	 */
+	int size() {
+		return executables.size();
+	}
+
+	/**
+	 * Signs the executables concurrently and writes them to the given stream
+	 * as a zip file as soon as they are signed.
+	 *
+	 * @param codesigner
+	 *            the signer of the executables.
+	 * @param executor
+	 *            the executor of the signings.
+	 * @param out
+	 *            the stream to write the zip file to. It is not closed.
+	 * @return the number of executables that have been signed.
+	 * @throws IOException
+	 *             if the zip file can't be written.
+	 */
+	int signTo(CodeSigner codesigner, Executor executor, OutputStream out) throws IOException {
+		CompletionService<Signed> completionService = new ExecutorCompletionService<>(executor);
+		List<Future<Signed>> signings = new ArrayList<>();
+		executables.forEach((name, executable) -> signings.add(completionService.submit(() -> sign(codesigner, name, executable))));
+
+		StringBuilder status = new StringBuilder();
+		int signedCount = 0;
+		try {
+			ZipOutputStream zip = new ZipOutputStream(out);
+			for (int i = 0; i < signings.size(); i++) {
+				Signed signed = completionService.take().get();
+				if (signed.error == null) {
+					zip.putNextEntry(new ZipEntry(signed.name));
+					Files.copy(signed.file, zip);
+					zip.closeEntry();
+					zip.flush();
+					status.append("OK\t").append(signed.name).append('\n');
+					signedCount++;
+				} else {
+					status.append("FAILED\t").append(signed.name).append('\t').append(reason(signed.error)).append('\n');
+				}
+			}
+			zip.putNextEntry(new ZipEntry(STATUS_ENTRY_NAME));
+			zip.write(status.toString().getBytes(StandardCharsets.UTF_8));
+			zip.closeEntry();
+			zip.finish();
+			return signedCount;
+		} catch (@SuppressWarnings("unused") InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Thread '" + Thread.currentThread().getName() + "' has been interrupted while signing a batch of executables");
+		} catch (ExecutionException e) {
+			throw new IOException(e.getCause()); // sign() catches everything, should not happen
+		} finally {
+			signings.forEach(signing -> signing.cancel(true));
+		}
+	}
+
+	private static Signed sign(CodeSigner codesigner, String name, Path executable) {
+		try {
+			return new Signed(name, codesigner.sign(executable), null);
+		} catch (Exception e) {
+			logger.error("Signing of '{}' failed", name, e);
+			return new Signed(name, executable, e);
+		}
+	}
+
+	private static String reason(Exception error) {
+		String message = Strings.nullToEmpty(error.getMessage());
+		if (error.getCause() != null && error.getCause().getMessage() != null) {
+			message += " (" + error.getCause().getMessage() + ")";
+		}
+		return message.replaceAll("\\s+", " ").trim();
+	}
+
+	@Override
+	public void close() {
+		Paths.deleteQuietly(workFolder);
+	}
+
+	private static final class Signed {
+		final String name;
+		final Path file;
+		final Exception error;
+
+		Signed(String name, Path file, Exception error) {
+			this.name = name;
+			this.file = file;
+			this.error = error;
+		}
+	}
+}
@@ -12,30 +12,91 @@
  *******************************************************************************/
 package org.eclipse.cbi.webservice.signing.windows;
 
+import com.google.auth.oauth2.AccessToken;
 import com.google.auth.oauth2.GoogleCredentials;
 import com.google.auto.value.AutoValue;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import net.jsign.AuthenticodeSigner;
 import net.jsign.KeyStoreBuilder;
 import net.jsign.Signable;
+import net.jsign.timestamp.TimestampingMode;
+import org.eclipse.cbi.webservice.util.TimestampAuthoritySelector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.FileInputStream;
 import java.io.IOException;
-import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
 import java.security.KeyStore;
+import java.util.Date;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
  * Using jsign to sign windows executables.
+ * <p>
+ * The keystore, the certificate chain and the {@link AuthenticodeSigner} are
+ * created on the first signing and shared by the following ones. They are
+ * created again when the keystore or the certificate chain file has been
+ * modified, or when the Google Cloud access token has been refreshed. The
+ * token is refreshed in the background before it expires, so that signings
+ * don't wait for it.
+ * <p>
+ * Timestamps are requested from the authorities chosen by a
+ * {@link TimestampAuthoritySelector}, best first, optionally hedged.
  */
 @AutoValue
 public abstract class JSigner implements CodeSigner {
 
+	private static final Logger logger = LoggerFactory.getLogger(JSigner.class);
+
+	/**
+	 * How long before its expiration the access token is refreshed. Longer than
+	 * the expiration margin of {@link GoogleCredentials#refreshIfExpired()}, so
+	 * that signings never refresh it themselves.
+	 */
+	private static final long TOKEN_REFRESH_MARGIN = TimeUnit.MINUTES.toMillis(10);
+	private static final long TOKEN_REFRESH_RETRY_DELAY = TimeUnit.SECONDS.toMillis(30);
+
+	private static final int TIMESTAMPING_RETRIES = 3;
+
+	private static final ScheduledExecutorService TOKEN_REFRESHER = Executors.newSingleThreadScheduledExecutor(
+		new ThreadFactoryBuilder().setNameFormat("JSigner-Token-Refresh-%d").setDaemon(true).build());
+
 	/**
 	 * The credential holder in case Google KMS is being used as signing backend.
 	 */
 	private GoogleCredentials kmsCredentials = null;
 
+	/**
+	 * Chooses the timestamping authorities, shared by all signings.
+	 */
+	private TimestampAuthoritySelector timestampAuthoritySelector = null;
+
+	/**
+	 * Where the storepass of the keystore comes from, the Google Cloud access
+	 * token unless set otherwise by the builder.
+	 */
+	private Supplier<String> storepassSource = null;
+
+	/**
+	 * Creates the signers, from the keystore unless set otherwise by the
+	 * builder.
+	 */
+	private SignerFactory signerFactory = null;
+
+	private final Object contextLock = new Object();
+
+	private volatile SignerContext context;
+
 	/**
 	 * Returns the configuration object for this JarSigner instance.
 	 *
@@ -57,22 +118,7 @@ public abstract class JSigner implements CodeSigner {
 	@Override
 	public Path sign(Path file) {
 		try {
-			KeyStore keystore =
-					new KeyStoreBuilder()
-							.storetype(configuration().getStoreType())
-							.keystore(configuration().getKeystore())
-							.storepass(googleAccessToken())
-							.certfile(configuration().getCertificateChain().toFile())
-							.build();
-
-			AuthenticodeSigner signer =
-					new AuthenticodeSigner(keystore, configuration().getKeyAlias(), null)
-							.withProgramURL(configuration().getURI().toString())
-							.withProgramName(configuration().getDescription())
-							.withTimestamping(true)
-							.withTimestampingAuthority(configuration().getTimestampURIs().stream().map(URI::toString).toList().toArray(new String[0]))
-							.withTimestampingRetries(3);
-
+			AuthenticodeSigner signer = signer();
 			try (Signable signable = Signable.of(file.toFile())) {
 				signer.sign(signable);
 			}
@@ -83,6 +129,66 @@ public abstract class JSigner implements CodeSigner {
 		}
 	}
 
+	/**
+	 * Returns the current signer, creating it if there is none yet or if the
+	 * one there is has been created with an outdated token or files.
+	 */
+	AuthenticodeSigner signer() throws Exception {
+		return signerContext().signer;
+	}
+
+	private SignerContext signerContext() throws Exception {
+		String storepass = storepassSource.get();
+		Path certificateChain = configuration().getCertificateChain();
+		FileTime certificateChainModified = Files.getLastModifiedTime(certificateChain);
+		FileTime keystoreModified = lastModified(configuration().getKeystore());
+
+		SignerContext current = context;
+		if (current != null && current.isUpToDate(storepass, certificateChainModified, keystoreModified)) {
+			return current;
+		}
+		synchronized (contextLock) {
+			current = context;
+			if (current != null && current.isUpToDate(storepass, certificateChainModified, keystoreModified)) {
+				return current;
+			}
+			logger.info("Loading the keystore '{}' and the certificate chain '{}'", configuration().getKeystore(), certificateChain);
+			AuthenticodeSigner signer = signerFactory.create(storepass, certificateChain);
+			context = new SignerContext(storepass, certificateChainModified, keystoreModified, signer);
+			return context;
+		}
+	}
+
+	private AuthenticodeSigner createSigner(String storepass, Path certificateChain) throws Exception {
+		KeyStore keystore =
+				new KeyStoreBuilder()
+						.storetype(configuration().getStoreType())
+						.keystore(configuration().getKeystore())
+						.storepass(storepass)
+						.certfile(certificateChain.toFile())
+						.build();
+
+		return new AuthenticodeSigner(keystore, configuration().getKeyAlias(), null)
+						.withProgramURL(configuration().getURI().toString())
+						.withProgramName(configuration().getDescription())
+						.withTimestamping(true)
+						.withTimestamper(new SelectingTimestamper(timestampAuthoritySelector, TimestampingMode.AUTHENTICODE,
+								TIMESTAMPING_RETRIES * timestampAuthoritySelector.authorities().size()));
+	}
+
+	/**
+	 * Returns the last modification time of the keystore if it is a file, or
+	 * {@code null} if it is not (e.g., the key ring of a cloud KMS).
+	 */
+	private static FileTime lastModified(String keystore) throws IOException {
+		try {
+			Path path = Paths.get(keystore);
+			return Files.isRegularFile(path) ? Files.getLastModifiedTime(path) : null;
+		} catch (@SuppressWarnings("unused") InvalidPathException e) {
+			return null;
+		}
+	}
+
 	private void initKmsCredentialsIfNeeded() {
 		if (configuration().getGoogleCloudCredentials() != null) {
 			try {
@@ -96,6 +202,27 @@ public abstract class JSigner implements CodeSigner {
 		}
 	}
 
+	private void scheduleTokenRefresh(long delay) {
+		TOKEN_REFRESHER.schedule(this::refreshToken, delay, TimeUnit.MILLISECONDS);
+	}
+
+	private void refreshToken() {
+		long nextRefresh;
+		try {
+			kmsCredentials.refresh();
+			AccessToken token = kmsCredentials.getAccessToken();
+			Date expirationTime = token != null ? token.getExpirationTime() : null;
+			nextRefresh = expirationTime != null
+				? Math.max(expirationTime.getTime() - System.currentTimeMillis() - TOKEN_REFRESH_MARGIN, TOKEN_REFRESH_RETRY_DELAY)
+				: TOKEN_REFRESH_MARGIN;
+			logger.debug("Google Cloud access token refreshed, next refresh in {} s", TimeUnit.MILLISECONDS.toSeconds(nextRefresh));
+		} catch (IOException | RuntimeException e) {
+			logger.warn("Unable to refresh the Google Cloud access token, next attempt in {} s", TimeUnit.MILLISECONDS.toSeconds(TOKEN_REFRESH_RETRY_DELAY), e);
+			nextRefresh = TOKEN_REFRESH_RETRY_DELAY;
+		}
+		scheduleTokenRefresh(nextRefresh);
+	}
+
 	private String googleAccessToken() {
 		if (kmsCredentials != null) {
 			try {
@@ -109,12 +236,24 @@ public abstract class JSigner implements CodeSigner {
 		}
 	}
 
+	/**
+	 * Creates a signer from the keystore opened with the given storepass and
+	 * the given certificate chain.
+	 */
+	@FunctionalInterface
+	interface SignerFactory {
+		AuthenticodeSigner create(String storepass, Path certificateChain) throws Exception;
+	}
+
 	/**
 	 * A builder of JSigner.
 	 */
 	@AutoValue.Builder
 	public static abstract class Builder {
 
+		private Supplier<String> storepassSource;
+		private SignerFactory signerFactory;
+
 		/**
 		 * Sets the configuration to use.
 		 *
@@ -126,6 +265,27 @@ public abstract class JSigner implements CodeSigner {
 
 		abstract JSigner autoBuild();
 
+		/**
+		 * Sets where the storepass comes from instead of the Google Cloud
+		 * access token.
+		 *
+		 * @return this builder for daisy-chaining.
+		 */
+		Builder storepassSource(Supplier<String> storepassSource) {
+			this.storepassSource = storepassSource;
+			return this;
+		}
+
+		/**
+		 * Sets how the signers are created instead of from the keystore.
+		 *
+		 * @return this builder for daisy-chaining.
+		 */
+		Builder signerFactory(SignerFactory signerFactory) {
+			this.signerFactory = signerFactory;
+			return this;
+		}
+
 		/**
 		 * Creates and returns a new JarSigner object with the state of this
 		 * builder.
@@ -135,8 +295,39 @@ public abstract class JSigner implements CodeSigner {
 		public JSigner build() {
 			JSigner jSigner = autoBuild();
 			jSigner.initKmsCredentialsIfNeeded();
+			jSigner.storepassSource = storepassSource != null ? storepassSource : jSigner::googleAccessToken;
+			jSigner.signerFactory = signerFactory != null ? signerFactory : jSigner::createSigner;
+			jSigner.timestampAuthoritySelector = new TimestampAuthoritySelector(
+					jSigner.configuration().getTimestampURIs(), jSigner.configuration().getTimestampHedgingPercentile());
+			if (jSigner.kmsCredentials != null) {
+				jSigner.scheduleTokenRefresh(0);
+			}
 			return jSigner;
 		}
 	}
 
+	/**
+	 * A signer along with the token and the file versions it has been created
+	 * with.
+	 */
+	private static final class SignerContext {
+		private final String storepass;
+		private final FileTime certificateChainModified;
+		private final FileTime keystoreModified;
+		final AuthenticodeSigner signer;
+
+		SignerContext(String storepass, FileTime certificateChainModified, FileTime keystoreModified, AuthenticodeSigner signer) {
+			this.storepass = storepass;
+			this.certificateChainModified = certificateChainModified;
+			this.keystoreModified = keystoreModified;
+			this.signer = signer;
+		}
+
+		boolean isUpToDate(String currentStorepass, FileTime currentCertificateChainModified, FileTime currentKeystoreModified) {
+			return Objects.equals(storepass, currentStorepass)
+				&& Objects.equals(certificateChainModified, currentCertificateChainModified)
+				&& Objects.equals(keystoreModified, currentKeystoreModified);
+		}
+	}
+
 }
@@ -36,6 +36,7 @@ public class JSignerProperties {
 	private static final String JSIGN_KMS_CREDENTIALS = "windows.jsign.kms.credentials";
 
 	private static final String JSIGN_TIMESTAMPURL = "windows.jsign.timestampurl";
+	private static final String JSIGN_TIMESTAMP_HEDGING_PERCENTILE = "windows.jsign.timestamp.hedging.percentile";
 
 	private final PropertiesReader propertiesReader;
 
@@ -115,6 +116,18 @@ public class JSignerProperties {
 		return result;
 	}
 
+	/**
+	 * Reads and returns the percentile of the latencies of a timestamping
+	 * authority after which the timestamp request is also sent to the next
+	 * one. If no {@value #JSIGN_TIMESTAMP_HEDGING_PERCENTILE} property can be
+	 * found, returns {@code 0}, i.e., requests are not hedged.
+	 *
+	 * @return the hedging percentile, or {@code 0}.
+	 */
+	public int getTimestampHedgingPercentile() {
+		return propertiesReader.getInt(JSIGN_TIMESTAMP_HEDGING_PERCENTILE, 0);
+	}
+
 	public Path getGoogleCloudCredentials() {
 		String credentials = propertiesReader.getString(JSIGN_KMS_CREDENTIALS, "");
 		if (!Strings.isNullOrEmpty(credentials)) {
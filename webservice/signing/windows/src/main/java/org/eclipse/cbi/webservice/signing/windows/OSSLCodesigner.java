@@ -27,6 +27,7 @@ import com.google.common.collect.ImmutableList;
 
 import org.eclipse.cbi.common.util.Paths;
 import org.eclipse.cbi.webservice.util.ProcessExecutor;
+import org.eclipse.cbi.webservice.util.TimestampAuthoritySelector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -36,6 +37,12 @@ public abstract class OSSLCodesigner implements CodeSigner {
 	private static final String TEMP_FILE_PREFIX = OSSLCodesigner.class.getSimpleName() + "-";
 	private static final Logger logger = LoggerFactory.getLogger(OSSLCodesigner.class);
 
+	/**
+	 * Chooses the order in which osslsigncode tries the timestamping
+	 * authorities, shared by all signings.
+	 */
+	private TimestampAuthoritySelector timestampAuthoritySelector = null;
+
 	public Path sign(Path file) throws IOException {
 		Path out = null;
 		try {
@@ -43,7 +50,15 @@ public abstract class OSSLCodesigner implements CodeSigner {
 			// osslsigncode requires non existent file
 			Files.delete(out);
 			StringBuilder output = new StringBuilder();
-			int osslsigncodeExitValue = processExecutor().exec(createCommand(file, out), output, timeout(), TimeUnit.SECONDS);
+			List<URI> authorities = timestampAuthoritySelector.authorities();
+			long start = System.nanoTime();
+			int osslsigncodeExitValue = processExecutor().exec(createCommand(file, out, authorities), output, timeout(), TimeUnit.SECONDS);
+			// osslsigncode falls back on the next authorities by itself, the whole run is accounted to the first one
+			if (osslsigncodeExitValue == 0) {
+				timestampAuthoritySelector.recordSuccess(authorities.get(0), System.nanoTime() - start);
+			} else if (authorities.stream().anyMatch(authority -> TimestampAuthoritySelector.isTimestampingFailure(output, authority))) {
+				timestampAuthoritySelector.recordFailure(authorities.get(0), System.nanoTime() - start);
+			}
 			if (osslsigncodeExitValue != 0) {
 				throw new IOException(Joiner.on('\n').join(
 						"The '" + osslsigncode().toString() + "' command exited with value '" + osslsigncodeExitValue + "'",
@@ -67,7 +82,7 @@ public abstract class OSSLCodesigner implements CodeSigner {
 		return file;
 	}
 
-	private ImmutableList<String> createCommand(Path in, Path out) {
+	private ImmutableList<String> createCommand(Path in, Path out, List<URI> authorities) {
 		return ImmutableList.<String>builder()
 				.add(osslsigncode().toString())
 				.add("sign")
@@ -75,7 +90,7 @@ public abstract class OSSLCodesigner implements CodeSigner {
 				.add("-pass", pkcs12Password())
 				.add("-n", description())
 				.add("-i", uri().toString())
-				.addAll(timestampURIs().stream().map(x -> List.of("-t", x.toString())).flatMap(List::stream).collect(Collectors.toList()))
+				.addAll(authorities.stream().map(x -> List.of("-t", x.toString())).flatMap(List::stream).collect(Collectors.toList()))
 				.add("-in", in.toString())
 				.add("-out", out.toString())
 				.build();
@@ -97,7 +112,13 @@ public abstract class OSSLCodesigner implements CodeSigner {
 	
 	@AutoValue.Builder
 	public static abstract class Builder {
-		public abstract OSSLCodesigner build();
+		abstract OSSLCodesigner autoBuild();
+
+		public OSSLCodesigner build() {
+			OSSLCodesigner codesigner = autoBuild();
+			codesigner.timestampAuthoritySelector = new TimestampAuthoritySelector(codesigner.timestampURIs());
+			return codesigner;
+		}
 
 		public abstract Builder osslsigncode(Path osslSigncode);
 
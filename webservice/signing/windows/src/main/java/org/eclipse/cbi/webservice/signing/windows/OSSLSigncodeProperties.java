@@ -30,6 +30,7 @@ public class OSSLSigncodeProperties {
 	private static final long OSSLSIGNCODE_TIMEOUT_DEFAULT = 120L;
 	private static final String OSSLSIGNCODE_TIMEOUT = "windows.osslsigncode.timeout";
 	private static final String OSSLSIGNCODE = "windows.osslsigncode";
+	private static final String OSSLSIGNCODE_IN_PROCESS = "windows.osslsigncode.inprocess";
 	private final PropertiesReader propertiesReader;
 
 	public OSSLSigncodeProperties(PropertiesReader propertiesReader) {
@@ -40,6 +41,16 @@ public class OSSLSigncodeProperties {
 		return propertiesReader.getPath(OSSLSIGNCODE);
 	}
 
+	/**
+	 * Returns whether the executables are signed in-process with the PKCS#12
+	 * file instead of by forking osslsigncode. Defaults to {@code false}.
+	 *
+	 * @return whether the executables are signed in-process.
+	 */
+	public boolean isInProcess() {
+		return propertiesReader.getBoolean(OSSLSIGNCODE_IN_PROCESS, false);
+	}
+
 	public long getTimeout() {
 		return propertiesReader.getLong(OSSLSIGNCODE_TIMEOUT, OSSLSIGNCODE_TIMEOUT_DEFAULT);
 	}
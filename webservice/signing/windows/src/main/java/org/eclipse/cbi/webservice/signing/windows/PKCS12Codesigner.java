@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.signing.windows;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+import java.util.Collections;
+import java.util.List;
+
+import com.google.auto.value.AutoValue;
+
+import net.jsign.AuthenticodeSigner;
+import net.jsign.Signable;
+import net.jsign.timestamp.TimestampingMode;
+import org.eclipse.cbi.webservice.util.TimestampAuthoritySelector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Signs Windows executables in-process with jsign, using the PKCS#12 file and
+ * settings of the osslsigncode backend. Unlike {@link OSSLCodesigner}, no
+ * process is forked and the file is signed in place.
+ * <p>
+ * The PKCS#12 file is loaded on the first signing and again only when it has
+ * been modified. As osslsigncode does, the first private key of the file is
+ * used.
+ */
+@AutoValue
+public abstract class PKCS12Codesigner implements CodeSigner {
+
+	private static final Logger logger = LoggerFactory.getLogger(PKCS12Codesigner.class);
+
+	private static final int TIMESTAMPING_RETRIES = 3;
+
+	private final Object signerLock = new Object();
+
+	private volatile LoadedSigner loadedSigner;
+
+	@Override
+	public Path sign(Path file) throws IOException {
+		AuthenticodeSigner signer = signer();
+		try (Signable signable = Signable.of(file.toFile())) {
+			signer.sign(signable);
+		} catch (IOException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new IOException("Failed signing of '" + file.getFileName() + "'", e);
+		}
+		return file;
+	}
+
+	/**
+	 * Returns the signer of the current version of the PKCS#12 file.
+	 */
+	AuthenticodeSigner signer() throws IOException {
+		FileTime pkcs12Modified = Files.getLastModifiedTime(pkcs12());
+		LoadedSigner current = loadedSigner;
+		if (current != null && current.pkcs12Modified.equals(pkcs12Modified)) {
+			return current.signer;
+		}
+		synchronized (signerLock) {
+			current = loadedSigner;
+			if (current != null && current.pkcs12Modified.equals(pkcs12Modified)) {
+				return current.signer;
+			}
+			logger.info("Loading the PKCS#12 file '{}'", pkcs12());
+			char[] password = pkcs12Password().toCharArray();
+			try {
+				KeyStore keystore = KeyStore.getInstance("PKCS12");
+				try (InputStream in = Files.newInputStream(pkcs12())) {
+					keystore.load(in, password);
+				}
+				AuthenticodeSigner signer = new AuthenticodeSigner(keystore, keyAlias(keystore), pkcs12Password())
+						.withProgramName(description())
+						.withProgramURL(uri().toString())
+						.withTimestamping(true)
+						.withTimestamper(new SelectingTimestamper(timestampAuthoritySelector(), TimestampingMode.AUTHENTICODE,
+								TIMESTAMPING_RETRIES * timestampAuthoritySelector().authorities().size()));
+				loadedSigner = new LoadedSigner(pkcs12Modified, signer);
+				return signer;
+			} catch (GeneralSecurityException e) {
+				throw new IOException("Unable to load the private key of '" + pkcs12() + "'", e);
+			}
+		}
+	}
+
+	private String keyAlias(KeyStore keystore) throws GeneralSecurityException {
+		for (String alias : Collections.list(keystore.aliases())) {
+			if (keystore.isKeyEntry(alias)) {
+				return alias;
+			}
+		}
+		throw new GeneralSecurityException("No private key found in '" + pkcs12() + "'");
+	}
+
+	public static Builder builder() {
+		return new AutoValue_PKCS12Codesigner.Builder();
+	}
+
+	abstract Path pkcs12();
+	abstract String pkcs12Password();
+	abstract String description();
+	abstract URI uri();
+	abstract List<URI> timestampURIs();
+
+	/**
+	 * Chooses the timestamping authorities, shared by all signings.
+	 */
+	abstract TimestampAuthoritySelector timestampAuthoritySelector();
+
+	@AutoValue.Builder
+	public static abstract class Builder {
+		abstract List<URI> timestampURIs();
+
+		abstract Builder timestampAuthoritySelector(TimestampAuthoritySelector timestampAuthoritySelector);
+
+		abstract PKCS12Codesigner autoBuild();
+
+		public PKCS12Codesigner build() {
+			return timestampAuthoritySelector(new TimestampAuthoritySelector(timestampURIs())).autoBuild();
+		}
+
+		public abstract Builder pkcs12(Path pkcs12);
+
+		public abstract Builder pkcs12Password(String pkcs12Password);
+
+		public abstract Builder description(String description);
+
+		public abstract Builder uri(URI uri);
+
+		public abstract Builder timestampURIs(List<URI> timestampURIs);
+	}
+
+	/**
+	 * A signer along with the version of the PKCS#12 file it has been loaded
+	 * from.
+	 */
+	private static final class LoadedSigner {
+		final FileTime pkcs12Modified;
+		final AuthenticodeSigner signer;
+
+		LoadedSigner(FileTime pkcs12Modified, AuthenticodeSigner signer) {
+			this.pkcs12Modified = pkcs12Modified;
+			this.signer = signer;
+		}
+	}
+}
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.signing.windows;
+
+import net.jsign.DigestAlgorithm;
+import net.jsign.timestamp.AuthenticodeTimestamper;
+import net.jsign.timestamp.RFC3161Timestamper;
+import net.jsign.timestamp.Timestamper;
+import net.jsign.timestamp.TimestampingMode;
+import org.bouncycastle.asn1.cms.Attribute;
+import org.bouncycastle.cert.X509CertificateHolder;
+import org.bouncycastle.cms.CMSException;
+import org.bouncycastle.cms.CMSSignedData;
+import org.eclipse.cbi.webservice.util.TimestampAuthoritySelector;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Collection;
+
+/**
+ * A jsign {@link Timestamper} that lets a {@link TimestampAuthoritySelector}
+ * choose the timestamping authorities, fail over and hedge. Each attempt is
+ * made by a new jsign timestamper of the configured mode, bound to a single
+ * authority, so that a single instance can be shared by concurrent signings.
+ * The steps of the timestamping are delegated to the timestamper of the mode
+ * too.
+ */
+final class SelectingTimestamper extends Timestamper {
+
+	private final TimestampAuthoritySelector selector;
+	private final TimestampingMode mode;
+	private final int maxAttempts;
+
+	SelectingTimestamper(TimestampAuthoritySelector selector, TimestampingMode mode, int maxAttempts) {
+		this.selector = selector;
+		this.mode = mode;
+		this.maxAttempts = maxAttempts;
+	}
+
+	@Override
+	public CMSSignedData timestamp(DigestAlgorithm algo, CMSSignedData sigData) throws IOException {
+		return selector.request(authority -> forAuthority(authority).timestamp(algo, sigData), maxAttempts);
+	}
+
+	@Override
+	protected CMSSignedData timestamp(DigestAlgorithm algo, byte[] encryptedDigest) throws IOException {
+		return selector.request(authority -> forAuthority(authority).token(algo, encryptedDigest), maxAttempts);
+	}
+
+	@Override
+	protected Attribute getCounterSignature(CMSSignedData token) {
+		return newDelegate().counterSignature(token);
+	}
+
+	@Override
+	protected Collection<X509CertificateHolder> getExtraCertificates(CMSSignedData token) {
+		return newDelegate().extraCertificates(token);
+	}
+
+	private Delegate forAuthority(URI authority) {
+		Delegate delegate = newDelegate();
+		delegate.setURL(authority.toString());
+		// the selector fails over and retries
+		delegate.setRetries(1);
+		return delegate;
+	}
+
+	private Delegate newDelegate() {
+		switch (mode) {
+			case RFC3161:
+				return new RFC3161Delegate();
+			case AUTHENTICODE:
+				return new AuthenticodeDelegate();
+			default:
+				throw new IllegalStateException("Unsupported timestamping mode: " + mode);
+		}
+	}
+
+	/**
+	 * The jsign timestamper of a mode, with its steps made reachable.
+	 */
+	private interface Delegate {
+		void setURL(String tsaurl);
+
+		void setRetries(int retries);
+
+		CMSSignedData timestamp(DigestAlgorithm algo, CMSSignedData sigData) throws IOException, CMSException;
+
+		CMSSignedData token(DigestAlgorithm algo, byte[] encryptedDigest) throws IOException;
+
+		Attribute counterSignature(CMSSignedData token);
+
+		Collection<X509CertificateHolder> extraCertificates(CMSSignedData token);
+	}
+
+	private static final class AuthenticodeDelegate extends AuthenticodeTimestamper implements Delegate {
+		@Override
+		public CMSSignedData token(DigestAlgorithm algo, byte[] encryptedDigest) throws IOException {
+			// only set by the public timestamp method otherwise
+			tsaurl = tsaurls.get(0);
+			return timestamp(algo, encryptedDigest);
+		}
+
+		@Override
+		public Attribute counterSignature(CMSSignedData token) {
+			return getCounterSignature(token);
+		}
+
+		@Override
+		public Collection<X509CertificateHolder> extraCertificates(CMSSignedData token) {
+			return getExtraCertificates(token);
+		}
+	}
+
+	private static final class RFC3161Delegate extends RFC3161Timestamper implements Delegate {
+		@Override
+		public CMSSignedData token(DigestAlgorithm algo, byte[] encryptedDigest) throws IOException {
+			// only set by the public timestamp method otherwise
+			tsaurl = tsaurls.get(0);
+			return timestamp(algo, encryptedDigest);
+		}
+
+		@Override
+		public Attribute counterSignature(CMSSignedData token) {
+			return getCounterSignature(token);
+		}
+
+		@Override
+		public Collection<X509CertificateHolder> extraCertificates(CMSSignedData token) {
+			return getExtraCertificates(token);
+		}
+	}
+}
@@ -19,10 +19,13 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
+import jakarta.servlet.Servlet;
+
 import org.eclipse.cbi.webservice.server.EmbeddedServer;
 import org.eclipse.cbi.webservice.server.EmbeddedServerConfiguration;
 import org.eclipse.cbi.webservice.server.EmbeddedServerProperties;
 import org.eclipse.cbi.webservice.util.ProcessExecutor;
+import org.eclipse.cbi.webservice.util.ProcessExecutorProperties;
 import org.eclipse.cbi.webservice.util.PropertiesReader;
 import org.kohsuke.args4j.Argument;
 import org.kohsuke.args4j.CmdLineException;
@@ -32,8 +35,6 @@ import org.kohsuke.args4j.OptionHandlerFilter;
 
 public class SigningServer {
 
-	private static final String CODESIGNER_TYPE = "windows.codesigner";
-
 	@Option(name="-c",usage="configuration file")
 	private String configurationFilePath = "windows-signing-service.properties";
 	
@@ -50,55 +51,22 @@ public class SigningServer {
 			final EmbeddedServerConfiguration serverConf = new EmbeddedServerProperties(PropertiesReader.create(confPath));
 			final Path tempFolder = serverConf.getTempFolder();
 
-			final PropertiesReader reader = PropertiesReader.create(confPath);
-
-			String codeSignerType = reader.getString(CODESIGNER_TYPE, "");
-			CodeSigner codeSigner;
-
-			switch (codeSignerType.toUpperCase()) {
-				case "JSIGN":
-				{
-					final JSignerProperties conf = new JSignerProperties(PropertiesReader.create(confPath));
-					codeSigner =
-							JSigner.builder()
-									.configuration(conf)
-									.tempFolder(tempFolder)
-									.build();
-				}
-					break;
+			final ProcessExecutor processExecutor = new ProcessExecutorProperties(PropertiesReader.create(confPath)).createProcessExecutor(tempFolder);
+			final Servlet codeSignServlet = new WindowsSigningServiceProvider().createServlet(PropertiesReader.create(confPath), tempFolder, processExecutor);
 
-				case "OSSLSIGNCODE": {
-					final OSSLSigncodeProperties conf = new OSSLSigncodeProperties(PropertiesReader.create(confPath));
 
-					codeSigner = OSSLCodesigner.builder()
-							.osslsigncode(conf.getOSSLSigncode())
-							.timeout(conf.getTimeout())
-							.pkcs12(conf.getPKCS12())
-							.pkcs12Password(conf.getPKCS12Password())
-							.description(conf.getDescription())
-							.uri(conf.getURI())
-							.timestampURIs(conf.getTimestampURIs())
-							.tempFolder(tempFolder)
-							.processExecutor(new ProcessExecutor.BasicImpl())
-							.build();
-				}
-					break;
-
-				default:
-					throw new IllegalArgumentException("Property '" + CODESIGNER_TYPE + "' must be set to either 'JSIGN' or 'OSSLSIGNCODE'");
-			}
-
-			final SigningServlet codeSignServlet = SigningServlet.builder()
-				.codesigner(codeSigner)
-				.tempFolder(tempFolder)
-				.build();
-			
 			final EmbeddedServer server = EmbeddedServer.builder()
 				.port(serverConf.getServerPort())
 				.accessLogFile(serverConf.getAccessLogFile())
+				.multipartMemoryLimit(serverConf.getMultipartMemoryLimit())
+				.minFreeTempSpace(serverConf.getMinFreeTempSpace())
+				.http2(serverConf.getHttp2Configuration())
+				.tls(serverConf.getTlsConfiguration())
+				.tuning(serverConf.getTuningConfiguration())
 				.servicePathSpec(serverConf.getServicePathSpec())
 				.appendServiceVersionToPathSpec(serverConf.isServiceVersionAppendedToPathSpec())
 				.servlet(codeSignServlet)
+				.processExecutor(processExecutor)
 				.tempFolder(tempFolder)
 				.log4jConfiguration(serverConf.getLog4jProperties())
 				.build();
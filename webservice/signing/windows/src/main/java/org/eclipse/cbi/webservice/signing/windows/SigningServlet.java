@@ -15,8 +15,12 @@ package org.eclipse.cbi.webservice.signing.windows;
 import java.io.IOException;
 import java.io.Serial;
 import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import com.google.auto.value.AutoValue;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.eclipse.cbi.webservice.servlet.RequestFacade;
 import org.eclipse.cbi.webservice.servlet.ResponseFacade;
@@ -28,6 +32,10 @@ import jakarta.servlet.http.HttpServletResponse;
 
 /**
  * Servlet that will serve the Windows executable signing service.
+ * <p>
+ * A single executable is sent back signed. A zip file of executables is
+ * signed as an {@link ExecutableBatch}: the executables are signed
+ * concurrently and streamed back in a zip file along with their status.
  */
 @AutoValue
 public abstract class SigningServlet extends HttpServlet {
@@ -37,8 +45,12 @@ public abstract class SigningServlet extends HttpServlet {
 
 	private static final String FILE_PART_NAME = "file";
 	private static final String PORTABLE_EXECUTABLE_MEDIA_TYPE = "application/vnd.microsoft.portable-executable";
+	private static final String ZIP_MEDIA_TYPE = "application/zip";
+	private static final int DEFAULT_BATCH_PARALLELISM = 4;
 	private static final String TEMP_FILE_PREFIX = SigningServlet.class.getSimpleName() + "-";
 
+	private transient ExecutorService batchExecutor;
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -53,34 +65,77 @@ public abstract class SigningServlet extends HttpServlet {
 		}
 	}
 
+	/**
+	 * Stops the threads signing the executables of the batches.
+	 */
+	@Override
+	public void destroy() {
+		batchExecutor.shutdownNow();
+		super.destroy();
+	}
+
 	private void doSign(RequestFacade requestFacade, ResponseFacade responseFacade) throws IOException, ServletException {
 		if (requestFacade.hasPart(FILE_PART_NAME)) {
 			String submittedFileName = requestFacade.getSubmittedFileName(FILE_PART_NAME).get();
-			if (submittedFileName.endsWith(".exe") || submittedFileName.endsWith(".dll") || submittedFileName.endsWith(".msi")) {
+			if (ExecutableBatch.isExecutable(submittedFileName)) {
 				Path unsignedExe = requestFacade.getPartPath(FILE_PART_NAME, TEMP_FILE_PREFIX).get();
 				Path signedFile = codesigner().sign(unsignedExe);
 				responseFacade.replyWithFile(PORTABLE_EXECUTABLE_MEDIA_TYPE, submittedFileName, signedFile);
+			} else if (submittedFileName.endsWith(".zip")) {
+				doSignBatch(requestFacade.getPartPath(FILE_PART_NAME, TEMP_FILE_PREFIX).get(), submittedFileName, responseFacade);
 			} else {
-				responseFacade.replyError(HttpServletResponse.SC_BAD_REQUEST, "Submitted '" + FILE_PART_NAME + "' '" + submittedFileName + "' must ends with '.exe' ");
+				responseFacade.replyError(HttpServletResponse.SC_BAD_REQUEST, "Submitted '" + FILE_PART_NAME + "' '" + submittedFileName + "' must ends with '.exe', '.dll', '.msi' or '.zip'");
 			}
 		} else {
 			responseFacade.replyError(HttpServletResponse.SC_BAD_REQUEST, "POST request must contain a part named '" + FILE_PART_NAME + "'");
 		}
 	}
 	
+	private void doSignBatch(Path zip, String submittedFileName, ResponseFacade responseFacade) throws IOException {
+		final ExecutableBatch batch;
+		try {
+			batch = ExecutableBatch.extract(zip, tempFolder());
+		} catch (IllegalArgumentException e) {
+			responseFacade.replyError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+			return;
+		}
+		try (batch) {
+			responseFacade.replyWithStream(ZIP_MEDIA_TYPE, submittedFileName, out -> batch.signTo(codesigner(), batchExecutor, out));
+		}
+	}
+
 	public static Builder builder() {
-		return new AutoValue_SigningServlet.Builder();
+		return new AutoValue_SigningServlet.Builder()
+			.batchParallelism(DEFAULT_BATCH_PARALLELISM);
 	}
 	
 	abstract CodeSigner codesigner();
 	abstract Path tempFolder();
+	abstract int batchParallelism();
 	
 	@AutoValue.Builder
 	public static abstract class Builder {
-		public abstract SigningServlet build();
+		abstract SigningServlet autoBuild();
+
+		public SigningServlet build() {
+			SigningServlet servlet = autoBuild();
+			Preconditions.checkState(servlet.batchParallelism() > 0, "Batch parallelism must be strictly positive");
+			servlet.batchExecutor = Executors.newFixedThreadPool(servlet.batchParallelism(),
+				new ThreadFactoryBuilder().setNameFormat("Windows-Batch-Signing-%d").setDaemon(true).build());
+			return servlet;
+		}
 
 		public abstract Builder codesigner(CodeSigner codesigner);
 
 		public abstract Builder tempFolder(Path tempFolder);
+
+		/**
+		 * Sets the number of executables of a batch that are signed
+		 * concurrently, over all requests. Defaults to
+		 * {@value SigningServlet#DEFAULT_BATCH_PARALLELISM}.
+		 *
+		 * @return this builder for daisy-chaining.
+		 */
+		public abstract Builder batchParallelism(int batchParallelism);
 	}
 }
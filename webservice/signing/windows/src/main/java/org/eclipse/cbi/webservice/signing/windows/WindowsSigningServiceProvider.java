@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.signing.windows;
+
+import java.nio.file.Path;
+
+import jakarta.servlet.Servlet;
+
+import org.eclipse.cbi.webservice.server.ServiceProvider;
+import org.eclipse.cbi.webservice.util.ProcessExecutor;
+import org.eclipse.cbi.webservice.util.PropertiesReader;
+
+/**
+ * Provides the Windows (Authenticode) signing service to a multi-service
+ * server.
+ */
+public class WindowsSigningServiceProvider implements ServiceProvider {
+
+	private static final String CODESIGNER_TYPE = "windows.codesigner";
+	private static final String BATCH_PARALLELISM = "windows.batch.parallelism";
+	private static final int BATCH_PARALLELISM_DEFAULT = 4;
+
+	@Override
+	public String name() {
+		return "windows";
+	}
+
+	@Override
+	public Servlet createServlet(PropertiesReader properties, Path tempFolder, ProcessExecutor processExecutor) {
+		String codeSignerType = properties.getString(CODESIGNER_TYPE, "");
+		CodeSigner codeSigner;
+
+		switch (codeSignerType.toUpperCase()) {
+			case "JSIGN":
+			{
+				final JSignerProperties conf = new JSignerProperties(properties);
+				codeSigner =
+						JSigner.builder()
+								.configuration(conf)
+								.tempFolder(tempFolder)
+								.build();
+			}
+				break;
+
+			case "OSSLSIGNCODE": {
+				final OSSLSigncodeProperties conf = new OSSLSigncodeProperties(properties);
+
+				if (conf.isInProcess()) {
+					codeSigner = PKCS12Codesigner.builder()
+							.pkcs12(conf.getPKCS12())
+							.pkcs12Password(conf.getPKCS12Password())
+							.description(conf.getDescription())
+							.uri(conf.getURI())
+							.timestampURIs(conf.getTimestampURIs())
+							.build();
+					break;
+				}
+
+				codeSigner = OSSLCodesigner.builder()
+						.osslsigncode(conf.getOSSLSigncode())
+						.timeout(conf.getTimeout())
+						.pkcs12(conf.getPKCS12())
+						.pkcs12Password(conf.getPKCS12Password())
+						.description(conf.getDescription())
+						.uri(conf.getURI())
+						.timestampURIs(conf.getTimestampURIs())
+						.tempFolder(tempFolder)
+						.processExecutor(processExecutor)
+						.build();
+			}
+				break;
+
+			default:
+				throw new IllegalArgumentException("Property '" + CODESIGNER_TYPE + "' must be set to either 'JSIGN' or 'OSSLSIGNCODE'");
+		}
+
+		return SigningServlet.builder()
+			.codesigner(codeSigner)
+			.tempFolder(tempFolder)
+			.batchParallelism(properties.getInt(BATCH_PARALLELISM, BATCH_PARALLELISM_DEFAULT))
+			.build();
+	}
+}
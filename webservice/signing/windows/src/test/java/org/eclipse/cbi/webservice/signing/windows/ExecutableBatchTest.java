@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.signing.windows;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.common.jimfs.Configuration;
+import com.google.common.jimfs.Jimfs;
+
+@SuppressWarnings("javadoc")
+public class ExecutableBatchTest {
+
+	/**
+	 * Appends " signed" to the executables, fails on the ones named 'bad'.
+	 */
+	private static final CodeSigner FAKE_SIGNER = file -> {
+		if (file.getFileName().toString().endsWith("bad.dll")) {
+			throw new IOException("Bad executable");
+		}
+		Files.write(file, " signed".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+		return file;
+	};
+
+	private static Path createZip(Path zip, String... names) throws IOException {
+		try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(zip))) {
+			for (String name : names) {
+				out.putNextEntry(new ZipEntry(name));
+				out.write(name.getBytes(StandardCharsets.UTF_8));
+				out.closeEntry();
+			}
+		}
+		return zip;
+	}
+
+	private static Map<String, String> readZip(byte[] zip) throws IOException {
+		Map<String, String> entries = new LinkedHashMap<>();
+		try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip))) {
+			ZipEntry entry;
+			while ((entry = in.getNextEntry()) != null) {
+				entries.put(entry.getName(), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+			}
+		}
+		return entries;
+	}
+
+	@Test
+	public void testSignBatch() throws IOException {
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			Path tempFolder = Files.createDirectories(fs.getPath("/tmp"));
+			Path zip = createZip(fs.getPath("/batch.zip"), "bin/eclipse.exe", "bin/eclipsec.exe", "lib/bad.dll", "setup.msi");
+
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			try (ExecutableBatch batch = ExecutableBatch.extract(zip, tempFolder)) {
+				assertEquals(4, batch.size());
+				assertEquals(3, batch.signTo(FAKE_SIGNER, executor, out));
+			}
+
+			Map<String, String> entries = readZip(out.toByteArray());
+			assertEquals("bin/eclipse.exe signed", entries.get("bin/eclipse.exe"));
+			assertEquals("bin/eclipsec.exe signed", entries.get("bin/eclipsec.exe"));
+			assertEquals("setup.msi signed", entries.get("setup.msi"));
+			assertFalse(entries.containsKey("lib/bad.dll"));
+
+			String status = entries.get(ExecutableBatch.STATUS_ENTRY_NAME);
+			assertTrue(status.contains("OK\tbin/eclipse.exe\n"), status);
+			assertTrue(status.contains("FAILED\tlib/bad.dll\tBad executable\n"), status);
+			try (var files = Files.list(tempFolder)) {
+				assertEquals(0, files.count(), "Extracted executables must be deleted");
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void testRejectsOtherFiles() throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			Path tempFolder = Files.createDirectories(fs.getPath("/tmp"));
+			Path zip = createZip(fs.getPath("/batch.zip"), "eclipse.exe", "readme.txt");
+			assertThrows(IllegalArgumentException.class, () -> ExecutableBatch.extract(zip, tempFolder));
+			assertThrows(IllegalArgumentException.class, () -> ExecutableBatch.extract(createZip(fs.getPath("/empty.zip")), tempFolder));
+			try (var files = Files.list(tempFolder)) {
+				assertEquals(0, files.count(), "Extracted executables must be deleted");
+			}
+		}
+	}
+
+	@Test
+	public void testRejectsStatusEntry() throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			Path tempFolder = Files.createDirectories(fs.getPath("/tmp"));
+			Path reserved = createZip(fs.getPath("/reserved.zip"), "eclipse.exe", ExecutableBatch.STATUS_ENTRY_NAME);
+			IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> ExecutableBatch.extract(reserved, tempFolder));
+			assertTrue(e.getMessage().endsWith("is duplicated or reserved"), e.getMessage());
+			try (var files = Files.list(tempFolder)) {
+				assertEquals(0, files.count(), "Extracted executables must be deleted");
+			}
+		}
+	}
+
+	@Test
+	public void testEntryNamesDoNotEscapeWorkFolder() throws IOException {
+		try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+			Path tempFolder = Files.createDirectories(fs.getPath("/tmp/work"));
+			Path zip = createZip(fs.getPath("/batch.zip"), "../../evil.exe");
+			try (ExecutableBatch batch = ExecutableBatch.extract(zip, tempFolder); OutputStream out = new ByteArrayOutputStream()) {
+				assertEquals(1, batch.signTo(FAKE_SIGNER, Runnable::run, out));
+			}
+			assertFalse(Files.exists(fs.getPath("/evil.exe")));
+		}
+	}
+}
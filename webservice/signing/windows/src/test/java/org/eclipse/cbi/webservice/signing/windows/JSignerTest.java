@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.signing.windows;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.cbi.webservice.util.PropertiesReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import net.jsign.AuthenticodeSigner;
+
+@SuppressWarnings("javadoc")
+public class JSignerTest {
+
+	private static final int THREADS = 16;
+
+	@TempDir
+	Path tempDir;
+
+	private Path keystore;
+	private final AtomicReference<String> token = new AtomicReference<>("token-1");
+	private final List<String> storepasses = new ArrayList<>();
+	private JSigner jSigner;
+
+	@BeforeEach
+	public void createSigner() throws Exception {
+		keystore = Files.write(tempDir.resolve("keystore"), new byte[] { 1 });
+		Path certificateChain = Files.write(tempDir.resolve("chain.pem"), new byte[] { 2 });
+		Properties properties = new Properties();
+		properties.setProperty("windows.jsign.url", "https://www.eclipse.org");
+		properties.setProperty("windows.jsign.description", "Eclipse");
+		properties.setProperty("windows.jsign.storetype", "GOOGLECLOUD");
+		properties.setProperty("windows.jsign.keystore", keystore.toString());
+		properties.setProperty("windows.jsign.keyalias", "key");
+		properties.setProperty("windows.jsign.certchain", certificateChain.toString());
+		properties.setProperty("windows.jsign.timestampurl.1", "http://timestamp.example.org");
+		jSigner = JSigner.builder()
+				.configuration(new JSignerProperties(new PropertiesReader(properties, FileSystems.getDefault())))
+				.tempFolder(tempDir)
+				.storepassSource(token::get)
+				.signerFactory((storepass, chain) -> {
+					synchronized (storepasses) {
+						storepasses.add(storepass);
+					}
+					// leaves time for concurrent signings to pile up
+					Thread.sleep(50);
+					return mock(AuthenticodeSigner.class);
+				})
+				.build();
+	}
+
+	@Test
+	public void testSignerIsReused() throws Exception {
+		AuthenticodeSigner signer = jSigner.signer();
+		assertSame(signer, jSigner.signer());
+		assertEquals(List.of("token-1"), storepasses);
+	}
+
+	@Test
+	public void testSignerIsRecreatedOnceWhenTokenRotates() throws Exception {
+		AuthenticodeSigner signer = jSigner.signer();
+		token.set("token-2");
+		AuthenticodeSigner rotated = jSigner.signer();
+		assertNotSame(signer, rotated);
+		assertSame(rotated, jSigner.signer());
+		assertEquals(List.of("token-1", "token-2"), storepasses);
+	}
+
+	@Test
+	public void testSignerIsRecreatedOnceWhenKeystoreIsTouched() throws Exception {
+		AuthenticodeSigner signer = jSigner.signer();
+		Files.setLastModifiedTime(keystore, FileTime.fromMillis(Files.getLastModifiedTime(keystore).toMillis() + TimeUnit.MINUTES.toMillis(1)));
+		AuthenticodeSigner reloaded = jSigner.signer();
+		assertNotSame(signer, reloaded);
+		assertSame(reloaded, jSigner.signer());
+		assertEquals(List.of("token-1", "token-1"), storepasses);
+	}
+
+	@Test
+	public void testSignerIsCreatedOnceForConcurrentSignings() throws Exception {
+		List<AuthenticodeSigner> signers = concurrently(jSigner::signer);
+		signers.forEach(signer -> assertSame(signers.get(0), signer));
+		assertEquals(List.of("token-1"), storepasses);
+
+		token.set("token-2");
+		Files.setLastModifiedTime(keystore, FileTime.fromMillis(Files.getLastModifiedTime(keystore).toMillis() + TimeUnit.MINUTES.toMillis(1)));
+		List<AuthenticodeSigner> rotated = concurrently(jSigner::signer);
+		rotated.forEach(signer -> assertSame(rotated.get(0), signer));
+		assertNotSame(signers.get(0), rotated.get(0));
+		assertEquals(List.of("token-1", "token-2"), storepasses);
+	}
+
+	private static <T> List<T> concurrently(Callable<T> task) throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		try {
+			CyclicBarrier start = new CyclicBarrier(THREADS);
+			List<Future<T>> futures = new ArrayList<>();
+			for (int i = 0; i < THREADS; i++) {
+				futures.add(pool.submit(() -> {
+					start.await();
+					return task.call();
+				}));
+			}
+			List<T> results = new ArrayList<>();
+			for (Future<T> future : futures) {
+				results.add(future.get(10, TimeUnit.SECONDS));
+			}
+			return results;
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+}
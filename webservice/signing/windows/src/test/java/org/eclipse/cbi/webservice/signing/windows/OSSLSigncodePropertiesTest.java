@@ -49,6 +49,17 @@ public class OSSLSigncodePropertiesTest {
         }
     }
 
+    @Test
+    public void inProcess() throws IOException {
+        try (FileSystem fs = Jimfs.newFileSystem(Configuration.unix())) {
+            assertFalse(new OSSLSigncodeProperties(new PropertiesReader(createEmptyTestProperties(), fs)).isInProcess());
+
+            Properties properties = new Properties();
+            properties.setProperty("windows.osslsigncode.inprocess", "true");
+            assertTrue(new OSSLSigncodeProperties(new PropertiesReader(properties, fs)).isInProcess());
+        }
+    }
+
     private static Properties createEmptyTestProperties() {
         return new Properties();
     }
@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.signing.windows;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.KeyStore;
+import java.security.cert.Certificate;
+import java.security.cert.X509Certificate;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bouncycastle.asn1.x500.X500Name;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateConverter;
+import org.bouncycastle.cert.jcajce.JcaX509CertificateHolder;
+import org.bouncycastle.cert.jcajce.JcaX509v3CertificateBuilder;
+import org.bouncycastle.cms.CMSProcessableByteArray;
+import org.bouncycastle.cms.CMSSignedDataGenerator;
+import org.bouncycastle.cms.jcajce.JcaSimpleSignerInfoGeneratorBuilder;
+import org.bouncycastle.operator.jcajce.JcaContentSignerBuilder;
+import org.bouncycastle.util.encoders.Base64;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.sun.net.httpserver.HttpServer;
+
+import net.jsign.AuthenticodeSigner;
+
+@SuppressWarnings("javadoc")
+public class PKCS12CodesignerTest {
+
+	private static final String PASSWORD = "password";
+
+	@TempDir
+	Path tempDir;
+
+	private HttpServer tsa;
+	private final AtomicInteger tsaRequests = new AtomicInteger();
+	private Path pkcs12;
+	private PKCS12Codesigner codesigner;
+
+	/**
+	 * Starts a stand-in Authenticode authority, answering every request with
+	 * the same token signed by a self-signed certificate. jsign does not
+	 * verify the token.
+	 */
+	@BeforeEach
+	public void startStandInAuthority() throws Exception {
+		KeyPair keyPair = generateKeyPair();
+		X509Certificate certificate = selfSignedCertificate(keyPair, "CN=Timestamping");
+		CMSSignedDataGenerator generator = new CMSSignedDataGenerator();
+		generator.addSignerInfoGenerator(new JcaSimpleSignerInfoGeneratorBuilder().build("SHA256withRSA", keyPair.getPrivate(), certificate));
+		generator.addCertificate(new JcaX509CertificateHolder(certificate));
+		byte[] token = Base64.encode(generator.generate(new CMSProcessableByteArray(new byte[32]), true).getEncoded());
+
+		tsa = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		tsa.createContext("/", exchange -> {
+			tsaRequests.incrementAndGet();
+			try (InputStream in = exchange.getRequestBody()) {
+				in.readAllBytes();
+			}
+			exchange.sendResponseHeaders(200, token.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(token);
+			}
+		});
+		tsa.start();
+
+		pkcs12 = tempDir.resolve("keystore.p12");
+		codesigner = PKCS12Codesigner.builder()
+				.pkcs12(pkcs12)
+				.pkcs12Password(PASSWORD)
+				.description("Eclipse")
+				.uri(URI.create("https://www.eclipse.org"))
+				.timestampURIs(List.of(URI.create("http://127.0.0.1:" + tsa.getAddress().getPort() + "/")))
+				.build();
+	}
+
+	@AfterEach
+	public void stopStandInAuthority() {
+		tsa.stop(0);
+	}
+
+	@Test
+	public void testSignsInProcess() throws Exception {
+		writePkcs12(true);
+		Path script = Files.write(tempDir.resolve("script.ps1"), "Write-Output 'Hello'\r\n".getBytes(StandardCharsets.UTF_8));
+
+		assertEquals(script, codesigner.sign(script));
+
+		String signed = Files.readString(script);
+		assertTrue(signed.startsWith("Write-Output 'Hello'"), signed);
+		assertTrue(signed.contains("# SIG # Begin signature block"), signed);
+		assertEquals(1, tsaRequests.get());
+	}
+
+	@Test
+	public void testReloadsWhenPkcs12IsModified() throws Exception {
+		writePkcs12(true);
+		AuthenticodeSigner signer = codesigner.signer();
+		assertSame(signer, codesigner.signer());
+
+		FileTime modified = Files.getLastModifiedTime(pkcs12);
+		writePkcs12(true);
+		Files.setLastModifiedTime(pkcs12, FileTime.fromMillis(modified.toMillis() + TimeUnit.MINUTES.toMillis(1)));
+		AuthenticodeSigner reloaded = codesigner.signer();
+
+		assertNotSame(signer, reloaded);
+		assertSame(reloaded, codesigner.signer());
+	}
+
+	@Test
+	public void testFailsWithoutPrivateKey() throws Exception {
+		writePkcs12(false);
+		Path script = Files.write(tempDir.resolve("script.ps1"), "Write-Output 'Hello'\r\n".getBytes(StandardCharsets.UTF_8));
+
+		IOException e = assertThrows(IOException.class, () -> codesigner.sign(script));
+
+		assertTrue(e.getMessage().startsWith("Unable to load the private key"), e.getMessage());
+		assertTrue(e.getCause().getMessage().startsWith("No private key found"), e.getCause().getMessage());
+		assertEquals("Write-Output 'Hello'\r\n", Files.readString(script));
+		assertEquals(0, tsaRequests.get());
+	}
+
+	/**
+	 * Writes a PKCS#12 file with a new self-signed code signing certificate,
+	 * along with its private key or not.
+	 */
+	private void writePkcs12(boolean withPrivateKey) throws Exception {
+		KeyPair keyPair = generateKeyPair();
+		X509Certificate certificate = selfSignedCertificate(keyPair, "CN=Eclipse");
+		KeyStore keystore = KeyStore.getInstance("PKCS12");
+		keystore.load(null, null);
+		if (withPrivateKey) {
+			keystore.setKeyEntry("codesigning", keyPair.getPrivate(), PASSWORD.toCharArray(), new Certificate[] { certificate });
+		} else {
+			keystore.setCertificateEntry("codesigning", certificate);
+		}
+		try (OutputStream out = Files.newOutputStream(pkcs12)) {
+			keystore.store(out, PASSWORD.toCharArray());
+		}
+	}
+
+	private static KeyPair generateKeyPair() throws Exception {
+		KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+		generator.initialize(2048);
+		return generator.generateKeyPair();
+	}
+
+	private static X509Certificate selfSignedCertificate(KeyPair keyPair, String subject) throws Exception {
+		X500Name name = new X500Name(subject);
+		long now = System.currentTimeMillis();
+		JcaX509v3CertificateBuilder builder = new JcaX509v3CertificateBuilder(name, BigInteger.valueOf(now), new Date(now - TimeUnit.DAYS.toMillis(1)),
+				new Date(now + TimeUnit.DAYS.toMillis(1)), name, keyPair.getPublic());
+		return new JcaX509CertificateConverter().getCertificate(builder.build(new JcaContentSignerBuilder("SHA256withRSA").build(keyPair.getPrivate())));
+	}
+}
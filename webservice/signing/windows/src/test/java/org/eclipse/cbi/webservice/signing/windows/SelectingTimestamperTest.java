@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Eclipse Foundation and others
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   Eclipse Foundation - initial implementation
+ *******************************************************************************/
+package org.eclipse.cbi.webservice.signing.windows;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.cbi.webservice.util.TimestampAuthoritySelector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.sun.net.httpserver.HttpServer;
+
+import net.jsign.DigestAlgorithm;
+import net.jsign.timestamp.TimestampingMode;
+
+@SuppressWarnings("javadoc")
+public class SelectingTimestamperTest {
+
+	private HttpServer tsa;
+	private final AtomicInteger firstRequests = new AtomicInteger();
+	private final AtomicInteger secondRequests = new AtomicInteger();
+	private URI first;
+	private URI second;
+
+	/**
+	 * Starts two stand-in authorities, both rejecting the requests.
+	 */
+	@BeforeEach
+	public void startStandInAuthorities() throws IOException {
+		tsa = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+		tsa.createContext("/first", exchange -> {
+			firstRequests.incrementAndGet();
+			try (InputStream in = exchange.getRequestBody()) {
+				in.readAllBytes();
+			}
+			exchange.sendResponseHeaders(503, -1);
+			exchange.close();
+		});
+		tsa.createContext("/second", exchange -> {
+			secondRequests.incrementAndGet();
+			try (InputStream in = exchange.getRequestBody()) {
+				in.readAllBytes();
+			}
+			exchange.sendResponseHeaders(503, -1);
+			exchange.close();
+		});
+		tsa.start();
+		String base = "http://127.0.0.1:" + tsa.getAddress().getPort();
+		first = URI.create(base + "/first");
+		second = URI.create(base + "/second");
+	}
+
+	@AfterEach
+	public void stopStandInAuthorities() {
+		tsa.stop(0);
+	}
+
+	@Test
+	public void testTokenRequestsGoThroughTheSelector() {
+		TimestampAuthoritySelector selector = new TimestampAuthoritySelector(ImmutableList.of(first, second));
+		SelectingTimestamper timestamper = new SelectingTimestamper(selector, TimestampingMode.AUTHENTICODE, 2);
+
+		IOException e = assertThrows(IOException.class, () -> timestamper.timestamp(DigestAlgorithm.SHA256, new byte[32]));
+
+		assertEquals(2, e.getSuppressed().length);
+		// one attempt per authority, jsign does not retry by itself
+		assertEquals(1, firstRequests.get());
+		assertEquals(1, secondRequests.get());
+		assertEquals(0, selector.successRate(first));
+		assertEquals(0, selector.successRate(second));
+	}
+
+	@Test
+	public void testRFC3161TokenRequestsGoThroughTheSelector() {
+		TimestampAuthoritySelector selector = new TimestampAuthoritySelector(ImmutableList.of(first));
+		SelectingTimestamper timestamper = new SelectingTimestamper(selector, TimestampingMode.RFC3161, 1);
+
+		assertThrows(IOException.class, () -> timestamper.timestamp(DigestAlgorithm.SHA256, new byte[32]));
+
+		assertEquals(1, firstRequests.get());
+		assertEquals(0, secondRequests.get());
+		assertEquals(0, selector.successRate(first));
+	}
+}